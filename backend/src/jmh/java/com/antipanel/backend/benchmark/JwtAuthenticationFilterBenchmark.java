@@ -0,0 +1,103 @@
+package com.antipanel.backend.benchmark;
+
+import com.antipanel.backend.config.JwtProperties;
+import com.antipanel.backend.config.PrincipalCacheProperties;
+import com.antipanel.backend.security.PrincipalCache;
+import com.antipanel.backend.security.jwt.JwtAuthenticationFilter;
+import com.antipanel.backend.security.jwt.JwtTokenProvider;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JwtAuthenticationFilter.
+ * <p>
+ * repeatedToken is the common case (a client reusing its access token until it expires),
+ * distinctTokens forces a full parse and signature check on every request, and
+ * legacyClaimLookups reproduces the previous filter, which parsed the token four times.
+ * User lookup is stubbed (and cached) so only token handling is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "this_is_a_very_long_benchmark_secret_key_for_jwt_authentication_256_bits".getBytes());
+
+    /**
+     * More tokens than the verified cache holds, so most lookups miss.
+     */
+    private static final int DISTINCT_TOKENS = 50_000;
+
+    private final FilterChain chain = (request, response) -> { };
+
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+    private String token;
+    private String[] distinctTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(new JwtProperties(SECRET, 900000L, 604800000L, "benchmark"));
+        UserDetails user = User.withUsername("user@example.com")
+                .password("unused")
+                .authorities("ROLE_USER")
+                .build();
+        PrincipalCache principalCache = new PrincipalCache(new PrincipalCacheProperties(true, null, 0));
+        filter = new JwtAuthenticationFilter(tokenProvider, username -> user, principalCache);
+
+        token = tokenProvider.generateAccessToken("user@example.com", "ROLE_USER");
+        distinctTokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            distinctTokens[i] = tokenProvider.generateAccessToken("user" + i + "@example.com", "ROLE_USER");
+        }
+    }
+
+    @Benchmark
+    public Object repeatedToken() throws Exception {
+        return authenticate(token);
+    }
+
+    @Benchmark
+    public Object distinctTokens() throws Exception {
+        String current = distinctTokens[next];
+        next = (next + 1) % DISTINCT_TOKENS;
+        return authenticate(current);
+    }
+
+    @Benchmark
+    public void legacyClaimLookups(Blackhole blackhole) {
+        blackhole.consume(tokenProvider.validateToken(token));
+        blackhole.consume(tokenProvider.isAccessToken(token));
+        blackhole.consume(tokenProvider.getUsernameFromToken(token));
+        blackhole.consume(tokenProvider.getAuthoritiesFromToken(token));
+    }
+
+    private Object authenticate(String jwt) throws Exception {
+        // A fresh request each time: OncePerRequestFilter skips requests it has already seen
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/orders");
+        request.addHeader("Authorization", "Bearer " + jwt);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
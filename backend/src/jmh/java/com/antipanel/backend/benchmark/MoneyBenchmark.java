@@ -0,0 +1,100 @@
+package com.antipanel.backend.benchmark;
+
+import com.antipanel.backend.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order charge and margin arithmetic with BigDecimal versus Money.
+ * <p>
+ * Each invocation prices one (price per K, quantity) pair taken round-robin from a fixed
+ * random set, so neither variant benefits from constant folding. The BigDecimal variants
+ * reproduce the code Money replaced in pricing, refunds and the service mapper.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoneyBenchmark {
+
+    private static final int SAMPLES = 1024;
+    private static final BigDecimal THOUSAND = BigDecimal.valueOf(1000);
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final BigDecimal[] decimalPrices = new BigDecimal[SAMPLES];
+    private final BigDecimal[] decimalCosts = new BigDecimal[SAMPLES];
+    private final Money[] prices = new Money[SAMPLES];
+    private final Money[] costs = new Money[SAMPLES];
+    private final int[] quantities = new int[SAMPLES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            long priceUnits = random.nextLong(1, 1_000_000);
+            decimalPrices[i] = BigDecimal.valueOf(priceUnits, Money.SCALE);
+            decimalCosts[i] = BigDecimal.valueOf(random.nextLong(priceUnits + 1), Money.SCALE);
+            prices[i] = Money.of(decimalPrices[i]);
+            costs[i] = Money.of(decimalCosts[i]);
+            quantities[i] = random.nextInt(10, 1_000_000);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal chargeBigDecimal() {
+        int i = advance();
+        return decimalPrices[i].multiply(BigDecimal.valueOf(quantities[i]))
+                .divide(THOUSAND, Money.SCALE, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public long chargeMoney() {
+        int i = advance();
+        return prices[i].perThousand(quantities[i]).units();
+    }
+
+    @Benchmark
+    public BigDecimal profitBigDecimal() {
+        int i = advance();
+        BigDecimal quantity = BigDecimal.valueOf(quantities[i]);
+        BigDecimal charge = decimalPrices[i].multiply(quantity).divide(THOUSAND, Money.SCALE, RoundingMode.HALF_UP);
+        BigDecimal cost = decimalCosts[i].multiply(quantity).divide(THOUSAND, Money.SCALE, RoundingMode.HALF_UP);
+        return charge.subtract(cost);
+    }
+
+    @Benchmark
+    public long profitMoney() {
+        int i = advance();
+        return prices[i].perThousand(quantities[i]).subtract(costs[i].perThousand(quantities[i])).units();
+    }
+
+    @Benchmark
+    public BigDecimal marginBigDecimal() {
+        int i = advance();
+        return decimalPrices[i].subtract(decimalCosts[i])
+                .divide(decimalPrices[i], Money.SCALE, RoundingMode.HALF_UP)
+                .multiply(HUNDRED);
+    }
+
+    @Benchmark
+    public BigDecimal marginMoney() {
+        int i = advance();
+        return prices[i].marginPercent(costs[i]);
+    }
+
+    private int advance() {
+        int i = next;
+        next = (i + 1) & (SAMPLES - 1);
+        return i;
+    }
+}
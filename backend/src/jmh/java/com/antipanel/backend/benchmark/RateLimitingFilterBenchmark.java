@@ -0,0 +1,94 @@
+package com.antipanel.backend.benchmark;
+
+import com.antipanel.backend.config.JwtProperties;
+import com.antipanel.backend.config.RateLimitProperties;
+import com.antipanel.backend.config.RateLimitProperties.Limit;
+import com.antipanel.backend.security.RateLimitingFilter;
+import com.antipanel.backend.security.jwt.JwtTokenProvider;
+import com.antipanel.backend.security.ratelimit.RateLimitTier;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of RateLimitingFilter.
+ * <p>
+ * Limits are raised so requests are never rejected and only the lookup/consume path is measured:
+ * anonymous clients behind the trusted proxy, an authenticated user (verified-token cache hit),
+ * and a stream of new addresses that keeps creating buckets.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimitingFilterBenchmark {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "this_is_a_very_long_benchmark_secret_key_for_jwt_authentication_256_bits".getBytes());
+
+    private final FilterChain chain = (request, response) -> { };
+
+    private RateLimitingFilter filter;
+    private String bearer;
+    private int nextAddress;
+
+    @Setup
+    public void setUp() {
+        Map<RateLimitTier, Limit> unlimited = new EnumMap<>(RateLimitTier.class);
+        for (RateLimitTier tier : RateLimitTier.values()) {
+            unlimited.put(tier, new Limit(Integer.MAX_VALUE, Duration.ofSeconds(1)));
+        }
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(
+                new JwtProperties(SECRET, 900000L, 604800000L, "benchmark"));
+        filter = new RateLimitingFilter(new RateLimitProperties(null, 100_000, null, unlimited, null), tokenProvider);
+        bearer = "Bearer " + tokenProvider.generateAccessToken("user@example.com", "ROLE_USER");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse anonymousBehindProxy() throws Exception {
+        MockHttpServletRequest request = request();
+        request.setRemoteAddr("172.18.0.2");
+        request.addHeader("X-Forwarded-For", "203.0.113.10");
+        return filter(request);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedUser() throws Exception {
+        MockHttpServletRequest request = request();
+        request.setRemoteAddr("203.0.113.10");
+        request.addHeader("Authorization", bearer);
+        return filter(request);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse newClientEveryRequest() throws Exception {
+        int i = nextAddress++;
+        MockHttpServletRequest request = request();
+        request.setRemoteAddr((1 + (i >>> 24 & 0x7F)) + "." + (i >> 16 & 0xFF) + "." + (i >> 8 & 0xFF) + "." + (i & 0xFF));
+        return filter(request);
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/orders");
+        request.setServletPath("/api/v1/orders");
+        return request;
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
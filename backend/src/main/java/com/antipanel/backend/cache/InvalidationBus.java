@@ -0,0 +1,148 @@
+package com.antipanel.backend.cache;
+
+import com.antipanel.backend.config.CacheInvalidationProperties;
+import com.antipanel.backend.security.PrincipalChangedEvent;
+import com.antipanel.backend.service.CatalogChangedEvent;
+import com.antipanel.backend.service.ReferenceDataChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Tells the other nodes which cached data changed, so every node can cache aggressively.
+ *
+ * Invalidations raised in a transaction are collected and sent with pg_notify just before it
+ * commits: PostgreSQL delivers them to the listening nodes (see InvalidationListener) once the
+ * transaction commits, and drops them if it rolls back. Outside a transaction they are sent at once.
+ * Each payload carries this node's ID so the listener here skips its own messages; the local
+ * caches are invalidated by their own after-commit listeners.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InvalidationBus {
+
+    static final String CHANNEL = "cache_invalidation";
+
+    /**
+     * Above this many changed entities of one type in a transaction, the whole type is invalidated.
+     */
+    static final int MAX_IDS_PER_TYPE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationProperties properties;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @EventListener
+    public void onPrincipalChanged(PrincipalChangedEvent event) {
+        publish(new InvalidationMessage.Principal(event.userId()));
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        publish(new InvalidationMessage.Catalog());
+    }
+
+    @EventListener
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        publish(new InvalidationMessage.Reference(event.entityType().getName(), (Integer) event.id()));
+    }
+
+    /**
+     * Send an invalidation to the other nodes when the current transaction commits.
+     *
+     * @param message Invalidation
+     */
+    public void publish(InvalidationMessage message) {
+        if (!properties.enabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(List.of(message));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<InvalidationMessage> pending = (Set<InvalidationMessage>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<InvalidationMessage> messages = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, messages);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    send(collapse(messages));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(InvalidationBus.this);
+                }
+            });
+            pending = messages;
+        }
+        pending.add(message);
+    }
+
+    /**
+     * ID of this node, sent with every payload.
+     */
+    String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Replace the reference invalidations of a type by one for the whole type when there are
+     * too many of them (a provider sync touches thousands of provider services) or when the
+     * whole type is already invalidated.
+     */
+    static List<InvalidationMessage> collapse(Collection<InvalidationMessage> messages) {
+        Map<String, Integer> idsPerType = new HashMap<>();
+        Set<String> wholeTypes = new HashSet<>();
+        for (InvalidationMessage message : messages) {
+            if (message instanceof InvalidationMessage.Reference reference) {
+                if (reference.id() == null
+                        || idsPerType.merge(reference.entityName(), 1, Integer::sum) > MAX_IDS_PER_TYPE) {
+                    wholeTypes.add(reference.entityName());
+                }
+            }
+        }
+
+        List<InvalidationMessage> collapsed = new ArrayList<>(messages.size());
+        Set<String> sentTypes = new HashSet<>();
+        for (InvalidationMessage message : messages) {
+            if (message instanceof InvalidationMessage.Reference reference
+                    && wholeTypes.contains(reference.entityName())) {
+                if (sentTypes.add(reference.entityName())) {
+                    collapsed.add(new InvalidationMessage.Reference(reference.entityName(), null));
+                }
+            } else {
+                collapsed.add(message);
+            }
+        }
+        return collapsed;
+    }
+
+    // ============ HELPER METHODS ============
+
+    private void send(List<InvalidationMessage> messages) {
+        for (InvalidationMessage message : messages) {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, nodeId + ";" + message.encode());
+        }
+        log.debug("Sent {} cache invalidations", messages.size());
+    }
+}
@@ -0,0 +1,21 @@
+package com.antipanel.backend.cache;
+
+/**
+ * Local cache that applies invalidations received from other nodes (see InvalidationListener).
+ * Changes made on this node are applied by the cache's own event listener after commit.
+ */
+public interface InvalidationHandler {
+
+    /**
+     * Apply an invalidation published by another node.
+     * Messages for other caches are ignored.
+     *
+     * @param message Invalidation
+     */
+    void invalidate(InvalidationMessage message);
+
+    /**
+     * Drop everything cached: invalidations may have been missed.
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,156 @@
+package com.antipanel.backend.cache;
+
+import com.antipanel.backend.config.CacheInvalidationProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Applies the invalidations published by other nodes (see InvalidationBus) to every
+ * InvalidationHandler of this node.
+ *
+ * Holds one dedicated connection with LISTEN, opened outside the connection pools. PostgreSQL
+ * queues notifications for a listening session until it reads them, so they can only be missed
+ * while the listener is disconnected: on every (re)connect, and on a payload it cannot parse,
+ * every handler drops all it caches. An idle connection is validated on each poll timeout so a
+ * silently dropped connection is noticed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InvalidationListener implements SmartLifecycle {
+
+    static final String APPLICATION_NAME = "cache-invalidation-listener";
+
+    private static final int POLL_TIMEOUT_MS = 5000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource dataSource;
+    private final InvalidationBus invalidationBus;
+    private final CacheInvalidationProperties properties;
+    private final List<InvalidationHandler> handlers;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        running = true;
+        listenerThread = Thread.ofPlatform()
+                .name(APPLICATION_NAME)
+                .daemon()
+                .start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = openConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET application_name = '" + APPLICATION_NAME + "'");
+                    statement.execute("LISTEN " + InvalidationBus.CHANNEL);
+                }
+                // Invalidations published while disconnected were missed
+                invalidateAll();
+                log.debug("Listening for cache invalidations");
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null || notifications.length == 0) {
+                        if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                            throw new SQLException("Listener connection is no longer valid");
+                        }
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, reconnecting: {}", e.getMessage());
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        // Kept out of the pools: the connection is held for the lifetime of the node
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+            return DriverManager.getConnection(pool.getJdbcUrl(), pool.getUsername(), pool.getPassword());
+        }
+        return dataSource.getConnection();
+    }
+
+    private void handle(String payload) {
+        int separator = payload.indexOf(';');
+        if (separator > 0 && payload.substring(0, separator).equals(invalidationBus.nodeId())) {
+            return; // Already applied locally after commit
+        }
+
+        InvalidationMessage message;
+        try {
+            message = InvalidationMessage.decode(payload.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            log.warn("Malformed cache invalidation, invalidating everything: {}", payload);
+            invalidateAll();
+            return;
+        }
+        for (InvalidationHandler handler : handlers) {
+            try {
+                handler.invalidate(message);
+            } catch (Exception e) {
+                log.error("Failed to apply cache invalidation {} to {}", payload, handler.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private void invalidateAll() {
+        for (InvalidationHandler handler : handlers) {
+            try {
+                handler.invalidateAll();
+            } catch (Exception e) {
+                log.error("Failed to invalidate {}", handler.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(properties.reconnectDelay());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.antipanel.backend.cache;
+
+/**
+ * Invalidation sent to other nodes through InvalidationBus.
+ * Encoded as a short text payload: "principal:42", "catalog",
+ * "reference:com.antipanel.backend.entity.Provider:17", or "reference:...:*" when any entity
+ * of the type may have changed.
+ */
+public sealed interface InvalidationMessage {
+
+    /**
+     * Text form sent as the NOTIFY payload.
+     */
+    String encode();
+
+    /**
+     * Parse a payload produced by {@link #encode()}.
+     *
+     * @param text Encoded message
+     * @return Message
+     * @throws IllegalArgumentException if the text is not a valid message
+     */
+    static InvalidationMessage decode(String text) {
+        String[] parts = text.split(":", 3);
+        return switch (parts[0]) {
+            case "principal" -> {
+                requireParts(parts, 2, text);
+                yield new Principal(Long.valueOf(parts[1]));
+            }
+            case "catalog" -> {
+                requireParts(parts, 1, text);
+                yield new Catalog();
+            }
+            case "reference" -> {
+                requireParts(parts, 3, text);
+                yield new Reference(parts[1], "*".equals(parts[2]) ? null : Integer.valueOf(parts[2]));
+            }
+            default -> throw new IllegalArgumentException("Unknown invalidation: " + text);
+        };
+    }
+
+    private static void requireParts(String[] parts, int expected, String text) {
+        if (parts.length != expected || parts[parts.length - 1].isEmpty()) {
+            throw new IllegalArgumentException("Malformed invalidation: " + text);
+        }
+    }
+
+    /**
+     * A user's authentication changed (see PrincipalChangedEvent).
+     *
+     * @param userId User ID
+     */
+    record Principal(Long userId) implements InvalidationMessage {
+
+        @Override
+        public String encode() {
+            return "principal:" + userId;
+        }
+    }
+
+    /**
+     * A service or provider service changed (see CatalogChangedEvent).
+     */
+    record Catalog() implements InvalidationMessage {
+
+        @Override
+        public String encode() {
+            return "catalog";
+        }
+    }
+
+    /**
+     * A cached reference entity changed (see ReferenceDataChangedEvent).
+     *
+     * @param entityName Hibernate entity name (fully qualified class name)
+     * @param id         Entity ID, or null when any entity of the type may have changed
+     */
+    record Reference(String entityName, Integer id) implements InvalidationMessage {
+
+        @Override
+        public String encode() {
+            return "reference:" + entityName + ":" + (id != null ? id : "*");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.antipanel.backend.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Hibernate second-level cache of the reference entities: categories, service types, payment
+ * processors, providers and provider services.
+ *
+ * Each entity has its own region (READ_WRITE, so writes through Hibernate on this node update it
+ * in place), and the repository queries marked cacheable keep their results in the query cache.
+ * Writes made on other nodes are evicted through InvalidationBus; entries also expire after the
+ * time set in application.conf, in case an invalidation is lost. Region sizes are configured there
+ * as well.
+ */
+@Component
+public class ReferenceCache {
+
+    /**
+     * Entity regions, named after their tables.
+     */
+    public static final List<String> REGIONS = List.of(
+            "categories", "service_types", "payment_processors", "providers", "provider_services");
+
+    private final Cache cache;
+
+    public ReferenceCache(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    /**
+     * Evict one entity, or every entity of the type when id is null, and all cached query results.
+     */
+    public void evict(Class<?> entityType, Object id) {
+        if (id == null) {
+            cache.evictEntityData(entityType);
+        } else {
+            cache.evictEntityData(entityType, id);
+        }
+        cache.evictQueryRegions();
+    }
+
+    /**
+     * Evict one entity by entity name, or every entity of the type when id is null, and all cached
+     * query results.
+     */
+    public void evict(String entityName, Integer id) {
+        if (id == null) {
+            cache.evictEntityData(entityName);
+        } else {
+            cache.evictEntityData(entityName, id);
+        }
+        cache.evictQueryRegions();
+    }
+
+    /**
+     * Evict every reference entity and all cached query results.
+     */
+    public void evictAll() {
+        REGIONS.forEach(cache::evictRegion);
+        cache.evictQueryRegions();
+    }
+
+    /**
+     * Whether the entity is currently cached.
+     */
+    public boolean contains(Class<?> entityType, Object id) {
+        return cache.containsEntity(entityType, id);
+    }
+}
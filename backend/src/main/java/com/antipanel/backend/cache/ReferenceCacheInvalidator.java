@@ -0,0 +1,47 @@
+package com.antipanel.backend.cache;
+
+import com.antipanel.backend.datasource.ReadYourWrites;
+import com.antipanel.backend.service.ReferenceDataChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached reference entities when an admin write or a provider sync changes them.
+ * Eviction waits for the commit, so a concurrent read cannot put the old state back in between.
+ * Changes made on other nodes arrive through InvalidationListener.
+ * Each eviction also sends all reads to the primary for the read-your-writes window, so the evicted
+ * entries are not loaded back from a replica that has not yet seen the change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceCacheInvalidator implements InvalidationHandler {
+
+    private final ReferenceCache referenceCache;
+    private final ReadYourWrites readYourWrites;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void evictLocally(ReferenceDataChangedEvent event) {
+        readYourWrites.recordSharedWrite();
+        referenceCache.evict(event.entityType(), event.id());
+        log.debug("Evicted {} {} from the reference cache",
+                event.entityType().getSimpleName(), event.id() != null ? event.id() : "(all)");
+    }
+
+    @Override
+    public void invalidate(InvalidationMessage message) {
+        if (message instanceof InvalidationMessage.Reference(String entityName, Integer id)) {
+            readYourWrites.recordSharedWrite();
+            referenceCache.evict(entityName, id);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        readYourWrites.recordSharedWrite();
+        referenceCache.evictAll();
+    }
+}
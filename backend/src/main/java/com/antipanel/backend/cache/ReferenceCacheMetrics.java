@@ -0,0 +1,64 @@
+package com.antipanel.backend.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the reference cache statistics collected by Hibernate (hibernate.generate_statistics):
+ * hibernate.second.level.cache.requests (tagged by region and result hit/miss),
+ * hibernate.second.level.cache.puts (by region) and hibernate.cache.query.requests (hit/miss).
+ */
+@Component
+@Slf4j
+public class ReferenceCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public ReferenceCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!statistics.isStatisticsEnabled()) {
+            log.warn("Hibernate statistics are disabled: no reference cache metrics");
+            return;
+        }
+        for (String region : ReferenceCache.REGIONS) {
+            counter(registry, "hibernate.second.level.cache.requests", "Second-level cache lookups",
+                    s -> s.getDomainDataRegionStatistics(region).getHitCount(), region, "hit");
+            counter(registry, "hibernate.second.level.cache.requests", "Second-level cache lookups",
+                    s -> s.getDomainDataRegionStatistics(region).getMissCount(), region, "miss");
+            FunctionCounter.builder("hibernate.second.level.cache.puts", statistics,
+                            s -> s.getDomainDataRegionStatistics(region).getPutCount())
+                    .description("Entities put in the second-level cache")
+                    .tag("region", region)
+                    .register(registry);
+        }
+        counter(registry, "hibernate.cache.query.requests", "Query cache lookups",
+                Statistics::getQueryCacheHitCount, null, "hit");
+        counter(registry, "hibernate.cache.query.requests", "Query cache lookups",
+                Statistics::getQueryCacheMissCount, null, "miss");
+    }
+
+    // ============ HELPER METHODS ============
+
+    private void counter(MeterRegistry registry, String name, String description,
+                         ToDoubleFunction<Statistics> count, String region, String result) {
+        FunctionCounter.Builder<Statistics> builder = FunctionCounter.builder(name, statistics, count)
+                .description(description)
+                .tag("result", result);
+        if (region != null) {
+            builder.tag("region", region);
+        }
+        builder.register(registry);
+    }
+}
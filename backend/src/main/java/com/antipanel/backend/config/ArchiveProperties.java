@@ -0,0 +1,54 @@
+package com.antipanel.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Order archival configuration properties.
+ * Binds to app.archive.orders.* properties in application.yml
+ */
+@ConfigurationProperties(prefix = "app.archive.orders")
+public record ArchiveProperties(
+        /**
+         * Whether finished orders are moved to orders_archive.
+         * Default: true
+         */
+        Boolean enabled,
+
+        /**
+         * Orders moved per transaction.
+         * Default: 1000
+         */
+        int batchSize,
+
+        /**
+         * Maximum batches per scheduler run, bounding the time spent per run.
+         * Default: 50
+         */
+        int maxBatchesPerRun,
+
+        /**
+         * Time a finished order stays in the hot table before it can be archived.
+         * Default: 30 days
+         */
+        Duration retention
+) {
+    /**
+     * Default constructor with sensible defaults.
+     */
+    public ArchiveProperties {
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (batchSize <= 0) {
+            batchSize = 1000;
+        }
+        if (maxBatchesPerRun <= 0) {
+            maxBatchesPerRun = 50;
+        }
+        if (retention == null) {
+            retention = Duration.ofDays(30);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.antipanel.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bulk order configuration properties.
+ * Binds to app.orders.bulk.* properties in application.yml
+ */
+@ConfigurationProperties(prefix = "app.orders.bulk")
+public record BulkOrderProperties(
+        /**
+         * Maximum number of lines per bulk order request.
+         * Default: 500
+         */
+        int maxLines,
+
+        /**
+         * Maximum number of lines of one request submitted to providers at the same time.
+         * Bounds the load one request puts on the providers. No database connection is held
+         * during the provider call, only for the short statements that extend the hold before
+         * it and capture or release it after. Also sets how many waves bulk holds are sized for.
+         * Default: 4
+         */
+        int parallelism,
+
+        /**
+         * Longest a single provider submission can take (provider connect plus read timeout).
+         * Bulk holds are sized from it so the last line's hold outlives the lines submitted before it.
+         * Default: 40 seconds
+         */
+        Duration submissionTimeout
+) {
+    /**
+     * Default constructor with sensible defaults.
+     */
+    public BulkOrderProperties {
+        if (maxLines <= 0) {
+            maxLines = 500;
+        }
+        if (parallelism <= 0) {
+            parallelism = 4;
+        }
+        if (submissionTimeout == null || submissionTimeout.isNegative() || submissionTimeout.isZero()) {
+            submissionTimeout = Duration.ofSeconds(40);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.antipanel.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Cross-node cache invalidation configuration properties.
+ * Binds to app.cache.invalidation.* properties in application.yml
+ */
+@ConfigurationProperties(prefix = "app.cache.invalidation")
+public record CacheInvalidationProperties(
+        /**
+         * Whether invalidations are published to and received from other nodes (PostgreSQL NOTIFY).
+         * When disabled, other nodes only notice changes once their caches expire.
+         * Default: true
+         */
+        Boolean enabled,
+
+        /**
+         * Wait before reconnecting the listener connection after it is lost.
+         * Default: 5 seconds
+         */
+        Duration reconnectDelay
+) {
+    /**
+     * Default constructor with sensible defaults.
+     */
+    public CacheInvalidationProperties {
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (reconnectDelay == null || reconnectDelay.isNegative() || reconnectDelay.isZero()) {
+            reconnectDelay = Duration.ofSeconds(5);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.antipanel.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Connection pool routing configuration properties.
+ * Binds to app.datasource.* properties in application.yml
+ *
+ * <p>The web pool is the one configured under spring.datasource.hikari; the background pool
+ * copies its connection settings and overrides the sizing. Replica pools connect to their own
+ * URLs, with the primary credentials unless set.</p>
+ */
+@ConfigurationProperties(prefix = "app.datasource")
+public record ConnectionPoolProperties(
+        /**
+         * Pool for schedulers, provider sync and maintenance jobs.
+         */
+        Background background,
+
+        /**
+         * Read replicas for read-only transactions.
+         */
+        Replicas replicas
+) {
+    /**
+     * Default constructor with sensible defaults.
+     */
+    public ConnectionPoolProperties {
+        if (background == null) {
+            background = new Background(null, 0, 0, null);
+        }
+        if (replicas == null) {
+            replicas = new Replicas(false, null, null, null, 0, null, null, null);
+        }
+    }
+
+    /**
+     * Background pool settings.
+     *
+     * @param enabled           Route background work to its own pool (default: true).
+     *                          When disabled, background work shares the web pool.
+     * @param maximumPoolSize   Connections of the background pool (default: 4)
+     * @param minimumIdle       Idle connections kept open (default: 1)
+     * @param connectionTimeout Time background work waits for a connection (default: 30s)
+     */
+    public record Background(
+            Boolean enabled,
+            int maximumPoolSize,
+            int minimumIdle,
+            Duration connectionTimeout
+    ) {
+
+        public Background {
+            if (enabled == null) {
+                enabled = true;
+            }
+            if (maximumPoolSize <= 0) {
+                maximumPoolSize = 4;
+            }
+            if (minimumIdle <= 0 || minimumIdle > maximumPoolSize) {
+                minimumIdle = 1;
+            }
+            if (connectionTimeout == null || connectionTimeout.isNegative() || connectionTimeout.isZero()) {
+                connectionTimeout = Duration.ofSeconds(30);
+            }
+        }
+    }
+
+    /**
+     * Read replica settings.
+     *
+     * @param enabled              Send read-only transactions to the replicas (default: false)
+     * @param urls                 JDBC URLs of the replicas
+     * @param username             Replica user (default: spring.datasource.username)
+     * @param password             Replica password (default: spring.datasource.password)
+     * @param maximumPoolSize      Connections per replica pool (default: 10)
+     * @param connectionTimeout    Time to wait for a replica connection before reading from the primary
+     *                             (default: 1s)
+     * @param maxLag               Replicas further behind the primary are skipped until they catch up
+     *                             (default: 5s)
+     * @param readYourWritesWindow How long a user reads from the primary after placing an order, and
+     *                             every reader after reference data changes
+     *                             (default: 10s, never less than maxLag)
+     */
+    public record Replicas(
+            boolean enabled,
+            List<String> urls,
+            String username,
+            String password,
+            int maximumPoolSize,
+            Duration connectionTimeout,
+            Duration maxLag,
+            Duration readYourWritesWindow
+    ) {
+
+        public Replicas {
+            urls = urls == null ? List.of() : urls.stream().filter(url -> !url.isBlank()).toList();
+            if (maximumPoolSize <= 0) {
+                maximumPoolSize = 10;
+            }
+            if (connectionTimeout == null || connectionTimeout.isNegative() || connectionTimeout.isZero()) {
+                connectionTimeout = Duration.ofSeconds(1);
+            }
+            if (maxLag == null || maxLag.isNegative() || maxLag.isZero()) {
+                maxLag = Duration.ofSeconds(5);
+            }
+            if (readYourWritesWindow == null || readYourWritesWindow.isNegative() || readYourWritesWindow.isZero()) {
+                readYourWritesWindow = Duration.ofSeconds(10);
+            }
+            if (readYourWritesWindow.compareTo(maxLag) < 0) {
+                readYourWritesWindow = maxLag;
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.antipanel.backend.config;
+
+import com.antipanel.backend.datasource.BackgroundPool;
+import com.antipanel.backend.datasource.BackgroundWorkPostProcessor;
+import com.antipanel.backend.datasource.ReadWriteRoutingDataSource;
+import com.antipanel.backend.datasource.ReadYourWrites;
+import com.antipanel.backend.datasource.ReplicaPools;
+import com.antipanel.backend.datasource.RoutingDataSource;
+import com.antipanel.backend.security.CustomUserDetails;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Separate connection pools for web requests and background work.
+ *
+ * <p>The auto-configured pool (spring.datasource.hikari, named "web") is wrapped in a
+ * {@link RoutingDataSource} together with a smaller "background" pool copied from it
+ * (app.datasource.background). Scheduled tasks and {@code @BackgroundWork} beans take their
+ * connections from the background pool, so a slow polling pass or provider sync can exhaust
+ * only that pool; user requests keep the web pool to themselves.</p>
+ *
+ * <p>With app.datasource.replicas enabled, the pools are further wrapped in a
+ * {@link ReadWriteRoutingDataSource}: read-only transactions of web requests go to a replica
+ * within the allowed lag, unless the user placed an order or reference data changed within the
+ * read-your-writes window.</p>
+ *
+ * <p>All pools publish the HikariCP metrics tagged by pool: hikaricp.connections.active,
+ * hikaricp.connections.pending and hikaricp.connections.acquire (time waited for a connection).
+ * Replicas add datasource.replicas.usable and datasource.replica.lag (per pool, -1 if unreachable).</p>
+ */
+@Configuration
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    private static final String BACKGROUND_POOL_NAME = "background";
+    private static final String REPLICA_POOL_NAME = "replica-";
+
+    /**
+     * Wraps the auto-configured pool once it is created. Dependencies are resolved lazily:
+     * post-processors are created before configuration properties are bound.
+     */
+    @Bean
+    static BeanPostProcessor routingDataSourcePostProcessor(ObjectProvider<ConnectionPoolProperties> properties,
+                                                            ObjectProvider<ReplicaPools> replicaPools,
+                                                            ObjectProvider<ReadYourWrites> readYourWrites) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource webPool) || !"dataSource".equals(beanName)) {
+                    return bean;
+                }
+                ConnectionPoolProperties.Background background = properties.getObject().background();
+                DataSource primary = background.enabled()
+                        ? new RoutingDataSource(webPool, backgroundPool(webPool, background))
+                        : webPool;
+                ReplicaPools replicas = replicaPools.getIfAvailable();
+                if (replicas == null) {
+                    return primary;
+                }
+                return new ReadWriteRoutingDataSource(primary, replicas, pinnedToPrimary(readYourWrites.getObject()));
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+    public ReplicaPools replicaPools(ConnectionPoolProperties properties,
+                                    @Value("${spring.datasource.username:}") String username,
+                                    @Value("${spring.datasource.password:}") String password) {
+        ConnectionPoolProperties.Replicas replicas = properties.replicas();
+        List<HikariDataSource> pools = new ArrayList<>(replicas.urls().size());
+        for (String url : replicas.urls()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(REPLICA_POOL_NAME + (pools.size() + 1));
+            pool.setJdbcUrl(url);
+            pool.setUsername(replicas.username() != null && !replicas.username().isBlank()
+                    ? replicas.username() : username);
+            pool.setPassword(replicas.password() != null && !replicas.password().isBlank()
+                    ? replicas.password() : password);
+            pool.setMaximumPoolSize(replicas.maximumPoolSize());
+            pool.setMinimumIdle(1);
+            pool.setConnectionTimeout(Math.max(250, replicas.connectionTimeout().toMillis()));
+            pool.setReadOnly(true);
+            pools.add(pool);
+        }
+        if (pools.isEmpty()) {
+            log.warn("Read replicas enabled without replica URLs: all reads go to the primary");
+        } else {
+            log.info("Read-only transactions routed to {} replicas (max lag {})", pools.size(), replicas.maxLag());
+        }
+        return new ReplicaPools(pools, replicas.maxLag());
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(ConnectionPoolProperties properties) {
+        return new ReadYourWrites(properties.replicas().readYourWritesWindow());
+    }
+
+    @Bean
+    static BackgroundWorkPostProcessor backgroundWorkPostProcessor() {
+        return new BackgroundWorkPostProcessor();
+    }
+
+    /**
+     * Runs every scheduled task as background work.
+     */
+    @Bean
+    public ThreadPoolTaskSchedulerCustomizer backgroundPoolSchedulerCustomizer() {
+        return scheduler -> scheduler.setTaskDecorator(BackgroundPool::decorate);
+    }
+
+    /**
+     * Binds the background and replica pool metrics. The web pool is bound by the actuator,
+     * which only sees the pool the DataSource bean unwraps to.
+     */
+    @Bean
+    public MeterBinder connectionPoolMetrics(DataSource dataSource, ObjectProvider<ReplicaPools> replicaPools) {
+        return registry -> {
+            RoutingDataSource routing = unwrapRouting(dataSource);
+            if (routing != null) {
+                bindPool(routing.backgroundPool(), registry);
+            }
+            ReplicaPools replicas = replicaPools.getIfAvailable();
+            if (replicas != null) {
+                Gauge.builder("datasource.replicas.usable", replicas, ReplicaPools::usableCount)
+                        .description("Replicas within the allowed lag")
+                        .register(registry);
+                for (HikariDataSource pool : replicas.pools()) {
+                    bindPool(pool, registry);
+                    Gauge.builder("datasource.replica.lag", replicas, r -> r.lagMillis(pool))
+                            .description("Replication lag in milliseconds, -1 if the last check failed")
+                            .tag("pool", pool.getPoolName())
+                            .register(registry);
+                }
+            }
+        };
+    }
+
+    // ============ HELPER METHODS ============
+
+    /**
+     * Reads of an authenticated user who placed an order within the window go to the primary,
+     * and so do all reads within the window after reference data changed.
+     */
+    private static BooleanSupplier pinnedToPrimary(ReadYourWrites readYourWrites) {
+        return () -> {
+            if (readYourWrites.isAllPinned()) {
+                return true;
+            }
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            return authentication != null
+                    && authentication.getPrincipal() instanceof CustomUserDetails user
+                    && readYourWrites.isPinned(user.getId());
+        };
+    }
+
+    private static RoutingDataSource unwrapRouting(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(RoutingDataSource.class) ? dataSource.unwrap(RoutingDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static void bindPool(HikariDataSource pool, MeterRegistry registry) {
+        if (pool.getMetricRegistry() == null && pool.getMetricsTrackerFactory() == null) {
+            pool.setMetricRegistry(registry);
+        }
+    }
+
+    /**
+     * Background pool with the connection settings of the web pool and its own sizing.
+     * Started on first use, like the web pool.
+     */
+    private static HikariDataSource backgroundPool(HikariDataSource webPool,
+                                                   ConnectionPoolProperties.Background background) {
+        HikariDataSource pool = new HikariDataSource();
+        webPool.copyStateTo(pool);
+        pool.setPoolName(BACKGROUND_POOL_NAME);
+        pool.setMaximumPoolSize(background.maximumPoolSize());
+        pool.setMinimumIdle(background.minimumIdle());
+        pool.setConnectionTimeout(background.connectionTimeout().toMillis());
+        log.info("Background work uses its own connection pool ({} connections, web pool {})",
+                background.maximumPoolSize(), webPool.getMaximumPoolSize());
+        return pool;
+    }
+}
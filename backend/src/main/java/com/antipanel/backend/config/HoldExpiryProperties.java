@@ -0,0 +1,46 @@
+package com.antipanel.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Balance hold expiry configuration properties.
+ * Binds to app.hold-expiry.* properties in application.yml
+ */
+@ConfigurationProperties(prefix = "app.hold-expiry")
+public record HoldExpiryProperties(
+        /**
+         * Maximum number of holds expired per statement; each statement is its own transaction.
+         * Default: 500
+         */
+        int batchSize,
+
+        /**
+         * Whether holds created on this node are released by the in-memory timing wheel
+         * at their expiry, in addition to the periodic sweep.
+         * Default: true
+         */
+        Boolean wheelEnabled,
+
+        /**
+         * Resolution of the timing wheel. Holds are released at most this long after expiry.
+         * Default: 1 second
+         */
+        Duration wheelTick
+) {
+    /**
+     * Default constructor with sensible defaults.
+     */
+    public HoldExpiryProperties {
+        if (batchSize <= 0) {
+            batchSize = 500;
+        }
+        if (wheelEnabled == null) {
+            wheelEnabled = true;
+        }
+        if (wheelTick == null || wheelTick.isNegative() || wheelTick.isZero()) {
+            wheelTick = Duration.ofSeconds(1);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.antipanel.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * HTTP idempotency configuration properties.
+ * Binds to app.idempotency.* properties in application.yml
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+public record IdempotencyProperties(
+        /**
+         * Whether POST requests with an Idempotency-Key header are deduplicated.
+         * Default: true
+         */
+        Boolean enabled,
+
+        /**
+         * How long a stored response is replayed for the same key.
+         * Default: 24 hours
+         */
+        Duration retention,
+
+        /**
+         * How long a claim of a running request is honoured before another node may take it over.
+         * Must exceed the longest request (order creation waits for the provider).
+         * Default: 2 minutes
+         */
+        Duration lease,
+
+        /**
+         * Maximum number of completed responses kept in memory.
+         * Default: 10000
+         */
+        int cacheMaxEntries,
+
+        /**
+         * Largest request body that is fingerprinted. Bigger requests are not deduplicated.
+         * Default: 64 KB
+         */
+        int maxBodyBytes
+) {
+    /**
+     * Default constructor with sensible defaults.
+     */
+    public IdempotencyProperties {
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (retention == null || retention.isNegative() || retention.isZero()) {
+            retention = Duration.ofHours(24);
+        }
+        if (lease == null || lease.isNegative() || lease.isZero()) {
+            lease = Duration.ofMinutes(2);
+        }
+        if (cacheMaxEntries <= 0) {
+            cacheMaxEntries = 10_000;
+        }
+        if (maxBodyBytes <= 0) {
+            maxBodyBytes = 64 * 1024;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.antipanel.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Maintenance sweep configuration properties.
+ * Binds to app.maintenance.* properties in application.yml
+ */
+@ConfigurationProperties(prefix = "app.maintenance")
+public record MaintenanceProperties(
+        /**
+         * Rows updated or deleted per statement; each statement is its own transaction.
+         * Default: 1000
+         */
+        int batchSize,
+
+        /**
+         * Maximum batches per sweep and run, bounding the time spent per run.
+         * Default: 100
+         */
+        int maxBatchesPerRun,
+
+        /**
+         * How long settled (captured, released or expired) balance holds are kept.
+         * Default: 30 days
+         */
+        Duration holdRetention
+) {
+    /**
+     * Default constructor with sensible defaults.
+     */
+    public MaintenanceProperties {
+        if (batchSize <= 0) {
+            batchSize = 1000;
+        }
+        if (maxBatchesPerRun <= 0) {
+            maxBatchesPerRun = 100;
+        }
+        if (holdRetention == null || holdRetention.isNegative() || holdRetention.isZero()) {
+            holdRetention = Duration.ofDays(30);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.antipanel.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Pagination configuration properties.
+ * Binds to app.pagination.* properties in application.yml
+ */
+@ConfigurationProperties(prefix = "app.pagination")
+public record PaginationProperties(
+        /**
+         * Whether large listings may report an approximate total instead of running COUNT(*).
+         * Default: true
+         */
+        Boolean approximateCounts,
+
+        /**
+         * Planner row estimate below which an exact COUNT(*) is still executed.
+         * Default: 10000 rows
+         */
+        long exactCountThreshold,
+
+        /**
+         * How long an approximate total is reused before it is estimated again.
+         * Default: 60 seconds
+         */
+        Duration countCacheTtl,
+
+        /**
+         * Maximum number of cached totals kept in memory.
+         * Default: 1000
+         */
+        int countCacheMaxEntries
+) {
+    /**
+     * Default constructor with sensible defaults.
+     */
+    public PaginationProperties {
+        if (approximateCounts == null) {
+            approximateCounts = true;
+        }
+        if (exactCountThreshold <= 0) {
+            exactCountThreshold = 10_000L;
+        }
+        if (countCacheTtl == null || countCacheTtl.isNegative() || countCacheTtl.isZero()) {
+            countCacheTtl = Duration.ofSeconds(60);
+        }
+        if (countCacheMaxEntries <= 0) {
+            countCacheMaxEntries = 1000;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.antipanel.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Table partitioning configuration properties.
+ * Binds to app.partitioning.* properties in application.yml
+ */
+@ConfigurationProperties(prefix = "app.partitioning")
+public record PartitioningProperties(
+        /**
+         * Tables range-partitioned by month on created_at.
+         * Default: orders, transactions
+         */
+        List<String> monthlyTables,
+
+        /**
+         * Number of future monthly partitions kept ready ahead of the current month.
+         * Default: 3
+         */
+        int monthsAhead
+) {
+    /**
+     * Default constructor with sensible defaults.
+     */
+    public PartitioningProperties {
+        if (monthlyTables == null || monthlyTables.isEmpty()) {
+            monthlyTables = List.of("orders", "transactions");
+        }
+        if (monthsAhead <= 0) {
+            monthsAhead = 3;
+        }
+    }
+}
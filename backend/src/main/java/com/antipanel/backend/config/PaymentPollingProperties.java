@@ -0,0 +1,68 @@
+package com.antipanel.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Payment polling configuration properties.
+ * Binds to app.payment-polling.* properties in application.yml
+ */
+@ConfigurationProperties(prefix = "app.payment-polling")
+public record PaymentPollingProperties(
+        /**
+         * Maximum invoices verified per scheduler run.
+         * Default: 200
+         */
+        int batchSize,
+
+        /**
+         * Verifications in flight at the same time. Each one holds a database connection
+         * while waiting for Paymento, so keep this well below the connection pool size.
+         * Default: 4
+         */
+        int parallelism,
+
+        /**
+         * Delay before the second verification of an invoice; doubled after every attempt.
+         * Default: 30 seconds
+         */
+        Duration initialDelay,
+
+        /**
+         * Upper bound of the delay between two verifications of the same invoice.
+         * Default: 30 minutes
+         */
+        Duration maxDelay,
+
+        /**
+         * Pending invoices older than this are expired by the maintenance invoice sweep.
+         * Processing invoices (payment seen, not confirmed) keep being verified at maxDelay.
+         * Default: 48 hours
+         */
+        Duration maxAge
+) {
+    /**
+     * Default constructor with sensible defaults.
+     */
+    public PaymentPollingProperties {
+        if (batchSize <= 0) {
+            batchSize = 200;
+        }
+        if (parallelism <= 0) {
+            parallelism = 4;
+        }
+        if (initialDelay == null || initialDelay.isNegative() || initialDelay.isZero()) {
+            initialDelay = Duration.ofSeconds(30);
+        }
+        if (maxDelay == null || maxDelay.isNegative() || maxDelay.isZero()) {
+            maxDelay = Duration.ofMinutes(30);
+        }
+        if (maxDelay.compareTo(initialDelay) < 0) {
+            maxDelay = initialDelay;
+        }
+        if (maxAge == null || maxAge.isNegative() || maxAge.isZero()) {
+            maxAge = Duration.ofHours(48);
+        }
+    }
+}
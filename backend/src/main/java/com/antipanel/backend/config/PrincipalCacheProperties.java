@@ -0,0 +1,46 @@
+package com.antipanel.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Authenticated principal cache configuration properties.
+ * Binds to app.security.principal-cache.* properties in application.yml
+ */
+@ConfigurationProperties(prefix = "app.security.principal-cache")
+public record PrincipalCacheProperties(
+        /**
+         * Whether authenticated requests may reuse a recently loaded principal.
+         * Default: true
+         */
+        Boolean enabled,
+
+        /**
+         * How long a loaded principal is reused before it is read from the database again.
+         * Bounds staleness if an invalidation is ever missed.
+         * Default: 30 seconds
+         */
+        Duration ttl,
+
+        /**
+         * Maximum number of cached principals kept in memory.
+         * Default: 10000
+         */
+        int maxEntries
+) {
+    /**
+     * Default constructor with sensible defaults.
+     */
+    public PrincipalCacheProperties {
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            ttl = Duration.ofSeconds(30);
+        }
+        if (maxEntries <= 0) {
+            maxEntries = 10_000;
+        }
+    }
+}
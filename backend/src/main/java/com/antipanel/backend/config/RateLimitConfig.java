@@ -0,0 +1,53 @@
+package com.antipanel.backend.config;
+
+import com.antipanel.backend.security.ratelimit.BucketStore;
+import com.antipanel.backend.security.ratelimit.DistributedBucketStore;
+import com.antipanel.backend.security.ratelimit.LocalBucketStore;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Rate limit bucket storage.
+ *
+ * <p>By default every node keeps its own in-memory buckets. With app.rate-limit.distributed.enabled
+ * the buckets live in the rate_limit_buckets table (see V16 migration) so that limits hold across
+ * replicas. The distributed store uses a small dedicated connection pool with a short connection
+ * timeout: rate limiting must never wait for, or take connections from, the application pool.</p>
+ */
+@Configuration
+@Slf4j
+public class RateLimitConfig {
+
+    @Bean(destroyMethod = "close")
+    public BucketStore rateLimitBucketStore(RateLimitProperties properties,
+                                            @Value("${spring.datasource.url:}") String url,
+                                            @Value("${spring.datasource.username:}") String username,
+                                            @Value("${spring.datasource.password:}") String password) {
+        RateLimitProperties.Distributed distributed = properties.distributed();
+        if (!distributed.enabled()) {
+            return new LocalBucketStore(properties);
+        }
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("rate-limit");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(distributed.poolSize());
+        config.setMinimumIdle(1);
+        config.setConnectionTimeout(Math.max(250, distributed.connectionTimeout().toMillis()));
+        // Do not fail startup when the database is down: the store falls back to local buckets
+        config.setInitializationFailTimeout(-1);
+        HikariDataSource dataSource = new HikariDataSource(config);
+
+        ProxyManager<String> proxyManager = DistributedBucketStore.postgresProxyManager(dataSource);
+        log.info("Distributed rate limiting enabled (sync every {} tokens or {})",
+                distributed.syncThreshold(), distributed.syncInterval());
+        return new DistributedBucketStore(properties, proxyManager, dataSource);
+    }
+}
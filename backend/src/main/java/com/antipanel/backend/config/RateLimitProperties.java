@@ -0,0 +1,137 @@
+package com.antipanel.backend.config;
+
+import com.antipanel.backend.security.ratelimit.RateLimitTier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limiting configuration properties.
+ * Binds to app.rate-limit.* properties in application.yml
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        /**
+         * Proxies (IPs or CIDR ranges) whose X-Forwarded-For header is trusted.
+         * Requests from any other address are identified by their remote address.
+         * Default: loopback and private networks (Caddy in the Docker network)
+         */
+        List<String> trustedProxies,
+
+        /**
+         * Maximum number of client buckets kept in memory.
+         * Clients beyond this share one overflow bucket per tier until idle buckets are evicted.
+         * Default: 100000
+         */
+        int maxClients,
+
+        /**
+         * Buckets unused for this long are evicted. Must be at least the longest tier period,
+         * so an evicted bucket would have been full again anyway.
+         * Default: 10 minutes
+         */
+        Duration idleTimeout,
+
+        /**
+         * Limit per tier. Missing tiers use their defaults.
+         */
+        Map<RateLimitTier, Limit> tiers,
+
+        /**
+         * Shared bucket state in PostgreSQL, so the limits hold across replicas.
+         */
+        Distributed distributed
+) {
+    /**
+     * Default constructor with sensible defaults.
+     */
+    public RateLimitProperties {
+        if (trustedProxies == null) {
+            trustedProxies = List.of(
+                    "127.0.0.0/8", "::1/128",
+                    "10.0.0.0/8", "172.16.0.0/12", "192.168.0.0/16", "fc00::/7");
+        }
+        if (maxClients <= 0) {
+            maxClients = 100_000;
+        }
+        if (idleTimeout == null || idleTimeout.isNegative() || idleTimeout.isZero()) {
+            idleTimeout = Duration.ofMinutes(10);
+        }
+        Map<RateLimitTier, Limit> resolved = new EnumMap<>(RateLimitTier.class);
+        for (RateLimitTier tier : RateLimitTier.values()) {
+            Limit limit = tiers != null ? tiers.get(tier) : null;
+            resolved.put(tier, limit != null && limit.capacity() > 0 ? limit : tier.defaultLimit());
+        }
+        tiers = Map.copyOf(resolved);
+        if (distributed == null) {
+            distributed = new Distributed(false, 0, null, null, 0, null);
+        }
+    }
+
+    /**
+     * Limit configured for a tier.
+     *
+     * @param tier Tier
+     * @return Limit
+     */
+    public Limit limitFor(RateLimitTier tier) {
+        return tiers.get(tier);
+    }
+
+    /**
+     * Token bucket limit: capacity requests, refilled over period.
+     *
+     * @param capacity Requests allowed per period
+     * @param period   Refill period (default 1 minute)
+     */
+    public record Limit(int capacity, Duration period) {
+
+        public Limit {
+            if (period == null || period.isNegative() || period.isZero()) {
+                period = Duration.ofMinutes(1);
+            }
+        }
+    }
+
+    /**
+     * Distributed rate limiting settings.
+     *
+     * @param enabled           Keep bucket state in PostgreSQL (default: false, per-node buckets)
+     * @param syncThreshold     Tokens a node may consume locally before synchronizing (default: 10).
+     *                          Worst case a client exceeds its limit by nodes x threshold.
+     * @param syncInterval      Maximum time a node consumes locally before synchronizing (default: 500ms)
+     * @param retryAfterFailure How long to use local buckets after the database failed (default: 30s)
+     * @param poolSize          Connections of the dedicated rate limit pool (default: 4)
+     * @param connectionTimeout Time to wait for a rate limit connection before falling back (default: 500ms)
+     */
+    public record Distributed(
+            boolean enabled,
+            int syncThreshold,
+            Duration syncInterval,
+            Duration retryAfterFailure,
+            int poolSize,
+            Duration connectionTimeout
+    ) {
+
+        public Distributed {
+            if (syncThreshold <= 0) {
+                syncThreshold = 10;
+            }
+            if (syncInterval == null || syncInterval.isNegative() || syncInterval.isZero()) {
+                syncInterval = Duration.ofMillis(500);
+            }
+            if (retryAfterFailure == null || retryAfterFailure.isNegative() || retryAfterFailure.isZero()) {
+                retryAfterFailure = Duration.ofSeconds(30);
+            }
+            if (poolSize <= 0) {
+                poolSize = 4;
+            }
+            if (connectionTimeout == null || connectionTimeout.isNegative() || connectionTimeout.isZero()) {
+                connectionTimeout = Duration.ofMillis(500);
+            }
+        }
+    }
+}
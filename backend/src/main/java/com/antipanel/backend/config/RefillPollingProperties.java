@@ -0,0 +1,44 @@
+package com.antipanel.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Refill status polling configuration properties.
+ * Binds to app.refill-polling.* properties in application.yml
+ */
+@ConfigurationProperties(prefix = "app.refill-polling")
+public record RefillPollingProperties(
+        /**
+         * PROCESSING refills loaded per page.
+         * Default: 500
+         */
+        int pageSize,
+
+        /**
+         * Maximum refills checked per scheduler run, bounding the time spent per run.
+         * Default: 10000
+         */
+        int maxRefillsPerRun,
+
+        /**
+         * Single-refill status calls in flight per provider, used when the provider
+         * does not answer multi-refill status requests.
+         * Default: 4
+         */
+        int providerConcurrency
+) {
+    /**
+     * Default constructor with sensible defaults.
+     */
+    public RefillPollingProperties {
+        if (pageSize <= 0) {
+            pageSize = 500;
+        }
+        if (maxRefillsPerRun <= 0) {
+            maxRefillsPerRun = 10_000;
+        }
+        if (providerConcurrency <= 0) {
+            providerConcurrency = 4;
+        }
+    }
+}
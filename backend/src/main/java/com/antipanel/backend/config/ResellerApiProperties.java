@@ -0,0 +1,38 @@
+package com.antipanel.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Reseller API (/api/v2) configuration properties.
+ * Binds to app.reseller-api.* properties in application.yml
+ */
+@ConfigurationProperties(prefix = "app.reseller-api")
+public record ResellerApiProperties(
+        /**
+         * How long the serialized services list is served before it is rebuilt.
+         * Local catalog changes rebuild it immediately; the TTL bounds how long
+         * changes made on other nodes take to show up.
+         * Default: 60 seconds
+         */
+        Duration catalogTtl,
+
+        /**
+         * Currency code reported with balances and order charges.
+         * Default: USD
+         */
+        String currency
+) {
+    /**
+     * Default constructor with sensible defaults.
+     */
+    public ResellerApiProperties {
+        if (catalogTtl == null || catalogTtl.isNegative() || catalogTtl.isZero()) {
+            catalogTtl = Duration.ofSeconds(60);
+        }
+        if (currency == null || currency.isBlank()) {
+            currency = "USD";
+        }
+    }
+}
@@ -68,6 +68,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/v1/public/**").permitAll()
                         // Webhook endpoints - public but signature-verified
                         .requestMatchers("/api/v1/webhooks/**").permitAll()
+                        // Reseller API - authenticated by API key in the controller
+                        .requestMatchers("/api/v2", "/api/v2/**").permitAll()
                         // Swagger/OpenAPI endpoints
                         .requestMatchers("/swagger-ui/**").permitAll()
                         .requestMatchers("/swagger-ui.html").permitAll()
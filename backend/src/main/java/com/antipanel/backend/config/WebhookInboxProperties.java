@@ -0,0 +1,84 @@
+package com.antipanel.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Webhook inbox configuration properties.
+ * Binds to app.webhook-inbox.* properties in application.yml
+ */
+@ConfigurationProperties(prefix = "app.webhook-inbox")
+public record WebhookInboxProperties(
+        /**
+         * Maximum number of inbox entries claimed per drain.
+         * Default: 100
+         */
+        int batchSize,
+
+        /**
+         * Number of invoices whose webhooks are applied concurrently.
+         * Default: 4
+         */
+        int workers,
+
+        /**
+         * Attempts before an entry that keeps failing is marked FAILED.
+         * Default: 10
+         */
+        int maxAttempts,
+
+        /**
+         * Delay before the first retry; doubled for each further attempt.
+         * Default: 5 seconds
+         */
+        Duration initialBackoff,
+
+        /**
+         * Upper bound of the retry delay.
+         * Default: 10 minutes
+         */
+        Duration maxBackoff,
+
+        /**
+         * How long a claimed entry is reserved before another node may take it over.
+         * Default: 2 minutes
+         */
+        Duration lease,
+
+        /**
+         * How long processed entries are kept before being purged.
+         * Default: 7 days
+         */
+        Duration retention
+) {
+    /**
+     * Default constructor with sensible defaults.
+     */
+    public WebhookInboxProperties {
+        if (batchSize <= 0) {
+            batchSize = 100;
+        }
+        if (workers <= 0) {
+            workers = 4;
+        }
+        if (maxAttempts <= 0) {
+            maxAttempts = 10;
+        }
+        if (initialBackoff == null || initialBackoff.isNegative() || initialBackoff.isZero()) {
+            initialBackoff = Duration.ofSeconds(5);
+        }
+        if (maxBackoff == null || maxBackoff.isNegative() || maxBackoff.isZero()) {
+            maxBackoff = Duration.ofMinutes(10);
+        }
+        if (maxBackoff.compareTo(initialBackoff) < 0) {
+            maxBackoff = initialBackoff;
+        }
+        if (lease == null || lease.isNegative() || lease.isZero()) {
+            lease = Duration.ofMinutes(2);
+        }
+        if (retention == null || retention.isNegative() || retention.isZero()) {
+            retention = Duration.ofDays(7);
+        }
+    }
+}
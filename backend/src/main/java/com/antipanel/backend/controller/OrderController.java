@@ -1,13 +1,18 @@
 package com.antipanel.backend.controller;
 
 import com.antipanel.backend.dto.common.PageResponse;
+import com.antipanel.backend.dto.order.BulkOrderRequest;
+import com.antipanel.backend.dto.order.BulkOrderResponse;
 import com.antipanel.backend.dto.order.OrderCreateRequest;
 import com.antipanel.backend.dto.order.OrderDetailResponse;
+import com.antipanel.backend.dto.order.OrderQuoteRequest;
+import com.antipanel.backend.dto.order.OrderQuoteResponse;
 import com.antipanel.backend.dto.order.OrderResponse;
 import com.antipanel.backend.security.CurrentUser;
 import com.antipanel.backend.security.CustomUserDetails;
 import com.antipanel.backend.service.OrderCreationFacade;
 import com.antipanel.backend.service.OrderService;
+import com.antipanel.backend.service.PricingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -46,6 +51,7 @@ public class OrderController {
 
     private final OrderService orderService;
     private final OrderCreationFacade orderCreationFacade;
+    private final PricingService pricingService;
 
     @Operation(summary = "Create a new order",
             description = "Creates a new order for a service. Validates quantity limits and user balance. " +
@@ -72,6 +78,41 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @Operation(summary = "Create many orders at once",
+            description = "Validates every line against the catalog, reserves the total with a single " +
+                    "balance debit and submits the orders to providers concurrently. Lines that cannot be " +
+                    "ordered or that the provider rejects are reported per line and not charged.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Bulk order processed",
+                    content = @Content(schema = @Schema(implementation = BulkOrderResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request, too many lines or insufficient balance"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkOrderResponse> createBulkOrder(
+            @CurrentUser CustomUserDetails currentUser,
+            @Valid @RequestBody BulkOrderRequest request) {
+        log.debug("Creating bulk order for user ID: {} - {} lines",
+                currentUser.getUserId(), request.getLines().size());
+        BulkOrderResponse response = orderCreationFacade.createBulkOrder(currentUser.getUserId(), request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @Operation(summary = "Quote a cart of orders",
+            description = "Prices up to 100 items without placing them. Items that cannot be ordered " +
+                    "(unknown or inactive service, quantity out of range) are reported per line.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cart priced",
+                    content = @Content(schema = @Schema(implementation = OrderQuoteResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    @PostMapping("/quote")
+    public ResponseEntity<OrderQuoteResponse> quote(@Valid @RequestBody OrderQuoteRequest request) {
+        log.debug("Quoting {} items", request.getItems().size());
+        return ResponseEntity.ok(pricingService.quote(request));
+    }
+
     @Operation(summary = "Get user's orders with pagination",
             description = "Returns paginated list of orders for the current user")
     @ApiResponses({
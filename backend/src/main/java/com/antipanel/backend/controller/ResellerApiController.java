@@ -0,0 +1,110 @@
+package com.antipanel.backend.controller;
+
+import com.antipanel.backend.exception.BadRequestException;
+import com.antipanel.backend.exception.ConflictException;
+import com.antipanel.backend.exception.InsufficientBalanceException;
+import com.antipanel.backend.exception.ProviderApiException;
+import com.antipanel.backend.exception.ResourceNotFoundException;
+import com.antipanel.backend.exception.UnauthorizedException;
+import com.antipanel.backend.security.ApiKeyAuthenticator;
+import com.antipanel.backend.security.CustomUserDetails;
+import com.antipanel.backend.service.ResellerApiService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SMM-panel compatible reseller API.
+ * A single form-encoded POST endpoint selected by the action parameter and authenticated by
+ * the key parameter, so other panels can add us as a provider without custom integration.
+ *
+ * <p>Errors are returned as HTTP 200 with {"error": message}, as panel clients expect;
+ * only unexpected failures go through GlobalExceptionHandler.</p>
+ */
+@RestController
+@RequestMapping("/api/v2")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Reseller API", description = "SMM-panel compatible API authenticated by API key")
+public class ResellerApiController {
+
+    private final ResellerApiService resellerApiService;
+    private final ApiKeyAuthenticator apiKeyAuthenticator;
+
+    @Operation(summary = "Reseller API",
+            description = "Actions: services, add, status, refill, refill_status, cancel, balance. "
+                    + "status accepts up to 100 comma-separated IDs in orders")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Action result, or {\"error\": message}")
+    })
+    @PostMapping
+    public ResponseEntity<?> handle(
+            @Parameter(description = "API key") @RequestParam String key,
+            @Parameter(description = "Action", example = "status") @RequestParam String action,
+            @RequestParam(required = false) Integer service,
+            @RequestParam(required = false) String link,
+            @RequestParam(required = false) Integer quantity,
+            @RequestParam(required = false) Long order,
+            @RequestParam(required = false) List<Long> orders,
+            @RequestParam(required = false) Long refill) {
+        CustomUserDetails user = apiKeyAuthenticator.authenticate(key)
+                .orElseThrow(() -> new UnauthorizedException("Invalid API key"));
+        Long userId = user.getUserId();
+        log.debug("Reseller API action {} for user ID: {}", action, userId);
+
+        return switch (action) {
+            case "services" -> ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(resellerApiService.services());
+            case "add" -> ResponseEntity.ok(resellerApiService.add(userId, service, link, quantity));
+            case "status" -> ResponseEntity.ok(orders != null
+                    ? resellerApiService.statuses(userId, orders)
+                    : resellerApiService.status(userId, order));
+            case "refill" -> ResponseEntity.ok(resellerApiService.refill(userId, order));
+            case "refill_status" -> ResponseEntity.ok(resellerApiService.refillStatus(userId, refill));
+            case "cancel" -> ResponseEntity.ok(resellerApiService.cancel(userId,
+                    orders != null ? orders : order != null ? List.of(order) : null));
+            case "balance" -> ResponseEntity.ok(resellerApiService.balance(userId));
+            default -> throw new BadRequestException("Incorrect action");
+        };
+    }
+
+    // ============ ERROR HANDLING ============
+
+    @ExceptionHandler({BadRequestException.class, UnauthorizedException.class, ResourceNotFoundException.class,
+            ConflictException.class, ProviderApiException.class})
+    public ResponseEntity<Map<String, String>> handleBusinessError(RuntimeException ex) {
+        log.debug("Reseller API error: {}", ex.getMessage());
+        return error(ex.getMessage());
+    }
+
+    @ExceptionHandler(InsufficientBalanceException.class)
+    public ResponseEntity<Map<String, String>> handleInsufficientBalance(InsufficientBalanceException ex) {
+        return error("Not enough funds on balance");
+    }
+
+    @ExceptionHandler({MissingServletRequestParameterException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<Map<String, String>> handleIncorrectRequest(Exception ex) {
+        return error("Incorrect request");
+    }
+
+    private static ResponseEntity<Map<String, String>> error(String message) {
+        return ResponseEntity.ok(Map.of("error", message));
+    }
+}
@@ -1,5 +1,6 @@
 package com.antipanel.backend.controller;
 
+import com.antipanel.backend.dto.user.ApiKeyResponse;
 import com.antipanel.backend.dto.user.UserProfileUpdateRequest;
 import com.antipanel.backend.dto.user.UserResponse;
 import com.antipanel.backend.security.CurrentUser;
@@ -16,6 +17,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -66,4 +68,19 @@ public class UserController {
         UserResponse response = userService.updateProfile(currentUser.getUserId(), request);
         return ResponseEntity.ok(response);
     }
+
+    @Operation(summary = "Generate reseller API key",
+            description = "Generates a new key for the /api/v2 reseller API. The previous key stops working. "
+                    + "The key is only shown in this response")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "API key generated successfully",
+                    content = @Content(schema = @Schema(implementation = ApiKeyResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    @PostMapping("/me/api-key")
+    public ResponseEntity<ApiKeyResponse> regenerateApiKey(@CurrentUser CustomUserDetails currentUser) {
+        log.debug("Regenerating API key for user ID: {}", currentUser.getUserId());
+        String apiKey = userService.regenerateApiKey(currentUser.getUserId());
+        return ResponseEntity.ok(ApiKeyResponse.builder().apiKey(apiKey).build());
+    }
 }
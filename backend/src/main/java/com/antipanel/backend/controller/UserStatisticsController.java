@@ -3,10 +3,10 @@ package com.antipanel.backend.controller;
 import com.antipanel.backend.dto.user.UserStatisticsResponse;
 import com.antipanel.backend.entity.User;
 import com.antipanel.backend.entity.enums.OrderStatus;
-import com.antipanel.backend.repository.OrderRepository;
 import com.antipanel.backend.repository.UserRepository;
 import com.antipanel.backend.security.CurrentUser;
 import com.antipanel.backend.security.CustomUserDetails;
+import com.antipanel.backend.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -27,6 +27,7 @@ import java.time.LocalTime;
 /**
  * REST Controller for user dashboard statistics.
  * Provides endpoints for authenticated users to view their own statistics.
+ * Order counts include archived orders.
  */
 @RestController
 @RequestMapping("/api/v1/users/me")
@@ -35,7 +36,7 @@ import java.time.LocalTime;
 @Tag(name = "User Statistics", description = "User dashboard statistics endpoints")
 public class UserStatisticsController {
 
-    private final OrderRepository orderRepository;
+    private final OrderService orderService;
     private final UserRepository userRepository;
 
     @Operation(summary = "Get user statistics",
@@ -53,14 +54,14 @@ public class UserStatisticsController {
         Long userId = currentUser.getUserId();
 
         // Get order counts
-        long totalOrders = orderRepository.countByUserId(userId);
-        long pendingOrders = orderRepository.countByUserIdAndStatus(userId, OrderStatus.PENDING)
-                + orderRepository.countByUserIdAndStatus(userId, OrderStatus.PROCESSING);
-        long completedOrders = orderRepository.countByUserIdAndStatus(userId, OrderStatus.COMPLETED);
+        long totalOrders = orderService.countByUser(userId);
+        long pendingOrders = orderService.countByUserAndStatus(userId, OrderStatus.PENDING)
+                + orderService.countByUserAndStatus(userId, OrderStatus.PROCESSING);
+        long completedOrders = orderService.countByUserAndStatus(userId, OrderStatus.COMPLETED);
 
         // Get orders this month
         LocalDateTime startOfMonth = LocalDate.now().withDayOfMonth(1).atStartOfDay();
-        long ordersThisMonth = orderRepository.countByUserIdAndCreatedAtAfter(userId, startOfMonth);
+        long ordersThisMonth = orderService.countByUserSince(userId, startOfMonth);
 
         // Get user balance
         User user = userRepository.findById(userId)
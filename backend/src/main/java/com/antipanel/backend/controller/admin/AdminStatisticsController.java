@@ -2,9 +2,9 @@ package com.antipanel.backend.controller.admin;
 
 import com.antipanel.backend.entity.enums.OrderStatus;
 import com.antipanel.backend.entity.enums.InvoiceStatus;
-import com.antipanel.backend.repository.OrderRepository;
 import com.antipanel.backend.repository.InvoiceRepository;
 import com.antipanel.backend.repository.UserRepository;
+import com.antipanel.backend.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -27,13 +27,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Admin REST Controller for platform statistics.
  * Requires ADMIN role for all operations.
+ * Order totals come from OrderService and include archived orders.
  */
 @RestController
 @RequestMapping("/api/v1/admin/statistics")
@@ -43,7 +43,7 @@ import java.util.stream.Collectors;
 @Tag(name = "Admin - Statistics", description = "Admin platform statistics endpoints")
 public class AdminStatisticsController {
 
-    private final OrderRepository orderRepository;
+    private final OrderService orderService;
     private final InvoiceRepository invoiceRepository;
     private final UserRepository userRepository;
 
@@ -62,24 +62,20 @@ public class AdminStatisticsController {
         Map<String, Object> stats = new HashMap<>();
 
         // Count orders by status
-        stats.put("totalOrders", orderRepository.count());
+        stats.put("totalOrders", orderService.countAll());
 
-        // Convert List<Object[]> to Map for better JSON output
-        List<Object[]> statusCounts = orderRepository.countOrdersByStatus();
-        Map<String, Long> ordersByStatus = statusCounts.stream()
+        // Status names as keys for better JSON output
+        Map<String, Long> ordersByStatus = orderService.countAllByStatus().entrySet().stream()
                 .collect(Collectors.toMap(
-                        arr -> arr[0].toString(),
-                        arr -> (Long) arr[1]
+                        entry -> entry.getKey().toString(),
+                        Map.Entry::getValue
                 ));
         stats.put("ordersByStatus", ordersByStatus);
 
         // Revenue statistics
-        BigDecimal totalRevenue = orderRepository.getTotalRevenue();
-        BigDecimal totalCost = orderRepository.getTotalCost();
-        BigDecimal totalProfit = orderRepository.getTotalProfit();
-        stats.put("totalRevenue", totalRevenue != null ? totalRevenue : BigDecimal.ZERO);
-        stats.put("totalCost", totalCost != null ? totalCost : BigDecimal.ZERO);
-        stats.put("totalProfit", totalProfit != null ? totalProfit : BigDecimal.ZERO);
+        stats.put("totalRevenue", orderService.getTotalRevenue());
+        stats.put("totalCost", orderService.getTotalCost());
+        stats.put("totalProfit", orderService.getTotalProfit());
 
         return ResponseEntity.ok(stats);
     }
@@ -107,14 +103,11 @@ public class AdminStatisticsController {
         Map<String, Object> stats = new HashMap<>();
 
         // Count orders in range
-        long ordersInRange = orderRepository.findOrdersBetweenDates(start, end).size();
-        stats.put("ordersInRange", ordersInRange);
+        stats.put("ordersInRange", orderService.countBetweenDates(start, end));
 
         // Revenue in range (using completed orders - paidAt/completedAt)
-        BigDecimal revenueInRange = orderRepository.getRevenueBetweenDates(start, end);
-        BigDecimal profitInRange = orderRepository.getProfitBetweenDates(start, end);
-        stats.put("revenueInRange", revenueInRange != null ? revenueInRange : BigDecimal.ZERO);
-        stats.put("profitInRange", profitInRange != null ? profitInRange : BigDecimal.ZERO);
+        stats.put("revenueInRange", orderService.getRevenueBetweenDates(start, end));
+        stats.put("profitInRange", orderService.getProfitBetweenDates(start, end));
 
         stats.put("startDate", startDate);
         stats.put("endDate", endDate);
@@ -195,14 +188,12 @@ public class AdminStatisticsController {
         summary.put("bannedUsers", userRepository.findByIsBannedTrue().size());
 
         // Order metrics
-        summary.put("totalOrders", orderRepository.count());
-        summary.put("pendingOrders", orderRepository.countByStatus(OrderStatus.PENDING));
+        summary.put("totalOrders", orderService.countAll());
+        summary.put("pendingOrders", orderService.countByStatus(OrderStatus.PENDING));
 
         // Revenue metrics
-        BigDecimal totalRevenue = orderRepository.getTotalRevenue();
-        BigDecimal totalProfit = orderRepository.getTotalProfit();
-        summary.put("totalRevenue", totalRevenue != null ? totalRevenue : BigDecimal.ZERO);
-        summary.put("totalProfit", totalProfit != null ? totalProfit : BigDecimal.ZERO);
+        summary.put("totalRevenue", orderService.getTotalRevenue());
+        summary.put("totalProfit", orderService.getTotalProfit());
 
         // Invoice metrics
         BigDecimal totalDeposits = invoiceRepository.getTotalRevenue();
@@ -212,10 +203,8 @@ public class AdminStatisticsController {
         // Today's metrics
         LocalDateTime todayStart = LocalDate.now().atStartOfDay();
         LocalDateTime todayEnd = LocalDate.now().atTime(LocalTime.MAX);
-        summary.put("ordersToday", orderRepository.findOrdersBetweenDates(todayStart, todayEnd).size());
-
-        BigDecimal revenueToday = orderRepository.getRevenueBetweenDates(todayStart, todayEnd);
-        summary.put("revenueToday", revenueToday != null ? revenueToday : BigDecimal.ZERO);
+        summary.put("ordersToday", orderService.countBetweenDates(todayStart, todayEnd));
+        summary.put("revenueToday", orderService.getRevenueBetweenDates(todayStart, todayEnd));
 
         return ResponseEntity.ok(summary);
     }
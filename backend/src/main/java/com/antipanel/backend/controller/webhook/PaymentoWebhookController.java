@@ -4,7 +4,7 @@ import com.antipanel.backend.config.PaymentoConfig;
 import com.antipanel.backend.dto.paymento.PaymentoWebhookPayload;
 import com.antipanel.backend.entity.PaymentProcessor;
 import com.antipanel.backend.repository.PaymentProcessorRepository;
-import com.antipanel.backend.service.payment.PaymentoWebhookService;
+import com.antipanel.backend.service.payment.WebhookInboxService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -29,6 +29,9 @@ import java.security.NoSuchAlgorithmException;
  *
  * Endpoint: POST /api/v1/webhooks/paymento
  * This endpoint is public but protected by HMAC signature verification.
+ *
+ * Verified webhooks are stored in the webhook inbox and acknowledged right away;
+ * the balance is credited by WebhookInboxTask shortly after.
  */
 @RestController
 @RequestMapping("/api/v1/webhooks/paymento")
@@ -41,7 +44,7 @@ public class PaymentoWebhookController {
     private static final String HMAC_ALGORITHM = "HmacSHA256";
     private static final String PAYMENTO_PROCESSOR_CODE = "paymento";
 
-    private final PaymentoWebhookService webhookService;
+    private final WebhookInboxService webhookInboxService;
     private final PaymentProcessorRepository processorRepository;
     private final PaymentoConfig paymentoConfig;
     private final ObjectMapper objectMapper;
@@ -49,10 +52,10 @@ public class PaymentoWebhookController {
     @PostMapping
     @Operation(
             summary = "Paymento IPN callback",
-            description = "Receives payment notifications from Paymento. Validates HMAC signature before processing."
+            description = "Receives payment notifications from Paymento. Validates HMAC signature and queues the notification for processing."
     )
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Webhook processed successfully"),
+            @ApiResponse(responseCode = "200", description = "Webhook accepted for processing"),
             @ApiResponse(responseCode = "400", description = "Invalid payload"),
             @ApiResponse(responseCode = "403", description = "Invalid signature"),
             @ApiResponse(responseCode = "500", description = "Processing error")
@@ -97,8 +100,8 @@ public class PaymentoWebhookController {
             PaymentoWebhookPayload payload = objectMapper.readValue(
                     rawPayload, PaymentoWebhookPayload.class);
 
-            // Process the webhook
-            webhookService.processWebhook(payload);
+            // Store for processing; redeliveries are acknowledged without storing again
+            webhookInboxService.enqueue(payload, rawPayload);
 
             return ResponseEntity.ok("OK");
 
@@ -0,0 +1,88 @@
+package com.antipanel.backend.datasource;
+
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the current thread as doing background work, so {@link RoutingDataSource} hands it
+ * connections from the background pool instead of the web pool.
+ *
+ * <p>The mark is inherited by threads started while it is set, including the virtual threads
+ * schedulers use to fan out provider calls. Connections are routed when they are checked out:
+ * the mark must be set before a transaction begins, not inside it.</p>
+ */
+public final class BackgroundPool {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new InheritableThreadLocal<>();
+
+    private BackgroundPool() {
+    }
+
+    /**
+     * Whether the current thread is doing background work.
+     */
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(ACTIVE.get());
+    }
+
+    /**
+     * Run a task as background work.
+     */
+    public static void run(Runnable task) {
+        Boolean previous = enter();
+        try {
+            task.run();
+        } finally {
+            exit(previous);
+        }
+    }
+
+    /**
+     * Run a task as background work and return its result.
+     */
+    public static <T> T call(Supplier<T> task) {
+        Boolean previous = enter();
+        try {
+            return task.get();
+        } finally {
+            exit(previous);
+        }
+    }
+
+    /**
+     * Wrap a task so it runs as background work on whichever thread executes it.
+     * Usable as a TaskDecorator.
+     */
+    public static Runnable decorate(Runnable task) {
+        return () -> run(task);
+    }
+
+    /**
+     * Proceed with a method invocation as background work.
+     */
+    static Object proceed(MethodInvocation invocation) throws Throwable {
+        Boolean previous = enter();
+        try {
+            return invocation.proceed();
+        } finally {
+            exit(previous);
+        }
+    }
+
+    // ============ HELPER METHODS ============
+
+    private static Boolean enter() {
+        Boolean previous = ACTIVE.get();
+        ACTIVE.set(Boolean.TRUE);
+        return previous;
+    }
+
+    private static void exit(Boolean previous) {
+        if (previous == null) {
+            ACTIVE.remove();
+        } else {
+            ACTIVE.set(previous);
+        }
+    }
+}
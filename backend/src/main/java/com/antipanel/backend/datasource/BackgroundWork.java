@@ -0,0 +1,19 @@
+package com.antipanel.backend.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs every method of the annotated bean as background work, on the background connection pool,
+ * whoever calls it. Applied before the bean's transactions begin (see BackgroundWorkPostProcessor).
+ *
+ * <p>Scheduled tasks need no annotation: the scheduler marks them already.</p>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface BackgroundWork {
+}
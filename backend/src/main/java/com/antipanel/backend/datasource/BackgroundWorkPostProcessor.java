@@ -0,0 +1,23 @@
+package com.antipanel.backend.datasource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+
+/**
+ * Proxies {@link BackgroundWork} beans so their methods run as background work.
+ *
+ * <p>The advice is placed before existing advisors, so the thread is marked before the
+ * transaction interceptor checks out a connection.</p>
+ */
+public class BackgroundWorkPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    public BackgroundWorkPostProcessor() {
+        MethodInterceptor interceptor = BackgroundPool::proceed;
+        this.advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(BackgroundWork.class, true), interceptor);
+        this.beforeExistingAdvisors = true;
+        // Class-based proxies, as for the transactional proxies of the rest of the application
+        setProxyTargetClass(true);
+    }
+}
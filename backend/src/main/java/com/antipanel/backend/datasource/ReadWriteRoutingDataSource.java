@@ -0,0 +1,87 @@
+package com.antipanel.backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+/**
+ * DataSource that sends read-only transactions to a read replica and everything else to the primary.
+ *
+ * <p>Connections are fetched lazily: the transaction manager marks the connection read-only before
+ * its first statement, and only then is a physical connection taken, from a replica for read-only
+ * transactions. Reads still go to the primary when:</p>
+ * <ul>
+ *   <li>the thread does background work, which reads what it is about to write;</li>
+ *   <li>the caller is pinned to the primary (see {@link ReadYourWrites});</li>
+ *   <li>no replica is within the allowed lag, or the chosen one gives no connection in time.</li>
+ * </ul>
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final DataSource primary;
+
+    /**
+     * @param primary         Primary DataSource, used for writes and as fallback
+     * @param replicas        Replica pools
+     * @param pinnedToPrimary Whether the current caller must read from the primary
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaPools replicas, BooleanSupplier pinnedToPrimary) {
+        super(primary);
+        this.primary = primary;
+        setReadOnlyDataSource(new ReadOnlyRoute(primary, replicas, pinnedToPrimary));
+    }
+
+    /**
+     * Closes the primary pools; replica pools are closed with ReplicaPools.
+     */
+    @Override
+    public void close() throws Exception {
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class ReadOnlyRoute extends AbstractDataSource {
+
+        private final DataSource primary;
+        private final ReplicaPools replicas;
+        private final BooleanSupplier pinnedToPrimary;
+
+        private ReadOnlyRoute(DataSource primary, ReplicaPools replicas, BooleanSupplier pinnedToPrimary) {
+            this.primary = primary;
+            this.replicas = replicas;
+            this.pinnedToPrimary = pinnedToPrimary;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (BackgroundPool.isActive() || pinnedToPrimary.getAsBoolean()) {
+                return primary.getConnection();
+            }
+            Optional<HikariDataSource> replica = replicas.pick();
+            if (replica.isPresent()) {
+                try {
+                    return replica.get().getConnection();
+                } catch (SQLException e) {
+                    log.warn("Replica {} unavailable, reading from the primary: {}",
+                            replica.get().getPoolName(), e.getMessage());
+                    replicas.markUnavailable(replica.get());
+                }
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+    }
+}
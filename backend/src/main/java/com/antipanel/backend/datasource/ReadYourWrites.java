@@ -0,0 +1,70 @@
+package com.antipanel.backend.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Users that wrote recently, whose reads must see their own writes.
+ *
+ * <p>After a user places an order, their read-only transactions go to the primary for a window at
+ * least as long as the maximum replica lag, so the order is visible in the next history or balance
+ * read. Per node: a read served by another node within the window may still hit a replica.</p>
+ *
+ * <p>Shared data has no single reader to pin: after it changes, every read goes to the primary for
+ * the window, so caches evicted by the change are not refilled from a replica that lacks it.</p>
+ */
+public class ReadYourWrites {
+
+    private final Map<Long, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final AtomicLong allPinnedUntil;
+    private final long windowNanos;
+
+    public ReadYourWrites(Duration window) {
+        this.windowNanos = window.toNanos();
+        this.allPinnedUntil = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Pin the user's reads to the primary for the window, starting now.
+     */
+    public void recordWrite(Long userId) {
+        pinnedUntil.put(userId, System.nanoTime() + windowNanos);
+    }
+
+    /**
+     * Pin every reader to the primary for the window, starting now.
+     */
+    public void recordSharedWrite() {
+        long until = System.nanoTime() + windowNanos;
+        allPinnedUntil.accumulateAndGet(until, (current, next) -> next - current > 0 ? next : current);
+    }
+
+    /**
+     * Whether the user's reads must go to the primary.
+     */
+    public boolean isPinned(Long userId) {
+        Long until = pinnedUntil.get(userId);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    /**
+     * Whether every read must go to the primary.
+     */
+    public boolean isAllPinned() {
+        return allPinnedUntil.get() - System.nanoTime() > 0;
+    }
+
+    /**
+     * Forget users whose window has passed.
+     *
+     * @return Number of users removed
+     */
+    public int purgeExpired() {
+        long now = System.nanoTime();
+        int before = pinnedUntil.size();
+        pinnedUntil.values().removeIf(until -> until - now <= 0);
+        return before - pinnedUntil.size();
+    }
+}
@@ -0,0 +1,145 @@
+package com.antipanel.backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read replica connection pools and their replication lag.
+ *
+ * <p>Replicas are used round robin, skipping those whose last lag check failed or found them
+ * more than maxLag behind the primary. A replica is not used before its first successful check.</p>
+ */
+@Slf4j
+public class ReplicaPools implements AutoCloseable {
+
+    /**
+     * Seconds since the last replayed transaction, or 0 when everything received is replayed.
+     * An instance that is not in recovery is not replicating and counts as up to date,
+     * so two independent local instances can stand in for a primary and a replica.
+     * NULL for a replica whose WAL receiver is not streaming: once disconnected it has replayed
+     * all it received and would otherwise report no lag at all. Reading the receiver status
+     * needs pg_read_all_stats (or pg_monitor) for the replica user.
+     */
+    private static final String LAG_SQL = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPools(List<HikariDataSource> pools, Duration maxLag) {
+        this.replicas = pools.stream().map(Replica::new).toList();
+        this.maxLagMillis = maxLag.toMillis();
+    }
+
+    /**
+     * Next usable replica pool, if any.
+     */
+    public Optional<HikariDataSource> pick() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return Optional.of(replica.pool);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Measure the lag of every replica and update which ones are usable.
+     */
+    public void refreshLag() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                rs.next();
+                double lagSeconds = rs.getDouble(1);
+                if (rs.wasNull()) {
+                    replica.lagMillis = -1;
+                    replica.healthy = false;
+                } else {
+                    replica.lagMillis = Math.round(lagSeconds * 1000);
+                    replica.healthy = replica.lagMillis <= maxLagMillis;
+                }
+            } catch (SQLException e) {
+                replica.lagMillis = -1;
+                replica.healthy = false;
+                log.debug("Lag check failed for replica {}: {}", replica.pool.getPoolName(), e.getMessage());
+            }
+            if (wasHealthy != replica.healthy) {
+                log.warn("Replica {} is {} (lag {} ms)", replica.pool.getPoolName(),
+                        replica.healthy ? "back in use" : "skipped", replica.lagMillis);
+            }
+        }
+    }
+
+    /**
+     * Stop using a replica until its next successful lag check.
+     */
+    public void markUnavailable(HikariDataSource pool) {
+        for (Replica replica : replicas) {
+            if (replica.pool == pool) {
+                replica.healthy = false;
+            }
+        }
+    }
+
+    public List<HikariDataSource> pools() {
+        return replicas.stream().map(replica -> replica.pool).toList();
+    }
+
+    /**
+     * Number of replicas currently in use.
+     */
+    public int usableCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * Last measured lag of a replica in milliseconds, -1 if the last check failed or found it
+     * not streaming from the primary.
+     */
+    public long lagMillis(HikariDataSource pool) {
+        for (Replica replica : replicas) {
+            if (replica.pool == pool) {
+                return replica.lagMillis;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile boolean healthy;
+        private volatile long lagMillis = -1;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.antipanel.backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.Map;
+
+/**
+ * DataSource that hands out connections from the web pool or, for threads marked by
+ * {@link BackgroundPool}, from the background pool. A heavy polling pass or provider sync then
+ * waits for its own connections instead of taking them from user requests.
+ *
+ * <p>The pool is chosen when a connection is checked out, i.e. when a transaction begins or a
+ * statement runs outside one.</p>
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    /**
+     * Connection pools.
+     */
+    public enum Route {
+        WEB,
+        BACKGROUND
+    }
+
+    private final HikariDataSource webPool;
+    private final HikariDataSource backgroundPool;
+
+    public RoutingDataSource(HikariDataSource webPool, HikariDataSource backgroundPool) {
+        this.webPool = webPool;
+        this.backgroundPool = backgroundPool;
+        setTargetDataSources(Map.of(Route.WEB, webPool, Route.BACKGROUND, backgroundPool));
+        setDefaultTargetDataSource(webPool);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public HikariDataSource webPool() {
+        return webPool;
+    }
+
+    public HikariDataSource backgroundPool() {
+        return backgroundPool;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return BackgroundPool.isActive() ? Route.BACKGROUND : Route.WEB;
+    }
+
+    @Override
+    public void close() {
+        backgroundPool.close();
+        webPool.close();
+    }
+}
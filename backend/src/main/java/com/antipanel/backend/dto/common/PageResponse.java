@@ -39,6 +39,14 @@ public class PageResponse<T> {
      */
     private long totalElements;
 
+    /**
+     * Whether totalElements is an exact count.
+     * False when the total comes from a planner estimate or a cached count,
+     * in which case totalElements and totalPages are approximate.
+     */
+    @Builder.Default
+    private boolean totalExact = true;
+
     /**
      * Total number of pages
      */
@@ -0,0 +1,18 @@
+package com.antipanel.backend.dto.common;
+
+/**
+ * Total element count for a paginated listing.
+ *
+ * @param totalElements Total number of elements (exact or estimated)
+ * @param exact         Whether the total is an exact count
+ */
+public record PageTotal(long totalElements, boolean exact) {
+
+    public static PageTotal exact(long totalElements) {
+        return new PageTotal(totalElements, true);
+    }
+
+    public static PageTotal approximate(long totalElements) {
+        return new PageTotal(totalElements, false);
+    }
+}
@@ -0,0 +1,42 @@
+package com.antipanel.backend.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of one line of a bulk order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderLineResult {
+
+    /** Position of the line in the request, starting at 0 */
+    private int line;
+
+    /** Service ID */
+    private Integer serviceId;
+
+    /** Target URL or username */
+    private String target;
+
+    /** Ordered quantity */
+    private Integer quantity;
+
+    /** Charge for this line (null if the line was rejected before reservation) */
+    private BigDecimal charge;
+
+    /** Whether the order was placed with the provider and charged */
+    private boolean placed;
+
+    /** Created order (null if the line was rejected before reservation) */
+    private OrderResponse order;
+
+    /** Why the line was not placed */
+    private String error;
+}
@@ -0,0 +1,27 @@
+package com.antipanel.backend.dto.order;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for placing many orders at once.
+ * The maximum number of lines is configured by app.orders.bulk.max-lines.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderRequest {
+
+    /**
+     * Orders to place
+     */
+    @NotEmpty(message = "At least one line is required")
+    private List<@Valid BulkOrderLine> lines;
+}
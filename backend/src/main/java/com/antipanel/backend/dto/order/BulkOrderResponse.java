@@ -0,0 +1,31 @@
+package com.antipanel.backend.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Response DTO for a bulk order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderResponse {
+
+    /** Result of every line, in request order */
+    private List<BulkOrderLineResult> results;
+
+    /** Number of lines placed */
+    private int placed;
+
+    /** Number of lines rejected or failed (their holds were released) */
+    private int failed;
+
+    /** Sum of the charges of all placed lines */
+    private BigDecimal totalCharge;
+}
@@ -0,0 +1,31 @@
+package com.antipanel.backend.dto.order;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One item of a cart to be priced.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderQuoteItem {
+
+    /**
+     * ID of the service being quoted
+     */
+    @NotNull(message = "Service ID is required")
+    private Integer serviceId;
+
+    /**
+     * Quantity to quote
+     */
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+}
@@ -0,0 +1,39 @@
+package com.antipanel.backend.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Priced item of a quote.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderQuoteLine {
+
+    /** Service ID */
+    private Integer serviceId;
+
+    /** Service name (null if the service does not exist) */
+    private String serviceName;
+
+    /** Quoted quantity */
+    private Integer quantity;
+
+    /** Price per 1000 units */
+    private BigDecimal pricePerK;
+
+    /** Charge for this item (null if the item cannot be ordered) */
+    private BigDecimal charge;
+
+    /** Whether the item can be ordered as quoted */
+    private boolean orderable;
+
+    /** Why the item cannot be ordered */
+    private String error;
+}
@@ -0,0 +1,28 @@
+package com.antipanel.backend.dto.order;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for pricing a cart of orders without placing them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderQuoteRequest {
+
+    /**
+     * Items to price
+     */
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 100, message = "A quote cannot exceed 100 items")
+    private List<@Valid OrderQuoteItem> items;
+}
@@ -0,0 +1,28 @@
+package com.antipanel.backend.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Response DTO for a priced cart.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderQuoteResponse {
+
+    /** Priced items, in request order */
+    private List<OrderQuoteLine> lines;
+
+    /** Sum of the charges of all orderable items */
+    private BigDecimal total;
+
+    /** Whether every item can be ordered */
+    private boolean orderable;
+}
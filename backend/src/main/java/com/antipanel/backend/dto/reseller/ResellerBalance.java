@@ -0,0 +1,26 @@
+package com.antipanel.backend.dto.reseller;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Account balance in the reseller API layout.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResellerBalance {
+
+    /**
+     * Current balance
+     */
+    private String balance;
+
+    /**
+     * Currency of the balance
+     */
+    private String currency;
+}
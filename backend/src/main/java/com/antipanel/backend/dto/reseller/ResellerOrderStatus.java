@@ -0,0 +1,43 @@
+package com.antipanel.backend.dto.reseller;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Order status in the reseller API layout.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResellerOrderStatus {
+
+    /**
+     * Amount charged for the order
+     */
+    private String charge;
+
+    /**
+     * Target count when the order started
+     */
+    @JsonProperty("start_count")
+    private String startCount;
+
+    /**
+     * Panel status: Pending, Processing, In progress, Completed, Partial or Canceled
+     */
+    private String status;
+
+    /**
+     * Quantity still to be delivered
+     */
+    private String remains;
+
+    /**
+     * Currency of the charge
+     */
+    private String currency;
+}
@@ -0,0 +1,62 @@
+package com.antipanel.backend.dto.reseller;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Service entry of the reseller API services list, in the layout SMM panels import.
+ * Numbers are sent as strings, as panel clients expect.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResellerServiceItem {
+
+    /**
+     * Service ID to order with
+     */
+    private Integer service;
+
+    /**
+     * Service name
+     */
+    private String name;
+
+    /**
+     * Service type name
+     */
+    private String type;
+
+    /**
+     * Category name
+     */
+    private String category;
+
+    /**
+     * Price per 1000
+     */
+    private String rate;
+
+    /**
+     * Minimum quantity
+     */
+    private String min;
+
+    /**
+     * Maximum quantity
+     */
+    private String max;
+
+    /**
+     * Whether orders come with a refill guarantee
+     */
+    private boolean refill;
+
+    /**
+     * Whether orders can be cancelled
+     */
+    private boolean cancel;
+}
@@ -0,0 +1,22 @@
+package com.antipanel.backend.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Newly generated reseller API key.
+ * The key is only returned once; the server keeps its hash.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiKeyResponse {
+
+    /**
+     * API key for the /api/v2 reseller API
+     */
+    private String apiKey;
+}
@@ -3,6 +3,8 @@ package com.antipanel.backend.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,11 +14,14 @@ import java.time.LocalDateTime;
  * Corresponde a las diferentes redes sociales (Instagram, TikTok, etc.)
  *
  * Tabla: categories
+ * Caché de segundo nivel: región categories (ver ReferenceCache)
  */
 @Entity
 @Table(name = "categories", indexes = {
     @Index(name = "idx_categories_sort", columnList = "sort_order")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 @Data
 @Builder
 @NoArgsConstructor
@@ -86,6 +86,19 @@ public class Invoice {
     @Column(name = "paid_at")
     private LocalDateTime paidAt;
 
+    /**
+     * Next payment verification by polling (null: not polled yet).
+     * Managed by PaymentPollingService with set-based updates.
+     */
+    @Column(name = "next_check_at")
+    private LocalDateTime nextCheckAt;
+
+    /**
+     * Payment verifications by polling so far; drives the polling backoff.
+     */
+    @Column(name = "check_attempts", nullable = false)
+    private int checkAttempts;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
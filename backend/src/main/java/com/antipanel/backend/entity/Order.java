@@ -6,6 +6,7 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.PartitionKey;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.type.SqlTypes;
 
@@ -15,7 +16,7 @@ import java.time.LocalDateTime;
 /**
  * Entidad que representa las órdenes realizadas por los usuarios.
  *
- * Tabla: orders
+ * Tabla: orders (particionada por mes en created_at, ver V12)
  */
 @Entity
 @Table(name = "orders", indexes = {
@@ -34,8 +35,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Order {
 
+    /**
+     * Pooled sequence (blocks of 50, see V15) so inserts can be JDBC-batched.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_id_seq")
+    @SequenceGenerator(name = "orders_id_seq", sequenceName = "orders_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -77,9 +82,11 @@ public class Order {
     /**
      * Idempotency key for duplicate prevention.
      * Client-generated UUID to ensure idempotent order creation.
+     * Not unique at database level: partitioned tables only enforce uniqueness
+     * together with the partition key. The hold's idempotency key is unique instead.
      */
     @Size(max = 64, message = "El idempotency key no puede exceder 64 caracteres")
-    @Column(name = "idempotency_key", length = 64, unique = true)
+    @Column(name = "idempotency_key", length = 64)
     private String idempotencyKey;
 
     /**
@@ -150,8 +157,13 @@ public class Order {
     @Column(name = "refill_deadline")
     private LocalDateTime refillDeadline;
 
+    /**
+     * Partition key. Included by Hibernate in UPDATE/DELETE statements
+     * so they only touch the partition holding the row.
+     */
     @Column(name = "created_at", nullable = false, updatable = false)
     @CreationTimestamp
+    @PartitionKey
     private LocalDateTime createdAt;
 
     @Column(name = "completed_at")
@@ -0,0 +1,135 @@
+package com.antipanel.backend.entity;
+
+import com.antipanel.backend.entity.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad de solo lectura que representa las órdenes archivadas.
+ * Las órdenes finalizadas fuera de su ventana de refill se mueven aquí desde orders.
+ *
+ * Tabla: orders_archive (ver V13)
+ */
+@Entity
+@Immutable
+@Table(name = "orders_archive", indexes = {
+    @Index(name = "idx_orders_archive_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_orders_archive_status_created", columnList = "status, created_at")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderArchive {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "version")
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false,
+                foreignKey = @ForeignKey(name = "fk_orders_archive_user"))
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "service_id", nullable = false,
+                foreignKey = @ForeignKey(name = "fk_orders_archive_service"))
+    private Service service;
+
+    @Column(name = "service_name", length = 255, nullable = false)
+    private String serviceName;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "provider_service_id", nullable = false,
+                foreignKey = @ForeignKey(name = "fk_orders_archive_provider_service"))
+    private ProviderService providerService;
+
+    @Column(name = "provider_order_id", length = 100)
+    private String providerOrderId;
+
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
+    @Column(name = "balance_hold_id")
+    private Long balanceHoldId;
+
+    @Column(name = "target", length = 500, nullable = false)
+    private String target;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "start_count")
+    private Integer startCount;
+
+    @Column(name = "remains", nullable = false)
+    private Integer remains;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "price_per_k", precision = 10, scale = 4, nullable = false)
+    private BigDecimal pricePerK;
+
+    @Column(name = "cost_per_k", precision = 10, scale = 4, nullable = false)
+    private BigDecimal costPerK;
+
+    @Column(name = "total_charge", precision = 12, scale = 4, nullable = false)
+    private BigDecimal totalCharge;
+
+    @Column(name = "total_cost", precision = 12, scale = 4, nullable = false)
+    private BigDecimal totalCost;
+
+    @Column(name = "profit", precision = 12, scale = 4, nullable = false)
+    private BigDecimal profit;
+
+    @Column(name = "is_refillable", nullable = false)
+    private Boolean isRefillable;
+
+    @Column(name = "refill_days", nullable = false)
+    private Integer refillDays;
+
+    @Column(name = "refill_deadline")
+    private LocalDateTime refillDeadline;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Métodos de utilidad
+
+    /**
+     * Calcula el progreso de la orden (porcentaje completado)
+     */
+    public Integer getProgress() {
+        if (quantity == 0) return 0;
+        int delivered = quantity - remains;
+        return (delivered * 100) / quantity;
+    }
+
+    /**
+     * Las órdenes archivadas ya no admiten refill
+     */
+    public boolean canRequestRefill() {
+        return false;
+    }
+}
@@ -3,6 +3,8 @@ package com.antipanel.backend.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
@@ -10,9 +12,12 @@ import java.math.BigDecimal;
  * Entidad que representa la configuración de los procesadores de pago.
  *
  * Tabla: payment_processors
+ * Caché de segundo nivel: región payment_processors (ver ReferenceCache)
  */
 @Entity
 @Table(name = "payment_processors")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "payment_processors")
 @Data
 @Builder
 @NoArgsConstructor
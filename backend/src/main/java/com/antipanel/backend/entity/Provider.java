@@ -3,6 +3,8 @@ package com.antipanel.backend.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,9 +15,12 @@ import java.time.LocalDateTime;
  * Entidad que representa los proveedores externos de servicios SMM.
  *
  * Tabla: providers
+ * Caché de segundo nivel: región providers (ver ReferenceCache)
  */
 @Entity
 @Table(name = "providers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "providers")
 @Data
 @Builder
 @NoArgsConstructor
@@ -3,6 +3,8 @@ package com.antipanel.backend.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -11,6 +13,7 @@ import java.time.LocalDateTime;
  * Entidad que representa el catálogo de servicios disponibles en cada proveedor.
  *
  * Tabla: provider_services
+ * Caché de segundo nivel: región provider_services (ver ReferenceCache)
  */
 @Entity
 @Table(name = "provider_services",
@@ -22,14 +25,20 @@ import java.time.LocalDateTime;
         @Index(name = "idx_provider_services_provider", columnList = "provider_id")
     }
 )
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "provider_services")
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProviderService {
 
+    /**
+     * Pooled sequence (blocks of 50, see V15) so inserts can be JDBC-batched.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "provider_services_id_seq")
+    @SequenceGenerator(name = "provider_services_id_seq", sequenceName = "provider_services_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Integer id;
 
@@ -3,12 +3,15 @@ package com.antipanel.backend.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entidad que representa los tipos de servicio dentro de cada categoría.
  * Ejemplo: Followers, Likes, Comments, Views, etc.
  *
  * Tabla: service_types
+ * Caché de segundo nivel: región service_types (ver ReferenceCache)
  */
 @Entity
 @Table(name = "service_types",
@@ -20,6 +23,8 @@ import lombok.*;
         @Index(name = "idx_service_types_category", columnList = "category_id")
     }
 )
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "service_types")
 @Data
 @Builder
 @NoArgsConstructor
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.PartitionKey;
 import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
@@ -14,7 +15,7 @@ import java.time.LocalDateTime;
 /**
  * Entidad que representa el registro de auditoría de todos los movimientos de balance.
  *
- * Tabla: transactions
+ * Tabla: transactions (particionada por mes en created_at, ver V12)
  */
 @Entity
 @Table(name = "transactions", indexes = {
@@ -29,8 +30,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Transaction {
 
+    /**
+     * Pooled sequence (blocks of 50, see V15) so inserts can be JDBC-batched.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_id_seq")
+    @SequenceGenerator(name = "transactions_id_seq", sequenceName = "transactions_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -71,8 +76,13 @@ public class Transaction {
     @Column(name = "description", length = 255)
     private String description;
 
+    /**
+     * Partition key. Included by Hibernate in UPDATE/DELETE statements
+     * so they only touch the partition holding the row.
+     */
     @Column(name = "created_at", nullable = false, updatable = false)
     @CreationTimestamp
+    @PartitionKey
     private LocalDateTime createdAt;
 
     // Métodos de utilidad
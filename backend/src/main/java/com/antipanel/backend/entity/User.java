@@ -68,6 +68,12 @@ public class User {
     @Column(name = "banned_reason", columnDefinition = "TEXT")
     private String bannedReason;
 
+    /**
+     * SHA-256 hex digest of the reseller API key (see ApiKeyAuthenticator).
+     */
+    @Column(name = "api_key_hash", length = 64, unique = true)
+    private String apiKeyHash;
+
     @Column(name = "last_login_at")
     private LocalDateTime lastLoginAt;
 
@@ -44,6 +44,8 @@ public interface InvoiceMapper {
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "paymentUrl", ignore = true)
     @Mapping(target = "paidAt", ignore = true)
+    @Mapping(target = "nextCheckAt", ignore = true)
+    @Mapping(target = "checkAttempts", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     Invoice toEntity(InvoiceCreateRequest createRequest);
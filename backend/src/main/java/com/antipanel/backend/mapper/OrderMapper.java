@@ -5,6 +5,7 @@ import com.antipanel.backend.dto.order.OrderDetailResponse;
 import com.antipanel.backend.dto.order.OrderResponse;
 import com.antipanel.backend.dto.order.OrderSummary;
 import com.antipanel.backend.entity.Order;
+import com.antipanel.backend.entity.OrderArchive;
 import org.mapstruct.InjectionStrategy;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -92,4 +93,25 @@ public interface OrderMapper {
      * Convert list of Orders to list of OrderDetailResponse DTOs.
      */
     List<OrderDetailResponse> toDetailResponseList(List<Order> orders);
+
+    /**
+     * Convert archived order to OrderResponse DTO.
+     */
+    @Mapping(source = "service.id", target = "serviceId")
+    @Mapping(target = "progress", expression = "java(order.getProgress())")
+    @Mapping(target = "canRequestRefill", expression = "java(order.canRequestRefill())")
+    OrderResponse toResponse(OrderArchive order);
+
+    /**
+     * Convert archived order to OrderDetailResponse DTO.
+     */
+    @Mapping(source = "service", target = "service")
+    @Mapping(target = "progress", expression = "java(order.getProgress())")
+    @Mapping(target = "canRequestRefill", expression = "java(order.canRequestRefill())")
+    OrderDetailResponse toDetailResponse(OrderArchive order);
+
+    /**
+     * Convert list of archived orders to list of OrderResponse DTOs.
+     */
+    List<OrderResponse> toArchivedResponseList(List<OrderArchive> orders);
 }
@@ -1,7 +1,9 @@
 package com.antipanel.backend.mapper;
 
 import com.antipanel.backend.dto.common.PageResponse;
+import com.antipanel.backend.dto.common.PageTotal;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -61,4 +63,52 @@ public class PageMapper {
                 .hasPrevious(page.hasPrevious())
                 .build();
     }
+
+    /**
+     * Convert a Spring Data Slice to a PageResponse using a separately resolved total.
+     * Used by listings that skip the exact COUNT(*) query.
+     *
+     * @param slice  The Spring Data Slice
+     * @param mapper Function to map content items
+     * @param total  Exact or approximate total
+     * @param <E>    Entity type
+     * @param <D>    DTO type
+     * @return PageResponse containing mapped content
+     */
+    public <E, D> PageResponse<D> toPageResponse(Slice<E> slice, Function<E, D> mapper, PageTotal total) {
+        List<D> content = slice.getContent().stream()
+                .map(mapper)
+                .toList();
+
+        return toPageResponse(slice, content, total);
+    }
+
+    /**
+     * Convert a Spring Data Slice to a PageResponse using already mapped content
+     * and a separately resolved total.
+     *
+     * @param slice   The Spring Data Slice
+     * @param content The already mapped content
+     * @param total   Exact or approximate total
+     * @param <D>     DTO type
+     * @return PageResponse containing the content
+     */
+    public <D> PageResponse<D> toPageResponse(Slice<?> slice, List<D> content, PageTotal total) {
+        int totalPages = slice.getSize() == 0
+                ? 1
+                : (int) Math.ceil((double) total.totalElements() / (double) slice.getSize());
+
+        return PageResponse.<D>builder()
+                .content(content)
+                .pageNumber(slice.getNumber())
+                .pageSize(slice.getSize())
+                .totalElements(total.totalElements())
+                .totalExact(total.exact())
+                .totalPages(totalPages)
+                .first(slice.isFirst())
+                .last(slice.isLast())
+                .hasNext(slice.hasNext())
+                .hasPrevious(slice.hasPrevious())
+                .build();
+    }
 }
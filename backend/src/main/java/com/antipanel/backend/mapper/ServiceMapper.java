@@ -7,6 +7,7 @@ import com.antipanel.backend.dto.service.ServiceResponse;
 import com.antipanel.backend.dto.service.ServiceSummary;
 import com.antipanel.backend.dto.service.ServiceUpdateRequest;
 import com.antipanel.backend.entity.Service;
+import com.antipanel.backend.money.Money;
 import org.mapstruct.InjectionStrategy;
 import org.mapstruct.IterableMapping;
 import org.mapstruct.Mapper;
@@ -16,8 +17,6 @@ import org.mapstruct.MappingTarget;
 import org.mapstruct.Named;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 
 /**
@@ -114,13 +113,9 @@ public interface ServiceMapper extends BaseMapper<Service, ServiceResponse, Serv
      */
     default ServiceResponse enrichWithProfitMargin(Service service) {
         ServiceResponse response = toResponse(service);
-        if (response.getPricePerK() != null && response.getCostPerK() != null
-                && response.getPricePerK().compareTo(BigDecimal.ZERO) > 0) {
-            BigDecimal margin = response.getPricePerK()
-                    .subtract(response.getCostPerK())
-                    .divide(response.getPricePerK(), 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100));
-            response.setProfitMargin(margin);
+        if (response.getPricePerK() != null && response.getCostPerK() != null) {
+            response.setProfitMargin(Money.of(response.getPricePerK())
+                    .marginPercent(Money.of(response.getCostPerK())));
         }
         return response;
     }
@@ -43,6 +43,7 @@ public interface UserMapper extends BaseMapper<User, UserResponse, UserCreateReq
     @Mapping(target = "balance", ignore = true)        // Set default in service
     @Mapping(target = "isBanned", ignore = true)       // Default: false
     @Mapping(target = "bannedReason", ignore = true)
+    @Mapping(target = "apiKeyHash", ignore = true)     // SECURITY: Only set by regenerateApiKey
     @Mapping(target = "lastLoginAt", ignore = true)
     @Mapping(target = "loginCount", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
@@ -61,6 +62,7 @@ public interface UserMapper extends BaseMapper<User, UserResponse, UserCreateReq
     @Mapping(target = "role", ignore = true)           // SECURITY: Prevent privilege escalation
     @Mapping(target = "isBanned", ignore = true)       // SECURITY: Prevent self-unban
     @Mapping(target = "bannedReason", ignore = true)   // SECURITY: Prevent ban reason modification
+    @Mapping(target = "apiKeyHash", ignore = true)     // SECURITY: Only set by regenerateApiKey
     @Mapping(target = "lastLoginAt", ignore = true)
     @Mapping(target = "loginCount", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
@@ -78,6 +80,7 @@ public interface UserMapper extends BaseMapper<User, UserResponse, UserCreateReq
     @Mapping(target = "role", ignore = true)
     @Mapping(target = "isBanned", ignore = true)
     @Mapping(target = "bannedReason", ignore = true)
+    @Mapping(target = "apiKeyHash", ignore = true)     // SECURITY: Only set by regenerateApiKey
     @Mapping(target = "lastLoginAt", ignore = true)
     @Mapping(target = "loginCount", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
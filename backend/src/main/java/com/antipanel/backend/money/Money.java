@@ -0,0 +1,148 @@
+package com.antipanel.backend.money;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Monetary amount held as a long of 1/10000 units, the scale of every money column.
+ * Arithmetic gives the same results as the equivalent BigDecimal operations at scale 4
+ * with HALF_UP rounding, without allocating on the hot path.
+ *
+ * <p>Persist with {@link MoneyConverter}; serialized to JSON as a plain decimal number.</p>
+ *
+ * @param units Amount in 1/10000
+ */
+@JsonSerialize(using = MoneyJsonSerializer.class)
+@JsonDeserialize(using = MoneyJsonDeserializer.class)
+public record Money(long units) implements Comparable<Money> {
+
+    /**
+     * Number of decimals represented by the units.
+     */
+    public static final int SCALE = 4;
+
+    public static final Money ZERO = new Money(0);
+
+    private static final long PER_THOUSAND = 1000;
+    private static final long PERCENT_UNITS = 10_000;
+
+    /**
+     * Convert a BigDecimal amount.
+     *
+     * @param amount Amount with at most 4 decimals
+     * @return Money of the same value
+     * @throws ArithmeticException if the amount has more than 4 decimals or does not fit in a long
+     */
+    public static Money of(BigDecimal amount) {
+        return new Money(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Convert a BigDecimal amount, keeping null as null.
+     */
+    public static Money ofNullable(BigDecimal amount) {
+        return amount != null ? of(amount) : null;
+    }
+
+    public static Money ofUnits(long units) {
+        return new Money(units);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    public Money add(Money other) {
+        return new Money(Math.addExact(units, other.units));
+    }
+
+    public Money subtract(Money other) {
+        return new Money(Math.subtractExact(units, other.units));
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(units));
+    }
+
+    public Money min(Money other) {
+        return units <= other.units ? this : other;
+    }
+
+    public int signum() {
+        return Long.signum(units);
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return units > other.units;
+    }
+
+    /**
+     * Amount for a quantity when this is a price per 1000: this * quantity / 1000,
+     * rounded half up to 4 decimals.
+     *
+     * @param quantity Quantity
+     * @return Amount for the quantity
+     */
+    public Money perThousand(long quantity) {
+        long product;
+        try {
+            product = Math.multiplyExact(units, quantity);
+        } catch (ArithmeticException overflow) {
+            return of(toBigDecimal()
+                    .multiply(BigDecimal.valueOf(quantity))
+                    .divide(BigDecimal.valueOf(PER_THOUSAND), SCALE, RoundingMode.HALF_UP));
+        }
+        return new Money(divideHalfUp(product, PER_THOUSAND));
+    }
+
+    /**
+     * Margin of this price over a cost in percent: (this - cost) / this * 100,
+     * with the ratio rounded half up to 4 decimals before scaling.
+     *
+     * @param cost Cost
+     * @return Margin in percent, or null if this price is not positive
+     */
+    public BigDecimal marginPercent(Money cost) {
+        if (units <= 0) {
+            return null;
+        }
+        long percent;
+        try {
+            long ratio = divideHalfUp(Math.multiplyExact(Math.subtractExact(units, cost.units), PERCENT_UNITS), units);
+            percent = Math.multiplyExact(ratio, 100L);
+        } catch (ArithmeticException overflow) {
+            return toBigDecimal().subtract(cost.toBigDecimal())
+                    .divide(toBigDecimal(), SCALE, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100));
+        }
+        return BigDecimal.valueOf(percent, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(units, other.units);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    // ============ HELPER METHODS ============
+
+    /**
+     * Integer division rounding half away from zero, like RoundingMode.HALF_UP.
+     * The divisor must be positive.
+     */
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder >= divisor - remainder) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+}
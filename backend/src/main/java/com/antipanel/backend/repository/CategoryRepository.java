@@ -1,8 +1,11 @@
 package com.antipanel.backend.repository;
 
 import com.antipanel.backend.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,10 +22,12 @@ public interface CategoryRepository extends JpaRepository<Category, Integer> {
 
     /**
      * Find category by slug
+     * Cached in the query cache.
      *
      * @param slug URL-friendly slug
      * @return Optional category
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Category> findBySlug(String slug);
 
     /**
@@ -52,9 +57,11 @@ public interface CategoryRepository extends JpaRepository<Category, Integer> {
 
     /**
      * Find all active categories sorted by sort order and name
+     * Cached in the query cache.
      *
      * @return List of active categories
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Category c WHERE c.isActive = true ORDER BY c.sortOrder ASC, c.name ASC")
     List<Category> findAllActiveCategories();
 
@@ -0,0 +1,178 @@
+package com.antipanel.backend.repository;
+
+import com.antipanel.backend.entity.OrderArchive;
+import com.antipanel.backend.entity.enums.OrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for OrderArchive entity.
+ * Read-only access to finished orders moved out of the orders table.
+ * Rows are written exclusively by OrderArchiveService.
+ * The statistics queries mirror those of OrderRepository, so totals can add both tables.
+ */
+@Repository
+public interface OrderArchiveRepository extends JpaRepository<OrderArchive, Long> {
+
+    /**
+     * Get archived order history of a user sorted by creation date
+     *
+     * @param userId User ID
+     * @return List of archived orders
+     */
+    List<OrderArchive> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    /**
+     * Get archived orders of a user by status sorted by creation date
+     *
+     * @param userId User ID
+     * @param status Order status
+     * @return List of archived orders
+     */
+    List<OrderArchive> findByUserIdAndStatusOrderByCreatedAtDesc(Long userId, OrderStatus status);
+
+    /**
+     * Find archived order by provider order ID
+     *
+     * @param providerOrderId Provider's order ID
+     * @return Optional archived order
+     */
+    Optional<OrderArchive> findByProviderOrderId(String providerOrderId);
+
+    /**
+     * Count archived orders of a user
+     *
+     * @param userId User ID
+     * @return Number of archived orders
+     */
+    long countByUserId(Long userId);
+
+    /**
+     * Count archived orders by status
+     *
+     * @param status Order status
+     * @return Number of archived orders
+     */
+    long countByStatus(OrderStatus status);
+
+    /**
+     * Count archived orders of a user by status
+     *
+     * @param userId User ID
+     * @param status Order status
+     * @return Number of archived orders
+     */
+    long countByUserIdAndStatus(Long userId, OrderStatus status);
+
+    /**
+     * Count archived orders of a user created after a specific date
+     *
+     * @param userId    User ID
+     * @param startDate Start date
+     * @return Number of archived orders
+     */
+    @Query("SELECT COUNT(a) FROM OrderArchive a WHERE a.user.id = :userId AND a.createdAt >= :startDate")
+    long countByUserIdAndCreatedAtAfter(@Param("userId") Long userId, @Param("startDate") LocalDateTime startDate);
+
+    /**
+     * Count archived orders created within date range
+     *
+     * @param start Start date
+     * @param end   End date
+     * @return Number of archived orders
+     */
+    @Query("SELECT COUNT(a) FROM OrderArchive a WHERE a.createdAt BETWEEN :start AND :end")
+    long countCreatedBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Find archived orders created within date range
+     *
+     * @param start Start date
+     * @param end   End date
+     * @return List of archived orders
+     */
+    @Query("SELECT a FROM OrderArchive a WHERE a.createdAt BETWEEN :start AND :end " +
+           "ORDER BY a.createdAt DESC")
+    List<OrderArchive> findOrdersBetweenDates(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    /**
+     * Find archived orders completed within date range
+     *
+     * @param start Start date
+     * @param end   End date
+     * @return List of archived completed orders
+     */
+    @Query("SELECT a FROM OrderArchive a WHERE a.completedAt BETWEEN :start AND :end " +
+           "ORDER BY a.completedAt DESC")
+    List<OrderArchive> findCompletedOrdersBetweenDates(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    /**
+     * Count archived orders grouped by status
+     * Returns Object[] with [OrderStatus status, Long count]
+     *
+     * @return List of statuses and archived order counts
+     */
+    @Query("SELECT a.status, COUNT(a) FROM OrderArchive a GROUP BY a.status")
+    List<Object[]> countOrdersByStatus();
+
+    /**
+     * Sum of charges on archived completed orders
+     *
+     * @return Archived revenue, or null if there is none
+     */
+    @Query("SELECT SUM(a.totalCharge) FROM OrderArchive a WHERE a.status = 'COMPLETED'")
+    BigDecimal getTotalRevenue();
+
+    /**
+     * Sum of costs on archived completed orders
+     *
+     * @return Archived cost, or null if there is none
+     */
+    @Query("SELECT SUM(a.totalCost) FROM OrderArchive a WHERE a.status = 'COMPLETED'")
+    BigDecimal getTotalCost();
+
+    /**
+     * Sum of profits on archived completed orders
+     *
+     * @return Archived profit, or null if there is none
+     */
+    @Query("SELECT SUM(a.profit) FROM OrderArchive a WHERE a.status = 'COMPLETED'")
+    BigDecimal getTotalProfit();
+
+    /**
+     * Revenue of archived orders completed within date range
+     *
+     * @param start Start date
+     * @param end   End date
+     * @return Archived revenue in period, or null if there is none
+     */
+    @Query("SELECT SUM(a.totalCharge) FROM OrderArchive a " +
+           "WHERE a.status = 'COMPLETED' AND a.completedAt BETWEEN :start AND :end")
+    BigDecimal getRevenueBetweenDates(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    /**
+     * Profit of archived orders completed within date range
+     *
+     * @param start Start date
+     * @param end   End date
+     * @return Archived profit in period, or null if there is none
+     */
+    @Query("SELECT SUM(a.profit) FROM OrderArchive a " +
+           "WHERE a.status = 'COMPLETED' AND a.completedAt BETWEEN :start AND :end")
+    BigDecimal getProfitBetweenDates(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+}
@@ -58,6 +58,23 @@ public interface OrderRefillRepository extends JpaRepository<OrderRefill, Long>
      */
     List<OrderRefill> findByStatusOrderByCreatedAtDesc(RefillStatus status);
 
+    /**
+     * Get a page of refills by status that have a provider refill ID, ordered by ID,
+     * with order, provider service and provider fetched in the same query.
+     * Used to walk all refills of a status with keyset pagination.
+     *
+     * @param status   Refill status
+     * @param afterId  Only refills with a greater ID
+     * @param pageable Page size (page number is ignored, use afterId)
+     * @return Refills with providers loaded
+     */
+    @Query("SELECT r FROM OrderRefill r JOIN FETCH r.order o JOIN FETCH o.providerService ps " +
+           "JOIN FETCH ps.provider WHERE r.status = :status AND r.providerRefillId IS NOT NULL " +
+           "AND r.id > :afterId ORDER BY r.id ASC")
+    List<OrderRefill> findPageWithProviderByStatus(@Param("status") RefillStatus status,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
     /**
      * Get refills by status with pagination
      *
@@ -4,6 +4,7 @@ import com.antipanel.backend.entity.Order;
 import com.antipanel.backend.entity.enums.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -41,6 +42,16 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     Page<Order> findByUserId(Long userId, Pageable pageable);
 
+    /**
+     * Get user orders as a slice (no COUNT query).
+     * Pair with PageCountService to resolve the total.
+     *
+     * @param userId   User ID
+     * @param pageable Pagination parameters
+     * @return Slice of orders
+     */
+    Slice<Order> findSliceByUserId(Long userId, Pageable pageable);
+
     /**
      * Get user orders by status
      *
@@ -106,6 +117,16 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     Page<Order> findByStatus(OrderStatus status, Pageable pageable);
 
+    /**
+     * Get orders by status as a slice (no COUNT query).
+     * Pair with PageCountService to resolve the total.
+     *
+     * @param status   Order status
+     * @param pageable Pagination parameters
+     * @return Slice of orders
+     */
+    Slice<Order> findSliceByStatus(OrderStatus status, Pageable pageable);
+
     /**
      * Get orders by service
      *
@@ -159,6 +180,22 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
            "ORDER BY o.updatedAt ASC")
     List<Order> findOrdersNeedingUpdate(@Param("threshold") LocalDateTime threshold);
 
+    /**
+     * Get a page of orders needing provider update, oldest update first,
+     * with provider service and provider fetched in the same query.
+     * The orders stay usable once the reading transaction has ended.
+     *
+     * @param threshold Timestamp threshold for last update
+     * @param pageable  Page size
+     * @return Orders with providers loaded
+     */
+    @Query("SELECT o FROM Order o JOIN FETCH o.providerService ps JOIN FETCH ps.provider " +
+           "WHERE o.status IN ('PENDING', 'PROCESSING', 'IN_PROGRESS') " +
+           "AND o.updatedAt < :threshold " +
+           "ORDER BY o.updatedAt ASC")
+    List<Order> findPageNeedingUpdateWithProvider(@Param("threshold") LocalDateTime threshold,
+                                                  Pageable pageable);
+
     // ============ REFILL MANAGEMENT ============
 
     /**
@@ -253,6 +290,16 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId AND o.createdAt >= :startDate")
     long countByUserIdAndCreatedAtAfter(@Param("userId") Long userId, @Param("startDate") LocalDateTime startDate);
 
+    /**
+     * Count orders created within date range
+     *
+     * @param start Start date
+     * @param end   End date
+     * @return Number of orders
+     */
+    @Query("SELECT COUNT(o) FROM Order o WHERE o.createdAt BETWEEN :start AND :end")
+    long countCreatedBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
     /**
      * Calculate total revenue (sum of all charges on completed orders)
      *
@@ -1,8 +1,11 @@
 package com.antipanel.backend.repository;
 
 import com.antipanel.backend.entity.PaymentProcessor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -21,10 +24,12 @@ public interface PaymentProcessorRepository extends JpaRepository<PaymentProcess
 
     /**
      * Find payment processor by code
+     * Cached in the query cache.
      *
      * @param code Unique processor code
      * @return Optional payment processor
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<PaymentProcessor> findByCode(String code);
 
     /**
@@ -46,9 +51,11 @@ public interface PaymentProcessorRepository extends JpaRepository<PaymentProcess
 
     /**
      * Find all active payment processors sorted by sort order and name
+     * Cached in the query cache.
      *
      * @return List of active processors
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT pp FROM PaymentProcessor pp WHERE pp.isActive = true " +
            "ORDER BY pp.sortOrder ASC, pp.name ASC")
     List<PaymentProcessor> findAllActiveProcessors();
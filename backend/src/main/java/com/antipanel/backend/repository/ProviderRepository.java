@@ -1,8 +1,11 @@
 package com.antipanel.backend.repository;
 
 import com.antipanel.backend.entity.Provider;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -28,9 +31,11 @@ public interface ProviderRepository extends JpaRepository<Provider, Integer> {
 
     /**
      * Find all active providers with explicit query
+     * Cached in the query cache.
      *
      * @return List of active providers
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT p FROM Provider p WHERE p.isActive = true ORDER BY p.name ASC")
     List<Provider> findAllActiveProviders();
 
@@ -1,8 +1,11 @@
 package com.antipanel.backend.repository;
 
 import com.antipanel.backend.entity.ProviderService;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -49,12 +52,17 @@ public interface ProviderServiceRepository extends JpaRepository<ProviderService
             Integer providerId, String providerServiceId);
 
     /**
-     * Check if provider service exists by provider and provider service ID
+     * Check if provider service exists by provider and provider service ID.
+     * Does not flush pending inserts first, so a provider sync creating many services
+     * keeps them in one JDBC batch. Services inserted but not yet flushed are not seen, so
+     * callers creating several in one transaction must de-duplicate them first (provider sync
+     * does); the unique constraint still rejects any duplicate at flush.
      *
      * @param providerId        Provider ID
      * @param providerServiceId Service ID in provider's system
      * @return true if exists
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
     boolean existsByProviderIdAndProviderServiceId(
             Integer providerId, String providerServiceId);
 
@@ -12,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for Service entity.
@@ -21,6 +22,25 @@ import java.util.List;
 @Repository
 public interface ServiceRepository extends JpaRepository<Service, Integer> {
 
+    // ============ ORDER CREATION ============
+
+    /**
+     * Find service with its provider service loaded, for pricing an order outside a transaction
+     *
+     * @param id Service ID
+     * @return Optional service
+     */
+    @Query("SELECT s FROM Service s JOIN FETCH s.providerService WHERE s.id = :id")
+    Optional<Service> findByIdWithProviderService(@Param("id") Integer id);
+
+    /**
+     * Find all services with their provider services loaded, for building the pricing table
+     *
+     * @return List of all services
+     */
+    @Query("SELECT s FROM Service s JOIN FETCH s.providerService")
+    List<Service> findAllWithProviderService();
+
     // ============ PUBLIC CATALOG QUERIES (PERFORMANCE CRITICAL) ============
 
     /**
@@ -1,8 +1,11 @@
 package com.antipanel.backend.repository;
 
 import com.antipanel.backend.entity.ServiceType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -36,10 +39,12 @@ public interface ServiceTypeRepository extends JpaRepository<ServiceType, Intege
 
     /**
      * Find active service types by category with explicit query
+     * Cached in the query cache.
      *
      * @param categoryId Category ID
      * @return List of active service types
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT st FROM ServiceType st WHERE st.category.id = :categoryId " +
            "AND st.isActive = true ORDER BY st.sortOrder ASC")
     List<ServiceType> findActiveServiceTypesByCategory(@Param("categoryId") Integer categoryId);
@@ -48,11 +53,13 @@ public interface ServiceTypeRepository extends JpaRepository<ServiceType, Intege
 
     /**
      * Find service type by category and slug
+     * Cached in the query cache.
      *
      * @param categoryId Category ID
      * @param slug       Service type slug
      * @return Optional service type
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ServiceType> findByCategoryIdAndSlug(Integer categoryId, String slug);
 
     /**
@@ -4,6 +4,7 @@ import com.antipanel.backend.entity.User;
 import com.antipanel.backend.entity.enums.UserRole;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
@@ -47,6 +48,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
 
+    /**
+     * Find user by the digest of their reseller API key
+     *
+     * @param apiKeyHash SHA-256 hex digest of the API key
+     * @return Optional user
+     */
+    Optional<User> findByApiKeyHash(String apiKeyHash);
+
     /**
      * Check if user exists by email
      *
@@ -168,6 +177,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Page<User> findByRole(UserRole role, Pageable pageable);
 
+    /**
+     * Find users by role as a slice (no COUNT query).
+     * Pair with PageCountService to resolve the total.
+     *
+     * @param role     User role
+     * @param pageable Pagination parameters
+     * @return Slice of users
+     */
+    Slice<User> findSliceByRole(UserRole role, Pageable pageable);
+
+    /**
+     * Find all users as a slice (no COUNT query).
+     * Pair with PageCountService to resolve the total.
+     *
+     * @param pageable Pagination parameters
+     * @return Slice of users
+     */
+    @Query("SELECT u FROM User u")
+    Slice<User> findAllSlice(Pageable pageable);
+
     /**
      * Find users by banned status with pagination
      *
@@ -189,4 +218,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE " +
            "LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%'))")
     Page<User> searchUsers(@Param("search") String search, Pageable pageable);
+
+    /**
+     * Search users by email as a slice (no COUNT query).
+     * Pair with PageCountService to resolve the total.
+     *
+     * @param search   Search term
+     * @param pageable Pagination parameters
+     * @return Slice of users matching search
+     */
+    @Query("SELECT u FROM User u WHERE " +
+           "LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%'))")
+    Slice<User> searchUsersSlice(@Param("search") String search, Pageable pageable);
+
+    /**
+     * Count users matching an email search
+     *
+     * @param search Search term
+     * @return Number of users matching search
+     */
+    @Query("SELECT COUNT(u) FROM User u WHERE " +
+           "LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%'))")
+    long countSearchUsers(@Param("search") String search);
 }
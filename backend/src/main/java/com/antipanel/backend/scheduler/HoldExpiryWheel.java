@@ -0,0 +1,136 @@
+package com.antipanel.backend.scheduler;
+
+import com.antipanel.backend.config.HoldExpiryProperties;
+import com.antipanel.backend.datasource.BackgroundPool;
+import com.antipanel.backend.service.BalanceHoldCreatedEvent;
+import com.antipanel.backend.service.BalanceHoldService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases balance holds created on this node at their expiry instead of at the next sweep.
+ *
+ * Created holds are scheduled on a {@link TimingWheel} once their transaction commits. Every
+ * tick, the holds that came due are expired with one set-based statement. Captured and released
+ * holds are not removed from the wheel; the statement only expires holds still HELD and past
+ * expires_at, so they cost nothing when they come up.
+ *
+ * The wheel lives in memory: holds of other nodes and holds pending across a restart are left
+ * to BalanceHoldCleanupTask.
+ */
+@Component
+@Slf4j
+public class HoldExpiryWheel implements SmartLifecycle {
+
+    /**
+     * 64 slots per level, 3 levels: 262144 ticks (about 3 days at one tick per second).
+     * Holds further out are parked and re-placed.
+     */
+    private static final int SLOT_BITS = 6;
+    private static final int LEVELS = 3;
+
+    private final BalanceHoldService balanceHoldService;
+    private final HoldExpiryProperties properties;
+    private final long tickMillis;
+    private final TimingWheel<Long> wheel;
+
+    private volatile boolean running;
+    private ScheduledExecutorService ticker;
+
+    public HoldExpiryWheel(BalanceHoldService balanceHoldService, HoldExpiryProperties properties) {
+        this.balanceHoldService = balanceHoldService;
+        this.properties = properties;
+        this.tickMillis = properties.wheelTick().toMillis();
+        this.wheel = new TimingWheel<>(SLOT_BITS, LEVELS, currentTick());
+    }
+
+    /**
+     * Schedule the release of holds committed by this node.
+     * Runs without a transaction too, for holds created under autocommit.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldsCreated(BalanceHoldCreatedEvent event) {
+        if (!running) {
+            return;
+        }
+        // Round up, so the hold is already past expires_at when its tick comes
+        long deadlineTick = Math.ceilDiv(toMillis(event.expiresAt()), tickMillis) + 1;
+        synchronized (wheel) {
+            for (Long holdId : event.holdIds()) {
+                wheel.schedule(holdId, deadlineTick);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.wheelEnabled()) {
+            return;
+        }
+        running = true;
+        ticker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("hold-expiry-wheel").daemon().factory());
+        // Not a Spring scheduler thread: mark the ticks as background work here
+        ticker.scheduleWithFixedDelay(BackgroundPool.decorate(this::tick), tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Number of holds waiting on the wheel.
+     */
+    public int scheduledHolds() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    // ============ HELPER METHODS ============
+
+    private void tick() {
+        List<Long> due;
+        synchronized (wheel) {
+            due = wheel.advanceTo(currentTick());
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        try {
+            int released = balanceHoldService.releaseExpiredHolds(due);
+            if (released > 0) {
+                log.info("Released {} expired balance holds on schedule", released);
+            }
+        } catch (Exception e) {
+            // Left for BalanceHoldCleanupTask
+            log.error("Failed to release {} due balance holds", due.size(), e);
+        }
+    }
+
+    private long currentTick() {
+        return System.currentTimeMillis() / tickMillis;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,34 @@
+package com.antipanel.backend.scheduler;
+
+import com.antipanel.backend.service.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background task deleting stored idempotent responses past their retention.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyCleanupTask {
+
+    private final IdempotencyService idempotencyService;
+
+    /**
+     * Purges expired idempotency keys every hour (configurable).
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.idempotency-cleanup.delay:3600000}")
+    public void purgeExpiredKeys() {
+        try {
+            int purged = idempotencyService.purgeExpired();
+            if (purged > 0) {
+                log.info("Purged {} expired idempotency keys", purged);
+            }
+        } catch (Exception e) {
+            log.error("Idempotency key cleanup failed", e);
+            // Don't rethrow - let scheduler continue on next iteration
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.antipanel.backend.scheduler;
+
+import com.antipanel.backend.service.MaintenanceService;
+import com.antipanel.backend.service.MaintenanceService.SweepResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Background task running the maintenance sweeps: stale invoice expiry,
+ * closing past refill windows and purging settled balance holds.
+ *
+ * Sweeps run one after another; a failing sweep does not stop the others.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MaintenanceTask {
+
+    private final MaintenanceService maintenanceService;
+
+    /**
+     * Runs all sweeps every 5 minutes (configurable).
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.maintenance.delay:300000}")
+    public void runSweeps() {
+        run("expire-invoices", maintenanceService::expireStaleInvoices);
+        run("close-refill-windows", maintenanceService::closeExpiredRefillWindows);
+        run("purge-holds", maintenanceService::purgeSettledHolds);
+    }
+
+    private void run(String name, Supplier<SweepResult> sweep) {
+        try {
+            SweepResult result = sweep.get();
+            if (result.rows() > 0) {
+                log.info("Maintenance sweep {} touched {} rows in {} ms",
+                        result.sweep(), result.rows(), result.duration().toMillis());
+            }
+        } catch (Exception e) {
+            log.error("Maintenance sweep {} failed", name, e);
+            // Don't rethrow - let scheduler continue on next iteration
+        }
+    }
+}
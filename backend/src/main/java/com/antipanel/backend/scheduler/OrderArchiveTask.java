@@ -0,0 +1,52 @@
+package com.antipanel.backend.scheduler;
+
+import com.antipanel.backend.config.ArchiveProperties;
+import com.antipanel.backend.service.OrderArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background task moving finished orders from orders to orders_archive.
+ * Keeps the hot orders table (and its indexes) small enough to stay in shared buffers.
+ *
+ * Each batch commits on its own, so a failure only loses the current batch
+ * and long runs never hold locks on many rows at once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchiveTask {
+
+    private final OrderArchiveService orderArchiveService;
+    private final ArchiveProperties archiveProperties;
+
+    /**
+     * Archives finished orders every hour (configurable), until nothing is left
+     * or the per-run batch limit is reached.
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.order-archive.delay:3600000}")
+    public void archiveFinishedOrders() {
+        if (!archiveProperties.enabled()) {
+            return;
+        }
+        try {
+            log.debug("Starting order archival...");
+            int total = 0;
+            for (int batch = 0; batch < archiveProperties.maxBatchesPerRun(); batch++) {
+                int archived = orderArchiveService.archiveBatch();
+                total += archived;
+                if (archived < archiveProperties.batchSize()) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.info("Archived {} finished orders", total);
+            }
+        } catch (Exception e) {
+            log.error("Order archival failed", e);
+            // Don't rethrow - let scheduler continue on next iteration
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.antipanel.backend.scheduler;
+
+import com.antipanel.backend.service.PartitionMaintenanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background task keeping monthly partitions of orders and transactions ready ahead of time.
+ * Rows never need the DEFAULT partition as long as this runs at least once a month.
+ *
+ * Runs once on startup and then daily.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionMaintenanceTask {
+
+    private final PartitionMaintenanceService partitionMaintenanceService;
+
+    /**
+     * Ensures future partitions exist as soon as the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        ensureFuturePartitions();
+    }
+
+    /**
+     * Ensures future partitions exist every day at 03:00 (configurable).
+     */
+    @Scheduled(cron = "${app.scheduler.partition-maintenance.cron:0 0 3 * * *}")
+    public void ensureFuturePartitions() {
+        try {
+            log.debug("Checking monthly partitions...");
+            int created = partitionMaintenanceService.ensureFuturePartitions();
+            if (created > 0) {
+                log.info("Partition maintenance created {} partitions", created);
+            }
+        } catch (Exception e) {
+            log.error("Partition maintenance failed", e);
+            // Don't rethrow - let scheduler continue on next iteration
+        }
+    }
+}
@@ -1,15 +1,11 @@
 package com.antipanel.backend.scheduler;
 
-import com.antipanel.backend.entity.Invoice;
-import com.antipanel.backend.repository.InvoiceRepository;
-import com.antipanel.backend.service.InvoiceService;
+import com.antipanel.backend.service.PaymentPollingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 /**
  * Background scheduler for polling pending Paymento payments.
  * Periodically checks PENDING and PROCESSING invoices for payment completion.
@@ -22,30 +18,23 @@ import java.util.List;
 @Slf4j
 public class PaymentPollingScheduler {
 
-    private final InvoiceRepository invoiceRepository;
-    private final InvoiceService invoiceService;
+    private final PaymentPollingService paymentPollingService;
 
     /**
-     * Polls all eligible invoices every 30 seconds.
+     * Polls due invoices every 30 seconds (configurable).
      * Uses fixedDelay to ensure previous poll completes before next starts.
-     * Includes both PENDING and PROCESSING invoices with payment tokens.
+     * Each invoice is verified on its own backoff schedule.
      */
-    @Scheduled(fixedDelay = 30000)
+    @Scheduled(fixedDelayString = "${app.scheduler.payment-polling.delay:30000}")
     public void pollProcessingPayments() {
-        List<Invoice> eligible = invoiceRepository.findInvoicesEligibleForPolling();
-
-        if (eligible.isEmpty()) {
-            return;
-        }
-
-        log.debug("Polling {} eligible invoices for payment status", eligible.size());
-
-        for (Invoice invoice : eligible) {
-            try {
-                invoiceService.checkPaymentStatus(invoice.getId());
-            } catch (Exception e) {
-                log.warn("Failed to check payment status for invoice {}", invoice.getId(), e);
+        try {
+            int verified = paymentPollingService.verifyDueInvoices();
+            if (verified > 0) {
+                log.debug("Payment polling verified {} invoices", verified);
             }
+        } catch (Exception e) {
+            log.error("Payment polling failed", e);
+            // Don't rethrow - let scheduler continue on next iteration
         }
     }
 }
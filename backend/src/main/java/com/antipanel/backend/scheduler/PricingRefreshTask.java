@@ -0,0 +1,33 @@
+package com.antipanel.backend.scheduler;
+
+import com.antipanel.backend.service.PricingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background task rebuilding the in-memory pricing table.
+ * Catalog changes made on any node are applied immediately (see InvalidationListener);
+ * this only bounds staleness if an invalidation is lost.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PricingRefreshTask {
+
+    private final PricingService pricingService;
+
+    /**
+     * Rebuilds the pricing table every ten minutes (configurable).
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.pricing-refresh.delay:600000}")
+    public void refreshPricing() {
+        try {
+            pricingService.refresh();
+        } catch (Exception e) {
+            log.error("Pricing table refresh failed", e);
+            // Don't rethrow - let scheduler continue on next iteration
+        }
+    }
+}
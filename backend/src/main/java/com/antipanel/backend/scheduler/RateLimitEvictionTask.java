@@ -0,0 +1,36 @@
+package com.antipanel.backend.scheduler;
+
+import com.antipanel.backend.security.RateLimitingFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background task evicting idle rate limit buckets.
+ * Keeps memory proportional to recently active clients rather than every address ever seen.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitEvictionTask {
+
+    private final RateLimitingFilter rateLimitingFilter;
+
+    /**
+     * Evicts idle buckets every minute (configurable).
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.rate-limit-eviction.delay:60000}")
+    public void evictIdleClients() {
+        try {
+            int evicted = rateLimitingFilter.evictIdleClients();
+            if (evicted > 0) {
+                log.debug("Evicted {} idle rate limit buckets, {} remaining",
+                        evicted, rateLimitingFilter.trackedClients());
+            }
+        } catch (Exception e) {
+            log.error("Rate limit bucket eviction failed", e);
+            // Don't rethrow - let scheduler continue on next iteration
+        }
+    }
+}
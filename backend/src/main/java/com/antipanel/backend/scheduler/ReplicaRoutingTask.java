@@ -0,0 +1,42 @@
+package com.antipanel.backend.scheduler;
+
+import com.antipanel.backend.datasource.ReadYourWrites;
+import com.antipanel.backend.datasource.ReplicaPools;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background scheduler for read replica routing.
+ *
+ * Measures the replication lag of every replica, so that replicas too far behind the primary
+ * are skipped until they catch up, and forgets users whose read-your-writes window has passed.
+ * Does nothing but the purge when read replicas are disabled.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReplicaRoutingTask {
+
+    private final ObjectProvider<ReplicaPools> replicaPools;
+    private final ReadYourWrites readYourWrites;
+
+    /**
+     * Checks replica lag every 5 seconds (configurable).
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.replica-lag.delay:5000}")
+    public void refreshReplicaLag() {
+        try {
+            replicaPools.ifAvailable(ReplicaPools::refreshLag);
+            int purged = readYourWrites.purgeExpired();
+            if (purged > 0) {
+                log.debug("Released {} users from read-your-writes pinning", purged);
+            }
+        } catch (Exception e) {
+            log.error("Replica lag check failed", e);
+            // Don't rethrow - let scheduler continue on next iteration
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.antipanel.backend.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: schedules items for a deadline and hands them back once time
+ * has advanced past it. Scheduling and expiry are O(1) per item regardless of how many are
+ * pending, unlike a priority queue.
+ *
+ * <p>Level 0 has one slot per tick; each higher level has slots covering a whole revolution of
+ * the level below. Items far in the future sit in a coarse slot and move down a level each time
+ * that slot comes up, until they reach level 0 and expire. Items beyond the range of the top
+ * level wait in its furthest slot and are re-placed when it comes up.</p>
+ *
+ * <p>Time is in ticks counted by the caller; the wheel never reads a clock. Not thread-safe.</p>
+ *
+ * @param <T> Item type
+ */
+public final class TimingWheel<T> {
+
+    private final int slotBits;
+    private final int slotMask;
+    private final List<List<Entry<T>>[]> levels;
+    private final long range;
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param slotBits  log2 of the number of slots per level
+     * @param levels    Number of levels
+     * @param startTick Tick the wheel starts at
+     */
+    public TimingWheel(int slotBits, int levels, long startTick) {
+        if (slotBits <= 0 || levels <= 0 || slotBits * levels >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Invalid timing wheel size: " + slotBits + " bits x " + levels + " levels");
+        }
+        this.slotBits = slotBits;
+        this.slotMask = (1 << slotBits) - 1;
+        this.levels = new ArrayList<>(levels);
+        for (int i = 0; i < levels; i++) {
+            @SuppressWarnings("unchecked")
+            List<Entry<T>>[] slots = new List[1 << slotBits];
+            this.levels.add(slots);
+        }
+        this.range = 1L << (slotBits * levels);
+        this.currentTick = startTick;
+    }
+
+    /**
+     * Schedule an item.
+     *
+     * @param item         Item
+     * @param deadlineTick Tick at which the item expires
+     * @return false if the deadline has already passed; the item is not scheduled then
+     */
+    public boolean schedule(T item, long deadlineTick) {
+        if (deadlineTick <= currentTick) {
+            return false;
+        }
+        place(new Entry<>(item, deadlineTick));
+        size++;
+        return true;
+    }
+
+    /**
+     * Advance the wheel to a tick and collect every item whose deadline is at or before it.
+     *
+     * @param tick Current tick; ticks in the past are ignored
+     * @return Expired items
+     */
+    public List<T> advanceTo(long tick) {
+        List<T> expired = new ArrayList<>();
+        while (currentTick < tick) {
+            currentTick++;
+            // Cascade coarse slots that start at this tick, highest level first
+            for (int level = levels.size() - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (slotBits * level)) - 1)) == 0) {
+                    List<Entry<T>> cascaded = take(level, slotIndex(currentTick, level));
+                    if (cascaded != null) {
+                        for (Entry<T> entry : cascaded) {
+                            if (entry.deadlineTick() <= currentTick) {
+                                expire(entry, expired);
+                            } else {
+                                place(entry);
+                            }
+                        }
+                    }
+                }
+            }
+            List<Entry<T>> due = take(0, slotIndex(currentTick, 0));
+            if (due != null) {
+                for (Entry<T> entry : due) {
+                    expire(entry, expired);
+                }
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Number of scheduled items.
+     */
+    public int size() {
+        return size;
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    // ============ HELPER METHODS ============
+
+    private void place(Entry<T> entry) {
+        long delta = entry.deadlineTick() - currentTick;
+        long slotTick = entry.deadlineTick();
+        if (delta >= range) {
+            // Park in the furthest top-level slot; re-placed when that slot comes up
+            slotTick = currentTick + range - 1;
+            delta = range - 1;
+        }
+        int level = 0;
+        while (delta >= 1L << (slotBits * (level + 1))) {
+            level++;
+        }
+        int index = slotIndex(slotTick, level);
+        List<Entry<T>>[] slots = levels.get(level);
+        if (slots[index] == null) {
+            slots[index] = new ArrayList<>();
+        }
+        slots[index].add(entry);
+    }
+
+    private List<Entry<T>> take(int level, int index) {
+        List<Entry<T>>[] slots = levels.get(level);
+        List<Entry<T>> taken = slots[index];
+        slots[index] = null;
+        return taken;
+    }
+
+    private void expire(Entry<T> entry, List<T> expired) {
+        expired.add(entry.item());
+        size--;
+    }
+
+    private int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (slotBits * level)) & slotMask);
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {
+    }
+}
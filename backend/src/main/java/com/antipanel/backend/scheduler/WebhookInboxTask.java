@@ -0,0 +1,50 @@
+package com.antipanel.backend.scheduler;
+
+import com.antipanel.backend.service.payment.WebhookInboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background task applying stored payment webhooks and purging processed ones.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WebhookInboxTask {
+
+    private final WebhookInboxService webhookInboxService;
+
+    /**
+     * Drains the webhook inbox every second (configurable).
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.webhook-inbox.delay:1000}")
+    public void drainInbox() {
+        try {
+            int settled = webhookInboxService.drain();
+            if (settled > 0) {
+                log.debug("Settled {} webhook inbox entries", settled);
+            }
+        } catch (Exception e) {
+            log.error("Webhook inbox drain failed", e);
+            // Don't rethrow - let scheduler continue on next iteration
+        }
+    }
+
+    /**
+     * Purges processed inbox entries every hour (configurable).
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.webhook-inbox-purge.delay:3600000}")
+    public void purgeProcessed() {
+        try {
+            int purged = webhookInboxService.purgeProcessed();
+            if (purged > 0) {
+                log.info("Purged {} processed webhook inbox entries", purged);
+            }
+        } catch (Exception e) {
+            log.error("Webhook inbox purge failed", e);
+            // Don't rethrow - let scheduler continue on next iteration
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.antipanel.backend.security;
+
+import com.antipanel.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authenticates reseller API (/api/v2) requests by API key.
+ * Keys are stored as SHA-256 hashes; principals are served from the PrincipalCache under
+ * the key hash, so repeat requests with the same key do not reach the database.
+ * Regenerating a key, banning or deleting the user evicts the entry through PrincipalChangedEvent.
+ * Unknown keys are remembered briefly too, so a client retrying a wrong key does not hit the
+ * database on every request. New keys are random, so none can be remembered as unknown.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApiKeyAuthenticator {
+
+    private static final String KEY_PREFIX = "ap_";
+    private static final String CACHE_PREFIX = "api-key:";
+    private static final int KEY_BYTES = 32;
+    private static final long UNKNOWN_KEY_TTL_NANOS = Duration.ofSeconds(30).toNanos();
+    private static final int MAX_UNKNOWN_KEYS = 10_000;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+
+    /**
+     * Hashes of keys that matched no user, with the time they were looked up.
+     */
+    private final Map<String, Long> unknownKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Authenticate an API key.
+     *
+     * @param apiKey API key sent by the client
+     * @return Principal of the key owner, or empty if the key is unknown or the owner is banned
+     */
+    public Optional<CustomUserDetails> authenticate(String apiKey) {
+        if (apiKey == null || apiKey.isBlank()) {
+            return Optional.empty();
+        }
+        String keyHash = hash(apiKey);
+        if (isKnownUnknown(keyHash)) {
+            return Optional.empty();
+        }
+        try {
+            CustomUserDetails user = (CustomUserDetails) principalCache.get(
+                    CACHE_PREFIX + keyHash, this::loadByCacheKey);
+            return user.isEnabled() ? Optional.of(user) : Optional.empty();
+        } catch (UsernameNotFoundException e) {
+            rememberUnknown(keyHash);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Generate a new random API key.
+     *
+     * @return API key
+     */
+    public static String generateKey() {
+        byte[] bytes = new byte[KEY_BYTES];
+        RANDOM.nextBytes(bytes);
+        return KEY_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Hash of an API key as stored in users.api_key_hash.
+     *
+     * @param apiKey API key
+     * @return Lowercase hex SHA-256
+     */
+    public static String hash(String apiKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(apiKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // ============ HELPER METHODS ============
+
+    private boolean isKnownUnknown(String keyHash) {
+        Long lookedUpAt = unknownKeys.get(keyHash);
+        if (lookedUpAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - lookedUpAt < UNKNOWN_KEY_TTL_NANOS) {
+            return true;
+        }
+        unknownKeys.remove(keyHash, lookedUpAt);
+        return false;
+    }
+
+    private void rememberUnknown(String keyHash) {
+        long now = System.nanoTime();
+        if (unknownKeys.size() >= MAX_UNKNOWN_KEYS) {
+            unknownKeys.values().removeIf(lookedUpAt -> now - lookedUpAt >= UNKNOWN_KEY_TTL_NANOS);
+            if (unknownKeys.size() >= MAX_UNKNOWN_KEYS) {
+                unknownKeys.clear();
+            }
+        }
+        unknownKeys.put(keyHash, now);
+    }
+
+    private CustomUserDetails loadByCacheKey(String cacheKey) {
+        String keyHash = cacheKey.substring(CACHE_PREFIX.length());
+        return userRepository.findByApiKeyHash(keyHash)
+                .map(CustomUserDetails::new)
+                .orElseThrow(() -> {
+                    log.debug("No user found for API key");
+                    return new UsernameNotFoundException("Invalid API key");
+                });
+    }
+}
@@ -13,6 +13,8 @@ import org.springframework.transaction.annotation.Transactional;
 /**
  * Custom UserDetailsService implementation.
  * Loads user from database for Spring Security authentication.
+ * Loads run in read-write transactions so they read the primary: PrincipalCache keeps what they
+ * return, and a replica that has not yet seen a ban would put the user back unbanned.
  */
 @Service
 @RequiredArgsConstructor
@@ -22,7 +24,7 @@ public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         log.debug("Loading user by email: {}", email);
 
@@ -43,7 +45,7 @@ public class CustomUserDetailsService implements UserDetailsService {
      * @return UserDetails
      * @throws UsernameNotFoundException if user not found
      */
-    @Transactional(readOnly = true)
+    @Transactional
     public UserDetails loadUserById(Long id) throws UsernameNotFoundException {
         log.debug("Loading user by ID: {}", id);
 
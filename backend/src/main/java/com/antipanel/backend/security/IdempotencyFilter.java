@@ -0,0 +1,295 @@
+package com.antipanel.backend.security;
+
+import com.antipanel.backend.config.IdempotencyProperties;
+import com.antipanel.backend.service.IdempotencyService;
+import com.antipanel.backend.service.IdempotencyService.Claim;
+import com.antipanel.backend.service.IdempotencyService.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * HTTP-level idempotency for order and invoice creation.
+ *
+ * <p>A POST carrying an Idempotency-Key header is claimed before it runs. The final response is
+ * stored per user and key, and retries get it back (Idempotent-Replayed: true) without reaching
+ * the controller, so they no longer take the user row lock. A duplicate arriving while the first
+ * request still runs gets 409; reusing a key for a different request body gets 422.</p>
+ *
+ * <p>Runs after the Spring Security chain, so the authenticated user is known. Server errors and
+ * transient rejections are not stored: the claim is released and the client may retry.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * Endpoints whose POST requests are deduplicated.
+     */
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of(
+            "/api/v1/orders", "/api/v1/orders/bulk", "/api/v1/invoices");
+
+    private final IdempotencyService idempotencyService;
+    private final IdempotencyProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        Long userId = currentUserId();
+        if (userId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            sendError(response, HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        InputStream originalBody = request.getInputStream();
+        byte[] body = originalBody.readNBytes(properties.maxBodyBytes() + 1);
+        if (body.length > properties.maxBodyBytes()) {
+            // Too large to fingerprint: run without deduplication
+            log.debug("Request body too large for idempotency, skipping key {}", key);
+            filterChain.doFilter(new CachedBodyRequest(request,
+                    new SequenceInputStream(new ByteArrayInputStream(body), originalBody)), response);
+            return;
+        }
+
+        String path = request.getServletPath();
+        Claim claim;
+        try {
+            claim = idempotencyService.claim(userId, path, key, fingerprint(request, body));
+        } catch (DataAccessException e) {
+            // Order and hold creation still deduplicate by key inside their transactions
+            log.warn("Idempotency store unavailable, running request without it: {}", e.getMessage());
+            filterChain.doFilter(new CachedBodyRequest(request, new ByteArrayInputStream(body)), response);
+            return;
+        }
+
+        switch (claim.status()) {
+            case COMPLETED -> replay(response, claim.response());
+            case IN_PROGRESS -> sendError(response, HttpStatus.CONFLICT,
+                    "A request with this Idempotency-Key is still being processed");
+            case KEY_REUSED -> sendError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a different request");
+            case ACQUIRED -> execute(new CachedBodyRequest(request, new ByteArrayInputStream(body)),
+                    response, filterChain, userId, path, key);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled()
+                || !"POST".equalsIgnoreCase(request.getMethod())
+                || !IDEMPOTENT_PATHS.contains(request.getServletPath())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    // ============ HELPER METHODS ============
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         Long userId, String path, String key) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            int status = responseWrapper.getStatus();
+            if (isFinal(status)) {
+                idempotencyService.complete(userId, path, key, new StoredResponse(
+                        status, responseWrapper.getContentType(), responseWrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not store response for Idempotency-Key {}: {}", key, e.getMessage());
+        } finally {
+            if (!stored) {
+                releaseQuietly(userId, path, key);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Whether a response is the final answer for its request. Server errors, timeouts,
+     * conflicts and rate limiting may succeed on retry, so they are not replayed.
+     */
+    private static boolean isFinal(int status) {
+        return status < 500
+                && status != HttpStatus.REQUEST_TIMEOUT.value()
+                && status != HttpStatus.CONFLICT.value()
+                && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private void releaseQuietly(Long userId, String path, String key) {
+        try {
+            idempotencyService.release(userId, path, key);
+        } catch (DataAccessException e) {
+            // The claim lease expires on its own
+            log.warn("Could not release Idempotency-Key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.body() != null) {
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails user) {
+            return user.getUserId();
+        }
+        return null;
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            sha256.update((byte) ' ');
+            sha256.update(request.getServletPath().getBytes(StandardCharsets.UTF_8));
+            sha256.update((byte) '\n');
+            return HexFormat.of().formatHex(sha256.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Sends a JSON error response.
+     *
+     * @param response HTTP response
+     * @param status   HTTP status
+     * @param message  Error message
+     * @throws IOException if writing to response fails
+     */
+    private void sendError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("""
+                {"error": "%s", "message": "%s", "status": %d}
+                """.formatted(status.getReasonPhrase(), message, status.value()));
+    }
+
+    /**
+     * Request whose body was already read by this filter.
+     *
+     * The body is always ready: it is in memory, or its remainder comes from the original stream
+     * in blocking reads. A ReadListener is therefore called back at once, on the calling thread.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final ServletInputStream body;
+
+        private CachedBodyRequest(HttpServletRequest request, InputStream body) {
+            super(request);
+            this.body = new ServletInputStream() {
+                private boolean finished;
+                private ReadListener listener;
+
+                @Override
+                public int read() throws IOException {
+                    return finish(body.read());
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    return finish(body.read(buffer, offset, length));
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    if (readListener == null) {
+                        throw new NullPointerException("ReadListener must not be null");
+                    }
+                    if (listener != null) {
+                        throw new IllegalStateException("ReadListener already set");
+                    }
+                    listener = readListener;
+                    try {
+                        if (!finished) {
+                            readListener.onDataAvailable();
+                        }
+                        if (finished) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                private int finish(int read) {
+                    if (read == -1) {
+                        finished = true;
+                    }
+                    return read;
+                }
+            };
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return body;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(body,
+                    StringUtils.hasText(encoding) ? java.nio.charset.Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.antipanel.backend.security;
+
+import com.antipanel.backend.config.PrincipalCacheProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of authenticated principals keyed by email.
+ * Lets JwtAuthenticationFilter authenticate requests without a database round trip.
+ * Entries are evicted immediately through PrincipalChangedEvent (locally and on other
+ * nodes via InvalidationListener) and otherwise expire after the configured TTL.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PrincipalCache {
+
+    private final PrincipalCacheProperties properties;
+
+    private final Map<String, CachedPrincipal> principals = new ConcurrentHashMap<>();
+
+    /**
+     * Bumped on every invalidation so a load racing with an invalidation is not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Get a cached principal or load and cache it.
+     *
+     * @param username Username (email)
+     * @param loader   Loads the principal on a miss
+     * @return Principal
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        if (!properties.enabled()) {
+            return loader.apply(username);
+        }
+
+        long now = System.nanoTime();
+        CachedPrincipal cached = principals.get(username);
+        if (cached != null) {
+            if (cached.isFresh(now, properties.ttl().toNanos())) {
+                return cached.user();
+            }
+            principals.remove(username, cached);
+        }
+
+        long loadGeneration = generation.get();
+        UserDetails user = loader.apply(username);
+        if (generation.get() == loadGeneration) {
+            remember(username, new CachedPrincipal(user, userIdOf(user), now));
+        }
+        return user;
+    }
+
+    /**
+     * Evict the principal of a user.
+     *
+     * @param userId User ID
+     */
+    public void evict(Long userId) {
+        generation.incrementAndGet();
+        principals.values().removeIf(entry -> userId.equals(entry.userId()));
+        log.debug("Evicted cached principal for user ID: {}", userId);
+    }
+
+    /**
+     * Evict every cached principal.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        principals.clear();
+    }
+
+    /**
+     * Number of cached principals (including expired entries not yet evicted).
+     *
+     * @return Cache size
+     */
+    public int size() {
+        return principals.size();
+    }
+
+    // ============ HELPER METHODS ============
+
+    private void remember(String username, CachedPrincipal principal) {
+        if (principals.size() >= properties.maxEntries()) {
+            long ttlNanos = properties.ttl().toNanos();
+            long now = System.nanoTime();
+            principals.values().removeIf(entry -> !entry.isFresh(now, ttlNanos));
+            if (principals.size() >= properties.maxEntries()) {
+                principals.clear();
+            }
+        }
+        principals.put(username, principal);
+    }
+
+    private static Long userIdOf(UserDetails user) {
+        return user instanceof CustomUserDetails details ? details.getUserId() : null;
+    }
+
+    /**
+     * Loaded principal with the time it was loaded.
+     */
+    private record CachedPrincipal(UserDetails user, Long userId, long loadedAtNanos) {
+
+        boolean isFresh(long nowNanos, long ttlNanos) {
+            return nowNanos - loadedAtNanos < ttlNanos;
+        }
+    }
+}
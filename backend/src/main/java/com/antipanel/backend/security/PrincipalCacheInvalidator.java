@@ -0,0 +1,39 @@
+package com.antipanel.backend.security;
+
+import com.antipanel.backend.cache.InvalidationHandler;
+import com.antipanel.backend.cache.InvalidationMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached principals when a user changes.
+ * The local node is evicted after commit; other nodes are told through InvalidationBus
+ * and evict when InvalidationListener hands them the change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PrincipalCacheInvalidator implements InvalidationHandler {
+
+    private final PrincipalCache principalCache;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void evictLocally(PrincipalChangedEvent event) {
+        principalCache.evict(event.userId());
+    }
+
+    @Override
+    public void invalidate(InvalidationMessage message) {
+        if (message instanceof InvalidationMessage.Principal(Long userId)) {
+            principalCache.evict(userId);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        principalCache.clear();
+    }
+}
@@ -0,0 +1,10 @@
+package com.antipanel.backend.security;
+
+/**
+ * Published when a change to a user affects authentication
+ * (ban, unban, role change, credentials or email change, deletion).
+ *
+ * @param userId ID of the changed user
+ */
+public record PrincipalChangedEvent(Long userId) {
+}
@@ -1,99 +1,163 @@
 package com.antipanel.backend.security;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
+import com.antipanel.backend.config.RateLimitProperties;
+import com.antipanel.backend.security.jwt.JwtTokenProvider;
+import com.antipanel.backend.security.jwt.VerifiedToken;
+import com.antipanel.backend.security.ratelimit.BucketStore;
+import com.antipanel.backend.security.ratelimit.ClientAddressResolver;
+import com.antipanel.backend.security.ratelimit.LocalBucketStore;
+import com.antipanel.backend.security.ratelimit.RateLimitTier;
+import io.github.bucket4j.ConsumptionProbe;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Rate limiting filter using Bucket4j token bucket algorithm.
- * Limits requests per IP address to prevent abuse.
+ * Limits requests per client to prevent abuse.
  *
- * <p>Configuration: 100 requests per minute per IP address.</p>
+ * <p>Requests are classified into tiers ({@link RateLimitTier}), each with its own limit.
+ * Within a tier, requests carrying a valid access token are limited per user; all others per
+ * client address, resolved through trusted proxies only. Reseller API requests are limited per
+ * client address first and, if they carry a valid API key, per key owner as well.</p>
+ *
+ * <p>Buckets are per node unless app.rate-limit.distributed is enabled (see RateLimitConfig).</p>
  */
 @Component
 @Slf4j
 public class RateLimitingFilter extends OncePerRequestFilter {
 
-    /**
-     * Cache of rate limit buckets per client IP address.
-     */
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String API_KEY_PARAMETER = "key";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ApiKeyAuthenticator apiKeyAuthenticator;
+    private final ClientAddressResolver clientAddressResolver;
+    private final BucketStore bucketStore;
 
     /**
-     * Maximum requests allowed per minute per IP.
+     * Filter with per-node in-memory buckets.
      */
-    private static final int REQUESTS_PER_MINUTE = 100;
+    public RateLimitingFilter(RateLimitProperties properties, JwtTokenProvider jwtTokenProvider,
+                              ApiKeyAuthenticator apiKeyAuthenticator) {
+        this(properties, jwtTokenProvider, apiKeyAuthenticator, new LocalBucketStore(properties));
+    }
+
+    @Autowired
+    public RateLimitingFilter(RateLimitProperties properties, JwtTokenProvider jwtTokenProvider,
+                              ApiKeyAuthenticator apiKeyAuthenticator, BucketStore bucketStore) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.apiKeyAuthenticator = apiKeyAuthenticator;
+        this.clientAddressResolver = new ClientAddressResolver(properties.trustedProxies());
+        this.bucketStore = bucketStore;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
-        String clientIp = getClientIp(request);
-        Bucket bucket = buckets.computeIfAbsent(clientIp, this::createBucket);
-
-        if (bucket.tryConsume(1)) {
-            filterChain.doFilter(request, response);
-        } else {
-            log.warn("Rate limit exceeded for IP: {}", clientIp);
-            sendRateLimitExceededResponse(response);
+        RateLimitTier tier = RateLimitTier.of(request);
+        if (tier == RateLimitTier.RESELLER_API) {
+            if (!tryConsume(tier, "ip:" + clientAddressResolver.resolve(request), response)
+                    || !tryConsumeApiKeyOwner(request, tier, response)) {
+                return;
+            }
+        } else if (!tryConsume(tier, identifyClient(request, tier), response)) {
+            return;
         }
+        filterChain.doFilter(request, response);
     }
 
     /**
-     * Creates a new rate limit bucket for a client.
+     * Evict client buckets that have been idle longer than the configured timeout.
      *
-     * @param key The client identifier (IP address)
-     * @return A new Bucket with the configured rate limit
+     * @return Number of evicted buckets
      */
-    private Bucket createBucket(String key) {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(REQUESTS_PER_MINUTE)
-                .refillGreedy(REQUESTS_PER_MINUTE, Duration.ofMinutes(1))
-                .build();
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
+    public int evictIdleClients() {
+        return bucketStore.evictIdle();
     }
 
     /**
-     * Extracts the client IP address from the request.
-     * Handles X-Forwarded-For header for proxied requests.
+     * Number of client buckets currently held in memory.
      *
-     * @param request HTTP request
-     * @return Client IP address
+     * @return Number of buckets
+     */
+    public int trackedClients() {
+        return bucketStore.size();
+    }
+
+    /**
+     * Take a token from the client's bucket, or answer 429 if it is empty.
+     *
+     * @return Whether the request may proceed
+     */
+    private boolean tryConsume(RateLimitTier tier, String client, HttpServletResponse response) throws IOException {
+        ConsumptionProbe probe = bucketStore.tryConsume(tier, client);
+        if (!probe.isConsumed()) {
+            log.warn("Rate limit exceeded for {} on tier {}", client, tier);
+            sendRateLimitExceededResponse(response, probe.getNanosToWaitForRefill());
+        }
+        return probe.isConsumed();
+    }
+
+    /**
+     * Take a token from the bucket of the API key owner, once the request has passed the limit of
+     * its client address. The key is only looked up then (served from the PrincipalCache for
+     * repeat keys, and from a short negative cache for unknown ones), so an address over its limit
+     * costs no database query however many made-up keys it sends. An unknown key gets no bucket
+     * of its own and stays limited by its address alone.
+     *
+     * @return Whether the request may proceed
+     */
+    private boolean tryConsumeApiKeyOwner(HttpServletRequest request, RateLimitTier tier,
+                                          HttpServletResponse response) throws IOException {
+        Optional<CustomUserDetails> owner = apiKeyAuthenticator.authenticate(request.getParameter(API_KEY_PARAMETER));
+        return owner.isEmpty() || tryConsume(tier, "api-key:" + owner.get().getUserId(), response);
+    }
+
+    /**
+     * Identify the client: the authenticated user if the tier allows it and the request
+     * carries a valid access token, otherwise the client address.
+     * Token verification is served from the JwtTokenProvider cache for repeat tokens.
      */
-    private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            // Take the first IP in the chain (original client)
-            return xForwardedFor.split(",")[0].trim();
+    private String identifyClient(HttpServletRequest request, RateLimitTier tier) {
+        if (tier.keyedByPrincipal()) {
+            String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (header != null && header.startsWith(BEARER_PREFIX)) {
+                Optional<VerifiedToken> token = jwtTokenProvider.verify(header.substring(BEARER_PREFIX.length()));
+                if (token.isPresent() && token.get().isAccessToken()) {
+                    return "user:" + token.get().subject();
+                }
+            }
         }
-        return request.getRemoteAddr();
+        return "ip:" + clientAddressResolver.resolve(request);
     }
 
     /**
      * Sends HTTP 429 Too Many Requests response.
      *
-     * @param response HTTP response
+     * @param response          HTTP response
+     * @param nanosUntilRefill  Time until a request will be allowed again
      * @throws IOException if writing to response fails
      */
-    private void sendRateLimitExceededResponse(HttpServletResponse response) throws IOException {
+    private void sendRateLimitExceededResponse(HttpServletResponse response, long nanosUntilRefill) throws IOException {
         response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanosUntilRefill) + 1)));
         response.getWriter().write("""
                 {"error": "Too Many Requests", "message": "Rate limit exceeded. Please try again later.", "status": 429}
                 """);
@@ -4,10 +4,10 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.antipanel.backend.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -17,9 +17,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 /**
  * JWT Authentication Filter.
@@ -36,6 +34,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -43,31 +42,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = extractJwtFromRequest(request);
+            // Single parse; repeat requests with the same token are served from the verified cache
+            Optional<VerifiedToken> verified = jwtTokenProvider.verify(jwt);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
+            if (verified.isPresent()) {
+                VerifiedToken token = verified.get();
                 // Only allow access tokens for authentication
-                if (!jwtTokenProvider.isAccessToken(jwt)) {
+                if (!token.isAccessToken()) {
                     log.debug("Token is not an access token");
                     filterChain.doFilter(request, response);
                     return;
                 }
 
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
-                String authorities = jwtTokenProvider.getAuthoritiesFromToken(jwt);
+                String username = token.subject();
 
                 if (StringUtils.hasText(username) && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    // Load user details to verify user still exists and is not banned
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    // Load user details to verify user still exists and is not banned.
+                    // Served from the principal cache, which is evicted on ban/role change/delete
+                    UserDetails userDetails = principalCache.get(username, userDetailsService::loadUserByUsername);
 
                     // Verify user is enabled
                     if (userDetails.isEnabled()) {
-                        List<SimpleGrantedAuthority> grantedAuthorities = parseAuthorities(authorities);
-
                         UsernamePasswordAuthenticationToken authentication =
                                 new UsernamePasswordAuthenticationToken(
                                         userDetails,
                                         null,
-                                        grantedAuthorities
+                                        token.authorities()
                                 );
                         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
@@ -99,23 +99,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 
-    /**
-     * Parse comma-separated authorities string into list.
-     *
-     * @param authorities Comma-separated authorities
-     * @return List of granted authorities
-     */
-    private List<SimpleGrantedAuthority> parseAuthorities(String authorities) {
-        if (!StringUtils.hasText(authorities)) {
-            return List.of();
-        }
-        return Arrays.stream(authorities.split(","))
-                .map(String::trim)
-                .filter(StringUtils::hasText)
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
-    }
-
     /**
      * Skip filter for certain paths (e.g., public endpoints).
      */
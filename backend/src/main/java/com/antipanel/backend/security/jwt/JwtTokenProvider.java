@@ -4,17 +4,29 @@ import com.antipanel.backend.config.JwtProperties;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -25,13 +37,29 @@ import java.util.stream.Collectors;
 @Slf4j
 public class JwtTokenProvider {
 
+    /**
+     * Maximum number of verified tokens kept in memory.
+     * Roughly one entry per active session within the access token lifetime.
+     */
+    static final int VERIFIED_CACHE_MAX_ENTRIES = 10_000;
+
     private final SecretKey secretKey;
     private final JwtProperties jwtProperties;
+    private final JwtParser jwtParser;
+
+    /**
+     * Verified tokens keyed by the SHA-256 digest of the raw token (raw tokens are never retained).
+     */
+    private final Map<String, VerifiedToken> verifiedCache = new ConcurrentHashMap<>();
 
     public JwtTokenProvider(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
         byte[] keyBytes = Base64.getDecoder().decode(jwtProperties.secret());
         this.secretKey = Keys.hmacShaKeyFor(keyBytes);
+        // Immutable and thread-safe, built once instead of per parse
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
     }
 
     /**
@@ -91,6 +119,48 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Verify a token once and return its claims.
+     * Verified tokens are cached until they expire, so repeat requests with the same token
+     * skip parsing and signature verification. Invalid tokens are never cached.
+     *
+     * @param token JWT token
+     * @return Verified claims, or empty if the token is invalid or expired
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (!StringUtils.hasText(token)) {
+            return Optional.empty();
+        }
+
+        Instant now = Instant.now();
+        String digest = digest(token);
+        VerifiedToken cached = verifiedCache.get(digest);
+        if (cached != null) {
+            if (!cached.isExpiredAt(now)) {
+                return Optional.of(cached);
+            }
+            verifiedCache.remove(digest);
+            log.debug("JWT token is expired");
+            return Optional.empty();
+        }
+
+        try {
+            VerifiedToken verified = toVerifiedToken(getClaims(token));
+            if (verified.isExpiredAt(now)) {
+                return Optional.empty();
+            }
+            remember(digest, verified, now);
+            return Optional.of(verified);
+        } catch (ExpiredJwtException e) {
+            log.debug("JWT token is expired: {}", e.getMessage());
+        } catch (JwtException e) {
+            log.debug("Invalid JWT token: {}", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            log.debug("JWT token is empty or null: {}", e.getMessage());
+        }
+        return Optional.empty();
+    }
+
     /**
      * Extract username (subject) from token.
      *
@@ -203,13 +273,48 @@ public class JwtTokenProvider {
      * @return Claims object
      */
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        String authorities = claims.get("authorities", String.class);
+        List<GrantedAuthority> grantedAuthorities = !StringUtils.hasText(authorities)
+                ? List.of()
+                : Arrays.stream(authorities.split(","))
+                        .map(String::trim)
+                        .filter(StringUtils::hasText)
+                        .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                        .toList();
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("type", String.class),
+                grantedAuthorities,
+                expiration != null ? expiration.toInstant() : null);
+    }
+
+    private void remember(String digest, VerifiedToken verified, Instant now) {
+        if (verifiedCache.size() >= VERIFIED_CACHE_MAX_ENTRIES) {
+            verifiedCache.values().removeIf(entry -> entry.isExpiredAt(now));
+            if (verifiedCache.size() >= VERIFIED_CACHE_MAX_ENTRIES) {
+                verifiedCache.clear();
+            }
+        }
+        verifiedCache.put(digest, verified);
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     /**
      * Get access token expiration in milliseconds.
      *
@@ -0,0 +1,55 @@
+package com.antipanel.backend.security.jwt;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a JWT whose signature has been verified.
+ * Immutable, so a single instance can be cached and shared across requests.
+ *
+ * @param subject     Username/email
+ * @param type        Token type (access or refresh)
+ * @param authorities Granted authorities parsed from the authorities claim
+ * @param expiresAt   Token expiration
+ */
+public record VerifiedToken(
+        String subject,
+        String type,
+        List<GrantedAuthority> authorities,
+        Instant expiresAt
+) {
+
+    public VerifiedToken {
+        authorities = authorities == null ? List.of() : List.copyOf(authorities);
+    }
+
+    /**
+     * Check if this is an access token.
+     *
+     * @return true if access token
+     */
+    public boolean isAccessToken() {
+        return "access".equals(type);
+    }
+
+    /**
+     * Check if this is a refresh token.
+     *
+     * @return true if refresh token
+     */
+    public boolean isRefreshToken() {
+        return "refresh".equals(type);
+    }
+
+    /**
+     * Check if the token is expired at the given instant.
+     *
+     * @param now Current instant
+     * @return true if expired
+     */
+    public boolean isExpiredAt(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
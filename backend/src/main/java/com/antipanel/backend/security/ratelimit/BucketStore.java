@@ -0,0 +1,36 @@
+package com.antipanel.backend.security.ratelimit;
+
+import io.github.bucket4j.ConsumptionProbe;
+
+/**
+ * Holds the rate limit buckets of all clients.
+ */
+public interface BucketStore extends AutoCloseable {
+
+    /**
+     * Try to consume one token from a client's bucket in a tier.
+     *
+     * @param tier   Tier
+     * @param client Client key (address or principal)
+     * @return Consumption result, including the wait time when rejected
+     */
+    ConsumptionProbe tryConsume(RateLimitTier tier, String client);
+
+    /**
+     * Evict state that has not been used within the idle timeout.
+     *
+     * @return Number of evicted buckets
+     */
+    int evictIdle();
+
+    /**
+     * Number of client buckets currently held in memory.
+     *
+     * @return Store size
+     */
+    int size();
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,158 @@
+package com.antipanel.backend.security.ratelimit;
+
+import com.antipanel.backend.config.RateLimitProperties;
+import com.antipanel.backend.config.RateLimitProperties.Distributed;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.jdbc.PrimaryKeyMapper;
+import io.github.bucket4j.distributed.proxy.ExpiredEntriesCleaner;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimization;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import io.github.bucket4j.postgresql.Bucket4jPostgreSQL;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Rate limit buckets shared by all nodes through PostgreSQL.
+ * <p>
+ * Each node keeps a bounded set of bucket proxies (see LocalBucketStore). A proxy consumes tokens
+ * from a local copy of the bucket and only synchronizes with the database after syncThreshold
+ * tokens or syncInterval, so most requests do not touch the database.
+ * <p>
+ * If the database is unreachable the store falls back to per-node in-memory buckets for
+ * retryAfterFailure, then tries the database again. Limits are then enforced per node instead of
+ * globally, which is looser but keeps the API available.
+ */
+@Slf4j
+public class DistributedBucketStore implements BucketStore {
+
+    /**
+     * Expired database rows deleted per eviction run.
+     */
+    private static final int EXPIRED_ROWS_PER_RUN = 10_000;
+
+    /**
+     * Keep a row a little past the moment its bucket is full again, so an idle client
+     * coming back does not race the cleanup.
+     */
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(10);
+
+    private final ProxyManager<String> proxyManager;
+    private final LocalBucketStore sharedBuckets;
+    private final LocalBucketStore fallbackBuckets;
+    private final AutoCloseable resources;
+    private final long retryAfterFailureNanos;
+
+    private volatile long unavailableUntilNanos;
+    private volatile boolean unavailable;
+
+    /**
+     * @param properties   Rate limit configuration
+     * @param proxyManager Bucket4j proxy manager over the rate_limit_buckets table
+     * @param resources    Closed with the store (e.g. the dedicated connection pool), may be null
+     */
+    public DistributedBucketStore(RateLimitProperties properties,
+                                  ProxyManager<String> proxyManager,
+                                  AutoCloseable resources) {
+        Distributed distributed = properties.distributed();
+        Optimization optimization = Optimizations.delaying(
+                new DelayParameters(distributed.syncThreshold(), distributed.syncInterval()));
+
+        this.proxyManager = proxyManager;
+        this.sharedBuckets = new LocalBucketStore(properties, (key, configuration) -> proxyManager.builder()
+                .withOptimization(optimization)
+                .build(key, () -> configuration));
+        this.fallbackBuckets = new LocalBucketStore(properties);
+        this.resources = resources;
+        this.retryAfterFailureNanos = distributed.retryAfterFailure().toNanos();
+    }
+
+    /**
+     * Proxy manager over the rate_limit_buckets table (see V16 migration).
+     *
+     * @param dataSource Data source of the rate limit pool
+     * @return Proxy manager keyed by tier and client
+     */
+    public static ProxyManager<String> postgresProxyManager(DataSource dataSource) {
+        return Bucket4jPostgreSQL
+                .selectForUpdateBasedBuilder(dataSource)
+                .primaryKeyMapper(PrimaryKeyMapper.STRING)
+                .table("rate_limit_buckets")
+                .idColumn("id")
+                .stateColumn("state")
+                .expiresAtColumn("expires_at")
+                .expirationAfterWrite(ExpirationAfterWriteStrategy
+                        .basedOnTimeForRefillingBucketUpToMax(EXPIRY_MARGIN))
+                .build();
+    }
+
+    @Override
+    public ConsumptionProbe tryConsume(RateLimitTier tier, String client) {
+        if (unavailable && System.nanoTime() - unavailableUntilNanos < 0) {
+            return fallbackBuckets.tryConsume(tier, client);
+        }
+        try {
+            ConsumptionProbe probe = sharedBuckets.tryConsume(tier, client);
+            if (unavailable) {
+                unavailable = false;
+                log.info("Distributed rate limiting restored");
+            }
+            return probe;
+        } catch (RuntimeException e) {
+            markUnavailable(e);
+            return fallbackBuckets.tryConsume(tier, client);
+        }
+    }
+
+    @Override
+    public int evictIdle() {
+        int evicted = sharedBuckets.evictIdle() + fallbackBuckets.evictIdle();
+        if (!unavailable && proxyManager instanceof ExpiredEntriesCleaner cleaner) {
+            try {
+                cleaner.removeExpired(EXPIRED_ROWS_PER_RUN);
+            } catch (RuntimeException e) {
+                log.warn("Could not delete expired rate limit buckets: {}", e.getMessage());
+            }
+        }
+        return evicted;
+    }
+
+    @Override
+    public int size() {
+        return sharedBuckets.size() + fallbackBuckets.size();
+    }
+
+    /**
+     * Whether requests are currently limited by per-node buckets because the database failed.
+     *
+     * @return true if degraded to local limiting
+     */
+    public boolean isDegraded() {
+        return unavailable && System.nanoTime() - unavailableUntilNanos < 0;
+    }
+
+    @Override
+    public void close() {
+        if (resources != null) {
+            try {
+                resources.close();
+            } catch (Exception e) {
+                log.warn("Could not close rate limit resources: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void markUnavailable(RuntimeException e) {
+        unavailableUntilNanos = System.nanoTime() + retryAfterFailureNanos;
+        if (!unavailable) {
+            unavailable = true;
+            log.warn("Distributed rate limiting unavailable, using per-node limits: {}", e.getMessage());
+        }
+        // Proxies may hold unsynchronized state for a database that is gone
+        sharedBuckets.clear();
+    }
+}
@@ -0,0 +1,166 @@
+package com.antipanel.backend.security.ratelimit;
+
+import com.antipanel.backend.config.RateLimitProperties;
+import com.antipanel.backend.config.RateLimitProperties.Limit;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.local.LocalBucketBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * Bounded in-memory store of rate limit buckets.
+ * <p>
+ * Buckets idle for longer than the idle timeout are evicted; since the timeout exceeds every
+ * tier's refill period, an evicted bucket would have been full again, so eviction never
+ * grants extra requests. When the store is full, new clients share one overflow bucket per
+ * tier until room is made, so a scan from many addresses cannot grow the heap without limit.
+ * <p>
+ * Buckets are in-memory by default; DistributedBucketStore supplies a factory creating
+ * PostgreSQL-backed bucket proxies instead.
+ */
+@Slf4j
+public class LocalBucketStore implements BucketStore {
+
+    /**
+     * Minimum time between sweeps triggered by a full store.
+     */
+    private static final long MIN_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final BiFunction<String, BucketConfiguration, Bucket> bucketFactory;
+    private final long idleTimeoutNanos;
+
+    private final Map<String, Entry> buckets = new ConcurrentHashMap<>();
+    private final Map<RateLimitTier, Bucket> overflowBuckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+
+    public LocalBucketStore(RateLimitProperties properties) {
+        this(properties, LocalBucketStore::inMemoryBucket);
+    }
+
+    /**
+     * @param properties    Rate limit configuration
+     * @param bucketFactory Creates the bucket for a key and configuration
+     */
+    public LocalBucketStore(RateLimitProperties properties,
+                            BiFunction<String, BucketConfiguration, Bucket> bucketFactory) {
+        this.properties = properties;
+        this.bucketFactory = bucketFactory;
+        this.idleTimeoutNanos = properties.idleTimeout().toNanos();
+    }
+
+    @Override
+    public ConsumptionProbe tryConsume(RateLimitTier tier, String client) {
+        return resolve(tier, client).tryConsumeAndReturnRemaining(1);
+    }
+
+    /**
+     * Get the bucket of a client in a tier, creating it if needed.
+     *
+     * @param tier   Tier
+     * @param client Client key (address or principal)
+     * @return Bucket
+     */
+    public Bucket resolve(RateLimitTier tier, String client) {
+        String key = tier.name() + ':' + client;
+        long now = System.nanoTime();
+
+        Entry entry = buckets.get(key);
+        if (entry == null) {
+            if (buckets.size() >= properties.maxClients() && !makeRoom(now)) {
+                return overflowBuckets.computeIfAbsent(tier, t -> newBucket(t, t.name() + ":overflow"));
+            }
+            entry = buckets.computeIfAbsent(key, k -> new Entry(newBucket(tier, k), tier, now));
+        }
+        entry.lastAccessNanos = now;
+        return entry.bucket;
+    }
+
+    @Override
+    public int evictIdle() {
+        long now = System.nanoTime();
+        lastSweepNanos.set(now);
+        int before = buckets.size();
+        buckets.values().removeIf(entry -> now - entry.lastAccessNanos > idleTimeoutNanos);
+        return Math.max(0, before - buckets.size());
+    }
+
+    @Override
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Drop every bucket.
+     */
+    public void clear() {
+        buckets.clear();
+        overflowBuckets.clear();
+    }
+
+    // ============ HELPER METHODS ============
+
+    /**
+     * Try to make room for a new client: evict idle buckets, then buckets that are full anyway.
+     * Throttled so a flood of new clients does not turn every request into a full sweep.
+     */
+    private boolean makeRoom(long now) {
+        long last = lastSweepNanos.get();
+        if (now - last < MIN_SWEEP_INTERVAL_NANOS || !lastSweepNanos.compareAndSet(last, now)) {
+            return false;
+        }
+        evictIdle();
+        if (buckets.size() >= properties.maxClients()) {
+            buckets.values().removeIf(this::isFull);
+        }
+        log.debug("Rate limit store sweep left {} buckets", buckets.size());
+        return buckets.size() < properties.maxClients();
+    }
+
+    private boolean isFull(Entry entry) {
+        return entry.bucket.getAvailableTokens() >= properties.limitFor(entry.tier).capacity();
+    }
+
+    private Bucket newBucket(RateLimitTier tier, String key) {
+        Limit limit = properties.limitFor(tier);
+        BucketConfiguration configuration = BucketConfiguration.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(limit.capacity())
+                        .refillGreedy(limit.capacity(), limit.period())
+                        .build())
+                .build();
+        return bucketFactory.apply(key, configuration);
+    }
+
+    private static Bucket inMemoryBucket(String key, BucketConfiguration configuration) {
+        LocalBucketBuilder builder = Bucket.builder();
+        for (Bandwidth bandwidth : configuration.getBandwidths()) {
+            builder.addLimit(bandwidth);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Bucket with the time it was last used.
+     */
+    private static final class Entry {
+
+        private final Bucket bucket;
+        private final RateLimitTier tier;
+        private volatile long lastAccessNanos;
+
+        private Entry(Bucket bucket, RateLimitTier tier, long lastAccessNanos) {
+            this.bucket = bucket;
+            this.tier = tier;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.antipanel.backend.security.ratelimit;
+
+import com.antipanel.backend.config.RateLimitProperties.Limit;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.time.Duration;
+
+/**
+ * Rate limit tiers. Each tier has its own buckets, so heavy use of one kind of
+ * endpoint does not consume the quota of another.
+ */
+public enum RateLimitTier {
+
+    /**
+     * Login, register and token refresh. Always keyed by client address.
+     */
+    AUTH(new Limit(10, Duration.ofMinutes(1))),
+
+    /**
+     * Public catalog reads. Cheap and cacheable.
+     */
+    CATALOG(new Limit(300, Duration.ofMinutes(1))),
+
+    /**
+     * Order creation. Locks the user row and calls the provider.
+     */
+    ORDER_CREATION(new Limit(30, Duration.ofMinutes(1))),
+
+    /**
+     * Reseller API (/api/v2). Keyed by API key; panels poll status in bulk.
+     */
+    RESELLER_API(new Limit(120, Duration.ofMinutes(1))),
+
+    /**
+     * Everything else.
+     */
+    STANDARD(new Limit(100, Duration.ofMinutes(1)));
+
+    private final Limit defaultLimit;
+
+    RateLimitTier(Limit defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public Limit defaultLimit() {
+        return defaultLimit;
+    }
+
+    /**
+     * Whether the tier is keyed by the authenticated user when a valid access token is present.
+     * Unauthenticated endpoints are always keyed by client address.
+     *
+     * @return true if keyed by principal when available
+     */
+    public boolean keyedByPrincipal() {
+        return this != AUTH;
+    }
+
+    /**
+     * Classify a request.
+     *
+     * @param request HTTP request
+     * @return Tier
+     */
+    public static RateLimitTier of(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if (path.startsWith("/api/v1/auth/")) {
+            return AUTH;
+        }
+        if (path.equals("/api/v2") || path.startsWith("/api/v2/")) {
+            return RESELLER_API;
+        }
+        if (path.startsWith("/api/v1/public")) {
+            return CATALOG;
+        }
+        if ("POST".equalsIgnoreCase(request.getMethod())
+                && (path.equals("/api/v1/orders") || path.startsWith("/api/v1/orders/"))
+                && !path.equals("/api/v1/orders/quote")) {
+            return ORDER_CREATION;
+        }
+        return STANDARD;
+    }
+}
@@ -0,0 +1,14 @@
+package com.antipanel.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published when balance holds are created or extended on this node.
+ * The hold expiry wheel schedules their release once the publishing transaction commits.
+ *
+ * @param holdIds   IDs of the created or extended holds
+ * @param expiresAt Expiry of the holds
+ */
+public record BalanceHoldCreatedEvent(List<Long> holdIds, LocalDateTime expiresAt) {
+}
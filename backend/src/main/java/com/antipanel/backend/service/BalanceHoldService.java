@@ -4,6 +4,7 @@ import com.antipanel.backend.entity.BalanceHold;
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -51,10 +52,19 @@ public interface BalanceHoldService {
     Optional<BalanceHold> findByIdempotencyKey(String idempotencyKey);
 
     /**
-     * Release all expired holds, refunding their amounts.
-     * Called by the cleanup scheduler.
+     * Expire all HELD holds past their expiry, refunding their amounts.
+     * Runs in batches, each a single statement and transaction. Called by the cleanup scheduler.
      *
-     * @return Number of holds released
+     * @return Number of holds expired
      */
     int releaseExpiredHolds();
+
+    /**
+     * Expire the given holds if they are still HELD and past their expiry, refunding their amounts.
+     * Called by the hold expiry wheel for holds that came due on this node.
+     *
+     * @param holdIds Hold IDs; holds not HELD or not yet expired are skipped
+     * @return Number of holds expired
+     */
+    int releaseExpiredHolds(Collection<Long> holdIds);
 }
@@ -0,0 +1,8 @@
+package com.antipanel.backend.service;
+
+/**
+ * Published when a service or provider service is created, changed or deleted.
+ * Catalog caches rebuild once the publishing transaction commits.
+ */
+public record CatalogChangedEvent() {
+}
@@ -0,0 +1,74 @@
+package com.antipanel.backend.service;
+
+/**
+ * Service storing the responses of idempotent requests per user and Idempotency-Key.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Claim a key before running the request.
+     *
+     * @param userId      User ID
+     * @param path        Request path
+     * @param key         Idempotency key
+     * @param requestHash Fingerprint of the request (method, path and body)
+     * @return ACQUIRED if the caller must run the request, otherwise how to answer the duplicate
+     */
+    Claim claim(Long userId, String path, String key, String requestHash);
+
+    /**
+     * Store the final response of a claimed request.
+     *
+     * @param userId   User ID
+     * @param path     Request path
+     * @param key      Idempotency key
+     * @param response Response to replay for duplicates
+     */
+    void complete(Long userId, String path, String key, StoredResponse response);
+
+    /**
+     * Release a claim without storing a response, so the request can be retried.
+     *
+     * @param userId User ID
+     * @param path   Request path
+     * @param key    Idempotency key
+     */
+    void release(Long userId, String path, String key);
+
+    /**
+     * Delete stored responses past their retention period.
+     *
+     * @return Number of deleted keys
+     */
+    int purgeExpired();
+
+    /**
+     * Outcome of claiming a key.
+     */
+    enum ClaimStatus {
+        /** The key is new: run the request and complete or release it */
+        ACQUIRED,
+        /** The first request with this key is still running */
+        IN_PROGRESS,
+        /** The request already completed: replay the stored response */
+        COMPLETED,
+        /** The key was used for a different request */
+        KEY_REUSED
+    }
+
+    /**
+     * Claim result with the stored response when COMPLETED.
+     */
+    record Claim(ClaimStatus status, StoredResponse response) {
+
+        public static Claim of(ClaimStatus status) {
+            return new Claim(status, null);
+        }
+    }
+
+    /**
+     * Final response of a request.
+     */
+    record StoredResponse(int status, String contentType, byte[] body) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.antipanel.backend.service;
+
+import java.time.Duration;
+
+/**
+ * Service interface for periodic maintenance sweeps.
+ * Each sweep updates or deletes rows in chunks, one short transaction per chunk,
+ * and never loads the rows it touches.
+ */
+public interface MaintenanceService {
+
+    /**
+     * Expire PENDING invoices older than app.payment-polling.max-age.
+     *
+     * @return Rows touched and time taken
+     */
+    SweepResult expireStaleInvoices();
+
+    /**
+     * Clear is_refillable on completed orders whose refill deadline has passed.
+     *
+     * @return Rows touched and time taken
+     */
+    SweepResult closeExpiredRefillWindows();
+
+    /**
+     * Delete captured, released and expired balance holds past the retention period.
+     *
+     * @return Rows touched and time taken
+     */
+    SweepResult purgeSettledHolds();
+
+    /**
+     * Outcome of one sweep.
+     *
+     * @param sweep    Sweep name
+     * @param rows     Rows updated or deleted
+     * @param batches  Statements executed
+     * @param duration Time taken
+     */
+    record SweepResult(String sweep, int rows, int batches, Duration duration) {
+    }
+}
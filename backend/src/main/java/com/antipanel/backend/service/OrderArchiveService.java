@@ -0,0 +1,17 @@
+package com.antipanel.backend.service;
+
+/**
+ * Service interface for moving finished orders to orders_archive.
+ * Archived orders stay readable through OrderService, which falls back to the archive.
+ */
+public interface OrderArchiveService {
+
+    /**
+     * Move one batch of archivable orders to orders_archive in a single transaction.
+     * An order is archivable when it is in a final state, has not changed for the configured
+     * retention, its refill window has closed and it has no refill requests.
+     *
+     * @return Number of orders archived (less than the batch size when nothing is left)
+     */
+    int archiveBatch();
+}
@@ -1,5 +1,7 @@
 package com.antipanel.backend.service;
 
+import com.antipanel.backend.dto.order.BulkOrderRequest;
+import com.antipanel.backend.dto.order.BulkOrderResponse;
 import com.antipanel.backend.dto.order.OrderCreateRequest;
 import com.antipanel.backend.dto.order.OrderResponse;
 
@@ -27,4 +29,18 @@ public interface OrderCreationFacade {
      * @return Created order response
      */
     OrderResponse createOrder(Long userId, OrderCreateRequest request);
+
+    /**
+     * Create and submit many orders at once.
+     * Lines that cannot be ordered are reported and skipped; the others are reserved with a
+     * single balance debit and submitted concurrently. Each line is then captured or released
+     * on its own, so one provider failure does not affect the other lines.
+     *
+     * @param userId  User ID
+     * @param request Lines to order
+     * @return Result per line, in request order
+     * @throws com.antipanel.backend.exception.InsufficientBalanceException if the balance does not cover
+     *         all valid lines (nothing is ordered)
+     */
+    BulkOrderResponse createBulkOrder(Long userId, BulkOrderRequest request);
 }
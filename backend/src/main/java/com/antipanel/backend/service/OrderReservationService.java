@@ -0,0 +1,87 @@
+package com.antipanel.backend.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for the order creation write path.
+ * Each operation is a single SQL statement, so it is atomic and costs one database round trip:
+ * reserve debits the balance, creates the hold and the pending order; capture finalizes the hold
+ * and writes its ledger entry.
+ * reserveAll does the same for many orders of one user in one transaction with a single debit.
+ */
+public interface OrderReservationService {
+
+    /**
+     * Debit the user's balance, create a HELD balance hold and the PENDING order for it.
+     *
+     * @param order        Priced order to create
+     * @param holdDuration How long the hold should be valid
+     * @return Reservation, or empty if a hold already exists for the idempotency key
+     * @throws com.antipanel.backend.exception.InsufficientBalanceException if the balance does not cover the charge
+     * @throws com.antipanel.backend.exception.BadRequestException if the user is banned
+     * @throws com.antipanel.backend.exception.ResourceNotFoundException if the user does not exist
+     */
+    Optional<Reservation> reserve(PendingOrder order, Duration holdDuration);
+
+    /**
+     * Debit the user's balance once for the total of all orders, then create one HELD hold and
+     * one PENDING order per order with batched inserts. All or nothing.
+     * The orders carry no idempotency key; each hold can be captured or released on its own.
+     *
+     * @param userId       User ID, owner of every order
+     * @param orders       Priced orders to create
+     * @param holdDuration How long the holds should be valid
+     * @return Reservations in the order of the given orders
+     * @throws com.antipanel.backend.exception.InsufficientBalanceException if the balance does not cover the total
+     * @throws com.antipanel.backend.exception.BadRequestException if the user is banned
+     * @throws com.antipanel.backend.exception.ResourceNotFoundException if the user does not exist
+     */
+    List<Reservation> reserveAll(Long userId, List<PendingOrder> orders, Duration holdDuration);
+
+    /**
+     * Mark a HELD hold as captured by the order and write the ORDER transaction.
+     *
+     * @param holdId  Hold ID
+     * @param orderId Order ID
+     * @return true if captured, false if the hold was not HELD (already captured, released or expired)
+     */
+    boolean capture(Long holdId, Long orderId);
+
+    /**
+     * Keep a HELD hold valid for at least the given duration from now.
+     * Takes the hold's row lock, so it cannot interleave with the expiry of the hold.
+     *
+     * @param holdId       Hold ID
+     * @param holdDuration How long the hold should stay valid
+     * @return true if extended, false if the hold was not HELD (captured, released or expired)
+     */
+    boolean extend(Long holdId, Duration holdDuration);
+
+    /**
+     * Order to create, priced by the caller.
+     */
+    record PendingOrder(
+            Long userId,
+            Integer serviceId,
+            String serviceName,
+            Integer providerServiceId,
+            String idempotencyKey,
+            String target,
+            int quantity,
+            BigDecimal pricePerK,
+            BigDecimal costPerK,
+            BigDecimal totalCharge,
+            BigDecimal totalCost,
+            int refillDays
+    ) {
+    }
+
+    /**
+     * IDs of the created hold and order.
+     */
+    record Reservation(Long holdId, Long orderId) {
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.data.domain.Pageable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for Order operations.
@@ -70,6 +71,7 @@ public interface OrderService {
 
     /**
      * Get order by provider order ID.
+     * Falls back to orders_archive when the order is not in orders.
      *
      * @param providerOrderId Provider's order ID
      * @return Order response
@@ -87,16 +89,21 @@ public interface OrderService {
     List<OrderResponse> getByUser(Long userId);
 
     /**
-     * Get user's orders with pagination.
+     * Get user's orders with pagination, archived orders included.
+     * Live and archived orders are merged in the requested sort order (default: newest first).
      *
      * @param userId   User ID
      * @param pageable Pagination parameters
      * @return Page of order responses
+     * @throws com.antipanel.backend.exception.BadRequestException if sorted by a property the
+     *         merge cannot compare (supported: createdAt, updatedAt, completedAt, totalCharge, quantity, id),
+     *         or if the page starts beyond row 10,000
      */
     PageResponse<OrderResponse> getByUserPaginated(Long userId, Pageable pageable);
 
     /**
-     * Get user's orders by status.
+     * Get user's orders by status, newest first.
+     * Archived orders are included for final statuses.
      *
      * @param userId User ID
      * @param status Order status
@@ -132,6 +139,7 @@ public interface OrderService {
 
     /**
      * Get orders by status with pagination.
+     * For final statuses, archived orders are merged in as in {@link #getByUserPaginated}.
      *
      * @param status   Order status
      * @param pageable Pagination parameters
@@ -166,7 +174,7 @@ public interface OrderService {
     // ============ TIME-BASED QUERIES ============
 
     /**
-     * Get orders created within date range.
+     * Get orders created within date range, archived orders included, newest first.
      *
      * @param start Start timestamp
      * @param end   End timestamp
@@ -175,7 +183,7 @@ public interface OrderService {
     List<OrderResponse> getOrdersBetweenDates(LocalDateTime start, LocalDateTime end);
 
     /**
-     * Get completed orders within date range.
+     * Get orders completed within date range, archived orders included, latest first.
      *
      * @param start Start timestamp
      * @param end   End timestamp
@@ -265,6 +273,39 @@ public interface OrderService {
     OrderResponse refundOrder(Long id);
 
     // ============ STATISTICS ============
+    // Totals include orders_archive: archiving an order never changes them.
+
+    /**
+     * Count all orders.
+     *
+     * @return Number of orders
+     */
+    long countAll();
+
+    /**
+     * Count orders grouped by status.
+     *
+     * @return Number of orders per status (statuses without orders are absent)
+     */
+    Map<OrderStatus, Long> countAllByStatus();
+
+    /**
+     * Count orders created within date range.
+     *
+     * @param start Start timestamp
+     * @param end   End timestamp
+     * @return Number of orders
+     */
+    long countBetweenDates(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Count orders of a user created since a date.
+     *
+     * @param userId User ID
+     * @param since  Start timestamp (inclusive)
+     * @return Number of orders
+     */
+    long countByUserSince(Long userId, LocalDateTime since);
 
     /**
      * Count orders by status.
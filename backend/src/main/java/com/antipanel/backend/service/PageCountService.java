@@ -0,0 +1,51 @@
+package com.antipanel.backend.service;
+
+import com.antipanel.backend.dto.common.PageTotal;
+import org.springframework.data.domain.Slice;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Service interface for resolving the total of paginated listings.
+ * Avoids an exact COUNT(*) on large tables by falling back to PostgreSQL
+ * planner estimates, cached for a bounded time.
+ */
+public interface PageCountService {
+
+    /**
+     * Resolve the total of an unfiltered listing over a whole table.
+     * Large tables are estimated from pg_class.reltuples.
+     *
+     * @param table      Table name
+     * @param slice      Page content already fetched (used as a lower bound)
+     * @param exactCount Exact count query, used for small tables
+     * @return Exact or approximate total
+     */
+    PageTotal countTable(String table, Slice<?> slice, LongSupplier exactCount);
+
+    /**
+     * Resolve the total of a filtered listing.
+     * Large results are estimated by running EXPLAIN on the given SQL.
+     *
+     * @param cacheKey    Key for caching the estimate, or null to disable caching
+     * @param estimateSql Native SQL selecting the matching rows (e.g. SELECT 1 FROM t WHERE ...)
+     * @param args        Bind parameters for estimateSql
+     * @param slice       Page content already fetched (used as a lower bound)
+     * @param exactCount  Exact count query, used for small results
+     * @return Exact or approximate total
+     */
+    PageTotal countFiltered(String cacheKey, String estimateSql, Object[] args,
+                            Slice<?> slice, LongSupplier exactCount);
+
+    /**
+     * Resolve the size of a filtered result that is not the listing being paged
+     * (e.g. the archived part of an order history).
+     *
+     * @param cacheKey    Key for caching the estimate, or null to disable caching
+     * @param estimateSql Native SQL selecting the matching rows (e.g. SELECT 1 FROM t WHERE ...)
+     * @param args        Bind parameters for estimateSql
+     * @param exactCount  Exact count query, used for small results
+     * @return Exact or approximate total
+     */
+    PageTotal countFiltered(String cacheKey, String estimateSql, Object[] args, LongSupplier exactCount);
+}
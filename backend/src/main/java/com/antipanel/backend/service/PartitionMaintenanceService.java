@@ -0,0 +1,16 @@
+package com.antipanel.backend.service;
+
+/**
+ * Service interface for maintaining monthly table partitions.
+ */
+public interface PartitionMaintenanceService {
+
+    /**
+     * Create any missing monthly partitions from the current month
+     * up to the configured number of months ahead.
+     * Idempotent - existing partitions are left untouched.
+     *
+     * @return Number of partitions created
+     */
+    int ensureFuturePartitions();
+}
@@ -0,0 +1,16 @@
+package com.antipanel.backend.service;
+
+/**
+ * Service for verifying pending payments with Paymento by polling.
+ * Fallback for when webhooks are unavailable (e.g. localhost development without HTTPS).
+ */
+public interface PaymentPollingService {
+
+    /**
+     * Verify the invoices whose next check is due, concurrently, and schedule their next check
+     * with exponential backoff. Invoices are claimed atomically, so several nodes can poll.
+     *
+     * @return Number of invoices verified
+     */
+    int verifyDueInvoices();
+}
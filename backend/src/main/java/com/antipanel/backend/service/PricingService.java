@@ -0,0 +1,79 @@
+package com.antipanel.backend.service;
+
+import com.antipanel.backend.dto.order.OrderQuoteRequest;
+import com.antipanel.backend.dto.order.OrderQuoteResponse;
+import com.antipanel.backend.money.Money;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Service interface for order pricing.
+ * Prices come from an immutable in-memory table of every service, rebuilt when the catalog
+ * changes, so pricing and validating an order does not read the catalog tables.
+ */
+public interface PricingService {
+
+    /**
+     * Find the price entry of a service.
+     *
+     * @param serviceId Service ID
+     * @return Price entry, or empty if the service does not exist
+     */
+    Optional<ServicePrice> find(Integer serviceId);
+
+    /**
+     * Price a cart of items.
+     * Items that cannot be ordered are reported per line and excluded from the total.
+     *
+     * @param request Items to price
+     * @return Priced lines and cart total
+     */
+    OrderQuoteResponse quote(OrderQuoteRequest request);
+
+    /**
+     * Rebuild the pricing table from the database.
+     */
+    void refresh();
+
+    /**
+     * Pricing data of one service.
+     * Prices are held as {@link Money} so charges are computed without BigDecimal.
+     */
+    record ServicePrice(
+            Integer serviceId,
+            String name,
+            boolean active,
+            int minQuantity,
+            int maxQuantity,
+            Money pricePerK,
+            Money costPerK,
+            int refillDays,
+            Integer providerServiceId
+    ) {
+
+        public ServicePrice(Integer serviceId, String name, boolean active, int minQuantity, int maxQuantity,
+                            BigDecimal pricePerK, BigDecimal costPerK, int refillDays, Integer providerServiceId) {
+            this(serviceId, name, active, minQuantity, maxQuantity, Money.of(pricePerK), Money.of(costPerK),
+                    refillDays, providerServiceId);
+        }
+
+        public boolean isQuantityValid(int quantity) {
+            return quantity >= minQuantity && quantity <= maxQuantity;
+        }
+
+        /**
+         * Charge to the user for a quantity: pricePerK * quantity / 1000, rounded half up to 4 decimals.
+         */
+        public BigDecimal chargeFor(int quantity) {
+            return pricePerK.perThousand(quantity).toBigDecimal();
+        }
+
+        /**
+         * Cost from the provider for a quantity, rounded like {@link #chargeFor(int)}.
+         */
+        public BigDecimal costFor(int quantity) {
+            return costPerK.perThousand(quantity).toBigDecimal();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.antipanel.backend.service;
+
+/**
+ * Published when a category, service type, payment processor, provider or provider service is
+ * created, changed or deleted. Its second-level cache entries are evicted once the publishing
+ * transaction commits.
+ *
+ * @param entityType Entity class
+ * @param id         Entity ID, or null when any entity of the type may have changed
+ */
+public record ReferenceDataChangedEvent(Class<?> entityType, Object id) {
+
+    /**
+     * Any entity of the type may have changed, as after a provider sync.
+     */
+    public static ReferenceDataChangedEvent all(Class<?> entityType) {
+        return new ReferenceDataChangedEvent(entityType, null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.antipanel.backend.service;
+
+/**
+ * Service for synchronizing PROCESSING refills with their providers.
+ */
+public interface RefillStatusPollingService {
+
+    /**
+     * Check every PROCESSING refill at its provider and apply finished ones.
+     * Walks the refills page by page up to the configured maximum per run; each page is
+     * queried per provider with multi-refill status calls where supported.
+     *
+     * @return Number of refills whose status changed
+     */
+    int updateProcessingRefills();
+}
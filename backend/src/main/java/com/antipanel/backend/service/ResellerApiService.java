@@ -0,0 +1,93 @@
+package com.antipanel.backend.service;
+
+import com.antipanel.backend.dto.reseller.ResellerBalance;
+import com.antipanel.backend.dto.reseller.ResellerOrderStatus;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for the SMM-panel compatible reseller API (/api/v2).
+ * Responses follow the de facto panel API layout so other panels can resell our services.
+ * Business errors are thrown as BadRequestException with the message sent to the client.
+ */
+public interface ResellerApiService {
+
+    /**
+     * Maximum number of orders per multi-status or cancel request.
+     */
+    int MAX_ORDERS_PER_REQUEST = 100;
+
+    /**
+     * Active services as serialized JSON.
+     * Served from memory; rebuilt after catalog changes and after the configured TTL.
+     *
+     * @return JSON array of services
+     */
+    byte[] services();
+
+    /**
+     * Place an order.
+     *
+     * @param userId    User ID
+     * @param serviceId Service ID
+     * @param link      Target URL or username
+     * @param quantity  Quantity
+     * @return {"order": id}
+     */
+    Map<String, Long> add(Long userId, Integer serviceId, String link, Integer quantity);
+
+    /**
+     * Status of one order.
+     *
+     * @param userId  User ID
+     * @param orderId Order ID
+     * @return Order status
+     */
+    ResellerOrderStatus status(Long userId, Long orderId);
+
+    /**
+     * Status of several orders, looked up with one query.
+     * Unknown or foreign order IDs map to {"error": "Incorrect order ID"}.
+     *
+     * @param userId   User ID
+     * @param orderIds Order IDs (at most MAX_ORDERS_PER_REQUEST)
+     * @return Status or error per order ID, in request order
+     */
+    Map<String, Object> statuses(Long userId, List<Long> orderIds);
+
+    /**
+     * Request a refill of an order.
+     *
+     * @param userId  User ID
+     * @param orderId Order ID
+     * @return {"refill": id}
+     */
+    Map<String, Long> refill(Long userId, Long orderId);
+
+    /**
+     * Status of a refill.
+     *
+     * @param userId   User ID
+     * @param refillId Refill ID
+     * @return {"status": status}
+     */
+    Map<String, String> refillStatus(Long userId, Long refillId);
+
+    /**
+     * Cancel orders at the provider.
+     *
+     * @param userId   User ID
+     * @param orderIds Order IDs (at most MAX_ORDERS_PER_REQUEST)
+     * @return {"order": id, "cancel": 1} or {"order": id, "cancel": {"error": message}} per order
+     */
+    List<Map<String, Object>> cancel(Long userId, List<Long> orderIds);
+
+    /**
+     * Balance of a user.
+     *
+     * @param userId User ID
+     * @return Balance and currency
+     */
+    ResellerBalance balance(Long userId);
+}
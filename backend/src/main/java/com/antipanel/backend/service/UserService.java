@@ -209,4 +209,15 @@ public interface UserService {
      * @param id User ID
      */
     void recordLogin(Long id);
+
+    // ============ API KEY ============
+
+    /**
+     * Generate a new reseller API key, replacing any previous key.
+     * Only the hash of the key is stored.
+     *
+     * @param id User ID
+     * @return The new API key
+     */
+    String regenerateApiKey(Long id);
 }
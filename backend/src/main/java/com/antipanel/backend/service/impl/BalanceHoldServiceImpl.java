@@ -1,5 +1,6 @@
 package com.antipanel.backend.service.impl;
 
+import com.antipanel.backend.config.HoldExpiryProperties;
 import com.antipanel.backend.entity.BalanceHold;
 import com.antipanel.backend.entity.Transaction;
 import com.antipanel.backend.entity.User;
@@ -12,30 +13,74 @@ import com.antipanel.backend.exception.ResourceNotFoundException;
 import com.antipanel.backend.repository.BalanceHoldRepository;
 import com.antipanel.backend.repository.TransactionRepository;
 import com.antipanel.backend.repository.UserRepository;
+import com.antipanel.backend.service.BalanceHoldCreatedEvent;
 import com.antipanel.backend.service.BalanceHoldService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Implementation of BalanceHoldService.
  * Handles balance reservations for order creation with proper ACID guarantees.
+ *
+ * Expiry is set-based: each batch of expired holds is marked EXPIRED and refunded with one
+ * aggregated balance credit per user in a single statement, never loading the holds.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BalanceHoldServiceImpl implements BalanceHoldService {
 
+    /**
+     * Expires up to a batch of holds and credits each user once with the sum of their holds.
+     * Runs as one statement under autocommit, so each batch is a short transaction of its own.
+     * SKIP LOCKED leaves holds being captured or released to those operations. Returns one row
+     * per credited user with the number of holds expired for it.
+     */
+    private static final String EXPIRE_SQL = """
+            WITH expired AS (
+                UPDATE balance_holds
+                SET status = 'EXPIRED', release_reason = 'Hold expired - automatic cleanup',
+                    version = version + 1, updated_at = NOW()
+                WHERE id IN (
+                    SELECT id FROM balance_holds
+                    WHERE status = 'HELD' AND expires_at <= NOW()%s
+                    ORDER BY expires_at
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING user_id, amount
+            ), credit AS (
+                SELECT user_id, SUM(amount) AS amount, COUNT(*) AS holds
+                FROM expired
+                GROUP BY user_id
+            )
+            UPDATE users u
+            SET balance = u.balance + c.amount, version = u.version + 1, updated_at = NOW()
+            FROM credit c
+            WHERE u.id = c.user_id
+            RETURNING c.holds
+            """;
+
+    private static final String EXPIRE_DUE_SQL = EXPIRE_SQL.formatted("");
+
+    private static final String EXPIRE_BY_ID_SQL = EXPIRE_SQL.formatted(" AND id = ANY(?)");
+
     private final BalanceHoldRepository balanceHoldRepository;
     private final UserRepository userRepository;
     private final TransactionRepository transactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HoldExpiryProperties properties;
 
     @Override
     @Transactional
@@ -82,6 +127,7 @@ public class BalanceHoldServiceImpl implements BalanceHoldService {
                 .build();
 
         BalanceHold saved = balanceHoldRepository.save(hold);
+        eventPublisher.publishEvent(new BalanceHoldCreatedEvent(List.of(saved.getId()), saved.getExpiresAt()));
         log.info("Created balance hold {} for user {} amount {}", saved.getId(), userId, amount);
 
         return saved;
@@ -167,25 +213,41 @@ public class BalanceHoldServiceImpl implements BalanceHoldService {
     }
 
     @Override
-    @Transactional
     public int releaseExpiredHolds() {
-        LocalDateTime now = LocalDateTime.now();
-        List<BalanceHold> expiredHolds = balanceHoldRepository.findExpiredHolds(now);
-
         int released = 0;
-        for (BalanceHold hold : expiredHolds) {
-            try {
-                releaseHold(hold.getId(), "Hold expired - automatic cleanup");
-                released++;
-            } catch (Exception e) {
-                log.error("Failed to release expired hold {}: {}", hold.getId(), e.getMessage());
-            }
-        }
+        int batch;
+        do {
+            batch = sum(jdbcTemplate.queryForList(EXPIRE_DUE_SQL, Integer.class, properties.batchSize()));
+            released += batch;
+        } while (batch == properties.batchSize());
 
         if (released > 0) {
             log.info("Released {} expired balance holds", released);
         }
+        return released;
+    }
 
+    @Override
+    public int releaseExpiredHolds(Collection<Long> holdIds) {
+        List<Long> ids = List.copyOf(holdIds);
+        int released = 0;
+        for (int from = 0; from < ids.size(); from += properties.batchSize()) {
+            Object[] batch = ids.subList(from, Math.min(from + properties.batchSize(), ids.size())).toArray();
+            released += sum(jdbcTemplate.query(EXPIRE_BY_ID_SQL, ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("bigint", batch));
+                ps.setInt(2, batch.length);
+            }, (rs, rowNum) -> rs.getInt("holds")));
+        }
         return released;
     }
+
+    // ============ HELPER METHODS ============
+
+    private static int sum(List<Integer> holdsPerUser) {
+        int total = 0;
+        for (Integer holds : holdsPerUser) {
+            total += holds;
+        }
+        return total;
+    }
 }
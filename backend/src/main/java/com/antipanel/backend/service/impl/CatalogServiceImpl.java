@@ -21,8 +21,10 @@ import com.antipanel.backend.repository.ProviderServiceRepository;
 import com.antipanel.backend.repository.ServiceRepository;
 import com.antipanel.backend.repository.ServiceTypeRepository;
 import com.antipanel.backend.service.CatalogService;
+import com.antipanel.backend.service.CatalogChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
@@ -45,6 +47,7 @@ public class CatalogServiceImpl implements CatalogService {
     private final ProviderServiceRepository providerServiceRepository;
     private final ServiceMapper serviceMapper;
     private final PageMapper pageMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ============ CRUD OPERATIONS ============
 
@@ -72,6 +75,7 @@ public class CatalogServiceImpl implements CatalogService {
 
         Service saved = serviceRepository.save(service);
         log.info("Created service with ID: {}", saved.getId());
+        eventPublisher.publishEvent(new CatalogChangedEvent());
 
         return serviceMapper.enrichWithProfitMargin(saved);
     }
@@ -100,6 +104,7 @@ public class CatalogServiceImpl implements CatalogService {
 
         Service saved = serviceRepository.save(service);
         log.info("Updated service with ID: {}", saved.getId());
+        eventPublisher.publishEvent(new CatalogChangedEvent());
 
         return serviceMapper.enrichWithProfitMargin(saved);
     }
@@ -111,6 +116,7 @@ public class CatalogServiceImpl implements CatalogService {
         Service service = findServiceById(id);
         serviceRepository.delete(service);
         log.info("Deleted service with ID: {}", id);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
     }
 
     // ============ PUBLIC CATALOG QUERIES ============
@@ -238,6 +244,7 @@ public class CatalogServiceImpl implements CatalogService {
         service.setIsActive(!service.getIsActive());
         Service saved = serviceRepository.save(service);
         log.info("Toggled active status for service ID: {} to {}", id, saved.getIsActive());
+        eventPublisher.publishEvent(new CatalogChangedEvent());
         return serviceMapper.enrichWithProfitMargin(saved);
     }
 
@@ -249,6 +256,7 @@ public class CatalogServiceImpl implements CatalogService {
         service.setIsActive(true);
         Service saved = serviceRepository.save(service);
         log.info("Activated service ID: {}", id);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
         return serviceMapper.enrichWithProfitMargin(saved);
     }
 
@@ -260,6 +268,7 @@ public class CatalogServiceImpl implements CatalogService {
         service.setIsActive(false);
         Service saved = serviceRepository.save(service);
         log.info("Deactivated service ID: {}", id);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
         return serviceMapper.enrichWithProfitMargin(saved);
     }
 
@@ -273,6 +282,7 @@ public class CatalogServiceImpl implements CatalogService {
         service.setPricePerK(pricePerK);
         Service saved = serviceRepository.save(service);
         log.info("Updated price for service ID: {}", id);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
         return serviceMapper.enrichWithProfitMargin(saved);
     }
 
@@ -10,8 +10,10 @@ import com.antipanel.backend.exception.ResourceNotFoundException;
 import com.antipanel.backend.mapper.CategoryMapper;
 import com.antipanel.backend.repository.CategoryRepository;
 import com.antipanel.backend.service.CategoryService;
+import com.antipanel.backend.service.ReferenceDataChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +30,7 @@ import java.util.stream.Collectors;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final CategoryMapper categoryMapper;
 
     // ============ CRUD OPERATIONS ============
@@ -52,6 +55,7 @@ public class CategoryServiceImpl implements CategoryService {
         category.setSlug(slug);
 
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Category.class, saved.getId()));
         log.info("Created category with ID: {}", saved.getId());
 
         return categoryMapper.toResponse(saved);
@@ -81,6 +85,7 @@ public class CategoryServiceImpl implements CategoryService {
         categoryMapper.updateEntityFromDto(request, category);
 
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Category.class, saved.getId()));
         log.info("Updated category with ID: {}", saved.getId());
 
         return categoryMapper.toResponse(saved);
@@ -92,6 +97,7 @@ public class CategoryServiceImpl implements CategoryService {
         log.debug("Deleting category with ID: {}", id);
         Category category = findCategoryById(id);
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Category.class, id));
         log.info("Deleted category with ID: {}", id);
     }
 
@@ -140,6 +146,7 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = findCategoryById(id);
         category.setIsActive(!category.getIsActive());
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Category.class, saved.getId()));
         log.info("Toggled active status for category ID: {} to {}", id, saved.getIsActive());
         return categoryMapper.toResponse(saved);
     }
@@ -151,6 +158,7 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = findCategoryById(id);
         category.setIsActive(true);
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Category.class, saved.getId()));
         log.info("Activated category ID: {}", id);
         return categoryMapper.toResponse(saved);
     }
@@ -162,6 +170,7 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = findCategoryById(id);
         category.setIsActive(false);
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Category.class, saved.getId()));
         log.info("Deactivated category ID: {}", id);
         return categoryMapper.toResponse(saved);
     }
@@ -8,15 +8,19 @@ import com.antipanel.backend.entity.ProviderService;
 import com.antipanel.backend.entity.enums.OrderStatus;
 import com.antipanel.backend.exception.ProviderApiException;
 import com.antipanel.backend.exception.ResourceNotFoundException;
-import com.antipanel.backend.mapper.OrderMapper;
 import com.antipanel.backend.repository.OrderRepository;
 import com.antipanel.backend.service.ExternalOrderService;
 import com.antipanel.backend.service.OrderService;
 import com.antipanel.backend.service.provider.ProviderApiClient;
+import org.hibernate.Hibernate;
 import org.springframework.context.annotation.Lazy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -25,9 +29,15 @@ import java.util.stream.Collectors;
 /**
  * Implementation of ExternalOrderService.
  * Handles order submission and status updates with external provider APIs.
+ *
+ * No database connection is held while a provider is called. Each operation reads the order
+ * with its provider in a transaction that ends before the HTTP call, and applies the result in a
+ * short write transaction afterwards. The provider service and provider of a single order come
+ * from the second-level cache once warm, so only the orders table is queried. Callers must not wrap these methods in a
+ * transaction of their own, or its connection stays checked out during the call.
  */
 @Service
-@Transactional(readOnly = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
 @Slf4j
 public class ExternalOrderServiceImpl implements ExternalOrderService {
 
@@ -36,7 +46,8 @@ public class ExternalOrderServiceImpl implements ExternalOrderService {
     private final OrderRepository orderRepository;
     private final OrderService orderService;
     private final ProviderApiClient providerApiClient;
-    private final OrderMapper orderMapper;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
 
     /**
      * Constructor with @Lazy on OrderService to break circular dependency.
@@ -46,23 +57,18 @@ public class ExternalOrderServiceImpl implements ExternalOrderService {
             OrderRepository orderRepository,
             @Lazy OrderService orderService,
             ProviderApiClient providerApiClient,
-            OrderMapper orderMapper) {
+            PlatformTransactionManager transactionManager) {
         this.orderRepository = orderRepository;
         this.orderService = orderService;
         this.providerApiClient = providerApiClient;
-        this.orderMapper = orderMapper;
+        // Not read-only: the order may have been created a moment ago, and must be read from the primary
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
     }
 
     @Override
-    @Transactional
     public OrderResponse submitOrder(Long orderId) {
-        Order order = findOrderById(orderId);
-        return submitOrder(order);
-    }
-
-    @Override
-    @Transactional
-    public OrderResponse submitOrder(Order order) {
+        Order order = findOrderWithProvider(orderId);
         log.info("Submitting order {} to provider", order.getId());
 
         ProviderService providerService = order.getProviderService();
@@ -88,10 +94,17 @@ public class ExternalOrderServiceImpl implements ExternalOrderService {
         }
     }
 
+    /**
+     * The entity may come from a session that has ended; the order is re-read with its provider.
+     */
+    @Override
+    public OrderResponse submitOrder(Order order) {
+        return submitOrder(order.getId());
+    }
+
     @Override
-    @Transactional
     public OrderResponse updateOrderStatus(Long orderId) {
-        Order order = findOrderById(orderId);
+        Order order = findOrderWithProvider(orderId);
 
         if (order.getProviderOrderId() == null) {
             throw new ProviderApiException("Cannot update status: order has no provider order ID");
@@ -104,7 +117,7 @@ public class ExternalOrderServiceImpl implements ExternalOrderService {
                     provider, order.getProviderOrderId()
             );
 
-            return updateOrderFromStatus(order, statusResponse);
+            return writeTransaction.execute(tx -> updateOrderFromStatus(order, statusResponse));
 
         } catch (ProviderApiException e) {
             log.error("Failed to get status for order {}: {}", orderId, e.getMessage());
@@ -113,9 +126,8 @@ public class ExternalOrderServiceImpl implements ExternalOrderService {
     }
 
     @Override
-    @Transactional
     public OrderResponse cancelOrderAtProvider(Long orderId) {
-        Order order = findOrderById(orderId);
+        Order order = findOrderWithProvider(orderId);
 
         if (order.getProviderOrderId() == null) {
             throw new ProviderApiException("Cannot cancel: order has no provider order ID");
@@ -143,9 +155,8 @@ public class ExternalOrderServiceImpl implements ExternalOrderService {
     }
 
     @Override
-    @Transactional
     public String requestRefill(Long orderId) {
-        Order order = findOrderById(orderId);
+        Order order = findOrderWithProvider(orderId);
 
         if (!order.canRequestRefill()) {
             throw new ProviderApiException("Order is not eligible for refill");
@@ -174,22 +185,17 @@ public class ExternalOrderServiceImpl implements ExternalOrderService {
     }
 
     @Override
-    @Transactional
     public int batchUpdateOrderStatuses(int limit) {
-        // Find orders needing update (in progress states, not updated recently)
+        // Find orders needing update (in progress states, not updated recently), providers included
         LocalDateTime threshold = LocalDateTime.now().minusMinutes(5);
-        List<Order> ordersNeedingUpdate = orderRepository.findOrdersNeedingUpdate(threshold);
+        List<Order> ordersToProcess = orderRepository.findPageNeedingUpdateWithProvider(
+                threshold, PageRequest.of(0, Math.min(limit, MAX_BATCH_SIZE)));
 
-        if (ordersNeedingUpdate.isEmpty()) {
+        if (ordersToProcess.isEmpty()) {
             log.debug("No orders need status update");
             return 0;
         }
 
-        // Limit the number of orders to process
-        List<Order> ordersToProcess = ordersNeedingUpdate.stream()
-                .limit(Math.min(limit, MAX_BATCH_SIZE))
-                .toList();
-
         // Group orders by provider
         Map<Provider, List<Order>> ordersByProvider = ordersToProcess.stream()
                 .filter(o -> o.getProviderOrderId() != null)
@@ -215,6 +221,7 @@ public class ExternalOrderServiceImpl implements ExternalOrderService {
 
     /**
      * Updates a batch of orders from a single provider.
+     * One status call for the batch, then one short transaction per order.
      */
     private int updateOrdersBatch(Provider provider, List<Order> orders) {
         List<String> providerOrderIds = orders.stream()
@@ -229,7 +236,7 @@ public class ExternalOrderServiceImpl implements ExternalOrderService {
             DripfeedStatusResponse status = statusMap.get(order.getProviderOrderId());
             if (status != null && !status.hasError()) {
                 try {
-                    updateOrderFromStatus(order, status);
+                    writeTransaction.execute(tx -> updateOrderFromStatus(order, status));
                     updatedCount++;
                 } catch (Exception e) {
                     log.error("Failed to update order {} from status: {}",
@@ -242,7 +249,8 @@ public class ExternalOrderServiceImpl implements ExternalOrderService {
     }
 
     /**
-     * Updates an order entity based on provider status response.
+     * Updates an order based on provider status response.
+     * Runs in the caller's write transaction; the order itself is only read for its ID and status.
      */
     private OrderResponse updateOrderFromStatus(Order order, DripfeedStatusResponse statusResponse) {
         OrderStatus newStatus = mapProviderStatus(statusResponse.getStatus());
@@ -250,7 +258,7 @@ public class ExternalOrderServiceImpl implements ExternalOrderService {
         Integer remains = statusResponse.getRemainsAsInteger();
 
         // Update progress
-        orderService.updateProgress(order.getId(), startCount, remains);
+        OrderResponse progress = orderService.updateProgress(order.getId(), startCount, remains);
 
         // Update status if changed
         if (order.getStatus() != newStatus) {
@@ -269,7 +277,7 @@ public class ExternalOrderServiceImpl implements ExternalOrderService {
             }
         }
 
-        return orderMapper.toResponse(order);
+        return progress;
     }
 
     /**
@@ -295,10 +303,16 @@ public class ExternalOrderServiceImpl implements ExternalOrderService {
     }
 
     /**
-     * Finds an order by ID or throws ResourceNotFoundException.
+     * Finds an order with its provider by ID or throws ResourceNotFoundException.
+     * The provider service and provider are loaded before the transaction ends, from the
+     * second-level cache when present.
      */
-    private Order findOrderById(Long orderId) {
-        return orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+    private Order findOrderWithProvider(Long orderId) {
+        return readTransaction.execute(tx -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+            Hibernate.initialize(order.getProviderService().getProvider());
+            return order;
+        });
     }
 }
@@ -0,0 +1,204 @@
+package com.antipanel.backend.service.impl;
+
+import com.antipanel.backend.config.IdempotencyProperties;
+import com.antipanel.backend.service.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of IdempotencyService.
+ * Completed responses are served from a bounded in-memory tier; the idempotency_keys table
+ * (see V17 migration) makes claims and responses visible to every node and survives restarts.
+ * Claims are single atomic upserts, so two nodes can never both run the same key.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final String CLAIM_SQL = """
+            INSERT INTO idempotency_keys
+                (user_id, request_path, idempotency_key, request_hash, status, locked_until, expires_at)
+            VALUES (?, ?, ?, ?, 'IN_PROGRESS', NOW() + make_interval(secs => ?), NOW() + make_interval(secs => ?))
+            ON CONFLICT (user_id, request_path, idempotency_key) DO UPDATE
+                SET request_hash = EXCLUDED.request_hash,
+                    status = 'IN_PROGRESS',
+                    locked_until = EXCLUDED.locked_until,
+                    expires_at = EXCLUDED.expires_at,
+                    response_status = NULL,
+                    response_content_type = NULL,
+                    response_body = NULL
+                WHERE idempotency_keys.expires_at < NOW()
+                   OR (idempotency_keys.status = 'IN_PROGRESS' AND idempotency_keys.locked_until < NOW())
+            RETURNING 1
+            """;
+
+    private static final String FIND_SQL = """
+            SELECT request_hash, status, response_status, response_content_type, response_body
+            FROM idempotency_keys
+            WHERE user_id = ? AND request_path = ? AND idempotency_key = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdempotencyProperties properties;
+
+    /**
+     * Recently completed responses, keyed by user, path and key.
+     */
+    private final Map<String, CachedResponse> completed = new ConcurrentHashMap<>();
+
+    /**
+     * Keys of requests running on this node; duplicates are rejected without a database round trip.
+     */
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Claim claim(Long userId, String path, String key, String requestHash) {
+        String cacheKey = cacheKey(userId, path, key);
+
+        CachedResponse cached = completed.get(cacheKey);
+        if (cached != null) {
+            if (cached.isFresh(System.nanoTime())) {
+                return replay(cached.requestHash(), cached.response(), requestHash);
+            }
+            completed.remove(cacheKey, cached);
+        }
+
+        if (!inFlight.add(cacheKey)) {
+            return Claim.of(ClaimStatus.IN_PROGRESS);
+        }
+
+        try {
+            Claim claim = claimInDatabase(userId, path, key, requestHash);
+            if (claim.status() != ClaimStatus.ACQUIRED) {
+                inFlight.remove(cacheKey);
+            }
+            return claim;
+        } catch (RuntimeException e) {
+            inFlight.remove(cacheKey);
+            throw e;
+        }
+    }
+
+    @Override
+    public void complete(Long userId, String path, String key, StoredResponse response) {
+        String cacheKey = cacheKey(userId, path, key);
+        try {
+            List<String> hashes = jdbcTemplate.queryForList("""
+                    UPDATE idempotency_keys
+                    SET status = 'COMPLETED', response_status = ?, response_content_type = ?,
+                        response_body = ?, locked_until = NULL
+                    WHERE user_id = ? AND request_path = ? AND idempotency_key = ?
+                    RETURNING request_hash
+                    """, String.class,
+                    response.status(), response.contentType(), response.body(), userId, path, key);
+            if (!hashes.isEmpty()) {
+                remember(cacheKey, new CachedResponse(hashes.getFirst(), response,
+                        System.nanoTime() + properties.retention().toNanos()));
+            }
+        } finally {
+            inFlight.remove(cacheKey);
+        }
+    }
+
+    @Override
+    public void release(Long userId, String path, String key) {
+        try {
+            jdbcTemplate.update("""
+                    DELETE FROM idempotency_keys
+                    WHERE user_id = ? AND request_path = ? AND idempotency_key = ? AND status = 'IN_PROGRESS'
+                    """, userId, path, key);
+        } finally {
+            inFlight.remove(cacheKey(userId, path, key));
+        }
+    }
+
+    @Override
+    public int purgeExpired() {
+        long now = System.nanoTime();
+        completed.values().removeIf(entry -> !entry.isFresh(now));
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < NOW()");
+    }
+
+    // ============ HELPER METHODS ============
+
+    private Claim claimInDatabase(Long userId, String path, String key, String requestHash) {
+        double leaseSeconds = properties.lease().toMillis() / 1000.0;
+        double retentionSeconds = properties.retention().toMillis() / 1000.0;
+
+        // A concurrent release can delete the row between the upsert and the read: try twice
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Boolean acquired = jdbcTemplate.query(CLAIM_SQL, (ResultSetExtractor<Boolean>) ResultSet::next,
+                    userId, path, key, requestHash, leaseSeconds, retentionSeconds);
+            if (Boolean.TRUE.equals(acquired)) {
+                return Claim.of(ClaimStatus.ACQUIRED);
+            }
+
+            List<StoredKey> existing = jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> new StoredKey(
+                    rs.getString("request_hash"),
+                    rs.getString("status"),
+                    new StoredResponse(rs.getInt("response_status"),
+                            rs.getString("response_content_type"),
+                            rs.getBytes("response_body"))), userId, path, key);
+            if (existing.isEmpty()) {
+                continue;
+            }
+
+            StoredKey stored = existing.getFirst();
+            if (!"COMPLETED".equals(stored.status())) {
+                return Claim.of(ClaimStatus.IN_PROGRESS);
+            }
+            remember(cacheKey(userId, path, key), new CachedResponse(stored.requestHash(), stored.response(),
+                    System.nanoTime() + properties.retention().toNanos()));
+            return replay(stored.requestHash(), stored.response(), requestHash);
+        }
+        return Claim.of(ClaimStatus.IN_PROGRESS);
+    }
+
+    private static Claim replay(String storedHash, StoredResponse response, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            return Claim.of(ClaimStatus.KEY_REUSED);
+        }
+        return new Claim(ClaimStatus.COMPLETED, response);
+    }
+
+    private void remember(String cacheKey, CachedResponse response) {
+        if (completed.size() >= properties.cacheMaxEntries()) {
+            long now = System.nanoTime();
+            completed.values().removeIf(entry -> !entry.isFresh(now));
+            if (completed.size() >= properties.cacheMaxEntries()) {
+                completed.clear();
+            }
+        }
+        completed.put(cacheKey, response);
+    }
+
+    private static String cacheKey(Long userId, String path, String key) {
+        return userId + ":" + path + ":" + key;
+    }
+
+    /**
+     * Row of idempotency_keys.
+     */
+    private record StoredKey(String requestHash, String status, StoredResponse response) {
+    }
+
+    /**
+     * Completed response with the request fingerprint it belongs to.
+     */
+    private record CachedResponse(String requestHash, StoredResponse response, long expiresAtNanos) {
+
+        boolean isFresh(long nowNanos) {
+            return nowNanos - expiresAtNanos < 0;
+        }
+    }
+}
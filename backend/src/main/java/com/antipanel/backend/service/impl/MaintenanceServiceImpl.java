@@ -0,0 +1,126 @@
+package com.antipanel.backend.service.impl;
+
+import com.antipanel.backend.config.MaintenanceProperties;
+import com.antipanel.backend.config.PaymentPollingProperties;
+import com.antipanel.backend.datasource.BackgroundWork;
+import com.antipanel.backend.service.MaintenanceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Implementation of MaintenanceService.
+ *
+ * Every sweep is a loop of UPDATE/DELETE ... WHERE id IN (SELECT ... LIMIT n FOR UPDATE SKIP LOCKED)
+ * statements under autocommit: each chunk commits on its own, rows locked by live transactions
+ * are left for the next run, and several nodes can sweep at once without blocking each other.
+ *
+ * Metrics per sweep (tag sweep): maintenance.sweep.rows and maintenance.sweep.duration.
+ */
+@Service
+@BackgroundWork
+@RequiredArgsConstructor
+@Slf4j
+public class MaintenanceServiceImpl implements MaintenanceService {
+
+    static final String SWEEP_INVOICES = "expire-invoices";
+    static final String SWEEP_REFILL_WINDOWS = "close-refill-windows";
+    static final String SWEEP_HOLDS = "purge-holds";
+
+    /**
+     * Bumps version so a concurrent JPA save of the same invoice fails instead of reviving it.
+     */
+    private static final String EXPIRE_INVOICES_SQL = """
+            UPDATE invoices
+            SET status = 'EXPIRED', version = version + 1, updated_at = NOW()
+            WHERE id IN (
+                SELECT id FROM invoices
+                WHERE status = 'PENDING' AND created_at < NOW() - make_interval(secs => ?)
+                ORDER BY created_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            """;
+
+    /**
+     * orders is partitioned, so rows are matched on the full (id, created_at) key.
+     * updated_at is left alone: trg_orders_updated_at skips closing an expired refill window (V22),
+     * because updated_at drives order archival, which would otherwise be postponed.
+     */
+    private static final String CLOSE_REFILL_WINDOWS_SQL = """
+            UPDATE orders
+            SET is_refillable = FALSE, version = version + 1
+            WHERE (id, created_at) IN (
+                SELECT id, created_at FROM orders
+                WHERE is_refillable = TRUE AND refill_deadline IS NOT NULL AND status = 'COMPLETED'
+                  AND refill_deadline < NOW()
+                ORDER BY refill_deadline
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            """;
+
+    private static final String PURGE_HOLDS_SQL = """
+            DELETE FROM balance_holds
+            WHERE id IN (
+                SELECT id FROM balance_holds
+                WHERE status IN ('CAPTURED', 'RELEASED', 'EXPIRED')
+                  AND updated_at < NOW() - make_interval(secs => ?)
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MaintenanceProperties properties;
+    private final PaymentPollingProperties paymentPollingProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public SweepResult expireStaleInvoices() {
+        long maxAgeSeconds = paymentPollingProperties.maxAge().toSeconds();
+        return sweep(SWEEP_INVOICES, () -> jdbcTemplate.update(EXPIRE_INVOICES_SQL, maxAgeSeconds, properties.batchSize()));
+    }
+
+    @Override
+    public SweepResult closeExpiredRefillWindows() {
+        return sweep(SWEEP_REFILL_WINDOWS, () -> jdbcTemplate.update(CLOSE_REFILL_WINDOWS_SQL, properties.batchSize()));
+    }
+
+    @Override
+    public SweepResult purgeSettledHolds() {
+        long retentionSeconds = properties.holdRetention().toSeconds();
+        return sweep(SWEEP_HOLDS, () -> jdbcTemplate.update(PURGE_HOLDS_SQL, retentionSeconds, properties.batchSize()));
+    }
+
+    // ============ HELPER METHODS ============
+
+    /**
+     * Run a chunk statement until it touches less than a full batch or the per-run limit is reached.
+     */
+    private SweepResult sweep(String name, Chunk chunk) {
+        long start = System.nanoTime();
+        int rows = 0;
+        int batches = 0;
+        while (batches < properties.maxBatchesPerRun()) {
+            int touched = chunk.run();
+            batches++;
+            rows += touched;
+            if (touched < properties.batchSize()) {
+                break;
+            }
+        }
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+
+        meterRegistry.counter("maintenance.sweep.rows", "sweep", name).increment(rows);
+        meterRegistry.timer("maintenance.sweep.duration", "sweep", name).record(duration);
+        log.debug("Maintenance sweep {} touched {} rows in {} batches ({} ms)", name, rows, batches, duration.toMillis());
+        return new SweepResult(name, rows, batches, duration);
+    }
+
+    @FunctionalInterface
+    private interface Chunk {
+        int run();
+    }
+}
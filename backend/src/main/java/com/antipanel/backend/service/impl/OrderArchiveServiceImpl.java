@@ -0,0 +1,57 @@
+package com.antipanel.backend.service.impl;
+
+import com.antipanel.backend.config.ArchiveProperties;
+import com.antipanel.backend.service.OrderArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Implementation of OrderArchiveService.
+ * Moves rows with a single DELETE ... RETURNING statement feeding an INSERT,
+ * so a batch is one round trip and never leaves an order in both tables.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+
+    /**
+     * Orders with refill requests stay in the hot table: order_refills references them.
+     * SKIP LOCKED leaves rows being modified by other transactions for the next run.
+     */
+    private static final String ARCHIVE_BATCH_SQL = """
+            WITH candidates AS (
+                SELECT o.id, o.created_at FROM orders o
+                WHERE o.status IN ('COMPLETED', 'PARTIAL', 'CANCELLED', 'REFUNDED', 'FAILED')
+                  AND o.updated_at < ?
+                  AND (o.is_refillable = FALSE OR o.refill_deadline IS NULL OR o.refill_deadline < ?)
+                  AND NOT EXISTS (SELECT 1 FROM order_refills r WHERE r.order_id = o.id)
+                ORDER BY o.updated_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), moved AS (
+                DELETE FROM orders o USING candidates c
+                WHERE o.id = c.id AND o.created_at = c.created_at
+                RETURNING o.*
+            )
+            INSERT INTO orders_archive SELECT moved.*, NOW() FROM moved
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveProperties archiveProperties;
+
+    @Override
+    @Transactional
+    public int archiveBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(archiveProperties.retention());
+        int archived = jdbcTemplate.update(ARCHIVE_BATCH_SQL, cutoff, now, archiveProperties.batchSize());
+        log.debug("Archived {} orders finished before {}", archived, cutoff);
+        return archived;
+    }
+}
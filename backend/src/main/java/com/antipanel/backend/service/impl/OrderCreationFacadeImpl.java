@@ -1,5 +1,11 @@
 package com.antipanel.backend.service.impl;
 
+import com.antipanel.backend.config.BulkOrderProperties;
+import com.antipanel.backend.datasource.ReadYourWrites;
+import com.antipanel.backend.dto.order.BulkOrderLine;
+import com.antipanel.backend.dto.order.BulkOrderLineResult;
+import com.antipanel.backend.dto.order.BulkOrderRequest;
+import com.antipanel.backend.dto.order.BulkOrderResponse;
 import com.antipanel.backend.dto.order.OrderCreateRequest;
 import com.antipanel.backend.dto.order.OrderResponse;
 import com.antipanel.backend.entity.BalanceHold;
@@ -11,12 +17,18 @@ import com.antipanel.backend.exception.BadRequestException;
 import com.antipanel.backend.exception.ProviderApiException;
 import com.antipanel.backend.exception.ResourceNotFoundException;
 import com.antipanel.backend.mapper.OrderMapper;
+import com.antipanel.backend.money.Money;
 import com.antipanel.backend.repository.OrderRepository;
 import com.antipanel.backend.repository.ServiceRepository;
 import com.antipanel.backend.repository.UserRepository;
 import com.antipanel.backend.service.BalanceHoldService;
 import com.antipanel.backend.service.ExternalOrderService;
 import com.antipanel.backend.service.OrderCreationFacade;
+import com.antipanel.backend.service.OrderReservationService;
+import com.antipanel.backend.service.OrderReservationService.PendingOrder;
+import com.antipanel.backend.service.OrderReservationService.Reservation;
+import com.antipanel.backend.service.PricingService;
+import com.antipanel.backend.service.PricingService.ServicePrice;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -24,19 +36,31 @@ import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Implementation of OrderCreationFacade using the Balance Reservation Pattern.
  * Uses TransactionTemplate for programmatic transaction control (Spring Framework 7 best practice).
  *
  * Transaction Flow:
- * 1. Transaction 1: Create balance hold (reserves funds, checks idempotency)
- * 2. Transaction 2: Create pending order
- * 3. NO transaction: External API call to provider
- * 4. Transaction 3: Capture hold on success, release on failure
+ * 1. Statement 1: Debit balance, create hold and pending order (OrderReservationService.reserve)
+ * 2. NO transaction: External API call to provider
+ * 3. Statement 2: Capture hold with its ledger entry on success, release on failure
+ *
+ * A retry whose idempotency key already has a hold returns the order created for it.
+ * Holds created by BalanceHoldService.createHold without an order yet are completed
+ * through the original multi-transaction path.
+ *
+ * Bulk orders validate every line first, reserve all valid lines with one debit
+ * (OrderReservationService.reserveAll), then submit and capture each line like a single order,
+ * a bounded number at a time. Later lines wait for earlier ones, so bulk holds are sized for the
+ * whole request and each line's hold is extended right before its provider call; a line whose
+ * hold is gone by then is not submitted.
  */
 @org.springframework.stereotype.Service
 @RequiredArgsConstructor
@@ -46,31 +70,103 @@ public class OrderCreationFacadeImpl implements OrderCreationFacade {
     private static final Duration HOLD_DURATION = Duration.ofMinutes(15);
 
     private final BalanceHoldService balanceHoldService;
+    private final OrderReservationService orderReservationService;
+    private final PricingService pricingService;
     private final OrderRepository orderRepository;
     private final ServiceRepository serviceRepository;
     private final UserRepository userRepository;
     private final ExternalOrderService externalOrderService;
     private final OrderMapper orderMapper;
     private final PlatformTransactionManager transactionManager;
+    private final BulkOrderProperties bulkOrderProperties;
+    private final ReadYourWrites readYourWrites;
 
     @Override
     public OrderResponse createOrder(Long userId, OrderCreateRequest request) {
         log.debug("Creating order for user ID: {} with idempotency key: {}",
                 userId, request.getIdempotencyKey());
 
-        // Step 1: Validate service and calculate total (read-only, no transaction needed)
-        Service service = serviceRepository.findById(request.getServiceId())
+        // Step 1: Validate and price from the in-memory pricing table (no catalog reads)
+        ServicePrice price = pricingService.find(request.getServiceId())
                 .orElseThrow(() -> new ResourceNotFoundException("Service", "id", request.getServiceId()));
 
-        validateServiceAndQuantity(service, request.getQuantity());
-        BigDecimal totalCharge = calculateTotalCharge(service, request.getQuantity());
+        validateServiceAndQuantity(price, request.getQuantity());
+        BigDecimal totalCharge = price.chargeFor(request.getQuantity());
+
+        // Step 2: Reserve balance and create the pending order in one statement
+        // The user row lock serializes requests; the unique hold key rejects duplicates atomically
+        Optional<Reservation> reservation = orderReservationService.reserve(
+                toPendingOrder(userId, price, request.getIdempotencyKey(), request.getTarget(),
+                        request.getQuantity(), totalCharge),
+                HOLD_DURATION);
+        if (reservation.isEmpty()) {
+            return resumeExistingHold(userId, request, totalCharge);
+        }
+        // The user's next history and balance reads must see this order, not a lagging replica
+        readYourWrites.recordWrite(userId);
+
+        // Step 3: Submit to provider, then capture
+        return submitAndCapture(reservation.get().holdId(), reservation.get().orderId());
+    }
+
+    @Override
+    public BulkOrderResponse createBulkOrder(Long userId, BulkOrderRequest request) {
+        List<BulkOrderLine> lines = request.getLines();
+        if (lines.size() > bulkOrderProperties.maxLines()) {
+            throw new BadRequestException(String.format(
+                    "A bulk order cannot exceed %d lines", bulkOrderProperties.maxLines()));
+        }
+        log.debug("Creating bulk order of {} lines for user ID: {}", lines.size(), userId);
+
+        // Step 1: Validate and price every line against the in-memory pricing table
+        List<BulkOrderLineResult> results = new ArrayList<>(lines.size());
+        List<BulkOrderLineResult> accepted = new ArrayList<>(lines.size());
+        List<PendingOrder> pending = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            BulkOrderLine line = lines.get(i);
+            BulkOrderLineResult result = BulkOrderLineResult.builder()
+                    .line(i)
+                    .serviceId(line.getServiceId())
+                    .target(line.getTarget())
+                    .quantity(line.getQuantity())
+                    .build();
+            results.add(result);
+
+            Optional<ServicePrice> price = pricingService.find(line.getServiceId());
+            String error = price.map(p -> lineError(p, line.getQuantity())).orElse("Service not found");
+            if (error != null) {
+                result.setError(error);
+                continue;
+            }
+            BigDecimal charge = price.get().chargeFor(line.getQuantity());
+            result.setCharge(charge);
+            accepted.add(result);
+            pending.add(toPendingOrder(userId, price.get(), null, line.getTarget(), line.getQuantity(), charge));
+        }
+
+        // Step 2: One debit for all valid lines; rejects the whole request if the balance is short
+        if (!pending.isEmpty()) {
+            List<Reservation> reservations = orderReservationService.reserveAll(
+                    userId, pending, bulkHoldDuration(pending.size()));
+            readYourWrites.recordWrite(userId);
+
+            // Step 3: Submit to providers with bounded parallelism, capture or release each line
+            submitAll(reservations, accepted);
+        }
 
-        // Step 2: Reserve balance with idempotency check inside transaction
-        // This serializes requests by user lock and checks idempotency atomically
+        return toBulkResponse(results);
+    }
+
+    /**
+     * Handle a request whose idempotency key already has a hold.
+     * Returns the existing order, or creates it if the hold was made without one.
+     */
+    private OrderResponse resumeExistingHold(Long userId, OrderCreateRequest request, BigDecimal totalCharge) {
+        // Returns the existing hold for the key
         BalanceHold hold = balanceHoldService.createHold(
                 userId, totalCharge, request.getIdempotencyKey(), HOLD_DURATION);
 
-        // Step 3: Check if order already exists for this hold (idempotent return)
+        // Check if order already exists for this hold (idempotent return)
         Optional<Order> existingOrder = orderRepository.findByBalanceHoldId(hold.getId());
         if (existingOrder.isPresent()) {
             log.info("Returning existing order {} for hold {}",
@@ -78,7 +174,7 @@ public class OrderCreationFacadeImpl implements OrderCreationFacade {
             return orderMapper.toResponse(existingOrder.get());
         }
 
-        // Step 4: Create pending order using TransactionTemplate (separate transaction)
+        // Create pending order using TransactionTemplate (separate transaction)
         TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
         Order order;
         try {
@@ -109,31 +205,116 @@ public class OrderCreationFacadeImpl implements OrderCreationFacade {
             throw new IllegalStateException("Order creation failed - null result");
         }
 
-        // Step 5: Submit to provider (uses orderId to re-fetch inside @Transactional)
+        return submitAndCapture(hold.getId(), order.getId());
+    }
+
+    /**
+     * Submit the pending order to the provider; capture the hold on success, compensate on failure.
+     */
+    private OrderResponse submitAndCapture(Long holdId, Long orderId) {
         try {
-            OrderResponse response = externalOrderService.submitOrder(order.getId());
+            // Re-reads the order with its provider; no transaction is held during the provider call
+            OrderResponse response = externalOrderService.submitOrder(orderId);
 
-            // Step 6a: Capture hold on success
-            balanceHoldService.captureHold(hold.getId(), order.getId());
+            // Capture hold on success; captureHold resolves holds that are no longer HELD
+            if (!orderReservationService.capture(holdId, orderId)) {
+                balanceHoldService.captureHold(holdId, orderId);
+            }
 
-            log.info("Order {} successfully created and submitted to provider", order.getId());
+            log.info("Order {} successfully created and submitted to provider", orderId);
             return response;
 
         } catch (ProviderApiException e) {
             // Known provider failure - compensate
-            log.error("Provider failed for order {}: {}", order.getId(), e.getMessage());
-            handleSubmissionFailure(hold.getId(), order.getId(), e.getMessage());
+            log.error("Provider failed for order {}: {}", orderId, e.getMessage());
+            handleSubmissionFailure(holdId, orderId, e.getMessage());
             throw e;
 
         } catch (Exception e) {
             // Unknown failures - compensate and log critical
-            log.error("UNEXPECTED error during order {} submission", order.getId(), e);
-            handleSubmissionFailure(hold.getId(), order.getId(),
+            log.error("UNEXPECTED error during order {} submission", orderId, e);
+            handleSubmissionFailure(holdId, orderId,
                     "Unexpected error: " + e.getClass().getSimpleName() + " - " + e.getMessage());
             throw new RuntimeException("Order submission failed unexpectedly", e);
         }
     }
 
+    /**
+     * Submit reserved bulk lines, at most app.orders.bulk.parallelism at a time.
+     * Provider calls block, so each runs on a virtual thread. Returns once every line is done.
+     */
+    private void submitAll(List<Reservation> reservations, List<BulkOrderLineResult> results) {
+        try (ExecutorService executor = Executors.newFixedThreadPool(
+                bulkOrderProperties.parallelism(), Thread.ofVirtual().name("bulk-order-", 0).factory())) {
+            for (int i = 0; i < reservations.size(); i++) {
+                Reservation reservation = reservations.get(i);
+                BulkOrderLineResult result = results.get(i);
+                executor.execute(() -> submitLine(reservation, result));
+            }
+        }
+    }
+
+    /**
+     * Hold of a bulk line: every wave of submissions ahead of the last line, plus the single-order duration.
+     */
+    private Duration bulkHoldDuration(int lines) {
+        int waves = Math.ceilDiv(lines, bulkOrderProperties.parallelism());
+        return HOLD_DURATION.plus(bulkOrderProperties.submissionTimeout().multipliedBy(waves));
+    }
+
+    private void submitLine(Reservation reservation, BulkOrderLineResult result) {
+        // The line may have waited behind slow providers: never submit an order whose balance was refunded
+        if (!orderReservationService.extend(reservation.holdId(), HOLD_DURATION)) {
+            String reason = "Balance hold expired before submission";
+            log.warn("Hold {} is no longer held, not submitting order {}", reservation.holdId(), reservation.orderId());
+            handleSubmissionFailure(reservation.holdId(), reservation.orderId(), reason);
+            result.setError(reason);
+            return;
+        }
+        try {
+            result.setOrder(submitAndCapture(reservation.holdId(), reservation.orderId()));
+            result.setPlaced(true);
+        } catch (Exception e) {
+            // submitAndCapture already released the hold and marked the order as failed
+            result.setError(e.getMessage());
+        }
+    }
+
+    private BulkOrderResponse toBulkResponse(List<BulkOrderLineResult> results) {
+        int placed = 0;
+        Money totalCharge = Money.ZERO;
+        for (BulkOrderLineResult result : results) {
+            if (result.isPlaced()) {
+                placed++;
+                totalCharge = totalCharge.add(Money.of(result.getCharge()));
+            }
+        }
+        log.info("Bulk order placed {} of {} lines for {}", placed, results.size(), totalCharge);
+        return BulkOrderResponse.builder()
+                .results(results)
+                .placed(placed)
+                .failed(results.size() - placed)
+                .totalCharge(totalCharge.toBigDecimal())
+                .build();
+    }
+
+    private PendingOrder toPendingOrder(Long userId, ServicePrice price, String idempotencyKey,
+            String target, int quantity, BigDecimal totalCharge) {
+        return new PendingOrder(
+                userId,
+                price.serviceId(),
+                price.name(),
+                price.providerServiceId(),
+                idempotencyKey,
+                target,
+                quantity,
+                price.pricePerK().toBigDecimal(),
+                price.costPerK().toBigDecimal(),
+                totalCharge,
+                price.costFor(quantity),
+                price.refillDays());
+    }
+
     /**
      * Create the pending order record.
      * Called inside a transaction template.
@@ -202,25 +383,28 @@ public class OrderCreationFacadeImpl implements OrderCreationFacade {
         }
     }
 
-    private void validateServiceAndQuantity(Service service, Integer quantity) {
-        if (!service.getIsActive()) {
-            throw new BadRequestException("Service is not active");
-        }
-
-        if (!service.isQuantityValid(quantity)) {
-            throw new BadRequestException(String.format(
-                    "Quantity must be between %d and %d",
-                    service.getMinQuantity(), service.getMaxQuantity()));
+    private void validateServiceAndQuantity(ServicePrice price, Integer quantity) {
+        String error = lineError(price, quantity);
+        if (error != null) {
+            throw new BadRequestException(error);
         }
     }
 
-    private BigDecimal calculateTotalCharge(Service service, Integer quantity) {
-        return calculateTotalAmount(service.getPricePerK(), quantity);
+    /**
+     * Why the service cannot be ordered in this quantity, or null if it can.
+     */
+    private static String lineError(ServicePrice price, Integer quantity) {
+        if (!price.active()) {
+            return "Service is not active";
+        }
+        if (!price.isQuantityValid(quantity)) {
+            return String.format("Quantity must be between %d and %d",
+                    price.minQuantity(), price.maxQuantity());
+        }
+        return null;
     }
 
     private BigDecimal calculateTotalAmount(BigDecimal pricePerK, Integer quantity) {
-        return pricePerK
-                .multiply(BigDecimal.valueOf(quantity))
-                .divide(BigDecimal.valueOf(1000), 4, RoundingMode.HALF_UP);
+        return Money.of(pricePerK).perThousand(quantity).toBigDecimal();
     }
 }
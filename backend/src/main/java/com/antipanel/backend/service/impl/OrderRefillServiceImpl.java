@@ -20,7 +20,10 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -39,6 +42,7 @@ public class OrderRefillServiceImpl implements OrderRefillService {
     private final OrderRefillMapper orderRefillMapper;
     private final PageMapper pageMapper;
     private final ExternalOrderService externalOrderService;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Constructor with @Lazy on ExternalOrderService to break circular dependency.
@@ -48,60 +52,41 @@ public class OrderRefillServiceImpl implements OrderRefillService {
             OrderRepository orderRepository,
             OrderRefillMapper orderRefillMapper,
             PageMapper pageMapper,
-            @Lazy ExternalOrderService externalOrderService) {
+            @Lazy ExternalOrderService externalOrderService,
+            PlatformTransactionManager transactionManager) {
         this.orderRefillRepository = orderRefillRepository;
         this.orderRepository = orderRepository;
         this.orderRefillMapper = orderRefillMapper;
         this.pageMapper = pageMapper;
         this.externalOrderService = externalOrderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     // ============ CREATE OPERATIONS ============
 
+    /**
+     * Creates the refill and submits it to the provider.
+     * The refill is committed before the provider call and marked as processing in a second
+     * transaction afterwards, so no connection is held while the provider responds.
+     */
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderRefillResponse create(Long userId, OrderRefillCreateRequest request) {
         log.debug("Creating refill for order ID: {} by user ID: {}", request.getOrderId(), userId);
 
-        // Validate order
-        Order order = orderRepository.findById(request.getOrderId())
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", request.getOrderId()));
-
-        // Validate order belongs to user
-        if (!order.getUser().getId().equals(userId)) {
-            throw new BadRequestException("Order does not belong to user");
-        }
-
-        // Validate order can be refilled
-        if (!order.canRequestRefill()) {
-            throw new BadRequestException("Order is not eligible for refill");
-        }
-
-        // Check for existing pending refill
-        if (orderRefillRepository.hasPendingRefill(order.getId())) {
-            throw new BadRequestException("Order already has a pending refill request");
-        }
-
-        // Create refill request
-        OrderRefill refill = OrderRefill.builder()
-                .order(order)
-                .quantity(order.getQuantity())
-                .status(RefillStatus.PENDING)
-                .build();
-
-        OrderRefill saved = orderRefillRepository.save(refill);
-        log.info("Created refill ID: {} for order ID: {}", saved.getId(), order.getId());
+        OrderRefill saved = transactionTemplate.execute(status -> createPendingRefill(userId, request));
+        Long orderId = saved.getOrder().getId();
 
         // Submit refill to provider and update status
         try {
-            String providerRefillId = externalOrderService.requestRefill(order.getId());
-            log.info("Provider returned refill ID: {} for order ID: {}", providerRefillId, order.getId());
+            String providerRefillId = externalOrderService.requestRefill(orderId);
+            log.info("Provider returned refill ID: {} for order ID: {}", providerRefillId, orderId);
 
             // Mark as processing with provider refill ID
-            return markAsProcessing(saved.getId(), providerRefillId);
+            return transactionTemplate.execute(status -> markAsProcessing(saved.getId(), providerRefillId));
         } catch (Exception e) {
             log.error("Failed to submit refill to provider for order ID: {}. Error: {}",
-                    order.getId(), e.getMessage());
+                    orderId, e.getMessage());
             // Keep refill in PENDING state for retry, return current state
             return orderRefillMapper.toResponse(saved);
         }
@@ -302,6 +287,41 @@ public class OrderRefillServiceImpl implements OrderRefillService {
 
     // ============ HELPER METHODS ============
 
+    /**
+     * Validates the order and saves a PENDING refill for it.
+     */
+    private OrderRefill createPendingRefill(Long userId, OrderRefillCreateRequest request) {
+        // Validate order
+        Order order = orderRepository.findById(request.getOrderId())
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", request.getOrderId()));
+
+        // Validate order belongs to user
+        if (!order.getUser().getId().equals(userId)) {
+            throw new BadRequestException("Order does not belong to user");
+        }
+
+        // Validate order can be refilled
+        if (!order.canRequestRefill()) {
+            throw new BadRequestException("Order is not eligible for refill");
+        }
+
+        // Check for existing pending refill
+        if (orderRefillRepository.hasPendingRefill(order.getId())) {
+            throw new BadRequestException("Order already has a pending refill request");
+        }
+
+        // Create refill request
+        OrderRefill refill = OrderRefill.builder()
+                .order(order)
+                .quantity(order.getQuantity())
+                .status(RefillStatus.PENDING)
+                .build();
+
+        OrderRefill saved = orderRefillRepository.save(refill);
+        log.info("Created refill ID: {} for order ID: {}", saved.getId(), order.getId());
+        return saved;
+    }
+
     private OrderRefill findRefillById(Long id) {
         return orderRefillRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("OrderRefill", "id", id));
@@ -0,0 +1,249 @@
+package com.antipanel.backend.service.impl;
+
+import com.antipanel.backend.exception.BadRequestException;
+import com.antipanel.backend.exception.InsufficientBalanceException;
+import com.antipanel.backend.exception.ResourceNotFoundException;
+import com.antipanel.backend.money.Money;
+import com.antipanel.backend.service.BalanceHoldCreatedEvent;
+import com.antipanel.backend.service.OrderReservationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of OrderReservationService.
+ *
+ * Reserve and capture run under autocommit: a single statement is already atomic, and skipping
+ * BEGIN/COMMIT keeps each one to a single round trip. reserveAll needs several statements and
+ * runs in a transaction, but its round trips do not grow with the number of orders.
+ * The UPDATE of the user row takes the same row lock as BalanceHoldService.createHold,
+ * so all paths stay serialized per user.
+ *
+ * IDs come from the entities' pooled sequences. One nextval reserves a whole block, so rows
+ * inserted here can never collide with IDs Hibernate hands out from its own blocks.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderReservationServiceImpl implements OrderReservationService {
+
+    /**
+     * Debit, hold and pending order. Enum and status literals are coerced to the column types.
+     */
+    private static final String RESERVE_SQL = """
+            WITH debit AS (
+                UPDATE users
+                SET balance = balance - ?, version = version + 1, updated_at = NOW()
+                WHERE id = ? AND is_banned = FALSE AND balance >= ?
+                RETURNING id
+            ), hold AS (
+                INSERT INTO balance_holds
+                    (id, version, user_id, amount, status, idempotency_key, expires_at, created_at, updated_at)
+                SELECT nextval('balance_holds_id_seq'), 0, id, ?, 'HELD', ?,
+                       NOW() + make_interval(secs => ?), NOW(), NOW()
+                FROM debit
+                RETURNING id, user_id
+            )
+            INSERT INTO orders
+                (id, version, user_id, service_id, service_name, provider_service_id, balance_hold_id,
+                 idempotency_key, target, quantity, remains, status, price_per_k, cost_per_k,
+                 total_charge, total_cost, profit, is_refillable, refill_days, created_at, updated_at)
+            SELECT nextval('orders_id_seq'), 0, user_id, ?, ?, ?, id,
+                   ?, ?, ?, ?, 'PENDING', ?, ?,
+                   ?, ?, ?, ?, ?, NOW(), NOW()
+            FROM hold
+            RETURNING balance_hold_id, id
+            """;
+
+    /**
+     * Capture and ledger entry. The balance was already debited when the hold was created.
+     */
+    private static final String CAPTURE_SQL = """
+            WITH captured AS (
+                UPDATE balance_holds
+                SET status = 'CAPTURED', reference_type = 'ORDER', reference_id = ?,
+                    version = version + 1, updated_at = NOW()
+                WHERE id = ? AND status = 'HELD'
+                RETURNING id, user_id, amount
+            )
+            INSERT INTO transactions
+                (id, user_id, type, amount, balance_before, balance_after,
+                 reference_type, reference_id, description, created_at)
+            SELECT nextval('transactions_id_seq'), c.user_id, 'ORDER', -c.amount, u.balance + c.amount, u.balance,
+                   'ORDER', ?, 'Order #' || ? || ' - balance captured from hold #' || c.id, NOW()
+            FROM captured c
+            JOIN users u ON u.id = c.user_id
+            """;
+
+    /**
+     * Expiry pushed back, never brought forward.
+     */
+    private static final String EXTEND_SQL = """
+            UPDATE balance_holds
+            SET expires_at = GREATEST(expires_at, NOW() + make_interval(secs => ?)),
+                version = version + 1, updated_at = NOW()
+            WHERE id = ? AND status = 'HELD'
+            """;
+
+    /**
+     * Single debit for a batch of orders.
+     */
+    private static final String DEBIT_SQL = """
+            UPDATE users
+            SET balance = balance - ?, version = version + 1, updated_at = NOW()
+            WHERE id = ? AND is_banned = FALSE AND balance >= ?
+            """;
+
+    private static final String ALLOCATE_IDS_SQL = """
+            SELECT nextval('balance_holds_id_seq') AS hold_id, nextval('orders_id_seq') AS order_id
+            FROM generate_series(1, ?)
+            """;
+
+    private static final String INSERT_HOLD_SQL = """
+            INSERT INTO balance_holds
+                (id, version, user_id, amount, status, expires_at, created_at, updated_at)
+            VALUES (?, 0, ?, ?, 'HELD', NOW() + make_interval(secs => ?), NOW(), NOW())
+            """;
+
+    private static final String INSERT_ORDER_SQL = """
+            INSERT INTO orders
+                (id, version, user_id, service_id, service_name, provider_service_id, balance_hold_id,
+                 target, quantity, remains, status, price_per_k, cost_per_k,
+                 total_charge, total_cost, profit, is_refillable, refill_days, created_at, updated_at)
+            VALUES (?, 0, ?, ?, ?, ?, ?,
+                    ?, ?, ?, 'PENDING', ?, ?,
+                    ?, ?, ?, ?, ?, NOW(), NOW())
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Optional<Reservation> reserve(PendingOrder order, Duration holdDuration) {
+        BigDecimal profit = order.totalCharge().subtract(order.totalCost());
+        List<Reservation> created;
+        try {
+            created = jdbcTemplate.query(RESERVE_SQL,
+                    (rs, rowNum) -> new Reservation(rs.getLong("balance_hold_id"), rs.getLong("id")),
+                    order.totalCharge(), order.userId(), order.totalCharge(),
+                    order.totalCharge(), order.idempotencyKey(), holdDuration.toMillis() / 1000.0,
+                    order.serviceId(), order.serviceName(), order.providerServiceId(),
+                    order.idempotencyKey(), order.target(), order.quantity(), order.quantity(),
+                    order.pricePerK(), order.costPerK(),
+                    order.totalCharge(), order.totalCost(), profit, order.refillDays() > 0, order.refillDays());
+        } catch (DuplicateKeyException e) {
+            // Unique idempotency key on balance_holds: the whole statement rolled back, nothing was debited
+            log.info("Hold already exists for idempotency key {}", order.idempotencyKey());
+            return Optional.empty();
+        }
+
+        if (created.isEmpty()) {
+            throw rejection(order.userId(), order.totalCharge());
+        }
+
+        Reservation reservation = created.getFirst();
+        eventPublisher.publishEvent(new BalanceHoldCreatedEvent(
+                List.of(reservation.holdId()), LocalDateTime.now().plus(holdDuration)));
+        log.info("Reserved {} for user {}: hold {} order {}",
+                order.totalCharge(), order.userId(), reservation.holdId(), reservation.orderId());
+        return Optional.of(reservation);
+    }
+
+    @Override
+    @Transactional
+    public List<Reservation> reserveAll(Long userId, List<PendingOrder> orders, Duration holdDuration) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        Money total = Money.ZERO;
+        for (PendingOrder order : orders) {
+            total = total.add(Money.of(order.totalCharge()));
+        }
+        BigDecimal amount = total.toBigDecimal();
+        if (jdbcTemplate.update(DEBIT_SQL, amount, userId, amount) == 0) {
+            throw rejection(userId, amount);
+        }
+
+        List<Reservation> reservations = jdbcTemplate.query(ALLOCATE_IDS_SQL,
+                (rs, rowNum) -> new Reservation(rs.getLong("hold_id"), rs.getLong("order_id")),
+                orders.size());
+
+        double holdSeconds = holdDuration.toMillis() / 1000.0;
+        List<Object[]> holds = new ArrayList<>(orders.size());
+        List<Object[]> rows = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            PendingOrder order = orders.get(i);
+            Reservation reservation = reservations.get(i);
+            holds.add(new Object[]{reservation.holdId(), userId, order.totalCharge(), holdSeconds});
+            rows.add(new Object[]{
+                    reservation.orderId(), userId, order.serviceId(), order.serviceName(),
+                    order.providerServiceId(), reservation.holdId(),
+                    order.target(), order.quantity(), order.quantity(), order.pricePerK(), order.costPerK(),
+                    order.totalCharge(), order.totalCost(), order.totalCharge().subtract(order.totalCost()),
+                    order.refillDays() > 0, order.refillDays()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_HOLD_SQL, holds);
+        jdbcTemplate.batchUpdate(INSERT_ORDER_SQL, rows);
+        eventPublisher.publishEvent(new BalanceHoldCreatedEvent(
+                reservations.stream().map(Reservation::holdId).toList(), LocalDateTime.now().plus(holdDuration)));
+
+        log.info("Reserved {} for user {} across {} orders", amount, userId, orders.size());
+        return reservations;
+    }
+
+    @Override
+    public boolean capture(Long holdId, Long orderId) {
+        boolean captured = jdbcTemplate.update(CAPTURE_SQL, orderId, holdId, orderId, orderId) > 0;
+        if (captured) {
+            log.info("Captured hold {} for order {}", holdId, orderId);
+        }
+        return captured;
+    }
+
+    @Override
+    public boolean extend(Long holdId, Duration holdDuration) {
+        if (jdbcTemplate.update(EXTEND_SQL, holdDuration.toMillis() / 1000.0, holdId) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(new BalanceHoldCreatedEvent(
+                List.of(holdId), LocalDateTime.now().plus(holdDuration)));
+        log.debug("Extended hold {} by {}", holdId, holdDuration);
+        return true;
+    }
+
+    // ============ HELPER METHODS ============
+
+    /**
+     * Explain why the debit matched no row. Only runs on the rejection path.
+     */
+    private RuntimeException rejection(Long userId, BigDecimal amount) {
+        List<UserBalance> users = jdbcTemplate.query(
+                "SELECT balance, is_banned FROM users WHERE id = ?",
+                (rs, rowNum) -> new UserBalance(rs.getBigDecimal("balance"), rs.getBoolean("is_banned")),
+                userId);
+        if (users.isEmpty()) {
+            return new ResourceNotFoundException("User", "id", userId);
+        }
+        UserBalance user = users.getFirst();
+        if (user.banned()) {
+            return new BadRequestException("User is banned and cannot place orders");
+        }
+        return new InsufficientBalanceException(
+                String.format("Insufficient balance. Required: %s, Available: %s", amount, user.balance()));
+    }
+
+    private record UserBalance(BigDecimal balance, boolean banned) {
+    }
+}
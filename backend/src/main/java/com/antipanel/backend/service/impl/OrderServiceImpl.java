@@ -1,11 +1,13 @@
 package com.antipanel.backend.service.impl;
 
 import com.antipanel.backend.dto.common.PageResponse;
+import com.antipanel.backend.dto.common.PageTotal;
 import com.antipanel.backend.dto.order.OrderCreateRequest;
 import com.antipanel.backend.dto.order.OrderDetailResponse;
 import com.antipanel.backend.dto.order.OrderResponse;
 import com.antipanel.backend.dto.order.OrderSummary;
 import com.antipanel.backend.entity.Order;
+import com.antipanel.backend.entity.OrderArchive;
 import com.antipanel.backend.entity.ProviderService;
 import com.antipanel.backend.entity.Service;
 import com.antipanel.backend.entity.Transaction;
@@ -18,6 +20,8 @@ import com.antipanel.backend.exception.ResourceNotFoundException;
 import com.antipanel.backend.exception.ProviderApiException;
 import com.antipanel.backend.mapper.OrderMapper;
 import com.antipanel.backend.mapper.PageMapper;
+import com.antipanel.backend.money.Money;
+import com.antipanel.backend.repository.OrderArchiveRepository;
 import com.antipanel.backend.repository.OrderRepository;
 import com.antipanel.backend.repository.ServiceRepository;
 import com.antipanel.backend.repository.TransactionRepository;
@@ -25,17 +29,30 @@ import com.antipanel.backend.repository.UserRepository;
 import com.antipanel.backend.service.ExternalOrderService;
 import com.antipanel.backend.service.OrderCompensationService;
 import com.antipanel.backend.service.OrderService;
+import com.antipanel.backend.service.PageCountService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Function;
 
 /**
  * Implementation of OrderService.
@@ -47,6 +64,35 @@ import java.util.List;
 @Slf4j
 public class OrderServiceImpl implements OrderService {
 
+    /**
+     * Properties an order history merged with orders_archive can be sorted by.
+     */
+    private static final List<String> HISTORY_SORT_PROPERTIES =
+            List.of("createdAt", "updatedAt", "completedAt", "totalCharge", "quantity", "id");
+
+    /**
+     * Deepest row a history page may start at. PostgreSQL still reads and discards every row
+     * before the offset, so deeper pages are refused rather than made ever more expensive.
+     */
+    private static final long MAX_HISTORY_OFFSET = 10_000;
+
+    /**
+     * Page of an order history: live and archived rows of the same filter (%1$s), merged and
+     * sorted (%2$s) by PostgreSQL, which returns only the IDs of the page and where each lives.
+     * Both reads share one snapshot, so an order being archived is seen exactly once.
+     */
+    private static final String HISTORY_PAGE_SQL = """
+            SELECT id, archived FROM (
+                SELECT id, created_at, updated_at, completed_at, total_charge, quantity, FALSE AS archived
+                FROM orders WHERE %1$s
+                UNION ALL
+                SELECT id, created_at, updated_at, completed_at, total_charge, quantity, TRUE
+                FROM orders_archive WHERE %1$s
+            ) history
+            ORDER BY %2$s
+            LIMIT ? OFFSET ?
+            """;
+
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final ServiceRepository serviceRepository;
@@ -55,6 +101,9 @@ public class OrderServiceImpl implements OrderService {
     private final PageMapper pageMapper;
     private final ExternalOrderService externalOrderService;
     private final OrderCompensationService compensationService;
+    private final PageCountService pageCountService;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     // ============ CREATE OPERATIONS ============
 
@@ -171,11 +220,11 @@ public class OrderServiceImpl implements OrderService {
 
     /**
      * Submit an order to the external provider.
-     * Uses REQUIRES_NEW propagation to ensure this runs in a separate transaction.
-     * This allows the main create() transaction to commit first, releasing locks.
+     * Runs outside any transaction so no connection is held during the provider call;
+     * the lookup and the status update each commit on their own.
      */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderResponse submitOrderToProvider(Long orderId) {
         log.debug("Submitting order ID: {} to external provider", orderId);
 
@@ -216,23 +265,33 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public OrderResponse getById(Long id) {
         log.debug("Getting order by ID: {}", id);
-        Order order = findOrderById(id);
-        return orderMapper.toResponse(order);
+        Optional<Order> order = orderRepository.findById(id);
+        if (order.isPresent()) {
+            return orderMapper.toResponse(order.get());
+        }
+        return orderMapper.toResponse(findArchivedOrderById(id));
     }
 
     @Override
     public OrderDetailResponse getDetailById(Long id) {
         log.debug("Getting order detail by ID: {}", id);
-        Order order = findOrderById(id);
-        return orderMapper.toDetailResponse(order);
+        Optional<Order> order = orderRepository.findById(id);
+        if (order.isPresent()) {
+            return orderMapper.toDetailResponse(order.get());
+        }
+        return orderMapper.toDetailResponse(findArchivedOrderById(id));
     }
 
     @Override
     public OrderResponse getByProviderOrderId(String providerOrderId) {
         log.debug("Getting order by provider order ID: {}", providerOrderId);
-        Order order = orderRepository.findByProviderOrderId(providerOrderId)
+        Optional<Order> order = orderRepository.findByProviderOrderId(providerOrderId);
+        if (order.isPresent()) {
+            return orderMapper.toResponse(order.get());
+        }
+        OrderArchive archived = orderArchiveRepository.findByProviderOrderId(providerOrderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "providerOrderId", providerOrderId));
-        return orderMapper.toResponse(order);
+        return orderMapper.toResponse(archived);
     }
 
     // ============ USER ORDER QUERIES ============
@@ -241,22 +300,36 @@ public class OrderServiceImpl implements OrderService {
     public List<OrderResponse> getByUser(Long userId) {
         log.debug("Getting orders for user ID: {}", userId);
         List<Order> orders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        return orderMapper.toResponseList(orders);
+        List<OrderResponse> responses = new ArrayList<>(orderMapper.toResponseList(orders));
+        responses.addAll(orderMapper.toArchivedResponseList(
+                orderArchiveRepository.findByUserIdOrderByCreatedAtDesc(userId)));
+        responses.sort(Comparator.comparing(OrderResponse::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return responses;
     }
 
     @Override
     public PageResponse<OrderResponse> getByUserPaginated(Long userId, Pageable pageable) {
         log.debug("Getting paginated orders for user ID: {}", userId);
-        Page<Order> page = orderRepository.findByUserId(userId, pageable);
-        List<OrderResponse> content = orderMapper.toResponseList(page.getContent());
-        return pageMapper.toPageResponse(page, content);
+        return mergeWithArchive(pageable, "user_id = ?", new Object[]{userId},
+                slice -> pageCountService.countFiltered("orders_history:user:" + userId,
+                        "SELECT 1 FROM orders WHERE user_id = ? UNION ALL SELECT 1 FROM orders_archive WHERE user_id = ?",
+                        new Object[]{userId, userId}, slice,
+                        () -> orderRepository.countByUserId(userId) + orderArchiveRepository.countByUserId(userId)));
     }
 
     @Override
     public List<OrderResponse> getByUserAndStatus(Long userId, OrderStatus status) {
         log.debug("Getting orders for user ID: {} with status: {}", userId, status);
         List<Order> orders = orderRepository.findByUserIdAndStatusOrderByCreatedAtDesc(userId, status);
-        return orderMapper.toResponseList(orders);
+        if (!status.isFinal()) {
+            // Only final orders are ever archived
+            return orderMapper.toResponseList(orders);
+        }
+        List<OrderResponse> responses = new ArrayList<>(orderMapper.toResponseList(orders));
+        responses.addAll(orderMapper.toArchivedResponseList(
+                orderArchiveRepository.findByUserIdAndStatusOrderByCreatedAtDesc(userId, status)));
+        responses.sort(Comparator.comparing(OrderResponse::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return responses;
     }
 
     @Override
@@ -285,9 +358,20 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public PageResponse<OrderResponse> getByStatusPaginated(OrderStatus status, Pageable pageable) {
         log.debug("Getting paginated orders by status: {}", status);
-        Page<Order> page = orderRepository.findByStatus(status, pageable);
-        List<OrderResponse> content = orderMapper.toResponseList(page.getContent());
-        return pageMapper.toPageResponse(page, content);
+        if (!status.isFinal()) {
+            // Only final orders are ever archived
+            Slice<Order> slice = orderRepository.findSliceByStatus(status, pageable);
+            PageTotal total = pageCountService.countFiltered("orders:status:" + status,
+                    "SELECT 1 FROM orders WHERE status = CAST(? AS order_status_enum)", new Object[]{status.name()},
+                    slice, () -> orderRepository.countByStatus(status));
+            return pageMapper.toPageResponse(slice, orderMapper.toResponseList(slice.getContent()), total);
+        }
+        return mergeWithArchive(pageable, "status = CAST(? AS order_status_enum)", new Object[]{status.name()},
+                slice -> pageCountService.countFiltered("orders_history:status:" + status,
+                        "SELECT 1 FROM orders WHERE status = CAST(? AS order_status_enum) "
+                                + "UNION ALL SELECT 1 FROM orders_archive WHERE status = CAST(? AS order_status_enum)",
+                        new Object[]{status.name(), status.name()}, slice,
+                        () -> orderRepository.countByStatus(status) + orderArchiveRepository.countByStatus(status)));
     }
 
     @Override
@@ -316,15 +400,22 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public List<OrderResponse> getOrdersBetweenDates(LocalDateTime start, LocalDateTime end) {
         log.debug("Getting orders between {} and {}", start, end);
-        List<Order> orders = orderRepository.findOrdersBetweenDates(start, end);
-        return orderMapper.toResponseList(orders);
+        List<OrderResponse> responses = new ArrayList<>(
+                orderMapper.toResponseList(orderRepository.findOrdersBetweenDates(start, end)));
+        responses.addAll(orderMapper.toArchivedResponseList(orderArchiveRepository.findOrdersBetweenDates(start, end)));
+        responses.sort(Comparator.comparing(OrderResponse::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return responses;
     }
 
     @Override
     public List<OrderResponse> getCompletedOrdersBetweenDates(LocalDateTime start, LocalDateTime end) {
         log.debug("Getting completed orders between {} and {}", start, end);
-        List<Order> orders = orderRepository.findCompletedOrdersBetweenDates(start, end);
-        return orderMapper.toResponseList(orders);
+        List<OrderResponse> responses = new ArrayList<>(
+                orderMapper.toResponseList(orderRepository.findCompletedOrdersBetweenDates(start, end)));
+        responses.addAll(orderMapper.toArchivedResponseList(
+                orderArchiveRepository.findCompletedOrdersBetweenDates(start, end)));
+        responses.sort(Comparator.comparing(OrderResponse::getCompletedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return responses;
     }
 
     // ============ REFILL MANAGEMENT ============
@@ -448,19 +539,19 @@ public class OrderServiceImpl implements OrderService {
         }
 
         // Calculate refund for undelivered portion
-        BigDecimal refundAmount = BigDecimal.ZERO;
+        Money refund = Money.ZERO;
         if (effectiveRemains > 0) {
-            refundAmount = order.getPricePerK()
-                    .multiply(BigDecimal.valueOf(effectiveRemains))
-                    .divide(BigDecimal.valueOf(1000), 4, RoundingMode.HALF_UP);
+            refund = Money.of(order.getPricePerK()).perThousand(effectiveRemains);
 
             // Ensure refund does not exceed original charge (safety check)
-            if (refundAmount.compareTo(order.getTotalCharge()) > 0) {
+            Money totalCharge = Money.of(order.getTotalCharge());
+            if (refund.isGreaterThan(totalCharge)) {
                 log.warn("Calculated refund {} exceeds total charge {} for order {}. Capping to total charge.",
-                        refundAmount, order.getTotalCharge(), id);
-                refundAmount = order.getTotalCharge();
+                        refund, totalCharge, id);
+                refund = totalCharge;
             }
         }
+        BigDecimal refundAmount = refund.toBigDecimal();
 
         // Update order status and remains (use effective remains for consistency)
         order.setStatus(OrderStatus.PARTIAL);
@@ -472,10 +563,10 @@ public class OrderServiceImpl implements OrderService {
         order.setRefillDeadline(null);
 
         // Process partial refund if there's an amount to refund
-        if (refundAmount.compareTo(BigDecimal.ZERO) > 0) {
+        if (refund.signum() > 0) {
             User user = order.getUser();
             BigDecimal balanceBefore = user.getBalance();
-            BigDecimal balanceAfter = balanceBefore.add(refundAmount);
+            BigDecimal balanceAfter = Money.of(balanceBefore).add(refund).toBigDecimal();
             user.setBalance(balanceAfter);
             userRepository.save(user);
 
@@ -574,56 +665,88 @@ public class OrderServiceImpl implements OrderService {
     }
 
     // ============ STATISTICS ============
+    // Live and archived totals are added: only final orders are ever archived
+
+    @Override
+    public long countAll() {
+        return orderRepository.count() + orderArchiveRepository.count();
+    }
+
+    @Override
+    public Map<OrderStatus, Long> countAllByStatus() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (List<Object[]> rows : List.of(orderRepository.countOrdersByStatus(),
+                orderArchiveRepository.countOrdersByStatus())) {
+            for (Object[] row : rows) {
+                counts.merge((OrderStatus) row[0], (Long) row[1], Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public long countBetweenDates(LocalDateTime start, LocalDateTime end) {
+        return orderRepository.countCreatedBetween(start, end) + orderArchiveRepository.countCreatedBetween(start, end);
+    }
+
+    @Override
+    public long countByUserSince(Long userId, LocalDateTime since) {
+        return orderRepository.countByUserIdAndCreatedAtAfter(userId, since)
+                + orderArchiveRepository.countByUserIdAndCreatedAtAfter(userId, since);
+    }
 
     @Override
     public long countByStatus(OrderStatus status) {
-        return orderRepository.countByStatus(status);
+        long live = orderRepository.countByStatus(status);
+        return status.isFinal() ? live + orderArchiveRepository.countByStatus(status) : live;
     }
 
     @Override
     public long countByUser(Long userId) {
-        return orderRepository.countByUserId(userId);
+        return orderRepository.countByUserId(userId) + orderArchiveRepository.countByUserId(userId);
     }
 
     @Override
     public long countByUserAndStatus(Long userId, OrderStatus status) {
-        return orderRepository.countByUserIdAndStatus(userId, status);
+        long live = orderRepository.countByUserIdAndStatus(userId, status);
+        return status.isFinal() ? live + orderArchiveRepository.countByUserIdAndStatus(userId, status) : live;
     }
 
     @Override
     public BigDecimal getTotalRevenue() {
-        BigDecimal revenue = orderRepository.getTotalRevenue();
-        return revenue != null ? revenue : BigDecimal.ZERO;
+        return sum(orderRepository.getTotalRevenue(), orderArchiveRepository.getTotalRevenue());
     }
 
     @Override
     public BigDecimal getTotalCost() {
-        BigDecimal cost = orderRepository.getTotalCost();
-        return cost != null ? cost : BigDecimal.ZERO;
+        return sum(orderRepository.getTotalCost(), orderArchiveRepository.getTotalCost());
     }
 
     @Override
     public BigDecimal getTotalProfit() {
-        BigDecimal profit = orderRepository.getTotalProfit();
-        return profit != null ? profit : BigDecimal.ZERO;
+        return sum(orderRepository.getTotalProfit(), orderArchiveRepository.getTotalProfit());
     }
 
     @Override
     public BigDecimal getRevenueBetweenDates(LocalDateTime start, LocalDateTime end) {
-        BigDecimal revenue = orderRepository.getRevenueBetweenDates(start, end);
-        return revenue != null ? revenue : BigDecimal.ZERO;
+        return sum(orderRepository.getRevenueBetweenDates(start, end),
+                orderArchiveRepository.getRevenueBetweenDates(start, end));
     }
 
     @Override
     public BigDecimal getProfitBetweenDates(LocalDateTime start, LocalDateTime end) {
-        BigDecimal profit = orderRepository.getProfitBetweenDates(start, end);
-        return profit != null ? profit : BigDecimal.ZERO;
+        return sum(orderRepository.getProfitBetweenDates(start, end),
+                orderArchiveRepository.getProfitBetweenDates(start, end));
     }
 
     @Override
     public BigDecimal getAverageOrderValue() {
-        BigDecimal avg = orderRepository.getAverageOrderValue();
-        return avg != null ? avg : BigDecimal.ZERO;
+        // Averages of the two tables cannot be combined: divide the summed revenue by the summed count
+        long completed = countByStatus(OrderStatus.COMPLETED);
+        if (completed == 0) {
+            return BigDecimal.ZERO;
+        }
+        return getTotalRevenue().divide(BigDecimal.valueOf(completed), 4, RoundingMode.HALF_UP);
     }
 
     // ============ SUMMARIES ============
@@ -642,9 +765,111 @@ public class OrderServiceImpl implements OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
     }
 
+    private OrderArchive findArchivedOrderById(Long id) {
+        return orderArchiveRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+    }
+
+    /**
+     * Builds a history page over orders and orders_archive merged in the requested sort order.
+     * PostgreSQL merges, sorts and pages both tables in one statement and returns the IDs of the
+     * page; the entities of the page are then loaded by ID from the table each one lives in.
+     *
+     * @param pageable Requested page
+     * @param filter   SQL condition selecting the rows of the history in either table
+     * @param args     Bind parameters of the filter
+     * @param total    Total of the history, given the page read
+     * @return Page combining live and archived orders
+     * @throws BadRequestException if the sort is on a property the merge cannot compare,
+     *                             or the page starts beyond MAX_HISTORY_OFFSET
+     */
+    private PageResponse<OrderResponse> mergeWithArchive(Pageable pageable, String filter, Object[] args,
+                                                         Function<Slice<OrderResponse>, PageTotal> total) {
+        Sort sort = historySort(pageable.getSort());
+        if (pageable.getOffset() > MAX_HISTORY_OFFSET) {
+            throw new BadRequestException("Order history pages cannot start beyond row " + MAX_HISTORY_OFFSET
+                    + "; filter by status to narrow the listing");
+        }
+
+        Object[] params = new Object[args.length * 2 + 2];
+        System.arraycopy(args, 0, params, 0, args.length);
+        System.arraycopy(args, 0, params, args.length, args.length);
+        // One extra row tells whether a next page exists
+        params[params.length - 2] = pageable.getPageSize() + 1;
+        params[params.length - 1] = pageable.getOffset();
+        List<HistoryRow> rows = jdbcTemplate.query(HISTORY_PAGE_SQL.formatted(filter, orderBy(sort)),
+                (rs, rowNum) -> new HistoryRow(rs.getLong("id"), rs.getBoolean("archived")), params);
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<HistoryRow> page = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        List<Long> liveIds = page.stream().filter(row -> !row.archived()).map(HistoryRow::id).toList();
+        List<Long> archivedIds = page.stream().filter(HistoryRow::archived).map(HistoryRow::id).toList();
+        Map<Long, OrderResponse> responses = new HashMap<>();
+        if (!liveIds.isEmpty()) {
+            orderRepository.findAllById(liveIds)
+                    .forEach(order -> responses.put(order.getId(), orderMapper.toResponse(order)));
+        }
+        if (!archivedIds.isEmpty()) {
+            orderArchiveRepository.findAllById(archivedIds)
+                    .forEach(order -> responses.put(order.getId(), orderMapper.toResponse(order)));
+        }
+        // Rows archived or deleted since the page was read are left out
+        List<OrderResponse> content = page.stream()
+                .map(row -> responses.get(row.id()))
+                .filter(Objects::nonNull)
+                .toList();
+
+        Slice<OrderResponse> combined = new SliceImpl<>(content, pageable, hasNext);
+        return pageMapper.toPageResponse(combined, content, total.apply(combined));
+    }
+
+    /**
+     * Sort of a merged history: newest first by default, with the ID as tie-breaker so every
+     * page agrees on the order of equal keys.
+     */
+    private static Sort historySort(Sort requested) {
+        Sort sort = requested.isSorted() ? requested : Sort.by(Sort.Direction.DESC, "createdAt");
+        for (Sort.Order order : sort) {
+            if (!HISTORY_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new BadRequestException("Order history cannot be sorted by " + order.getProperty()
+                        + "; supported: " + HISTORY_SORT_PROPERTIES);
+            }
+        }
+        return sort.getOrderFor("id") != null ? sort : sort.and(Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    /**
+     * ORDER BY clause of a history sort. Only whitelisted properties reach this point.
+     */
+    private static String orderBy(Sort sort) {
+        StringJoiner clause = new StringJoiner(", ");
+        for (Sort.Order order : sort) {
+            clause.add(historyColumn(order.getProperty()) + (order.isDescending() ? " DESC" : " ASC"));
+        }
+        return clause.toString();
+    }
+
+    private static String historyColumn(String property) {
+        return switch (property) {
+            case "id" -> "id";
+            case "createdAt" -> "created_at";
+            case "updatedAt" -> "updated_at";
+            case "completedAt" -> "completed_at";
+            case "totalCharge" -> "total_charge";
+            case "quantity" -> "quantity";
+            default -> throw new IllegalArgumentException("Unsupported sort property: " + property);
+        };
+    }
+
+    private record HistoryRow(Long id, boolean archived) {
+    }
+
+    private static BigDecimal sum(BigDecimal live, BigDecimal archived) {
+        BigDecimal total = live != null ? live : BigDecimal.ZERO;
+        return archived != null ? total.add(archived) : total;
+    }
+
     private BigDecimal calculateTotalAmount(BigDecimal pricePerK, Integer quantity) {
-        return pricePerK
-                .multiply(BigDecimal.valueOf(quantity))
-                .divide(BigDecimal.valueOf(1000), 4, RoundingMode.HALF_UP);
+        return Money.of(pricePerK).perThousand(quantity).toBigDecimal();
     }
 }
@@ -0,0 +1,144 @@
+package com.antipanel.backend.service.impl;
+
+import com.antipanel.backend.config.PaginationProperties;
+import com.antipanel.backend.dto.common.PageTotal;
+import com.antipanel.backend.service.PageCountService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of PageCountService.
+ * Small results are counted exactly; large results use PostgreSQL planner
+ * statistics so admin listings do not pay a full COUNT(*) per page load.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PageCountServiceImpl implements PageCountService {
+
+    /**
+     * Matches the row estimate of the top plan node, e.g. "(cost=0.00..35.50 rows=2550 width=4)"
+     */
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PaginationProperties paginationProperties;
+
+    private final Map<String, CachedCount> countCache = new ConcurrentHashMap<>();
+
+    @Override
+    public PageTotal countTable(String table, Slice<?> slice, LongSupplier exactCount) {
+        return resolve("table:" + table, slice, exactCount, () -> estimateTableRows(table));
+    }
+
+    @Override
+    public PageTotal countFiltered(String cacheKey, String estimateSql, Object[] args,
+                                   Slice<?> slice, LongSupplier exactCount) {
+        return resolve(cacheKey, slice, exactCount, () -> estimatePlanRows(estimateSql, args));
+    }
+
+    @Override
+    public PageTotal countFiltered(String cacheKey, String estimateSql, Object[] args, LongSupplier exactCount) {
+        return estimate(cacheKey, 0, exactCount, () -> estimatePlanRows(estimateSql, args));
+    }
+
+    // ============ HELPER METHODS ============
+
+    private PageTotal resolve(String cacheKey, Slice<?> slice, LongSupplier exactCount, LongSupplier estimator) {
+        long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements();
+
+        // On the last page the total is known without counting
+        if (!slice.hasNext() && (slice.hasContent() || slice.getNumber() == 0)) {
+            return PageTotal.exact(seen);
+        }
+
+        // A slice with a next page proves there is at least one more element
+        long lowerBound = slice.hasNext() ? seen + 1 : 0;
+        return estimate(cacheKey, lowerBound, exactCount, estimator);
+    }
+
+    private PageTotal estimate(String cacheKey, long lowerBound, LongSupplier exactCount, LongSupplier estimator) {
+        if (!paginationProperties.approximateCounts()) {
+            return PageTotal.exact(exactCount.getAsLong());
+        }
+
+        long now = System.nanoTime();
+        CachedCount cached = cacheKey != null ? countCache.get(cacheKey) : null;
+        if (cached != null && cached.isFresh(now, paginationProperties.countCacheTtl().toNanos())) {
+            return PageTotal.approximate(Math.max(cached.count(), lowerBound));
+        }
+
+        long estimate = estimateSafely(estimator);
+        if (estimate < paginationProperties.exactCountThreshold()) {
+            return PageTotal.exact(exactCount.getAsLong());
+        }
+
+        if (cacheKey != null) {
+            remember(cacheKey, new CachedCount(estimate, now));
+        }
+        log.debug("Using approximate total {} for {}", estimate, cacheKey);
+        return PageTotal.approximate(Math.max(estimate, lowerBound));
+    }
+
+    /**
+     * Run an estimator, returning -1 (unknown) if the estimate cannot be obtained.
+     */
+    private long estimateSafely(LongSupplier estimator) {
+        try {
+            return estimator.getAsLong();
+        } catch (DataAccessException e) {
+            log.warn("Row estimate failed, falling back to exact count: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    private long estimateTableRows(String table) {
+        // reltuples is -1 for tables that have never been analyzed
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)",
+                Long.class, table);
+        return rows != null ? rows : -1;
+    }
+
+    private long estimatePlanRows(String sql, Object[] args) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args);
+        if (plan.isEmpty()) {
+            return -1;
+        }
+        Matcher matcher = PLAN_ROWS.matcher(plan.getFirst());
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private void remember(String cacheKey, CachedCount count) {
+        if (countCache.size() >= paginationProperties.countCacheMaxEntries()) {
+            long ttlNanos = paginationProperties.countCacheTtl().toNanos();
+            long now = System.nanoTime();
+            countCache.values().removeIf(entry -> !entry.isFresh(now, ttlNanos));
+            if (countCache.size() >= paginationProperties.countCacheMaxEntries()) {
+                countCache.clear();
+            }
+        }
+        countCache.put(cacheKey, count);
+    }
+
+    /**
+     * Estimated total with the time it was obtained.
+     */
+    private record CachedCount(long count, long createdAtNanos) {
+
+        boolean isFresh(long nowNanos, long ttlNanos) {
+            return nowNanos - createdAtNanos < ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.antipanel.backend.service.impl;
+
+import com.antipanel.backend.config.PartitioningProperties;
+import com.antipanel.backend.service.PartitionMaintenanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of PartitionMaintenanceService.
+ * Delegates to the ensure_monthly_partitions() database function created in V12.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionMaintenanceServiceImpl implements PartitionMaintenanceService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitioningProperties partitioningProperties;
+
+    @Override
+    @Transactional
+    public int ensureFuturePartitions() {
+        int created = 0;
+        for (String table : partitioningProperties.monthlyTables()) {
+            Integer count = jdbcTemplate.queryForObject(
+                    "SELECT ensure_monthly_partitions(?, ?)", Integer.class,
+                    table, partitioningProperties.monthsAhead());
+            if (count != null && count > 0) {
+                log.info("Created {} monthly partitions for table {}", count, table);
+                created += count;
+            }
+        }
+        return created;
+    }
+}
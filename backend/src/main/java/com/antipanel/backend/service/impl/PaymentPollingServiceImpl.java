@@ -0,0 +1,146 @@
+package com.antipanel.backend.service.impl;
+
+import com.antipanel.backend.config.PaymentPollingProperties;
+import com.antipanel.backend.service.InvoiceService;
+import com.antipanel.backend.service.PaymentPollingService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of PaymentPollingService.
+ *
+ * Due invoices are claimed with one UPDATE ... RETURNING that also moves their next_check_at
+ * out by initialDelay * 2^attempts (capped at maxDelay), so a verification that fails or hangs
+ * is retried later without extra bookkeeping, and other nodes skip invoices being verified.
+ * The claimed invoices are then verified concurrently, at most parallelism at a time.
+ *
+ * Metrics: payments.polling.backlog (due invoices at the last run) and payments.polling.verification
+ * (verification latency). Stale pending invoices are expired by MaintenanceService.
+ */
+@Service
+@Slf4j
+public class PaymentPollingServiceImpl implements PaymentPollingService {
+
+    /**
+     * Highest backoff exponent; the delay is capped at maxDelay long before this.
+     */
+    private static final int MAX_BACKOFF_EXPONENT = 20;
+
+    private static final String POLLABLE = """
+            status IN ('PENDING', 'PROCESSING') AND processor_invoice_id IS NOT NULL
+            """;
+
+    private static final String BACKLOG_SQL = """
+            SELECT COUNT(*) FROM invoices
+            WHERE %s AND (next_check_at IS NULL OR next_check_at <= NOW())
+            """.formatted(POLLABLE.strip());
+
+    /**
+     * Claims due invoices and schedules their next check. SKIP LOCKED leaves invoices
+     * locked by a completing payment or another node's claim to the next run.
+     */
+    private static final String CLAIM_SQL = """
+            UPDATE invoices
+            SET next_check_at = NOW() + LEAST(
+                    make_interval(secs => ? * power(2, LEAST(check_attempts, %d))),
+                    make_interval(secs => ?)),
+                check_attempts = check_attempts + 1
+            WHERE id IN (
+                SELECT id FROM invoices
+                WHERE %s AND (next_check_at IS NULL OR next_check_at <= NOW())
+                ORDER BY next_check_at NULLS FIRST
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING id
+            """.formatted(MAX_BACKOFF_EXPONENT, POLLABLE.strip());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InvoiceService invoiceService;
+    private final PaymentPollingProperties properties;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final Timer verificationTimer;
+
+    public PaymentPollingServiceImpl(JdbcTemplate jdbcTemplate,
+                                     InvoiceService invoiceService,
+                                     PaymentPollingProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.invoiceService = invoiceService;
+        this.properties = properties;
+        Gauge.builder("payments.polling.backlog", backlog, AtomicLong::get)
+                .description("Invoices due for payment verification at the last polling run")
+                .register(meterRegistry);
+        this.verificationTimer = Timer.builder("payments.polling.verification")
+                .description("Time to verify one invoice with Paymento")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int verifyDueInvoices() {
+        Long due = jdbcTemplate.queryForObject(BACKLOG_SQL, Long.class);
+        backlog.set(due != null ? due : 0);
+        if (backlog.get() == 0) {
+            return 0;
+        }
+
+        List<Long> claimed = jdbcTemplate.queryForList(CLAIM_SQL, Long.class,
+                (double) properties.initialDelay().toSeconds(),
+                (double) properties.maxDelay().toSeconds(),
+                properties.batchSize());
+        log.debug("Verifying {} of {} due invoices", claimed.size(), backlog.get());
+
+        int verified = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(properties.parallelism(),
+                Thread.ofVirtual().name("payment-polling-", 0).factory())) {
+            List<Future<Boolean>> verifications = new ArrayList<>(claimed.size());
+            for (Long invoiceId : claimed) {
+                verifications.add(executor.submit(() -> verify(invoiceId)));
+            }
+            for (Future<Boolean> verification : verifications) {
+                if (await(verification)) {
+                    verified++;
+                }
+            }
+        }
+        return verified;
+    }
+
+    // ============ HELPER METHODS ============
+
+    private boolean verify(Long invoiceId) {
+        Timer.Sample sample = Timer.start();
+        try {
+            invoiceService.checkPaymentStatus(invoiceId);
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to check payment status for invoice {}", invoiceId, e);
+            return false;
+        } finally {
+            sample.stop(verificationTimer);
+        }
+    }
+
+    private static boolean await(Future<Boolean> verification) {
+        try {
+            return verification.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+}
@@ -10,8 +10,10 @@ import com.antipanel.backend.exception.ResourceNotFoundException;
 import com.antipanel.backend.mapper.PaymentProcessorMapper;
 import com.antipanel.backend.repository.PaymentProcessorRepository;
 import com.antipanel.backend.service.PaymentProcessorService;
+import com.antipanel.backend.service.ReferenceDataChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +30,7 @@ import java.util.List;
 public class PaymentProcessorServiceImpl implements PaymentProcessorService {
 
     private final PaymentProcessorRepository paymentProcessorRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final PaymentProcessorMapper paymentProcessorMapper;
 
     // ============ CRUD OPERATIONS ============
@@ -44,6 +47,7 @@ public class PaymentProcessorServiceImpl implements PaymentProcessorService {
         PaymentProcessor processor = paymentProcessorMapper.toEntity(request);
 
         PaymentProcessor saved = paymentProcessorRepository.save(processor);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(PaymentProcessor.class, saved.getId()));
         log.info("Created payment processor with ID: {}", saved.getId());
 
         return paymentProcessorMapper.toResponse(saved);
@@ -73,6 +77,7 @@ public class PaymentProcessorServiceImpl implements PaymentProcessorService {
         paymentProcessorMapper.updateEntityFromDto(request, processor);
 
         PaymentProcessor saved = paymentProcessorRepository.save(processor);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(PaymentProcessor.class, saved.getId()));
         log.info("Updated payment processor with ID: {}", saved.getId());
 
         return paymentProcessorMapper.toResponse(saved);
@@ -84,6 +89,7 @@ public class PaymentProcessorServiceImpl implements PaymentProcessorService {
         log.debug("Deleting payment processor with ID: {}", id);
         PaymentProcessor processor = findPaymentProcessorById(id);
         paymentProcessorRepository.delete(processor);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(PaymentProcessor.class, id));
         log.info("Deleted payment processor with ID: {}", id);
     }
 
@@ -126,6 +132,7 @@ public class PaymentProcessorServiceImpl implements PaymentProcessorService {
         PaymentProcessor processor = findPaymentProcessorById(id);
         processor.setIsActive(!processor.getIsActive());
         PaymentProcessor saved = paymentProcessorRepository.save(processor);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(PaymentProcessor.class, saved.getId()));
         log.info("Toggled active status for payment processor ID: {} to {}", id, saved.getIsActive());
         return paymentProcessorMapper.toResponse(saved);
     }
@@ -137,6 +144,7 @@ public class PaymentProcessorServiceImpl implements PaymentProcessorService {
         PaymentProcessor processor = findPaymentProcessorById(id);
         processor.setIsActive(true);
         PaymentProcessor saved = paymentProcessorRepository.save(processor);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(PaymentProcessor.class, saved.getId()));
         log.info("Activated payment processor ID: {}", id);
         return paymentProcessorMapper.toResponse(saved);
     }
@@ -148,6 +156,7 @@ public class PaymentProcessorServiceImpl implements PaymentProcessorService {
         PaymentProcessor processor = findPaymentProcessorById(id);
         processor.setIsActive(false);
         PaymentProcessor saved = paymentProcessorRepository.save(processor);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(PaymentProcessor.class, saved.getId()));
         log.info("Deactivated payment processor ID: {}", id);
         return paymentProcessorMapper.toResponse(saved);
     }
@@ -0,0 +1,165 @@
+package com.antipanel.backend.service.impl;
+
+import com.antipanel.backend.cache.InvalidationHandler;
+import com.antipanel.backend.cache.InvalidationMessage;
+import com.antipanel.backend.dto.order.OrderQuoteItem;
+import com.antipanel.backend.dto.order.OrderQuoteLine;
+import com.antipanel.backend.dto.order.OrderQuoteRequest;
+import com.antipanel.backend.dto.order.OrderQuoteResponse;
+import com.antipanel.backend.entity.Service;
+import com.antipanel.backend.repository.ServiceRepository;
+import com.antipanel.backend.service.CatalogChangedEvent;
+import com.antipanel.backend.service.PricingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of PricingService.
+ * The table is loaded on first use and swapped atomically on every rebuild: readers never lock
+ * and always see one consistent catalog. Local catalog changes rebuild it after commit, changes
+ * made on other nodes when InvalidationListener receives them; PricingRefreshTask is a safety net.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class PricingServiceImpl implements PricingService, InvalidationHandler {
+
+    private final ServiceRepository serviceRepository;
+
+    private volatile Map<Integer, ServicePrice> table;
+
+    @Override
+    public Optional<ServicePrice> find(Integer serviceId) {
+        return Optional.ofNullable(table().get(serviceId));
+    }
+
+    @Override
+    public OrderQuoteResponse quote(OrderQuoteRequest request) {
+        Map<Integer, ServicePrice> prices = table();
+        List<OrderQuoteLine> lines = new ArrayList<>(request.getItems().size());
+        BigDecimal total = BigDecimal.ZERO;
+        boolean orderable = true;
+
+        for (OrderQuoteItem item : request.getItems()) {
+            OrderQuoteLine line = quoteLine(prices.get(item.getServiceId()), item);
+            lines.add(line);
+            if (line.isOrderable()) {
+                total = total.add(line.getCharge());
+            } else {
+                orderable = false;
+            }
+        }
+
+        return OrderQuoteResponse.builder()
+                .lines(lines)
+                .total(total)
+                .orderable(orderable)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public synchronized void refresh() {
+        // Serialized so a slow rebuild cannot overwrite a newer one
+        List<Service> services = serviceRepository.findAllWithProviderService();
+        table = services.stream()
+                .map(PricingServiceImpl::toPrice)
+                .collect(Collectors.toUnmodifiableMap(ServicePrice::serviceId, Function.identity()));
+        log.debug("Pricing table rebuilt with {} services", services.size());
+    }
+
+    /**
+     * Rebuild the table once the catalog change is committed.
+     * A provider sync publishes one event per service; they are collapsed into a single
+     * rebuild per transaction.
+     */
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return; // Rebuild already scheduled for this transaction
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PricingServiceImpl.this);
+            }
+        });
+    }
+
+    @Override
+    public void invalidate(InvalidationMessage message) {
+        if (message instanceof InvalidationMessage.Catalog) {
+            refresh();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        refresh();
+    }
+
+    // ============ HELPER METHODS ============
+
+    private Map<Integer, ServicePrice> table() {
+        Map<Integer, ServicePrice> current = table;
+        if (current == null) {
+            refresh();
+            current = table;
+        }
+        return current;
+    }
+
+    private static OrderQuoteLine quoteLine(ServicePrice price, OrderQuoteItem item) {
+        OrderQuoteLine.OrderQuoteLineBuilder line = OrderQuoteLine.builder()
+                .serviceId(item.getServiceId())
+                .quantity(item.getQuantity());
+        if (price == null) {
+            return line.error("Service not found").build();
+        }
+
+        line.serviceName(price.name()).pricePerK(price.pricePerK().toBigDecimal());
+        if (!price.active()) {
+            return line.error("Service is not active").build();
+        }
+        if (!price.isQuantityValid(item.getQuantity())) {
+            return line.error(String.format("Quantity must be between %d and %d",
+                    price.minQuantity(), price.maxQuantity())).build();
+        }
+        return line.charge(price.chargeFor(item.getQuantity())).orderable(true).build();
+    }
+
+    private static ServicePrice toPrice(Service service) {
+        return new ServicePrice(
+                service.getId(),
+                service.getName(),
+                Boolean.TRUE.equals(service.getIsActive()),
+                service.getMinQuantity(),
+                service.getMaxQuantity(),
+                service.getPricePerK(),
+                service.getProviderService().getCostPerK(),
+                service.getRefillDays() != null ? service.getRefillDays() : 0,
+                service.getProviderService().getId());
+    }
+}
@@ -11,9 +11,12 @@ import com.antipanel.backend.exception.ResourceNotFoundException;
 import com.antipanel.backend.mapper.ProviderServiceMapper;
 import com.antipanel.backend.repository.ProviderRepository;
 import com.antipanel.backend.repository.ProviderServiceRepository;
+import com.antipanel.backend.service.CatalogChangedEvent;
 import com.antipanel.backend.service.ProviderCatalogService;
+import com.antipanel.backend.service.ReferenceDataChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,6 +36,7 @@ public class ProviderCatalogServiceImpl implements ProviderCatalogService {
     private final ProviderServiceRepository providerServiceRepository;
     private final ProviderRepository providerRepository;
     private final ProviderServiceMapper providerServiceMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ============ CRUD OPERATIONS ============
 
@@ -57,6 +61,7 @@ public class ProviderCatalogServiceImpl implements ProviderCatalogService {
         providerService.setProvider(provider);
 
         ProviderService saved = providerServiceRepository.save(providerService);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ProviderService.class, saved.getId()));
         log.info("Created provider service with ID: {}", saved.getId());
 
         return providerServiceMapper.toResponse(saved);
@@ -87,7 +92,9 @@ public class ProviderCatalogServiceImpl implements ProviderCatalogService {
         providerServiceMapper.updateEntityFromDto(request, providerService);
 
         ProviderService saved = providerServiceRepository.save(providerService);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ProviderService.class, saved.getId()));
         log.info("Updated provider service with ID: {}", saved.getId());
+        eventPublisher.publishEvent(new CatalogChangedEvent());
 
         return providerServiceMapper.toResponse(saved);
     }
@@ -98,7 +105,9 @@ public class ProviderCatalogServiceImpl implements ProviderCatalogService {
         log.debug("Deleting provider service with ID: {}", id);
         ProviderService providerService = findProviderServiceById(id);
         providerServiceRepository.delete(providerService);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ProviderService.class, id));
         log.info("Deleted provider service with ID: {}", id);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
     }
 
     // ============ LISTING BY PROVIDER ============
@@ -141,6 +150,7 @@ public class ProviderCatalogServiceImpl implements ProviderCatalogService {
         ProviderService providerService = findProviderServiceById(id);
         providerService.setIsActive(!providerService.getIsActive());
         ProviderService saved = providerServiceRepository.save(providerService);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ProviderService.class, saved.getId()));
         log.info("Toggled active status for provider service ID: {} to {}", id, saved.getIsActive());
         return providerServiceMapper.toResponse(saved);
     }
@@ -152,6 +162,7 @@ public class ProviderCatalogServiceImpl implements ProviderCatalogService {
         ProviderService providerService = findProviderServiceById(id);
         providerService.setIsActive(true);
         ProviderService saved = providerServiceRepository.save(providerService);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ProviderService.class, saved.getId()));
         log.info("Activated provider service ID: {}", id);
         return providerServiceMapper.toResponse(saved);
     }
@@ -163,6 +174,7 @@ public class ProviderCatalogServiceImpl implements ProviderCatalogService {
         ProviderService providerService = findProviderServiceById(id);
         providerService.setIsActive(false);
         ProviderService saved = providerServiceRepository.save(providerService);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ProviderService.class, saved.getId()));
         log.info("Deactivated provider service ID: {}", id);
         return providerServiceMapper.toResponse(saved);
     }
@@ -176,7 +188,9 @@ public class ProviderCatalogServiceImpl implements ProviderCatalogService {
         ProviderService providerService = findProviderServiceById(id);
         providerService.setCostPerK(costPerK);
         ProviderService saved = providerServiceRepository.save(providerService);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ProviderService.class, saved.getId()));
         log.info("Updated cost for provider service ID: {}", id);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
         return providerServiceMapper.toResponse(saved);
     }
 
@@ -203,6 +217,7 @@ public class ProviderCatalogServiceImpl implements ProviderCatalogService {
         ProviderService providerService = findProviderServiceById(id);
         providerService.setLastSyncedAt(LocalDateTime.now());
         ProviderService saved = providerServiceRepository.save(providerService);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ProviderService.class, saved.getId()));
         log.info("Updated last synced for provider service ID: {}", id);
         return providerServiceMapper.toResponse(saved);
     }
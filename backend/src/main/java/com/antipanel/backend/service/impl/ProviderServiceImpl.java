@@ -10,8 +10,10 @@ import com.antipanel.backend.exception.ResourceNotFoundException;
 import com.antipanel.backend.mapper.ProviderMapper;
 import com.antipanel.backend.repository.ProviderRepository;
 import com.antipanel.backend.service.ProviderService;
+import com.antipanel.backend.service.ReferenceDataChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +31,7 @@ import java.util.stream.Collectors;
 public class ProviderServiceImpl implements ProviderService {
 
     private final ProviderRepository providerRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final ProviderMapper providerMapper;
 
     // ============ CRUD OPERATIONS ============
@@ -46,6 +49,7 @@ public class ProviderServiceImpl implements ProviderService {
         provider.setBalance(BigDecimal.ZERO);
 
         Provider saved = providerRepository.save(provider);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Provider.class, saved.getId()));
         log.info("Created provider with ID: {}", saved.getId());
 
         return providerMapper.toResponse(saved);
@@ -83,6 +87,7 @@ public class ProviderServiceImpl implements ProviderService {
         providerMapper.updateEntityFromDto(request, provider);
 
         Provider saved = providerRepository.save(provider);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Provider.class, saved.getId()));
         log.info("Updated provider with ID: {}", saved.getId());
 
         return providerMapper.toResponse(saved);
@@ -94,6 +99,7 @@ public class ProviderServiceImpl implements ProviderService {
         log.debug("Deleting provider with ID: {}", id);
         Provider provider = findProviderById(id);
         providerRepository.delete(provider);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Provider.class, id));
         log.info("Deleted provider with ID: {}", id);
     }
 
@@ -142,6 +148,7 @@ public class ProviderServiceImpl implements ProviderService {
         Provider provider = findProviderById(id);
         provider.setIsActive(!provider.getIsActive());
         Provider saved = providerRepository.save(provider);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Provider.class, saved.getId()));
         log.info("Toggled active status for provider ID: {} to {}", id, saved.getIsActive());
         return providerMapper.toResponse(saved);
     }
@@ -153,6 +160,7 @@ public class ProviderServiceImpl implements ProviderService {
         Provider provider = findProviderById(id);
         provider.setIsActive(true);
         Provider saved = providerRepository.save(provider);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Provider.class, saved.getId()));
         log.info("Activated provider ID: {}", id);
         return providerMapper.toResponse(saved);
     }
@@ -164,6 +172,7 @@ public class ProviderServiceImpl implements ProviderService {
         Provider provider = findProviderById(id);
         provider.setIsActive(false);
         Provider saved = providerRepository.save(provider);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Provider.class, saved.getId()));
         log.info("Deactivated provider ID: {}", id);
         return providerMapper.toResponse(saved);
     }
@@ -177,6 +186,7 @@ public class ProviderServiceImpl implements ProviderService {
         Provider provider = findProviderById(id);
         provider.setBalance(balance);
         Provider saved = providerRepository.save(provider);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Provider.class, saved.getId()));
         log.info("Updated balance for provider ID: {}", id);
         return providerMapper.toResponse(saved);
     }
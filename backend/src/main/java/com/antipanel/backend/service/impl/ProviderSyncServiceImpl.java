@@ -6,6 +6,7 @@ import com.antipanel.backend.dto.provider.api.DripfeedServiceDto;
 import com.antipanel.backend.dto.providerservice.ProviderServiceCreateRequest;
 import com.antipanel.backend.dto.providerservice.ProviderServiceResponse;
 import com.antipanel.backend.dto.providerservice.ProviderServiceUpdateRequest;
+import com.antipanel.backend.datasource.BackgroundWork;
 import com.antipanel.backend.entity.Provider;
 import com.antipanel.backend.exception.ResourceNotFoundException;
 import com.antipanel.backend.repository.ProviderRepository;
@@ -13,9 +14,11 @@ import com.antipanel.backend.repository.ProviderServiceRepository;
 import com.antipanel.backend.service.ProviderCatalogService;
 import com.antipanel.backend.service.ProviderService;
 import com.antipanel.backend.service.ProviderSyncService;
+import com.antipanel.backend.service.ReferenceDataChangedEvent;
 import com.antipanel.backend.service.provider.ProviderApiClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,8 +30,10 @@ import java.util.stream.Collectors;
 /**
  * Implementation of ProviderSyncService.
  * Handles synchronization of services and balance from external provider APIs.
+ * Runs on the background connection pool, admin-triggered syncs included.
  */
 @Service
+@BackgroundWork
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 @Slf4j
@@ -39,6 +44,7 @@ public class ProviderSyncServiceImpl implements ProviderSyncService {
     private final ProviderApiClient providerApiClient;
     private final ProviderService providerService;
     private final ProviderCatalogService providerCatalogService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -66,7 +72,13 @@ public class ProviderSyncServiceImpl implements ProviderSyncService {
         // Process each external service
         for (DripfeedServiceDto externalService : externalServices) {
             String serviceId = externalService.getServiceId().toString();
-            processedServiceIds.add(serviceId);
+            // Services created earlier in this loop are not flushed yet, so a repeated ID would
+            // pass the existence check in create and only fail at commit: keep its first entry
+            if (!processedServiceIds.add(serviceId)) {
+                log.warn("Provider {} listed service {} more than once, keeping the first entry",
+                        provider.getName(), serviceId);
+                continue;
+            }
 
             com.antipanel.backend.entity.ProviderService existingService = existingServices.get(serviceId);
 
@@ -88,6 +100,9 @@ public class ProviderSyncServiceImpl implements ProviderSyncService {
                     deactivatedCount, provider.getName());
         }
 
+        // Drop the provider services from the reference cache once the sync commits
+        eventPublisher.publishEvent(ReferenceDataChangedEvent.all(com.antipanel.backend.entity.ProviderService.class));
+
         log.info("Service sync completed for provider: {}. Total: {}, New: {}, Updated: {}, Deactivated: {}",
                 provider.getName(),
                 syncedServices.size(),
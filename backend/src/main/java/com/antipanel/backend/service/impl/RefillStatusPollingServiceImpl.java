@@ -0,0 +1,257 @@
+package com.antipanel.backend.service.impl;
+
+import com.antipanel.backend.config.RefillPollingProperties;
+import com.antipanel.backend.dto.provider.api.DripfeedRefillStatusResponse;
+import com.antipanel.backend.entity.OrderRefill;
+import com.antipanel.backend.entity.Provider;
+import com.antipanel.backend.entity.enums.RefillStatus;
+import com.antipanel.backend.exception.ProviderApiException;
+import com.antipanel.backend.repository.OrderRefillRepository;
+import com.antipanel.backend.service.RefillStatusPollingService;
+import com.antipanel.backend.service.provider.ProviderApiClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Implementation of RefillStatusPollingService.
+ *
+ * Each page of refills is loaded with its providers in one query and grouped by provider.
+ * Providers are queried concurrently on virtual threads, 100 refills per multi-refill status
+ * call. Panels that reject multi-refill calls are remembered and polled with single calls,
+ * at most providerConcurrency in flight per provider. Results are applied with one UPDATE
+ * per target status instead of one load and save per refill.
+ *
+ * No transaction is held while providers are called: the page query and the updates each
+ * run on their own, and the updates only touch refills that are still PROCESSING.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefillStatusPollingServiceImpl implements RefillStatusPollingService {
+
+    private static final int MAX_REFILLS_PER_CALL = 100;
+
+    private static final String COMPLETE_SQL = """
+            UPDATE order_refills
+            SET status = 'COMPLETED', completed_at = NOW()
+            WHERE id = ANY(?) AND status = 'PROCESSING'
+            """;
+
+    private static final String REJECT_SQL = """
+            UPDATE order_refills
+            SET status = 'REJECTED'
+            WHERE id = ANY(?) AND status = 'PROCESSING'
+            """;
+
+    private final OrderRefillRepository orderRefillRepository;
+    private final ProviderApiClient providerApiClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final RefillPollingProperties properties;
+
+    /**
+     * Providers that answered a multi-refill status call with an error but single calls without.
+     */
+    private final Set<Integer> singleStatusProviders = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public int updateProcessingRefills() {
+        int checked = 0;
+        int updated = 0;
+        long afterId = 0;
+
+        while (checked < properties.maxRefillsPerRun()) {
+            int pageSize = Math.min(properties.pageSize(), properties.maxRefillsPerRun() - checked);
+            List<OrderRefill> page = orderRefillRepository.findPageWithProviderByStatus(
+                    RefillStatus.PROCESSING, afterId, PageRequest.of(0, pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+
+            updated += applyStatuses(fetchStatuses(page));
+            checked += page.size();
+            afterId = page.getLast().getId();
+
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+
+        log.debug("Checked {} processing refills, {} changed", checked, updated);
+        return updated;
+    }
+
+    // ============ HELPER METHODS ============
+
+    /**
+     * Query the providers of a page concurrently.
+     *
+     * @return New status per refill ID, for refills whose status changed
+     */
+    private Map<Long, RefillStatus> fetchStatuses(List<OrderRefill> page) {
+        Map<Integer, List<OrderRefill>> byProvider = new LinkedHashMap<>();
+        for (OrderRefill refill : page) {
+            byProvider.computeIfAbsent(providerOf(refill).getId(), id -> new ArrayList<>()).add(refill);
+        }
+
+        Map<Long, RefillStatus> statuses = new ConcurrentHashMap<>();
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("refill-status-", 0).factory())) {
+            List<Future<?>> tasks = new ArrayList<>(byProvider.size());
+            for (List<OrderRefill> refills : byProvider.values()) {
+                tasks.add(executor.submit(() -> fetchProviderStatuses(refills, statuses)));
+            }
+            for (Future<?> task : tasks) {
+                awaitQuietly(task);
+            }
+        }
+        return statuses;
+    }
+
+    private void fetchProviderStatuses(List<OrderRefill> refills, Map<Long, RefillStatus> statuses) {
+        Provider provider = providerOf(refills.getFirst());
+        for (int from = 0; from < refills.size(); from += MAX_REFILLS_PER_CALL) {
+            List<OrderRefill> chunk = refills.subList(from, Math.min(from + MAX_REFILLS_PER_CALL, refills.size()));
+            try {
+                collect(chunk, fetchChunk(provider, chunk), statuses);
+            } catch (RuntimeException e) {
+                log.error("Failed to poll {} refills at provider {}: {}", chunk.size(), provider.getName(), e.getMessage());
+            }
+        }
+    }
+
+    private Map<String, DripfeedRefillStatusResponse> fetchChunk(Provider provider, List<OrderRefill> chunk) {
+        if (singleStatusProviders.contains(provider.getId())) {
+            return fetchOneByOne(provider, chunk);
+        }
+        try {
+            return providerApiClient.getMultipleRefillStatus(provider, providerRefillIds(chunk));
+        } catch (ProviderApiException e) {
+            log.debug("Multi-refill status failed at provider {}, falling back to single calls: {}",
+                    provider.getName(), e.getMessage());
+            Map<String, DripfeedRefillStatusResponse> responses = fetchOneByOne(provider, chunk);
+            if (!responses.isEmpty()) {
+                singleStatusProviders.add(provider.getId());
+                log.info("Provider {} does not support multi-refill status, using single calls", provider.getName());
+            }
+            return responses;
+        }
+    }
+
+    /**
+     * Single refill status calls, at most providerConcurrency in flight.
+     * Refills whose call fails are left out and retried on the next run.
+     */
+    private Map<String, DripfeedRefillStatusResponse> fetchOneByOne(Provider provider, List<OrderRefill> chunk) {
+        Map<String, Future<DripfeedRefillStatusResponse>> calls = new LinkedHashMap<>();
+        Map<String, DripfeedRefillStatusResponse> responses = new HashMap<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(properties.providerConcurrency(),
+                Thread.ofVirtual().name("refill-status-" + provider.getId() + "-", 0).factory())) {
+            for (String refillId : providerRefillIds(chunk)) {
+                calls.put(refillId, executor.submit(() -> providerApiClient.getRefillStatus(provider, refillId)));
+            }
+            calls.forEach((refillId, call) -> {
+                DripfeedRefillStatusResponse response = awaitQuietly(call);
+                if (response != null) {
+                    responses.put(refillId, response);
+                }
+            });
+        }
+        return responses;
+    }
+
+    private static void collect(List<OrderRefill> chunk, Map<String, DripfeedRefillStatusResponse> responses,
+                                Map<Long, RefillStatus> statuses) {
+        for (OrderRefill refill : chunk) {
+            DripfeedRefillStatusResponse response = responses.get(refill.getProviderRefillId());
+            if (response == null || response.hasError()) {
+                continue;
+            }
+            RefillStatus newStatus = mapProviderStatus(response.getStatus());
+            if (newStatus == null) {
+                log.warn("Unknown refill status '{}' from provider for refill ID {}",
+                        response.getStatus(), refill.getId());
+            } else if (newStatus != refill.getStatus()) {
+                statuses.put(refill.getId(), newStatus);
+            }
+        }
+    }
+
+    /**
+     * Apply changed statuses with one UPDATE per target status.
+     *
+     * @return Number of refills updated
+     */
+    private int applyStatuses(Map<Long, RefillStatus> statuses) {
+        List<Long> completed = new ArrayList<>();
+        List<Long> rejected = new ArrayList<>();
+        statuses.forEach((id, status) -> (status == RefillStatus.COMPLETED ? completed : rejected).add(id));
+
+        int updated = update(COMPLETE_SQL, completed) + update(REJECT_SQL, rejected);
+        if (updated > 0) {
+            log.info("Refill polling completed {} and rejected {} refills", completed.size(), rejected.size());
+        }
+        return updated;
+    }
+
+    private int update(String sql, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(sql, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+
+    private static List<String> providerRefillIds(List<OrderRefill> refills) {
+        return refills.stream().map(OrderRefill::getProviderRefillId).toList();
+    }
+
+    private static Provider providerOf(OrderRefill refill) {
+        return refill.getOrder().getProviderService().getProvider();
+    }
+
+    private static <T> T awaitQuietly(Future<T> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            log.warn("Refill status call failed: {}", e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Maps provider status string to internal RefillStatus enum.
+     * Only finished refills change status: Pending and In progress keep the refill PROCESSING,
+     * so it is polled again on the next run.
+     *
+     * Provider statuses: Pending, In progress, Completed, Rejected, Error
+     */
+    static RefillStatus mapProviderStatus(String providerStatus) {
+        if (providerStatus == null) {
+            return null;
+        }
+
+        return switch (providerStatus.toLowerCase()) {
+            case "pending", "in progress" -> RefillStatus.PROCESSING;
+            case "completed" -> RefillStatus.COMPLETED;
+            case "rejected", "error" -> RefillStatus.REJECTED;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,359 @@
+package com.antipanel.backend.service.impl;
+
+import com.antipanel.backend.cache.InvalidationHandler;
+import com.antipanel.backend.cache.InvalidationMessage;
+import com.antipanel.backend.config.ResellerApiProperties;
+import com.antipanel.backend.dto.order.OrderCreateRequest;
+import com.antipanel.backend.dto.order.OrderResponse;
+import com.antipanel.backend.dto.orderrefill.OrderRefillCreateRequest;
+import com.antipanel.backend.dto.orderrefill.OrderRefillResponse;
+import com.antipanel.backend.dto.reseller.ResellerBalance;
+import com.antipanel.backend.dto.reseller.ResellerOrderStatus;
+import com.antipanel.backend.dto.reseller.ResellerServiceItem;
+import com.antipanel.backend.entity.enums.OrderStatus;
+import com.antipanel.backend.entity.enums.RefillStatus;
+import com.antipanel.backend.exception.BadRequestException;
+import com.antipanel.backend.service.CatalogChangedEvent;
+import com.antipanel.backend.service.ExternalOrderService;
+import com.antipanel.backend.service.OrderCreationFacade;
+import com.antipanel.backend.service.OrderRefillService;
+import com.antipanel.backend.service.ResellerApiService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of ResellerApiService.
+ *
+ * The services list is the most requested action (panels re-import it periodically), so it is
+ * kept serialized in memory and written to the response as is. Multi-status polls read all
+ * requested orders with one indexed query over orders and orders_archive instead of one
+ * lookup per order.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResellerApiServiceImpl implements ResellerApiService, InvalidationHandler {
+
+    static final String INCORRECT_ORDER_ID = "Incorrect order ID";
+    static final String INCORRECT_REFILL_ID = "Incorrect refill ID";
+
+    private static final String SERVICES_SQL = """
+            SELECT s.id, s.name, st.name AS type_name, c.name AS category_name,
+                   s.price_per_k, s.min_quantity, s.max_quantity, s.refill_days
+            FROM services s
+            JOIN categories c ON c.id = s.category_id
+            JOIN service_types st ON st.id = s.service_type_id
+            WHERE s.is_active = TRUE AND c.is_active = TRUE
+            ORDER BY c.sort_order, s.sort_order, s.id
+            """;
+
+    /**
+     * Served by idx_orders_id on every partition and the orders_archive primary key.
+     */
+    private static final String STATUS_SQL = """
+            SELECT id, status, total_charge, start_count, remains
+            FROM orders
+            WHERE id = ANY(?) AND user_id = ?
+            UNION ALL
+            SELECT id, status, total_charge, start_count, remains
+            FROM orders_archive
+            WHERE id = ANY(?) AND user_id = ?
+            """;
+
+    private static final String OWNED_ORDER_SQL = """
+            SELECT EXISTS (SELECT 1 FROM orders WHERE id = ? AND user_id = ?)
+            """;
+
+    private static final String REFILL_STATUS_SQL = """
+            SELECT r.status
+            FROM order_refills r
+            WHERE r.id = ?
+              AND (EXISTS (SELECT 1 FROM orders o WHERE o.id = r.order_id AND o.user_id = ?)
+                   OR EXISTS (SELECT 1 FROM orders_archive a WHERE a.id = r.order_id AND a.user_id = ?))
+            """;
+
+    private static final String BALANCE_SQL = "SELECT balance FROM users WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OrderCreationFacade orderCreationFacade;
+    private final OrderRefillService orderRefillService;
+    private final ExternalOrderService externalOrderService;
+    private final ResellerApiProperties properties;
+
+    private volatile Catalog catalog;
+
+    /**
+     * Bumped on every catalog change so a rebuild racing with a change is not kept.
+     */
+    private final AtomicLong catalogGeneration = new AtomicLong();
+
+    // ============ CATALOG ============
+
+    @Override
+    public byte[] services() {
+        Catalog current = catalog;
+        if (current == null || !current.isFresh(System.nanoTime(), properties.catalogTtl().toNanos())) {
+            current = rebuildCatalog();
+        }
+        return current.json();
+    }
+
+    /**
+     * Drop the serialized services once a catalog change is committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * Drop the serialized services when another node changes the catalog.
+     */
+    @Override
+    public void invalidate(InvalidationMessage message) {
+        if (message instanceof InvalidationMessage.Catalog) {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        catalogGeneration.incrementAndGet();
+        catalog = null;
+    }
+
+    // ============ ORDERS ============
+
+    @Override
+    public Map<String, Long> add(Long userId, Integer serviceId, String link, Integer quantity) {
+        if (serviceId == null) {
+            throw new BadRequestException("Incorrect service ID");
+        }
+        if (link == null || link.isBlank() || link.length() > 500) {
+            throw new BadRequestException("Incorrect link");
+        }
+        if (quantity == null || quantity < 1) {
+            throw new BadRequestException("Incorrect quantity");
+        }
+
+        OrderResponse order = orderCreationFacade.createOrder(userId, OrderCreateRequest.builder()
+                .serviceId(serviceId)
+                .target(link.strip())
+                .quantity(quantity)
+                .build());
+        return Map.of("order", order.getId());
+    }
+
+    @Override
+    public ResellerOrderStatus status(Long userId, Long orderId) {
+        if (orderId == null) {
+            throw new BadRequestException(INCORRECT_ORDER_ID);
+        }
+        ResellerOrderStatus status = findStatuses(userId, List.of(orderId)).get(orderId);
+        if (status == null) {
+            throw new BadRequestException(INCORRECT_ORDER_ID);
+        }
+        return status;
+    }
+
+    @Override
+    public Map<String, Object> statuses(Long userId, List<Long> orderIds) {
+        requireOrderCount(orderIds);
+        Map<Long, ResellerOrderStatus> found = findStatuses(userId, orderIds);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Long orderId : orderIds) {
+            ResellerOrderStatus status = found.get(orderId);
+            result.put(String.valueOf(orderId), status != null ? status : Map.of("error", INCORRECT_ORDER_ID));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Map<String, Object>> cancel(Long userId, List<Long> orderIds) {
+        requireOrderCount(orderIds);
+
+        List<Map<String, Object>> results = new ArrayList<>(orderIds.size());
+        for (Long orderId : orderIds) {
+            results.add(Map.of("order", orderId, "cancel", cancelOne(userId, orderId)));
+        }
+        return results;
+    }
+
+    // ============ REFILLS ============
+
+    @Override
+    public Map<String, Long> refill(Long userId, Long orderId) {
+        if (orderId == null || !ownsOrder(userId, orderId)) {
+            throw new BadRequestException(INCORRECT_ORDER_ID);
+        }
+        OrderRefillResponse refill = orderRefillService.create(userId, new OrderRefillCreateRequest(orderId));
+        return Map.of("refill", refill.getId());
+    }
+
+    @Override
+    public Map<String, String> refillStatus(Long userId, Long refillId) {
+        if (refillId == null) {
+            throw new BadRequestException(INCORRECT_REFILL_ID);
+        }
+        List<String> statuses = jdbcTemplate.queryForList(REFILL_STATUS_SQL, String.class, refillId, userId, userId);
+        if (statuses.isEmpty()) {
+            throw new BadRequestException(INCORRECT_REFILL_ID);
+        }
+        return Map.of("status", panelRefillStatus(RefillStatus.valueOf(statuses.getFirst())));
+    }
+
+    // ============ BALANCE ============
+
+    @Override
+    public ResellerBalance balance(Long userId) {
+        BigDecimal balance = jdbcTemplate.queryForObject(BALANCE_SQL, BigDecimal.class, userId);
+        return ResellerBalance.builder()
+                .balance(balance.toPlainString())
+                .currency(properties.currency())
+                .build();
+    }
+
+    // ============ HELPER METHODS ============
+
+    private synchronized Catalog rebuildCatalog() {
+        // Another request may have rebuilt it while this one waited
+        Catalog current = catalog;
+        long ttlNanos = properties.catalogTtl().toNanos();
+        if (current != null && current.isFresh(System.nanoTime(), ttlNanos)) {
+            return current;
+        }
+
+        long generation = catalogGeneration.get();
+        List<ResellerServiceItem> services = jdbcTemplate.query(SERVICES_SQL, (rs, rowNum) -> toServiceItem(rs));
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(services);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize reseller services", e);
+        }
+
+        Catalog built = new Catalog(json, System.nanoTime());
+        if (catalogGeneration.get() == generation) {
+            catalog = built;
+        }
+        log.debug("Reseller services list rebuilt with {} services ({} bytes)", services.size(), json.length);
+        return built;
+    }
+
+    private static ResellerServiceItem toServiceItem(ResultSet rs) throws SQLException {
+        return ResellerServiceItem.builder()
+                .service(rs.getInt("id"))
+                .name(rs.getString("name"))
+                .type(rs.getString("type_name"))
+                .category(rs.getString("category_name"))
+                .rate(rs.getBigDecimal("price_per_k").toPlainString())
+                .min(String.valueOf(rs.getInt("min_quantity")))
+                .max(String.valueOf(rs.getInt("max_quantity")))
+                .refill(rs.getInt("refill_days") > 0)
+                .cancel(true)
+                .build();
+    }
+
+    private Map<Long, ResellerOrderStatus> findStatuses(Long userId, List<Long> orderIds) {
+        Map<Long, ResellerOrderStatus> found = new HashMap<>();
+        jdbcTemplate.query(STATUS_SQL, ps -> {
+            Array ids = ps.getConnection().createArrayOf("bigint", orderIds.toArray());
+            ps.setArray(1, ids);
+            ps.setLong(2, userId);
+            ps.setArray(3, ids);
+            ps.setLong(4, userId);
+        }, rs -> {
+            found.put(rs.getLong("id"), toOrderStatus(rs));
+        });
+        return found;
+    }
+
+    private ResellerOrderStatus toOrderStatus(ResultSet rs) throws SQLException {
+        int startCount = rs.getInt("start_count");
+        return ResellerOrderStatus.builder()
+                .charge(rs.getBigDecimal("total_charge").toPlainString())
+                .startCount(String.valueOf(startCount))
+                .status(panelOrderStatus(OrderStatus.valueOf(rs.getString("status"))))
+                .remains(String.valueOf(rs.getInt("remains")))
+                .currency(properties.currency())
+                .build();
+    }
+
+    private Object cancelOne(Long userId, Long orderId) {
+        if (orderId == null || !ownsOrder(userId, orderId)) {
+            return Map.of("error", INCORRECT_ORDER_ID);
+        }
+        try {
+            externalOrderService.cancelOrderAtProvider(orderId);
+            return 1;
+        } catch (RuntimeException e) {
+            log.warn("Reseller cancel of order {} failed: {}", orderId, e.getMessage());
+            return Map.of("error", e.getMessage() != null ? e.getMessage() : "Cancel failed");
+        }
+    }
+
+    private boolean ownsOrder(Long userId, Long orderId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(OWNED_ORDER_SQL, Boolean.class, orderId, userId));
+    }
+
+    private static void requireOrderCount(List<Long> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            throw new BadRequestException(INCORRECT_ORDER_ID);
+        }
+        if (orderIds.size() > MAX_ORDERS_PER_REQUEST) {
+            throw new BadRequestException("Maximum " + MAX_ORDERS_PER_REQUEST + " orders per request");
+        }
+    }
+
+    /**
+     * Status names used by SMM panel APIs.
+     */
+    static String panelOrderStatus(OrderStatus status) {
+        return switch (status) {
+            case PENDING -> "Pending";
+            case PROCESSING -> "Processing";
+            case IN_PROGRESS -> "In progress";
+            case COMPLETED -> "Completed";
+            case PARTIAL -> "Partial";
+            case CANCELLED, REFUNDED, FAILED -> "Canceled";
+        };
+    }
+
+    static String panelRefillStatus(RefillStatus status) {
+        return switch (status) {
+            case PENDING -> "Pending";
+            case PROCESSING -> "In progress";
+            case COMPLETED -> "Completed";
+            case REJECTED -> "Rejected";
+            case CANCELLED -> "Canceled";
+        };
+    }
+
+    /**
+     * Serialized services list with the time it was built.
+     */
+    private record Catalog(byte[] json, long builtAtNanos) {
+
+        boolean isFresh(long nowNanos, long ttlNanos) {
+            return nowNanos - builtAtNanos < ttlNanos;
+        }
+    }
+}
@@ -11,9 +11,11 @@ import com.antipanel.backend.exception.ResourceNotFoundException;
 import com.antipanel.backend.mapper.ServiceTypeMapper;
 import com.antipanel.backend.repository.CategoryRepository;
 import com.antipanel.backend.repository.ServiceTypeRepository;
+import com.antipanel.backend.service.ReferenceDataChangedEvent;
 import com.antipanel.backend.service.ServiceTypeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +34,7 @@ public class ServiceTypeServiceImpl implements ServiceTypeService {
     private final ServiceTypeRepository serviceTypeRepository;
     private final CategoryRepository categoryRepository;
     private final ServiceTypeMapper serviceTypeMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ============ CRUD OPERATIONS ============
 
@@ -53,6 +56,7 @@ public class ServiceTypeServiceImpl implements ServiceTypeService {
         serviceType.setCategory(category);
 
         ServiceType saved = serviceTypeRepository.save(serviceType);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ServiceType.class, saved.getId()));
         log.info("Created service type with ID: {}", saved.getId());
 
         return serviceTypeMapper.toResponse(saved);
@@ -82,6 +86,7 @@ public class ServiceTypeServiceImpl implements ServiceTypeService {
         serviceTypeMapper.updateEntityFromDto(request, serviceType);
 
         ServiceType saved = serviceTypeRepository.save(serviceType);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ServiceType.class, saved.getId()));
         log.info("Updated service type with ID: {}", saved.getId());
 
         return serviceTypeMapper.toResponse(saved);
@@ -93,6 +98,7 @@ public class ServiceTypeServiceImpl implements ServiceTypeService {
         log.debug("Deleting service type with ID: {}", id);
         ServiceType serviceType = findServiceTypeById(id);
         serviceTypeRepository.delete(serviceType);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ServiceType.class, id));
         log.info("Deleted service type with ID: {}", id);
     }
 
@@ -141,6 +147,7 @@ public class ServiceTypeServiceImpl implements ServiceTypeService {
         ServiceType serviceType = findServiceTypeById(id);
         serviceType.setIsActive(!serviceType.getIsActive());
         ServiceType saved = serviceTypeRepository.save(serviceType);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ServiceType.class, saved.getId()));
         log.info("Toggled active status for service type ID: {} to {}", id, saved.getIsActive());
         return serviceTypeMapper.toResponse(saved);
     }
@@ -152,6 +159,7 @@ public class ServiceTypeServiceImpl implements ServiceTypeService {
         ServiceType serviceType = findServiceTypeById(id);
         serviceType.setIsActive(true);
         ServiceType saved = serviceTypeRepository.save(serviceType);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ServiceType.class, saved.getId()));
         log.info("Activated service type ID: {}", id);
         return serviceTypeMapper.toResponse(saved);
     }
@@ -163,6 +171,7 @@ public class ServiceTypeServiceImpl implements ServiceTypeService {
         ServiceType serviceType = findServiceTypeById(id);
         serviceType.setIsActive(false);
         ServiceType saved = serviceTypeRepository.save(serviceType);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ServiceType.class, saved.getId()));
         log.info("Deactivated service type ID: {}", id);
         return serviceTypeMapper.toResponse(saved);
     }
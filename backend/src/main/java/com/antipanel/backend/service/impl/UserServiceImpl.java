@@ -1,6 +1,7 @@
 package com.antipanel.backend.service.impl;
 
 import com.antipanel.backend.dto.common.PageResponse;
+import com.antipanel.backend.dto.common.PageTotal;
 import com.antipanel.backend.dto.user.UserCreateRequest;
 import com.antipanel.backend.dto.user.UserProfileUpdateRequest;
 import com.antipanel.backend.dto.user.UserResponse;
@@ -13,11 +14,16 @@ import com.antipanel.backend.exception.ResourceNotFoundException;
 import com.antipanel.backend.mapper.PageMapper;
 import com.antipanel.backend.mapper.UserMapper;
 import com.antipanel.backend.repository.UserRepository;
+import com.antipanel.backend.security.ApiKeyAuthenticator;
+import com.antipanel.backend.security.PrincipalChangedEvent;
+import com.antipanel.backend.service.PageCountService;
 import com.antipanel.backend.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -39,6 +45,8 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final PageMapper pageMapper;
     private final PasswordEncoder passwordEncoder;
+    private final PageCountService pageCountService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ============ CRUD OPERATIONS ============
 
@@ -101,6 +109,7 @@ public class UserServiceImpl implements UserService {
 
         User saved = userRepository.save(user);
         log.info("Updated user with ID: {}", saved.getId());
+        eventPublisher.publishEvent(new PrincipalChangedEvent(saved.getId()));
 
         return userMapper.toResponse(saved);
     }
@@ -129,6 +138,7 @@ public class UserServiceImpl implements UserService {
 
         User saved = userRepository.save(user);
         log.info("Updated profile for user ID: {}", saved.getId());
+        eventPublisher.publishEvent(new PrincipalChangedEvent(saved.getId()));
 
         return userMapper.toResponse(saved);
     }
@@ -140,6 +150,7 @@ public class UserServiceImpl implements UserService {
         User user = findUserById(id);
         userRepository.delete(user);
         log.info("Deleted user with ID: {}", id);
+        eventPublisher.publishEvent(new PrincipalChangedEvent(id));
     }
 
     // ============ LISTING ============
@@ -147,22 +158,30 @@ public class UserServiceImpl implements UserService {
     @Override
     public PageResponse<UserResponse> getAll(Pageable pageable) {
         log.debug("Getting all users with pagination");
-        Page<User> page = userRepository.findAll(pageable);
-        return pageMapper.toPageResponse(page, userMapper::toResponse);
+        Slice<User> slice = userRepository.findAllSlice(pageable);
+        PageTotal total = pageCountService.countTable("users", slice, userRepository::count);
+        return pageMapper.toPageResponse(slice, userMapper::toResponse, total);
     }
 
     @Override
     public PageResponse<UserResponse> getByRole(UserRole role, Pageable pageable) {
         log.debug("Getting users by role: {}", role);
-        Page<User> page = userRepository.findByRole(role, pageable);
-        return pageMapper.toPageResponse(page, userMapper::toResponse);
+        Slice<User> slice = userRepository.findSliceByRole(role, pageable);
+        PageTotal total = pageCountService.countFiltered("users:role:" + role,
+                "SELECT 1 FROM users WHERE role = CAST(? AS user_role_enum)", new Object[]{role.name()},
+                slice, () -> userRepository.countByRole(role));
+        return pageMapper.toPageResponse(slice, userMapper::toResponse, total);
     }
 
     @Override
     public PageResponse<UserResponse> search(String search, Pageable pageable) {
         log.debug("Searching users with term: {}", search);
-        Page<User> page = userRepository.searchUsers(search, pageable);
-        return pageMapper.toPageResponse(page, userMapper::toResponse);
+        Slice<User> slice = userRepository.searchUsersSlice(search, pageable);
+        // Free-text searches are not cached: every term would be its own entry
+        PageTotal total = pageCountService.countFiltered(null,
+                "SELECT 1 FROM users WHERE LOWER(email) LIKE LOWER(CONCAT('%', ?, '%'))", new Object[]{search},
+                slice, () -> userRepository.countSearchUsers(search));
+        return pageMapper.toPageResponse(slice, userMapper::toResponse, total);
     }
 
     @Override
@@ -182,6 +201,7 @@ public class UserServiceImpl implements UserService {
         user.setRole(role);
         User saved = userRepository.save(user);
         log.info("Changed role for user ID: {} to: {}", id, role);
+        eventPublisher.publishEvent(new PrincipalChangedEvent(id));
         return userMapper.toResponse(saved);
     }
 
@@ -196,6 +216,7 @@ public class UserServiceImpl implements UserService {
         user.setBannedReason(reason);
         User saved = userRepository.save(user);
         log.info("Banned user with ID: {}", id);
+        eventPublisher.publishEvent(new PrincipalChangedEvent(id));
         return userMapper.toResponse(saved);
     }
 
@@ -208,6 +229,7 @@ public class UserServiceImpl implements UserService {
         user.setBannedReason(null);
         User saved = userRepository.save(user);
         log.info("Unbanned user with ID: {}", id);
+        eventPublisher.publishEvent(new PrincipalChangedEvent(id));
         return userMapper.toResponse(saved);
     }
 
@@ -286,6 +308,22 @@ public class UserServiceImpl implements UserService {
         log.info("Recorded login for user ID: {}, login count: {}", id, user.getLoginCount());
     }
 
+    // ============ API KEY ============
+
+    @Override
+    @Transactional
+    public String regenerateApiKey(Long id) {
+        log.debug("Regenerating API key for user ID: {}", id);
+        User user = findUserById(id);
+        String apiKey = ApiKeyAuthenticator.generateKey();
+        user.setApiKeyHash(ApiKeyAuthenticator.hash(apiKey));
+        userRepository.save(user);
+        log.info("Regenerated API key for user ID: {}", id);
+        // Drops the principal cached under the previous key
+        eventPublisher.publishEvent(new PrincipalChangedEvent(id));
+        return apiKey;
+    }
+
     // ============ HELPER METHODS ============
 
     private User findUserById(Long id) {
@@ -13,6 +13,9 @@ import org.springframework.transaction.annotation.Transactional;
 /**
  * Service for processing Paymento webhook (IPN) callbacks.
  * Handles payment status updates and balance changes.
+ *
+ * Called by WebhookInboxService for stored webhooks. Failures propagate so the inbox
+ * can retry them; payloads that can never apply (bad orderId, unknown invoice) are skipped.
  */
 @Service
 @RequiredArgsConstructor
@@ -27,6 +30,7 @@ public class PaymentoWebhookService {
      * Updates invoice status and user balance based on payment status.
      *
      * @param payload Webhook payload from Paymento
+     * @throws RuntimeException if the status update fails; the transaction is rolled back
      */
     @Transactional
     public void processWebhook(PaymentoWebhookPayload payload) {
@@ -80,16 +84,12 @@ public class PaymentoWebhookService {
     private void handleSuccessfulPayment(Invoice invoice, PaymentoWebhookPayload payload) {
         log.info("Completing payment for invoice ID: {}", invoice.getId());
 
-        try {
-            // Use existing InvoiceService to complete payment
-            // This handles: status update, balance increase, transaction record
-            invoiceService.completePayment(invoice.getId());
-
-            log.info("Payment completed for invoice ID: {} - Status: {}",
-                    invoice.getId(), payload.getStatusName());
-        } catch (Exception e) {
-            log.error("Failed to complete payment for invoice {}: {}", invoice.getId(), e.getMessage(), e);
-        }
+        // Use existing InvoiceService to complete payment
+        // This handles: status update, balance increase, transaction record
+        invoiceService.completePayment(invoice.getId());
+
+        log.info("Payment completed for invoice ID: {} - Status: {}",
+                invoice.getId(), payload.getStatusName());
     }
 
     /**
@@ -108,12 +108,8 @@ public class PaymentoWebhookService {
             newStatus = InvoiceStatus.FAILED;
         }
 
-        try {
-            invoiceService.updateStatus(invoice.getId(), newStatus);
-            log.info("Updated invoice {} status to {}", invoice.getId(), newStatus);
-        } catch (Exception e) {
-            log.error("Failed to update invoice {} status: {}", invoice.getId(), e.getMessage(), e);
-        }
+        invoiceService.updateStatus(invoice.getId(), newStatus);
+        log.info("Updated invoice {} status to {}", invoice.getId(), newStatus);
     }
 
     /**
@@ -125,12 +121,8 @@ public class PaymentoWebhookService {
 
         // Update to PROCESSING if still PENDING
         if (invoice.getStatus() == InvoiceStatus.PENDING) {
-            try {
-                invoiceService.updateStatus(invoice.getId(), InvoiceStatus.PROCESSING);
-                log.debug("Updated invoice {} status to PROCESSING", invoice.getId());
-            } catch (Exception e) {
-                log.error("Failed to update invoice {} status: {}", invoice.getId(), e.getMessage(), e);
-            }
+            invoiceService.updateStatus(invoice.getId(), InvoiceStatus.PROCESSING);
+            log.debug("Updated invoice {} status to PROCESSING", invoice.getId());
         }
 
         // Log partial payment warning
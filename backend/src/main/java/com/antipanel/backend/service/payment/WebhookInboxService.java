@@ -0,0 +1,36 @@
+package com.antipanel.backend.service.payment;
+
+import com.antipanel.backend.dto.paymento.PaymentoWebhookPayload;
+
+/**
+ * Durable inbox for payment webhooks.
+ * Webhooks are stored on receipt and applied in the background, so the endpoint answers
+ * immediately and a failed application is retried instead of lost.
+ */
+public interface WebhookInboxService {
+
+    /**
+     * Store a verified Paymento webhook for processing.
+     * Redeliveries with the same token and status are ignored.
+     *
+     * @param payload    Parsed webhook payload
+     * @param rawPayload Raw request body, stored as received
+     * @return true if stored, false if it was a duplicate
+     */
+    boolean enqueue(PaymentoWebhookPayload payload, String rawPayload);
+
+    /**
+     * Apply due inbox entries until none are left, coalescing entries of the same invoice.
+     * Failed entries are retried with exponential backoff.
+     *
+     * @return Number of entries settled (applied or given up on)
+     */
+    int drain();
+
+    /**
+     * Delete processed entries past the retention period.
+     *
+     * @return Number of entries deleted
+     */
+    int purgeProcessed();
+}
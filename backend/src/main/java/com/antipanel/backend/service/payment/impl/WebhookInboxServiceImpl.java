@@ -0,0 +1,291 @@
+package com.antipanel.backend.service.payment.impl;
+
+import com.antipanel.backend.config.WebhookInboxProperties;
+import com.antipanel.backend.dto.paymento.PaymentoWebhookPayload;
+import com.antipanel.backend.exception.BadRequestException;
+import com.antipanel.backend.exception.ResourceNotFoundException;
+import com.antipanel.backend.service.payment.PaymentoWebhookService;
+import com.antipanel.backend.service.payment.WebhookInboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Implementation of WebhookInboxService backed by the webhook_inbox table (see V20 migration).
+ *
+ * Entries are claimed with one UPDATE ... FOR UPDATE SKIP LOCKED ... RETURNING that also moves
+ * next_attempt_at out by the lease, so several nodes can drain the inbox and entries claimed by
+ * a node that dies are picked up again once the lease runs out. Claimed entries are grouped by
+ * invoice and only the most decisive webhook of each invoice is applied (paid over failed over
+ * pending); the rest are settled with it. Invoices are processed concurrently by a bounded pool.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WebhookInboxServiceImpl implements WebhookInboxService {
+
+    private static final String SOURCE_PAYMENTO = "paymento";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    /**
+     * Highest backoff exponent; the delay is capped at maxBackoff long before this.
+     */
+    private static final int MAX_BACKOFF_EXPONENT = 20;
+
+    private static final String ENQUEUE_SQL = """
+            INSERT INTO webhook_inbox (source, dedup_key, invoice_id, payload)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (source, dedup_key) DO NOTHING
+            """;
+
+    private static final String CLAIM_SQL = """
+            UPDATE webhook_inbox
+            SET next_attempt_at = NOW() + make_interval(secs => ?),
+                attempts = attempts + 1
+            WHERE id IN (
+                SELECT id FROM webhook_inbox
+                WHERE status = 'PENDING' AND next_attempt_at <= NOW()
+                ORDER BY next_attempt_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING id, invoice_id, payload, attempts
+            """;
+
+    private static final String DONE_SQL = """
+            UPDATE webhook_inbox
+            SET status = 'DONE', processed_at = NOW(), last_error = NULL
+            WHERE id = ANY(?) AND status = 'PENDING'
+            """;
+
+    private static final String FAIL_SQL = """
+            UPDATE webhook_inbox
+            SET status = 'FAILED', processed_at = NOW(), last_error = ?
+            WHERE id = ANY(?) AND status = 'PENDING'
+            """;
+
+    /**
+     * Schedules the next attempt at initialBackoff * 2^(attempts - 1), capped at maxBackoff,
+     * or gives up once maxAttempts is reached.
+     */
+    private static final String RETRY_SQL = """
+            UPDATE webhook_inbox
+            SET next_attempt_at = NOW() + LEAST(
+                    make_interval(secs => ? * power(2, LEAST(attempts - 1, %d))),
+                    make_interval(secs => ?)),
+                last_error = ?,
+                status = CASE WHEN attempts >= ? THEN 'FAILED' ELSE 'PENDING' END,
+                processed_at = CASE WHEN attempts >= ? THEN NOW() END
+            WHERE id = ANY(?) AND status = 'PENDING'
+            """.formatted(MAX_BACKOFF_EXPONENT);
+
+    private static final String PURGE_SQL = """
+            DELETE FROM webhook_inbox
+            WHERE status <> 'PENDING' AND processed_at < NOW() - make_interval(secs => ?)
+            """;
+
+    private static final RowMapper<InboxEntry> ENTRY_MAPPER = (rs, rowNum) -> new InboxEntry(
+            rs.getLong("id"),
+            rs.getObject("invoice_id", Long.class),
+            rs.getString("payload"),
+            rs.getInt("attempts"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PaymentoWebhookService webhookService;
+    private final ObjectMapper objectMapper;
+    private final WebhookInboxProperties properties;
+
+    @Override
+    public boolean enqueue(PaymentoWebhookPayload payload, String rawPayload) {
+        int inserted = jdbcTemplate.update(ENQUEUE_SQL,
+                SOURCE_PAYMENTO, dedupKey(payload), parseInvoiceId(payload.getOrderId()), rawPayload);
+        if (inserted == 0) {
+            log.debug("Duplicate Paymento webhook for order {} with status {} ignored",
+                    payload.getOrderId(), payload.getOrderStatus());
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int drain() {
+        int settled = 0;
+        List<InboxEntry> claimed;
+        do {
+            claimed = jdbcTemplate.query(CLAIM_SQL, ENTRY_MAPPER,
+                    (double) properties.lease().toSeconds(), properties.batchSize());
+            if (!claimed.isEmpty()) {
+                settled += process(claimed);
+            }
+        } while (claimed.size() == properties.batchSize());
+        return settled;
+    }
+
+    @Override
+    public int purgeProcessed() {
+        return jdbcTemplate.update(PURGE_SQL, properties.retention().toSeconds());
+    }
+
+    // ============ HELPER METHODS ============
+
+    /**
+     * Apply claimed entries, one task per invoice.
+     */
+    private int process(List<InboxEntry> claimed) {
+        Map<String, List<InboxEntry>> byInvoice = new LinkedHashMap<>();
+        for (InboxEntry entry : claimed) {
+            String key = entry.invoiceId() != null ? "invoice:" + entry.invoiceId() : "entry:" + entry.id();
+            byInvoice.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+        }
+
+        int settled = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(properties.workers(),
+                Thread.ofVirtual().name("webhook-inbox-", 0).factory())) {
+            List<Future<Integer>> tasks = new ArrayList<>(byInvoice.size());
+            for (List<InboxEntry> entries : byInvoice.values()) {
+                tasks.add(executor.submit(() -> apply(entries)));
+            }
+            for (Future<Integer> task : tasks) {
+                settled += await(task);
+            }
+        }
+        return settled;
+    }
+
+    /**
+     * Apply the most decisive webhook of one invoice and settle all its claimed entries.
+     *
+     * @return Number of entries settled
+     */
+    private int apply(List<InboxEntry> entries) {
+        List<Long> ids = entries.stream().map(InboxEntry::id).toList();
+
+        List<ParsedEntry> parsed = new ArrayList<>(entries.size());
+        for (InboxEntry entry : entries) {
+            try {
+                parsed.add(new ParsedEntry(entry.id(), objectMapper.readValue(entry.payload(), PaymentoWebhookPayload.class)));
+            } catch (JsonProcessingException e) {
+                log.error("Unreadable webhook inbox entry {}", entry.id());
+                fail(List.of(entry.id()), "Unreadable payload: " + e.getOriginalMessage());
+            }
+        }
+        if (parsed.isEmpty()) {
+            return entries.size();
+        }
+
+        ParsedEntry decisive = parsed.stream()
+                .max(Comparator.comparingInt((ParsedEntry p) -> precedence(p.payload())).thenComparingLong(ParsedEntry::id))
+                .orElseThrow();
+        List<Long> parsedIds = parsed.stream().map(ParsedEntry::id).toList();
+        if (parsed.size() > 1) {
+            log.debug("Coalesced {} webhooks for order {} into status {}",
+                    parsed.size(), decisive.payload().getOrderId(), decisive.payload().getStatusName());
+        }
+
+        try {
+            webhookService.processWebhook(decisive.payload());
+            updateIds(DONE_SQL, parsedIds);
+            return ids.size();
+        } catch (BadRequestException | ResourceNotFoundException e) {
+            log.error("Webhook for order {} rejected: {}", decisive.payload().getOrderId(), e.getMessage());
+            fail(parsedIds, e.getMessage());
+            return ids.size();
+        } catch (Exception e) {
+            int attempts = entries.stream().mapToInt(InboxEntry::attempts).max().orElse(0);
+            log.warn("Webhook for order {} failed on attempt {}/{}, will retry: {}",
+                    decisive.payload().getOrderId(), attempts, properties.maxAttempts(), e.getMessage());
+            retry(parsedIds, e.getMessage());
+            return attempts >= properties.maxAttempts() ? ids.size() : ids.size() - parsedIds.size();
+        }
+    }
+
+    private void fail(List<Long> ids, String error) {
+        jdbcTemplate.update(FAIL_SQL, ps -> {
+            ps.setString(1, truncate(error));
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+        });
+    }
+
+    private void retry(List<Long> ids, String error) {
+        jdbcTemplate.update(RETRY_SQL, ps -> {
+            ps.setDouble(1, properties.initialBackoff().toSeconds());
+            ps.setDouble(2, properties.maxBackoff().toSeconds());
+            ps.setString(3, truncate(error));
+            ps.setInt(4, properties.maxAttempts());
+            ps.setInt(5, properties.maxAttempts());
+            ps.setArray(6, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+        });
+    }
+
+    private void updateIds(String sql, List<Long> ids) {
+        jdbcTemplate.update(sql, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+
+    private static int await(Future<Integer> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (ExecutionException e) {
+            log.error("Webhook inbox task failed", e.getCause());
+            return 0;
+        }
+    }
+
+    /**
+     * Which webhook wins when several are pending for one invoice: a payment beats a failure,
+     * which beats an in-progress status. Later webhooks win ties.
+     */
+    private static int precedence(PaymentoWebhookPayload payload) {
+        if (payload.isSuccessful()) {
+            return 3;
+        }
+        if (payload.isFailed()) {
+            return 2;
+        }
+        return payload.isPending() ? 1 : 0;
+    }
+
+    private static String dedupKey(PaymentoWebhookPayload payload) {
+        String reference = payload.getToken() != null ? payload.getToken() : "order-" + payload.getOrderId();
+        return reference + ":" + payload.getOrderStatus();
+    }
+
+    private static Long parseInvoiceId(String orderId) {
+        if (orderId == null || orderId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(orderId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record InboxEntry(long id, Long invoiceId, String payload, int attempts) {
+    }
+
+    private record ParsedEntry(long id, PaymentoWebhookPayload payload) {
+    }
+}
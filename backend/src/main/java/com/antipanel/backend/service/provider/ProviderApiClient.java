@@ -73,6 +73,16 @@ public interface ProviderApiClient {
      */
     DripfeedRefillStatusResponse getRefillStatus(Provider provider, String refillId);
 
+    /**
+     * Gets the status of multiple refill requests.
+     * Not every panel supports this; those answer with an error, thrown as ProviderApiException.
+     *
+     * @param provider the provider entity with API credentials
+     * @param refillIds list of refill IDs (max 100)
+     * @return map of refill ID to status response; unknown refills carry an error
+     */
+    Map<String, DripfeedRefillStatusResponse> getMultipleRefillStatus(Provider provider, List<String> refillIds);
+
     /**
      * Cancels one or more orders.
      *
@@ -7,6 +7,7 @@ import com.antipanel.backend.exception.ProviderApiException;
 import com.antipanel.backend.service.provider.ProviderApiClient;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -303,6 +304,48 @@ public class DripfeedPanelClient implements ProviderApiClient {
         }
     }
 
+    @Override
+    public Map<String, DripfeedRefillStatusResponse> getMultipleRefillStatus(Provider provider, List<String> refillIds) {
+        if (refillIds == null || refillIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        if (refillIds.size() > 100) {
+            throw new ProviderApiException(PROVIDER_NAME, "refill_status", "Maximum 100 refills per request");
+        }
+
+        log.debug("Fetching {} refill statuses from provider: {}", refillIds.size(), provider.getName());
+
+        MultiValueMap<String, String> formData = createBaseForm(provider);
+        formData.add("action", "refill_status");
+        formData.add("refills", String.join(",", refillIds));
+
+        String response = executeRequest(provider, formData, "refill_status");
+
+        try {
+            // [{"refill": 1, "status": "Completed"}, {"refill": 2, "status": {"error": "Refill not found"}}]
+            JsonNode root = objectMapper.readTree(response);
+            if (!root.isArray()) {
+                throw new ProviderApiException(PROVIDER_NAME, "refill_status",
+                        root.path("error").asText("Unexpected multi-refill status response"));
+            }
+
+            Map<String, DripfeedRefillStatusResponse> statusMap = new HashMap<>();
+            for (JsonNode entry : root) {
+                JsonNode status = entry.path("status");
+                DripfeedRefillStatusResponse statusResponse = status.isObject()
+                        ? DripfeedRefillStatusResponse.builder().error(status.path("error").asText("Unknown error")).build()
+                        : DripfeedRefillStatusResponse.builder().status(status.asText(null)).build();
+                statusMap.put(entry.path("refill").asText(), statusResponse);
+            }
+
+            log.debug("Fetched {} refill statuses from provider: {}", statusMap.size(), provider.getName());
+            return statusMap;
+        } catch (JsonProcessingException e) {
+            throw new ProviderApiException(PROVIDER_NAME, "refill_status", "Failed to parse multi-refill status response", e);
+        }
+    }
+
     @Override
     public List<DripfeedCancelResponse> cancelOrders(Provider provider, List<String> providerOrderIds) {
         if (providerOrderIds == null || providerOrderIds.isEmpty()) {
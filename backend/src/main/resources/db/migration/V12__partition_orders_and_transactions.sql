@@ -0,0 +1,228 @@
+-- Migration V12: Monthly range partitioning for orders and transactions
+-- Purpose: Both tables only grow and almost every hot query is bounded by created_at.
+-- With native range partitioning the planner prunes untouched months, and VACUUM/ANALYZE
+-- work is proportional to the active month instead of the whole history.
+--
+-- Consequences of partitioning (PostgreSQL requires the partition key in every unique constraint):
+-- 1. The primary keys become (id, created_at). id is still sequence-generated and unique in practice.
+-- 2. orders.idempotency_key is indexed but no longer globally UNIQUE. Duplicate submissions are
+--    still rejected by balance_holds.idempotency_key (UNIQUE) and the lookup in the order services.
+-- 3. order_refills.order_id keeps its index but loses its FK (an FK must reference the full key).
+--
+-- Future partitions are created by ensure_monthly_partitions(), called daily by
+-- PartitionMaintenanceTask. A DEFAULT partition catches rows outside every range so inserts never fail.
+
+-- ============================================================================
+-- Partition helpers
+-- ============================================================================
+
+-- Create the monthly partition of parent_table containing month_start (UTC boundaries).
+-- Rows that already landed in the DEFAULT partition for that month are moved into it.
+-- Returns true if the partition was created, false if it already existed.
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent_table TEXT, month_start DATE)
+RETURNS BOOLEAN AS $$
+DECLARE
+    from_date DATE := date_trunc('month', month_start)::DATE;
+    to_date DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::DATE;
+    from_bound TEXT := to_char(from_date, 'YYYY-MM-DD') || ' 00:00:00+00';
+    to_bound TEXT := to_char(to_date, 'YYYY-MM-DD') || ' 00:00:00+00';
+    partition_name TEXT := parent_table || '_' || to_char(from_date, 'YYYY_MM');
+    default_name TEXT := parent_table || '_default';
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                   partition_name, parent_table);
+
+    IF to_regclass(default_name) IS NOT NULL THEN
+        EXECUTE format(
+            'WITH moved AS (DELETE FROM %I WHERE created_at >= %L AND created_at < %L RETURNING *) '
+            'INSERT INTO %I SELECT * FROM moved',
+            default_name, from_bound, to_bound, partition_name);
+    END IF;
+
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   parent_table, partition_name, from_bound, to_bound);
+
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION create_monthly_partition(TEXT, DATE) IS
+    'Creates the monthly range partition of a table containing the given date (UTC)';
+
+-- Make sure partitions exist from the current month up to months_ahead months in the future.
+-- Returns the number of partitions created.
+CREATE OR REPLACE FUNCTION ensure_monthly_partitions(parent_table TEXT, months_ahead INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    current_month DATE := date_trunc('month', NOW() AT TIME ZONE 'UTC')::DATE;
+    created INTEGER := 0;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        IF create_monthly_partition(parent_table, (current_month + make_interval(months => i))::DATE) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION ensure_monthly_partitions(TEXT, INTEGER) IS
+    'Creates missing monthly partitions from the current month up to months_ahead months ahead';
+
+-- Create one partition per month between the oldest existing row and months_ahead months ahead.
+CREATE OR REPLACE FUNCTION create_partitions_for_history(parent_table TEXT, oldest TIMESTAMPTZ, months_ahead INTEGER)
+RETURNS VOID AS $$
+DECLARE
+    month_cursor DATE := date_trunc('month', COALESCE(oldest, NOW()) AT TIME ZONE 'UTC')::DATE;
+    last_month DATE := (date_trunc('month', NOW() AT TIME ZONE 'UTC') + make_interval(months => months_ahead))::DATE;
+BEGIN
+    WHILE month_cursor <= last_month LOOP
+        PERFORM create_monthly_partition(parent_table, month_cursor);
+        month_cursor := (month_cursor + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- ============================================================================
+-- orders
+-- ============================================================================
+DO $$
+DECLARE
+    oldest TIMESTAMPTZ;
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = 'orders'::regclass) = 'p' THEN
+        RAISE NOTICE 'orders is already partitioned, skipping';
+        RETURN;
+    END IF;
+
+    -- Objects depending on the old table
+    DROP VIEW IF EXISTS v_orders_summary;
+    ALTER TABLE order_refills DROP CONSTRAINT IF EXISTS fk_order_refills_order;
+
+    ALTER TABLE orders RENAME TO orders_unpartitioned;
+    -- Keep the id sequence alive when the old table is dropped
+    ALTER SEQUENCE orders_id_seq OWNED BY NONE;
+
+    CREATE TABLE orders (LIKE orders_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+        PARTITION BY RANGE (created_at);
+    CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+
+    SELECT MIN(created_at) INTO oldest FROM orders_unpartitioned;
+    PERFORM create_partitions_for_history('orders', oldest, 3);
+
+    INSERT INTO orders SELECT * FROM orders_unpartitioned;
+    DROP TABLE orders_unpartitioned;
+
+    ALTER SEQUENCE orders_id_seq OWNED BY orders.id;
+
+    -- Keys and foreign keys
+    ALTER TABLE orders ADD CONSTRAINT orders_pkey PRIMARY KEY (id, created_at);
+    ALTER TABLE orders ADD CONSTRAINT fk_orders_user
+        FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE RESTRICT ON UPDATE CASCADE;
+    ALTER TABLE orders ADD CONSTRAINT fk_orders_service
+        FOREIGN KEY (service_id) REFERENCES services(id) ON DELETE RESTRICT ON UPDATE CASCADE;
+    ALTER TABLE orders ADD CONSTRAINT fk_orders_provider_service
+        FOREIGN KEY (provider_service_id) REFERENCES provider_services(id) ON DELETE RESTRICT ON UPDATE CASCADE;
+
+    -- Indexes (created on the parent, propagated to every partition)
+    CREATE INDEX idx_orders_id ON orders(id);
+    CREATE INDEX idx_orders_user ON orders(user_id);
+    CREATE INDEX idx_orders_service ON orders(service_id);
+    CREATE INDEX idx_orders_provider_service ON orders(provider_service_id);
+    CREATE INDEX idx_orders_status ON orders(status);
+    CREATE INDEX idx_orders_created ON orders(created_at DESC);
+    CREATE INDEX idx_orders_provider_order ON orders(provider_order_id)
+        WHERE provider_order_id IS NOT NULL;
+    CREATE INDEX idx_orders_user_status ON orders(user_id, status);
+    CREATE INDEX idx_orders_user_created ON orders(user_id, created_at DESC);
+    CREATE INDEX idx_orders_refill_deadline ON orders(refill_deadline)
+        WHERE is_refillable = TRUE AND refill_deadline IS NOT NULL AND status = 'COMPLETED';
+    CREATE INDEX idx_orders_completed_at ON orders(completed_at DESC)
+        WHERE completed_at IS NOT NULL;
+    CREATE INDEX idx_orders_idempotency_key ON orders(idempotency_key)
+        WHERE idempotency_key IS NOT NULL;
+    CREATE INDEX idx_orders_balance_hold ON orders(balance_hold_id)
+        WHERE balance_hold_id IS NOT NULL;
+
+    CREATE TRIGGER trg_orders_updated_at
+        BEFORE UPDATE ON orders
+        FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+    CREATE INDEX IF NOT EXISTS idx_order_refills_order ON order_refills(order_id);
+END $$;
+
+COMMENT ON TABLE orders IS 'Registro de todas las órdenes realizadas por los usuarios (particionada por mes en created_at)';
+COMMENT ON COLUMN orders.created_at IS 'Partition key - never updated after insert';
+
+CREATE OR REPLACE VIEW v_orders_summary AS
+SELECT
+    o.id,
+    o.user_id,
+    u.email AS user_email,
+    o.service_name,
+    o.target,
+    o.quantity,
+    o.remains,
+    o.status,
+    o.total_charge,
+    o.total_cost,
+    o.profit,
+    o.is_refillable,
+    o.refill_deadline,
+    o.created_at,
+    o.completed_at
+FROM orders o
+INNER JOIN users u ON o.user_id = u.id
+ORDER BY o.created_at DESC;
+
+COMMENT ON VIEW v_orders_summary IS 'Vista de órdenes con información del usuario';
+
+-- ============================================================================
+-- transactions
+-- ============================================================================
+DO $$
+DECLARE
+    oldest TIMESTAMPTZ;
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = 'transactions'::regclass) = 'p' THEN
+        RAISE NOTICE 'transactions is already partitioned, skipping';
+        RETURN;
+    END IF;
+
+    ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+    ALTER SEQUENCE transactions_id_seq OWNED BY NONE;
+
+    CREATE TABLE transactions (LIKE transactions_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+        PARTITION BY RANGE (created_at);
+    CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+    SELECT MIN(created_at) INTO oldest FROM transactions_unpartitioned;
+    PERFORM create_partitions_for_history('transactions', oldest, 3);
+
+    INSERT INTO transactions SELECT * FROM transactions_unpartitioned;
+    DROP TABLE transactions_unpartitioned;
+
+    ALTER SEQUENCE transactions_id_seq OWNED BY transactions.id;
+
+    ALTER TABLE transactions ADD CONSTRAINT transactions_pkey PRIMARY KEY (id, created_at);
+    ALTER TABLE transactions ADD CONSTRAINT fk_transactions_user
+        FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE RESTRICT ON UPDATE CASCADE;
+
+    CREATE INDEX idx_transactions_id ON transactions(id);
+    CREATE INDEX idx_transactions_user ON transactions(user_id);
+    CREATE INDEX idx_transactions_type ON transactions(type);
+    CREATE INDEX idx_transactions_created ON transactions(created_at DESC);
+    CREATE INDEX idx_transactions_user_created ON transactions(user_id, created_at DESC);
+    CREATE INDEX idx_transactions_reference ON transactions(reference_type, reference_id)
+        WHERE reference_type IS NOT NULL;
+END $$;
+
+COMMENT ON TABLE transactions IS 'Registro de auditoría de todos los movimientos de balance (particionada por mes en created_at)';
+COMMENT ON COLUMN transactions.created_at IS 'Partition key - never updated after insert';
+
+-- Only needed during this migration
+DROP FUNCTION IF EXISTS create_partitions_for_history(TEXT, TIMESTAMPTZ, INTEGER);
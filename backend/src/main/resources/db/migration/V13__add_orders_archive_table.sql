@@ -0,0 +1,36 @@
+-- V13__add_orders_archive_table.sql
+-- Creates orders_archive, the cold storage for finished orders.
+-- OrderArchiveTask moves final orders (COMPLETED, PARTIAL, CANCELLED, REFUNDED, FAILED) whose
+-- refill window has closed out of orders in batches, keeping the hot table and its indexes small.
+--
+-- The column layout mirrors orders exactly, followed by archived_at, so rows are moved with
+-- INSERT INTO orders_archive SELECT moved.*, NOW(). Any column added to orders must be added here too.
+
+CREATE TABLE IF NOT EXISTS orders_archive (LIKE orders INCLUDING DEFAULTS INCLUDING CONSTRAINTS);
+
+-- ids come from the orders sequence, the archive never generates its own
+ALTER TABLE orders_archive ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE orders_archive ADD COLUMN IF NOT EXISTS archived_at TIMESTAMPTZ NOT NULL DEFAULT NOW();
+
+ALTER TABLE orders_archive ADD CONSTRAINT orders_archive_pkey PRIMARY KEY (id);
+ALTER TABLE orders_archive ADD CONSTRAINT fk_orders_archive_user
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE RESTRICT ON UPDATE CASCADE;
+ALTER TABLE orders_archive ADD CONSTRAINT fk_orders_archive_service
+    FOREIGN KEY (service_id) REFERENCES services(id) ON DELETE RESTRICT ON UPDATE CASCADE;
+ALTER TABLE orders_archive ADD CONSTRAINT fk_orders_archive_provider_service
+    FOREIGN KEY (provider_service_id) REFERENCES provider_services(id) ON DELETE RESTRICT ON UPDATE CASCADE;
+
+-- Only the history read paths need indexes: order history per user, admin listing by status,
+-- and the lookup by provider order ID
+CREATE INDEX IF NOT EXISTS idx_orders_archive_user_created ON orders_archive(user_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_archive_status_created ON orders_archive(status, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_archive_provider_order ON orders_archive(provider_order_id)
+    WHERE provider_order_id IS NOT NULL;
+
+-- Candidate lookup for the archival job: final orders by last modification
+-- (final orders are never updated again, so updated_at is when they finished)
+CREATE INDEX IF NOT EXISTS idx_orders_final_updated ON orders(updated_at)
+    WHERE status IN ('COMPLETED', 'PARTIAL', 'CANCELLED', 'REFUNDED', 'FAILED');
+
+COMMENT ON TABLE orders_archive IS 'Órdenes finalizadas fuera de la ventana de refill, movidas desde orders';
+COMMENT ON COLUMN orders_archive.archived_at IS 'Momento en que la orden se movió al archivo';
@@ -0,0 +1,34 @@
+-- V14__add_partial_indexes_for_hot_queries.sql
+-- Partial indexes matching the predicates of the scheduler and refill queries.
+-- Each one only holds the few rows those queries can return (active orders, refillable orders,
+-- pollable invoices, held balance holds), so it stays tiny while the tables grow.
+--
+-- Predicates are written exactly as the repository queries render them, otherwise the planner
+-- cannot prove the partial index applies. QueryPlanRegressionTest runs this script and checks
+-- the plans; keep both in sync when changing a query.
+-- Plain CREATE INDEX statements only: the test applies this file to a Hibernate-generated schema.
+
+-- OrderRepository.findOrdersNeedingUpdate (OrderStatusPollingScheduler)
+CREATE INDEX IF NOT EXISTS idx_orders_active_updated ON orders(updated_at)
+    WHERE status IN ('PENDING', 'PROCESSING', 'IN_PROGRESS');
+
+-- OrderRepository.findActiveOrdersByUser
+CREATE INDEX IF NOT EXISTS idx_orders_user_active ON orders(user_id, created_at DESC)
+    WHERE status NOT IN ('COMPLETED', 'PARTIAL', 'CANCELLED', 'REFUNDED', 'FAILED');
+
+-- OrderRepository.findRefillableOrdersByUser
+CREATE INDEX IF NOT EXISTS idx_orders_user_refillable ON orders(user_id, refill_deadline)
+    WHERE is_refillable = TRUE AND status = 'COMPLETED';
+
+-- OrderRepository.findOrdersWithExpiredRefill / findOrdersWithRefillExpiringSoon
+-- (already created by init.sql, repeated so every environment has it)
+CREATE INDEX IF NOT EXISTS idx_orders_refill_deadline ON orders(refill_deadline)
+    WHERE is_refillable = TRUE AND refill_deadline IS NOT NULL AND status = 'COMPLETED';
+
+-- InvoiceRepository.findInvoicesEligibleForPolling (PaymentPollingScheduler)
+CREATE INDEX IF NOT EXISTS idx_invoices_pollable ON invoices(created_at DESC)
+    WHERE status IN ('PENDING', 'PROCESSING') AND processor_invoice_id IS NOT NULL;
+
+-- BalanceHoldRepository.findExpiredHolds (BalanceHoldCleanupTask)
+CREATE INDEX IF NOT EXISTS idx_balance_holds_held_expires ON balance_holds(expires_at)
+    WHERE status = 'HELD';
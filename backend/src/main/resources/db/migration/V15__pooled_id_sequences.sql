@@ -0,0 +1,15 @@
+-- V15__pooled_id_sequences.sql
+-- Switch the id sequences of high-volume tables to blocks of 50 for Hibernate's pooled optimizer.
+-- With IDENTITY, Hibernate must run every INSERT immediately to learn the generated id, which
+-- disables JDBC batching. With a pooled sequence it reserves 50 ids per nextval() and groups the
+-- inserts into batches (hibernate.jdbc.batch_size) at flush time.
+--
+-- Must match allocationSize in the entity @SequenceGenerator mappings: Hibernate refuses to start
+-- when a sequence increment and the allocation size disagree.
+-- Column defaults keep using the same sequences, so rows inserted by plain SQL stay unique
+-- (each DEFAULT just consumes a block of 50 ids).
+
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE transactions_id_seq INCREMENT BY 50;
+ALTER SEQUENCE balance_holds_id_seq INCREMENT BY 50;
+ALTER SEQUENCE provider_services_id_seq INCREMENT BY 50;
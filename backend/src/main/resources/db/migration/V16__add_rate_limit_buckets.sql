@@ -0,0 +1,20 @@
+-- V16__add_rate_limit_buckets.sql
+-- Shared rate limit bucket state for the distributed rate limiting mode (app.rate-limit.distributed).
+-- With several backend replicas behind Caddy, per-JVM buckets let a client multiply its quota by
+-- the number of nodes. Bucket4j keeps the serialized bucket of each client here instead and updates
+-- it with SELECT ... FOR UPDATE. Nodes consume tokens locally and only synchronize every few
+-- requests, so most requests never touch this table.
+--
+-- UNLOGGED: the state is disposable (losing it on a crash just refills every bucket), and skipping
+-- WAL keeps the frequent updates cheap. expires_at (epoch millis) is when the bucket would be full
+-- again; RateLimitEvictionTask deletes expired rows.
+
+CREATE UNLOGGED TABLE IF NOT EXISTS rate_limit_buckets (
+    id VARCHAR(255) PRIMARY KEY,
+    state BYTEA,
+    expires_at BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_rate_limit_buckets_expires ON rate_limit_buckets(expires_at);
+
+COMMENT ON TABLE rate_limit_buckets IS 'Bucket4j rate limit state shared by all backend nodes';
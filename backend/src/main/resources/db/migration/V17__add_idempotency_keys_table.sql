@@ -0,0 +1,37 @@
+-- V17__add_idempotency_keys_table.sql
+-- HTTP-level idempotency for POST /api/v1/orders and POST /api/v1/invoices (Idempotency-Key header).
+-- IdempotencyFilter claims a key before the request runs and stores the final response afterwards,
+-- so a client retrying a slow request gets the stored response back instead of taking the user
+-- row lock again. Rows shared by all nodes; each node also keeps recent responses in memory.
+--
+-- status:       IN_PROGRESS while the first request runs, then COMPLETED
+-- locked_until: lease of an IN_PROGRESS claim; a claim left behind by a crashed node can be
+--               taken over once it expires
+-- expires_at:   end of the retention period; IdempotencyCleanupTask deletes expired rows
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    user_id BIGINT NOT NULL,
+    request_path VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    response_status INTEGER,
+    response_content_type VARCHAR(255),
+    response_body BYTEA,
+    locked_until TIMESTAMPTZ,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMPTZ NOT NULL,
+
+    CONSTRAINT pk_idempotency_keys
+        PRIMARY KEY (user_id, request_path, idempotency_key),
+
+    CONSTRAINT fk_idempotency_keys_user
+        FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+
+    CONSTRAINT chk_idempotency_keys_status
+        CHECK (status IN ('IN_PROGRESS', 'COMPLETED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires ON idempotency_keys(expires_at);
+
+COMMENT ON TABLE idempotency_keys IS 'Stored responses of idempotent POST requests per user and Idempotency-Key';
@@ -0,0 +1,11 @@
+-- V18__add_user_api_keys.sql
+-- API keys for the reseller API (/api/v2). Only the SHA-256 hex digest of a key is stored;
+-- the key itself is shown once when the user generates it.
+-- Lookups by digest happen only on a principal cache miss (see ApiKeyAuthenticator).
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS api_key_hash VARCHAR(64);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_users_api_key_hash ON users(api_key_hash)
+    WHERE api_key_hash IS NOT NULL;
+
+COMMENT ON COLUMN users.api_key_hash IS 'SHA-256 hex digest of the reseller API key, NULL if none was generated';
@@ -0,0 +1,18 @@
+-- V19__add_invoice_poll_backoff.sql
+-- Per-invoice schedule for payment polling (see PaymentPollingServiceImpl).
+-- Each poll claims due invoices and pushes next_check_at out exponentially, so an unpaid invoice
+-- is verified often while fresh and rarely once it has been waiting for a while.
+-- Pending invoices older than app.payment-polling.max-age are expired instead of polled.
+--
+-- next_check_at:  next verification, NULL for invoices not polled yet (checked first)
+-- check_attempts: verifications so far, the backoff exponent
+
+ALTER TABLE invoices ADD COLUMN IF NOT EXISTS next_check_at TIMESTAMPTZ;
+ALTER TABLE invoices ADD COLUMN IF NOT EXISTS check_attempts INTEGER NOT NULL DEFAULT 0;
+
+-- Due-invoice claim and backlog count; same predicate as idx_invoices_pollable
+CREATE INDEX IF NOT EXISTS idx_invoices_pollable_next_check ON invoices(next_check_at NULLS FIRST)
+    WHERE status IN ('PENDING', 'PROCESSING') AND processor_invoice_id IS NOT NULL;
+
+COMMENT ON COLUMN invoices.next_check_at IS 'Próxima verificación del pago por polling, NULL si aún no se verificó';
+COMMENT ON COLUMN invoices.check_attempts IS 'Verificaciones de pago realizadas por polling';
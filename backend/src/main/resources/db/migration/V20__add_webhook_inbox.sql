@@ -0,0 +1,43 @@
+-- V20__add_webhook_inbox.sql
+-- Durable inbox for payment webhooks (see WebhookInboxServiceImpl).
+-- PaymentoWebhookController verifies the signature, stores the raw payload here and answers
+-- immediately; WebhookInboxTask drains the inbox in the background, so a payment burst or a slow
+-- database delays crediting instead of losing it. Redeliveries of the same token and status are
+-- dropped by the unique constraint.
+--
+-- dedup_key:       Paymento token and order status, e.g. 'abc123:7'
+-- status:          PENDING until applied, then DONE; FAILED after max attempts or a permanent error
+-- next_attempt_at: when the entry may be claimed; pushed out by the lease on claim and by the
+--                  retry backoff after a failure, so entries of a crashed node are retried
+-- attempts:        processing attempts so far
+
+CREATE TABLE IF NOT EXISTS webhook_inbox (
+    id BIGSERIAL PRIMARY KEY,
+    source VARCHAR(20) NOT NULL,
+    dedup_key VARCHAR(255) NOT NULL,
+    invoice_id BIGINT,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error VARCHAR(1000),
+    received_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMPTZ,
+
+    CONSTRAINT uk_webhook_inbox_dedup
+        UNIQUE (source, dedup_key),
+
+    CONSTRAINT chk_webhook_inbox_status
+        CHECK (status IN ('PENDING', 'DONE', 'FAILED'))
+);
+
+-- Claim of due entries
+CREATE INDEX IF NOT EXISTS idx_webhook_inbox_pending ON webhook_inbox(next_attempt_at)
+    WHERE status = 'PENDING';
+
+-- Purge of processed entries past retention
+CREATE INDEX IF NOT EXISTS idx_webhook_inbox_processed ON webhook_inbox(processed_at)
+    WHERE status <> 'PENDING';
+
+COMMENT ON TABLE webhook_inbox IS 'Webhooks de pago recibidos, pendientes de aplicar o ya aplicados';
+COMMENT ON COLUMN webhook_inbox.dedup_key IS 'Token de Paymento y estado del pago, único por origen';
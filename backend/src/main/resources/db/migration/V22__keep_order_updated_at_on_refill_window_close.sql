@@ -0,0 +1,18 @@
+-- V22__keep_order_updated_at_on_refill_window_close.sql
+-- MaintenanceService.closeExpiredRefillWindows flips is_refillable off on completed orders whose
+-- refill deadline has passed. That is bookkeeping, not a change to the order, but the BEFORE UPDATE
+-- trigger stamped updated_at = NOW() on every row it touched. updated_at drives order archival
+-- (see OrderArchiveServiceImpl), so every swept order was kept out of the archive for another
+-- retention period.
+--
+-- The trigger now skips exactly that change: is_refillable going from TRUE to FALSE while the
+-- refill deadline lies in the past. Every other update still stamps updated_at. IS NOT TRUE keeps
+-- the trigger firing when refill_deadline is NULL.
+
+DROP TRIGGER IF EXISTS trg_orders_updated_at ON orders;
+
+CREATE TRIGGER trg_orders_updated_at
+    BEFORE UPDATE ON orders
+    FOR EACH ROW
+    WHEN ((OLD.is_refillable AND NOT NEW.is_refillable AND NEW.refill_deadline < NOW()) IS NOT TRUE)
+    EXECUTE FUNCTION update_updated_at_column();
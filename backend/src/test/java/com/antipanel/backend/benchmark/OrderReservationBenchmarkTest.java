@@ -0,0 +1,282 @@
+package com.antipanel.backend.benchmark;
+
+import com.antipanel.backend.config.HoldExpiryProperties;
+import com.antipanel.backend.entity.BalanceHold;
+import com.antipanel.backend.entity.Order;
+import com.antipanel.backend.entity.ProviderService;
+import com.antipanel.backend.entity.Service;
+import com.antipanel.backend.entity.User;
+import com.antipanel.backend.entity.enums.OrderStatus;
+import com.antipanel.backend.entity.enums.UserRole;
+import com.antipanel.backend.repository.OrderRepository;
+import com.antipanel.backend.repository.ServiceRepository;
+import com.antipanel.backend.repository.UserRepository;
+import com.antipanel.backend.service.BalanceHoldService;
+import com.antipanel.backend.service.OrderReservationService;
+import com.antipanel.backend.service.OrderReservationService.PendingOrder;
+import com.antipanel.backend.service.OrderReservationService.Reservation;
+import com.antipanel.backend.service.impl.BalanceHoldServiceImpl;
+import com.antipanel.backend.service.impl.OrderReservationServiceImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Database round trips and latency of the order write path, per order, excluding the provider call.
+ *
+ * The "before" run replays the original multi-transaction sequence: createHold, order lookup by hold,
+ * pending order insert in its own transaction, captureHold. The "after" run uses
+ * OrderReservationService: one statement to reserve, one to capture.
+ * Round trips are counted as executed statements plus commits and rollbacks on the pooled connections.
+ *
+ * Excluded from the regular test task. Run with: ./gradlew benchmark
+ * Note: Requires Docker to be running for Testcontainers to work.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        // Catalog rows are seeded without their categories and providers
+        "spring.datasource.hikari.connection-init-sql=SET session_replication_role = replica"
+})
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BalanceHoldServiceImpl.class, OrderReservationServiceImpl.class,
+        OrderReservationBenchmarkTest.RoundTripCounting.class})
+@EnableConfigurationProperties(HoldExpiryProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderReservationBenchmarkTest {
+
+    private static final int ORDERS = 1_000;
+    private static final int WARMUP = 100;
+    private static final int QUANTITY = 1000;
+    private static final Duration HOLD_DURATION = Duration.ofMinutes(15);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    @Autowired
+    private BalanceHoldService balanceHoldService;
+
+    @Autowired
+    private OrderReservationService orderReservationService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void benchmarkOrderWritePath() {
+        Long userId = seed();
+        Service service = serviceRepository.findByIdWithProviderService(1).orElseThrow();
+
+        for (int i = 0; i < WARMUP; i++) {
+            multiTransaction(userId, "warmup-before-" + i);
+            singleStatement(userId, service, "warmup-after-" + i);
+        }
+
+        Result before = measure(i -> multiTransaction(userId, "before-" + i));
+        Result after = measure(i -> singleStatement(userId, service, "after-" + i));
+
+        report("Multi-transaction (before)", before);
+        report("Single statement (after)", after);
+
+        assertThat(after.roundTripsPerOrder()).isEqualTo(2.0);
+        assertThat(after.roundTripsPerOrder()).isLessThan(before.roundTripsPerOrder());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM balance_holds WHERE status = 'CAPTURED'", Long.class))
+                .isEqualTo(2L * (ORDERS + WARMUP));
+    }
+
+    // Helper methods
+
+    /**
+     * The original OrderCreationFacade sequence without the provider call.
+     */
+    private void multiTransaction(Long userId, String key) {
+        BigDecimal charge = BigDecimal.ONE;
+        BalanceHold hold = balanceHoldService.createHold(userId, charge, key, HOLD_DURATION);
+        orderRepository.findByBalanceHoldId(hold.getId());
+
+        Order order = new TransactionTemplate(transactionManager).execute(status -> {
+            Service service = serviceRepository.findById(1).orElseThrow();
+            ProviderService providerService = service.getProviderService();
+            BigDecimal totalCost = providerService.getCostPerK()
+                    .multiply(BigDecimal.valueOf(QUANTITY))
+                    .divide(BigDecimal.valueOf(1000), 4, RoundingMode.HALF_UP);
+            return orderRepository.save(Order.builder()
+                    .user(userRepository.getReferenceById(userId))
+                    .service(service)
+                    .serviceName(service.getName())
+                    .providerService(providerService)
+                    .balanceHoldId(hold.getId())
+                    .idempotencyKey(key)
+                    .target("https://example.com/" + key)
+                    .quantity(QUANTITY)
+                    .remains(QUANTITY)
+                    .status(OrderStatus.PENDING)
+                    .pricePerK(service.getPricePerK())
+                    .costPerK(providerService.getCostPerK())
+                    .totalCharge(charge)
+                    .totalCost(totalCost)
+                    .profit(charge.subtract(totalCost))
+                    .isRefillable(false)
+                    .refillDays(0)
+                    .build());
+        });
+
+        balanceHoldService.captureHold(hold.getId(), order.getId());
+    }
+
+    private void singleStatement(Long userId, Service service, String key) {
+        Reservation reservation = orderReservationService.reserve(new PendingOrder(
+                userId, service.getId(), service.getName(), service.getProviderService().getId(), key,
+                "https://example.com/" + key, QUANTITY, service.getPricePerK(),
+                service.getProviderService().getCostPerK(), BigDecimal.ONE, new BigDecimal("0.5000"), 0),
+                HOLD_DURATION).orElseThrow();
+        orderReservationService.capture(reservation.holdId(), reservation.orderId());
+    }
+
+    private Result measure(IntConsumer order) {
+        long roundTrips = RoundTripCounting.COUNT.get();
+        long start = System.nanoTime();
+        for (int i = 0; i < ORDERS; i++) {
+            order.accept(i);
+        }
+        long nanos = System.nanoTime() - start;
+        return new Result((double) (RoundTripCounting.COUNT.get() - roundTrips) / ORDERS, nanos / ORDERS);
+    }
+
+    private Long seed() {
+        User user = new User();
+        user.setEmail("benchmark@example.com");
+        user.setPasswordHash("hashed_password");
+        user.setRole(UserRole.USER);
+        user.setBalance(new BigDecimal("1000000"));
+        Long userId = userRepository.save(user).getId();
+
+        jdbcTemplate.update("""
+                INSERT INTO provider_services (id, provider_id, provider_service_id, name, min_quantity, max_quantity,
+                                               cost_per_k, refill_days, is_active)
+                VALUES (1, 1, '100', 'Benchmark provider service', 10, 100000, 0.5, 0, TRUE)
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO services (id, category_id, service_type_id, provider_service_id, name, quality, speed,
+                                      min_quantity, max_quantity, price_per_k, refill_days, is_active, sort_order,
+                                      created_at, updated_at)
+                VALUES (1, 1, 1, 1, 'Benchmark service', 'HIGH', 'FAST', 10, 100000, 1.0, 0, TRUE, 0, NOW(), NOW())
+                """);
+        return userId;
+    }
+
+    private void report(String label, Result result) {
+        System.out.printf("%-28s %,d orders: %.1f round trips/order, %,d us/order%n",
+                label, ORDERS, result.roundTripsPerOrder(), result.nanosPerOrder() / 1000);
+    }
+
+    private record Result(double roundTripsPerOrder, long nanosPerOrder) {
+    }
+
+    /**
+     * Wraps the DataSource so every statement execution, commit and rollback is counted.
+     */
+    @TestConfiguration
+    static class RoundTripCounting {
+
+        static final AtomicLong COUNT = new AtomicLong();
+
+        private static final Set<String> ROUND_TRIPS = Set.of(
+                "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch",
+                "commit", "rollback");
+
+        @Bean
+        static BeanPostProcessor roundTripCountingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                        return new DelegatingDataSource(dataSource) {
+                            @Override
+                            public Connection getConnection() throws SQLException {
+                                return counting(Connection.class, super.getConnection());
+                            }
+                        };
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T counting(Class<T> type, T target) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        if (ROUND_TRIPS.contains(method.getName())) {
+                            COUNT.incrementAndGet();
+                        }
+                        try {
+                            Object result = method.invoke(target, args);
+                            if (result instanceof CallableStatement statement) {
+                                return counting(CallableStatement.class, statement);
+                            }
+                            if (result instanceof PreparedStatement statement) {
+                                return counting(PreparedStatement.class, statement);
+                            }
+                            if (result instanceof Statement statement) {
+                                return counting(Statement.class, statement);
+                            }
+                            return result;
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
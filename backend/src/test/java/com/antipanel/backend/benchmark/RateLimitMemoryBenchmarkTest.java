@@ -0,0 +1,78 @@
+package com.antipanel.backend.benchmark;
+
+import com.antipanel.backend.config.JwtProperties;
+import com.antipanel.backend.config.RateLimitProperties;
+import com.antipanel.backend.security.ApiKeyAuthenticator;
+import com.antipanel.backend.security.RateLimitingFilter;
+import com.antipanel.backend.security.jwt.JwtTokenProvider;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Heap retained by RateLimitingFilter after a scan from a million distinct client addresses.
+ * The bucket store is bounded by app.rate-limit.max-clients, so retained memory must stay
+ * proportional to that bound instead of to the number of addresses seen.
+ *
+ * Excluded from the regular test task. Run with: ./gradlew benchmark
+ */
+@Tag("benchmark")
+class RateLimitMemoryBenchmarkTest {
+
+    private static final int CLIENTS = 1_000_000;
+    private static final int MAX_CLIENTS = 100_000;
+
+    /**
+     * Generous upper bound per tracked bucket (key, entry, Bucket4j state, map node).
+     */
+    private static final long MAX_BYTES_PER_CLIENT = 1024;
+
+    @Test
+    void millionDistinctClients() throws Exception {
+        String secret = Base64.getEncoder().encodeToString(
+                "this_is_a_very_long_benchmark_secret_key_for_jwt_authentication_256_bits".getBytes());
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(
+                new JwtProperties(secret, 900000L, 604800000L, "benchmark"));
+        FilterChain chain = (request, response) -> { };
+
+        long before = usedHeap();
+        RateLimitingFilter filter = new RateLimitingFilter(
+                new RateLimitProperties(null, MAX_CLIENTS, null, null, null), tokenProvider,
+                mock(ApiKeyAuthenticator.class));
+
+        long start = System.nanoTime();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/orders");
+        request.setServletPath("/api/v1/orders");
+        for (int i = 0; i < CLIENTS; i++) {
+            // Public addresses: 1.0.0.0 upwards, one per client
+            request.setRemoteAddr((1 + (i >> 24)) + "." + (i >> 16 & 0xFF) + "." + (i >> 8 & 0xFF) + "." + (i & 0xFF));
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            request.removeAttribute(RateLimitingFilter.class.getName() + ".FILTERED");
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        long retained = usedHeap() - before;
+        System.out.printf("%,d clients in %,d ms: %,d buckets tracked, %,d KB retained (%,d bytes per bucket)%n",
+                CLIENTS, elapsedMs, filter.trackedClients(), retained / 1024,
+                retained / Math.max(1, filter.trackedClients()));
+
+        assertThat(filter.trackedClients()).isLessThanOrEqualTo(MAX_CLIENTS);
+        assertThat(retained).isLessThan(MAX_CLIENTS * MAX_BYTES_PER_CLIENT);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
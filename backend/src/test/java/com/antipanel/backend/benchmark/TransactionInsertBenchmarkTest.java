@@ -0,0 +1,137 @@
+package com.antipanel.backend.benchmark;
+
+import com.antipanel.backend.entity.Transaction;
+import com.antipanel.backend.entity.User;
+import com.antipanel.backend.entity.enums.TransactionType;
+import com.antipanel.backend.entity.enums.UserRole;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput of 10k transactions: IDENTITY-style row-at-a-time inserts
+ * versus pooled sequence ids with JDBC batching.
+ *
+ * The "before" run issues exactly what Hibernate sends for an IDENTITY entity:
+ * one INSERT ... RETURNING id round trip per row. The "after" run persists the real
+ * Transaction entity, whose pooled sequence lets Hibernate batch the inserts.
+ *
+ * Excluded from the regular test task. Run with: ./gradlew benchmark
+ * Note: Requires Docker to be running for Testcontainers to work.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TransactionInsertBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int FLUSH_EVERY = 50;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void benchmarkTransactionInserts() {
+        User user = new User();
+        user.setEmail("benchmark@example.com");
+        user.setPasswordHash("hashed_password");
+        user.setRole(UserRole.USER);
+        user.setBalance(BigDecimal.ZERO);
+        user = entityManager.persistFlushFind(user);
+
+        long identityNanos = insertRowByRow(user.getId());
+        long pooledNanos = insertWithPooledSequence(user);
+
+        report("IDENTITY (row by row)", identityNanos);
+        report("Pooled sequence (batched)", pooledNanos);
+        System.out.printf("Speedup: %.1fx%n", (double) identityNanos / pooledNanos);
+
+        Long inserted = entityManager.getEntityManager()
+                .createQuery("SELECT COUNT(t) FROM Transaction t", Long.class)
+                .getSingleResult();
+        assertThat(inserted).isEqualTo(2L * ROWS);
+    }
+
+    // Helper methods
+
+    private long insertRowByRow(Long userId) {
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+        long start = System.nanoTime();
+        session.doWork(connection -> {
+            String sql = "INSERT INTO transactions (id, user_id, type, amount, balance_before, balance_after, "
+                    + "description, created_at) VALUES (nextval('transactions_id_seq'), ?, ?, ?, ?, ?, ?, ?)";
+            try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < ROWS; i++) {
+                    statement.setLong(1, userId);
+                    statement.setObject(2, TransactionType.DEPOSIT.name(), Types.OTHER);
+                    statement.setBigDecimal(3, BigDecimal.ONE);
+                    statement.setBigDecimal(4, BigDecimal.ZERO);
+                    statement.setBigDecimal(5, BigDecimal.ONE);
+                    statement.setString(6, "Benchmark row " + i);
+                    statement.setTimestamp(7, Timestamp.valueOf(LocalDateTime.now()));
+                    statement.executeUpdate();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        keys.next();
+                    }
+                }
+            }
+        });
+        return System.nanoTime() - start;
+    }
+
+    private long insertWithPooledSequence(User user) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            entityManager.persist(Transaction.builder()
+                    .user(user)
+                    .type(TransactionType.DEPOSIT)
+                    .amount(BigDecimal.ONE)
+                    .balanceBefore(BigDecimal.ZERO)
+                    .balanceAfter(BigDecimal.ONE)
+                    .description("Benchmark row " + i)
+                    .build());
+            if ((i + 1) % FLUSH_EVERY == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return System.nanoTime() - start;
+    }
+
+    private void report(String label, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("%-28s %,d rows in %.2f s -> %,.0f inserts/sec%n", label, ROWS, seconds, ROWS / seconds);
+    }
+}
@@ -0,0 +1,251 @@
+package com.antipanel.backend.cache;
+
+import com.antipanel.backend.config.CacheInvalidationProperties;
+import com.antipanel.backend.entity.Category;
+import com.antipanel.backend.entity.ProviderService;
+import com.antipanel.backend.security.PrincipalChangedEvent;
+import com.antipanel.backend.service.ReferenceDataChangedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cross-node invalidation through a real PostgreSQL (Testcontainers).
+ * Every node is an InvalidationBus with its own node ID and an InvalidationListener handing
+ * what it receives to a recording handler; all nodes share one database.
+ * Note: Requires Docker to be running for Testcontainers to work.
+ */
+@Testcontainers
+@DisplayName("Cache Invalidation Tests")
+class CacheInvalidationTest {
+
+    private static final CacheInvalidationProperties PROPERTIES =
+            new CacheInvalidationProperties(true, Duration.ofMillis(100));
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transaction;
+    private final List<InvalidationListener> listeners = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        listeners.forEach(InvalidationListener::stop);
+        listeners.clear();
+        dataSource.close();
+    }
+
+    @Nested
+    @DisplayName("Delivery")
+    class Delivery {
+
+        @Test
+        @DisplayName("Should deliver invalidations to other nodes once the transaction commits")
+        void shouldDeliverOnCommit() throws InterruptedException {
+            InvalidationBus node = bus();
+            RecordingHandler otherNode = listen(bus());
+
+            transaction.executeWithoutResult(status -> node.onPrincipalChanged(new PrincipalChangedEvent(7L)));
+
+            awaitUntil(() -> !otherNode.messages.isEmpty());
+            assertThat(otherNode.messages).containsExactly(new InvalidationMessage.Principal(7L));
+        }
+
+        @Test
+        @DisplayName("Should not deliver invalidations of a rolled back transaction")
+        void shouldNotDeliverOnRollback() throws InterruptedException {
+            InvalidationBus node = bus();
+            RecordingHandler otherNode = listen(bus());
+
+            transaction.executeWithoutResult(status -> {
+                node.onPrincipalChanged(new PrincipalChangedEvent(8L));
+                status.setRollbackOnly();
+            });
+            transaction.executeWithoutResult(status -> node.onPrincipalChanged(new PrincipalChangedEvent(9L)));
+
+            awaitUntil(() -> !otherNode.messages.isEmpty());
+            assertThat(otherNode.messages).containsExactly(new InvalidationMessage.Principal(9L));
+        }
+
+        @Test
+        @DisplayName("Should send at once outside a transaction")
+        void shouldSendOutsideTransaction() throws InterruptedException {
+            InvalidationBus node = bus();
+            RecordingHandler otherNode = listen(bus());
+
+            node.publish(new InvalidationMessage.Catalog());
+
+            awaitUntil(() -> !otherNode.messages.isEmpty());
+            assertThat(otherNode.messages).containsExactly(new InvalidationMessage.Catalog());
+        }
+
+        @Test
+        @DisplayName("Should skip invalidations published by the same node")
+        void shouldSkipOwnInvalidations() throws InterruptedException {
+            InvalidationBus node = bus();
+            InvalidationBus otherNode = bus();
+            RecordingHandler sameNode = listen(node);
+
+            node.publish(new InvalidationMessage.Principal(1L));
+            otherNode.publish(new InvalidationMessage.Principal(2L));
+
+            awaitUntil(() -> !sameNode.messages.isEmpty());
+            assertThat(sameNode.messages).containsExactly(new InvalidationMessage.Principal(2L));
+        }
+
+        @Test
+        @DisplayName("Should send one invalidation per type when a transaction changes many entities")
+        void shouldCollapseReferenceChanges() throws InterruptedException {
+            InvalidationBus node = bus();
+            RecordingHandler otherNode = listen(bus());
+
+            transaction.executeWithoutResult(status -> {
+                for (int id = 1; id <= InvalidationBus.MAX_IDS_PER_TYPE + 1; id++) {
+                    node.onReferenceDataChanged(new ReferenceDataChangedEvent(ProviderService.class, id));
+                }
+                node.onReferenceDataChanged(new ReferenceDataChangedEvent(Category.class, 3));
+                node.onReferenceDataChanged(new ReferenceDataChangedEvent(Category.class, 3));
+            });
+
+            awaitUntil(() -> otherNode.messages.size() >= 2);
+            assertThat(otherNode.messages).containsExactly(
+                    new InvalidationMessage.Reference(ProviderService.class.getName(), null),
+                    new InvalidationMessage.Reference(Category.class.getName(), 3));
+        }
+    }
+
+    @Nested
+    @DisplayName("Missed invalidations")
+    class MissedInvalidations {
+
+        @Test
+        @DisplayName("Should invalidate everything when the listener reconnects")
+        void shouldInvalidateAllOnReconnect() throws InterruptedException {
+            InvalidationBus node = bus();
+            RecordingHandler otherNode = listen(bus());
+            assertThat(otherNode.invalidateAllCount.get()).isEqualTo(1);
+
+            jdbcTemplate.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = ?",
+                    InvalidationListener.APPLICATION_NAME);
+
+            awaitUntil(() -> otherNode.invalidateAllCount.get() == 2);
+            node.publish(new InvalidationMessage.Principal(3L));
+            awaitUntil(() -> !otherNode.messages.isEmpty());
+            assertThat(otherNode.messages).containsExactly(new InvalidationMessage.Principal(3L));
+        }
+
+        @Test
+        @DisplayName("Should invalidate everything on a payload it cannot read")
+        void shouldInvalidateAllOnMalformedPayload() throws InterruptedException {
+            RecordingHandler otherNode = listen(bus());
+
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", InvalidationBus.CHANNEL, "node;principal:abc");
+
+            awaitUntil(() -> otherNode.invalidateAllCount.get() == 2);
+            assertThat(otherNode.messages).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Messages")
+    class Messages {
+
+        @Test
+        @DisplayName("Should decode what it encodes")
+        void shouldRoundTrip() {
+            List<InvalidationMessage> messages = List.of(
+                    new InvalidationMessage.Principal(42L),
+                    new InvalidationMessage.Catalog(),
+                    new InvalidationMessage.Reference(ProviderService.class.getName(), 17),
+                    new InvalidationMessage.Reference(ProviderService.class.getName(), null));
+
+            for (InvalidationMessage message : messages) {
+                assertThat(InvalidationMessage.decode(message.encode())).isEqualTo(message);
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject malformed payloads")
+        void shouldRejectMalformed() {
+            for (String text : List.of("", "user:1", "principal:", "principal:x", "catalog:1", "reference:Provider")) {
+                assertThatThrownBy(() -> InvalidationMessage.decode(text))
+                        .as(text)
+                        .isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+    }
+
+    // ============ HELPER METHODS ============
+
+    private InvalidationBus bus() {
+        return new InvalidationBus(jdbcTemplate, PROPERTIES);
+    }
+
+    /**
+     * Start a listener for the node of the bus and wait until it listens.
+     */
+    private RecordingHandler listen(InvalidationBus node) throws InterruptedException {
+        RecordingHandler handler = new RecordingHandler();
+        InvalidationListener listener = new InvalidationListener(dataSource, node, PROPERTIES, List.of(handler));
+        listeners.add(listener);
+        listener.start();
+        awaitUntil(() -> handler.invalidateAllCount.get() == 1);
+        return handler;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met within 10 seconds").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    static class RecordingHandler implements InvalidationHandler {
+
+        private final List<InvalidationMessage> messages = new CopyOnWriteArrayList<>();
+        private final AtomicInteger invalidateAllCount = new AtomicInteger();
+
+        @Override
+        public void invalidate(InvalidationMessage message) {
+            messages.add(message);
+        }
+
+        @Override
+        public void invalidateAll() {
+            invalidateAllCount.incrementAndGet();
+        }
+    }
+}
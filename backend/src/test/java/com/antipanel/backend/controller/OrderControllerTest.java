@@ -1,8 +1,16 @@
 package com.antipanel.backend.controller;
 
 import com.antipanel.backend.dto.common.PageResponse;
+import com.antipanel.backend.dto.order.BulkOrderLine;
+import com.antipanel.backend.dto.order.BulkOrderLineResult;
+import com.antipanel.backend.dto.order.BulkOrderRequest;
+import com.antipanel.backend.dto.order.BulkOrderResponse;
 import com.antipanel.backend.dto.order.OrderCreateRequest;
 import com.antipanel.backend.dto.order.OrderDetailResponse;
+import com.antipanel.backend.dto.order.OrderQuoteItem;
+import com.antipanel.backend.dto.order.OrderQuoteLine;
+import com.antipanel.backend.dto.order.OrderQuoteRequest;
+import com.antipanel.backend.dto.order.OrderQuoteResponse;
 import com.antipanel.backend.dto.order.OrderResponse;
 import com.antipanel.backend.dto.user.UserSummary;
 import com.antipanel.backend.entity.User;
@@ -10,7 +18,9 @@ import com.antipanel.backend.entity.enums.OrderStatus;
 import com.antipanel.backend.entity.enums.UserRole;
 import com.antipanel.backend.exception.GlobalExceptionHandler;
 import com.antipanel.backend.security.CustomUserDetails;
+import com.antipanel.backend.service.OrderCreationFacade;
 import com.antipanel.backend.service.OrderService;
+import com.antipanel.backend.service.PricingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -49,6 +59,12 @@ class OrderControllerTest {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private PricingService pricingService;
+
+    @Mock
+    private OrderCreationFacade orderCreationFacade;
+
     @InjectMocks
     private OrderController orderController;
 
@@ -237,4 +253,93 @@ class OrderControllerTest {
                     .andExpect(jsonPath("$[0].id").value(1));
         }
     }
+
+    @Nested
+    @DisplayName("POST /api/v1/orders/quote")
+    class QuoteOrders {
+
+        @Test
+        @DisplayName("Should price the cart")
+        void shouldPriceCart() throws Exception {
+            OrderQuoteRequest request = OrderQuoteRequest.builder()
+                    .items(List.of(OrderQuoteItem.builder().serviceId(1).quantity(1000).build()))
+                    .build();
+            OrderQuoteResponse quote = OrderQuoteResponse.builder()
+                    .lines(List.of(OrderQuoteLine.builder()
+                            .serviceId(1)
+                            .quantity(1000)
+                            .pricePerK(new BigDecimal("5.00"))
+                            .charge(new BigDecimal("5.0000"))
+                            .orderable(true)
+                            .build()))
+                    .total(new BigDecimal("5.0000"))
+                    .orderable(true)
+                    .build();
+            when(pricingService.quote(any(OrderQuoteRequest.class))).thenReturn(quote);
+
+            mockMvc.perform(post("/api/v1/orders/quote")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(5.0))
+                    .andExpect(jsonPath("$.orderable").value(true))
+                    .andExpect(jsonPath("$.lines[0].charge").value(5.0));
+        }
+
+        @Test
+        @DisplayName("Should reject an empty cart")
+        void shouldRejectEmptyCart() throws Exception {
+            mockMvc.perform(post("/api/v1/orders/quote")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"items\": []}"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/orders/bulk")
+    class BulkOrders {
+
+        @Test
+        @DisplayName("Should return per-line results")
+        void shouldReturnPerLineResults() throws Exception {
+            BulkOrderRequest request = BulkOrderRequest.builder()
+                    .lines(List.of(BulkOrderLine.builder()
+                            .serviceId(1)
+                            .target("https://instagram.com/test")
+                            .quantity(1000)
+                            .build()))
+                    .build();
+            BulkOrderResponse bulk = BulkOrderResponse.builder()
+                    .results(List.of(BulkOrderLineResult.builder()
+                            .line(0)
+                            .serviceId(1)
+                            .charge(new BigDecimal("5.0000"))
+                            .placed(true)
+                            .order(orderResponse)
+                            .build()))
+                    .placed(1)
+                    .failed(0)
+                    .totalCharge(new BigDecimal("5.0000"))
+                    .build();
+            when(orderCreationFacade.createBulkOrder(eq(1L), any(BulkOrderRequest.class))).thenReturn(bulk);
+
+            mockMvc.perform(post("/api/v1/orders/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.placed").value(1))
+                    .andExpect(jsonPath("$.totalCharge").value(5.0))
+                    .andExpect(jsonPath("$.results[0].placed").value(true));
+        }
+
+        @Test
+        @DisplayName("Should reject a line without target")
+        void shouldRejectInvalidLine() throws Exception {
+            mockMvc.perform(post("/api/v1/orders/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"lines\": [{\"serviceId\": 1, \"quantity\": 1000}]}"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
 }
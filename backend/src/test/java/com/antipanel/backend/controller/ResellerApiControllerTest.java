@@ -0,0 +1,227 @@
+package com.antipanel.backend.controller;
+
+import com.antipanel.backend.dto.reseller.ResellerBalance;
+import com.antipanel.backend.dto.reseller.ResellerOrderStatus;
+import com.antipanel.backend.entity.User;
+import com.antipanel.backend.entity.enums.UserRole;
+import com.antipanel.backend.exception.BadRequestException;
+import com.antipanel.backend.exception.GlobalExceptionHandler;
+import com.antipanel.backend.exception.InsufficientBalanceException;
+import com.antipanel.backend.security.ApiKeyAuthenticator;
+import com.antipanel.backend.security.CustomUserDetails;
+import com.antipanel.backend.service.ResellerApiService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResellerApiController Tests")
+class ResellerApiControllerTest {
+
+    private static final String API_KEY = "ap_test-key";
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ResellerApiService resellerApiService;
+
+    @Mock
+    private ApiKeyAuthenticator apiKeyAuthenticator;
+
+    @InjectMocks
+    private ResellerApiController resellerApiController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(resellerApiController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Authentication")
+    class Authentication {
+
+        @Test
+        @DisplayName("Should answer an invalid key with an error body")
+        void shouldRejectInvalidKey() throws Exception {
+            when(apiKeyAuthenticator.authenticate("wrong")).thenReturn(Optional.empty());
+
+            mockMvc.perform(post("/api/v2")
+                            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                            .param("key", "wrong")
+                            .param("action", "balance"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.error").value("Invalid API key"));
+
+            verify(resellerApiService, never()).balance(anyLong());
+        }
+
+        @Test
+        @DisplayName("Should answer a missing key with an error body")
+        void shouldRejectMissingKey() throws Exception {
+            mockMvc.perform(post("/api/v2")
+                            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                            .param("action", "balance"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.error").value("Incorrect request"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Actions")
+    class Actions {
+
+        @BeforeEach
+        void authenticate() {
+            when(apiKeyAuthenticator.authenticate(API_KEY)).thenReturn(Optional.of(reseller()));
+        }
+
+        @Test
+        @DisplayName("Should write the serialized services list as is")
+        void shouldReturnServices() throws Exception {
+            byte[] services = "[{\"service\":1,\"name\":\"Followers\"}]".getBytes(StandardCharsets.UTF_8);
+            when(resellerApiService.services()).thenReturn(services);
+
+            mockMvc.perform(action("services"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(content().bytes(services));
+        }
+
+        @Test
+        @DisplayName("Should place an order")
+        void shouldAddOrder() throws Exception {
+            when(resellerApiService.add(1L, 5, "https://instagram.com/test", 1000))
+                    .thenReturn(Map.of("order", 42L));
+
+            mockMvc.perform(action("add")
+                            .param("service", "5")
+                            .param("link", "https://instagram.com/test")
+                            .param("quantity", "1000"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.order").value(42));
+        }
+
+        @Test
+        @DisplayName("Should report insufficient funds in panel wording")
+        void shouldReportInsufficientFunds() throws Exception {
+            when(resellerApiService.add(any(), any(), any(), any()))
+                    .thenThrow(new InsufficientBalanceException(new BigDecimal("10"), new BigDecimal("1")));
+
+            mockMvc.perform(action("add")
+                            .param("service", "5")
+                            .param("link", "https://instagram.com/test")
+                            .param("quantity", "1000"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.error").value("Not enough funds on balance"));
+        }
+
+        @Test
+        @DisplayName("Should return the status of one order")
+        void shouldReturnStatus() throws Exception {
+            when(resellerApiService.status(1L, 42L)).thenReturn(ResellerOrderStatus.builder()
+                    .charge("2.5000")
+                    .startCount("120")
+                    .status("In progress")
+                    .remains("300")
+                    .currency("USD")
+                    .build());
+
+            mockMvc.perform(action("status").param("order", "42"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.charge").value("2.5000"))
+                    .andExpect(jsonPath("$.start_count").value("120"))
+                    .andExpect(jsonPath("$.status").value("In progress"));
+        }
+
+        @Test
+        @DisplayName("Should return the status of several orders from a comma-separated list")
+        void shouldReturnMultiStatus() throws Exception {
+            Map<String, Object> statuses = new LinkedHashMap<>();
+            statuses.put("42", ResellerOrderStatus.builder().status("Completed").build());
+            statuses.put("43", Map.of("error", "Incorrect order ID"));
+            when(resellerApiService.statuses(1L, List.of(42L, 43L))).thenReturn(statuses);
+
+            mockMvc.perform(action("status").param("orders", "42,43"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$['42'].status").value("Completed"))
+                    .andExpect(jsonPath("$['43'].error").value("Incorrect order ID"));
+        }
+
+        @Test
+        @DisplayName("Should return business errors as an error body")
+        void shouldReturnBusinessErrors() throws Exception {
+            when(resellerApiService.refill(1L, 42L)).thenThrow(new BadRequestException("Incorrect order ID"));
+
+            mockMvc.perform(action("refill").param("order", "42"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.error").value("Incorrect order ID"));
+        }
+
+        @Test
+        @DisplayName("Should return the balance")
+        void shouldReturnBalance() throws Exception {
+            when(resellerApiService.balance(1L)).thenReturn(new ResellerBalance("100.0000", "USD"));
+
+            mockMvc.perform(action("balance"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.balance").value("100.0000"))
+                    .andExpect(jsonPath("$.currency").value("USD"));
+        }
+
+        @Test
+        @DisplayName("Should reject unknown actions")
+        void shouldRejectUnknownAction() throws Exception {
+            mockMvc.perform(action("delete"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.error").value("Incorrect action"));
+        }
+    }
+
+    // ============ HELPER METHODS ============
+
+    private static MockHttpServletRequestBuilder action(String action) {
+        return post("/api/v2")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("key", API_KEY)
+                .param("action", action);
+    }
+
+    private static CustomUserDetails reseller() {
+        return new CustomUserDetails(User.builder()
+                .id(1L)
+                .email("reseller@example.com")
+                .passwordHash("hash")
+                .role(UserRole.USER)
+                .balance(new BigDecimal("100.00"))
+                .isBanned(false)
+                .build());
+    }
+}
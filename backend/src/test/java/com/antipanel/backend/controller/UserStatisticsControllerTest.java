@@ -4,9 +4,9 @@ import com.antipanel.backend.entity.User;
 import com.antipanel.backend.entity.enums.OrderStatus;
 import com.antipanel.backend.entity.enums.UserRole;
 import com.antipanel.backend.exception.GlobalExceptionHandler;
-import com.antipanel.backend.repository.OrderRepository;
 import com.antipanel.backend.repository.UserRepository;
 import com.antipanel.backend.security.CustomUserDetails;
+import com.antipanel.backend.service.OrderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -40,7 +40,7 @@ class UserStatisticsControllerTest {
     private MockMvc mockMvc;
 
     @Mock
-    private OrderRepository orderRepository;
+    private OrderService orderService;
 
     @Mock
     private UserRepository userRepository;
@@ -85,11 +85,11 @@ class UserStatisticsControllerTest {
         @DisplayName("Should return user statistics successfully")
         void shouldReturnUserStatisticsSuccessfully() throws Exception {
             // Setup mocks
-            when(orderRepository.countByUserId(1L)).thenReturn(25L);
-            when(orderRepository.countByUserIdAndStatus(1L, OrderStatus.PENDING)).thenReturn(2L);
-            when(orderRepository.countByUserIdAndStatus(1L, OrderStatus.PROCESSING)).thenReturn(1L);
-            when(orderRepository.countByUserIdAndStatus(1L, OrderStatus.COMPLETED)).thenReturn(20L);
-            when(orderRepository.countByUserIdAndCreatedAtAfter(eq(1L), any(LocalDateTime.class))).thenReturn(5L);
+            when(orderService.countByUser(1L)).thenReturn(25L);
+            when(orderService.countByUserAndStatus(1L, OrderStatus.PENDING)).thenReturn(2L);
+            when(orderService.countByUserAndStatus(1L, OrderStatus.PROCESSING)).thenReturn(1L);
+            when(orderService.countByUserAndStatus(1L, OrderStatus.COMPLETED)).thenReturn(20L);
+            when(orderService.countByUserSince(eq(1L), any(LocalDateTime.class))).thenReturn(5L);
             when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
 
             mockMvc.perform(get("/api/v1/users/me/statistics"))
@@ -119,11 +119,11 @@ class UserStatisticsControllerTest {
                             List.of(new SimpleGrantedAuthority("ROLE_USER")))
             );
 
-            when(orderRepository.countByUserId(2L)).thenReturn(0L);
-            when(orderRepository.countByUserIdAndStatus(2L, OrderStatus.PENDING)).thenReturn(0L);
-            when(orderRepository.countByUserIdAndStatus(2L, OrderStatus.PROCESSING)).thenReturn(0L);
-            when(orderRepository.countByUserIdAndStatus(2L, OrderStatus.COMPLETED)).thenReturn(0L);
-            when(orderRepository.countByUserIdAndCreatedAtAfter(eq(2L), any(LocalDateTime.class))).thenReturn(0L);
+            when(orderService.countByUser(2L)).thenReturn(0L);
+            when(orderService.countByUserAndStatus(2L, OrderStatus.PENDING)).thenReturn(0L);
+            when(orderService.countByUserAndStatus(2L, OrderStatus.PROCESSING)).thenReturn(0L);
+            when(orderService.countByUserAndStatus(2L, OrderStatus.COMPLETED)).thenReturn(0L);
+            when(orderService.countByUserSince(eq(2L), any(LocalDateTime.class))).thenReturn(0L);
             when(userRepository.findById(2L)).thenReturn(Optional.of(newUser));
 
             mockMvc.perform(get("/api/v1/users/me/statistics"))
@@ -147,11 +147,11 @@ class UserStatisticsControllerTest {
                     .isBanned(false)
                     .build();
 
-            when(orderRepository.countByUserId(1L)).thenReturn(100L);
-            when(orderRepository.countByUserIdAndStatus(1L, OrderStatus.PENDING)).thenReturn(0L);
-            when(orderRepository.countByUserIdAndStatus(1L, OrderStatus.PROCESSING)).thenReturn(0L);
-            when(orderRepository.countByUserIdAndStatus(1L, OrderStatus.COMPLETED)).thenReturn(100L);
-            when(orderRepository.countByUserIdAndCreatedAtAfter(eq(1L), any(LocalDateTime.class))).thenReturn(15L);
+            when(orderService.countByUser(1L)).thenReturn(100L);
+            when(orderService.countByUserAndStatus(1L, OrderStatus.PENDING)).thenReturn(0L);
+            when(orderService.countByUserAndStatus(1L, OrderStatus.PROCESSING)).thenReturn(0L);
+            when(orderService.countByUserAndStatus(1L, OrderStatus.COMPLETED)).thenReturn(100L);
+            when(orderService.countByUserSince(eq(1L), any(LocalDateTime.class))).thenReturn(15L);
             when(userRepository.findById(1L)).thenReturn(Optional.of(richUser));
 
             mockMvc.perform(get("/api/v1/users/me/statistics"))
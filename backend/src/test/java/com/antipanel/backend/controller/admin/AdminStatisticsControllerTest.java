@@ -6,9 +6,9 @@ import com.antipanel.backend.entity.enums.OrderStatus;
 import com.antipanel.backend.entity.enums.UserRole;
 import com.antipanel.backend.exception.GlobalExceptionHandler;
 import com.antipanel.backend.repository.InvoiceRepository;
-import com.antipanel.backend.repository.OrderRepository;
 import com.antipanel.backend.repository.UserRepository;
 import com.antipanel.backend.security.CustomUserDetails;
+import com.antipanel.backend.service.OrderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -28,6 +28,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -42,7 +43,7 @@ class AdminStatisticsControllerTest {
     private MockMvc mockMvc;
 
     @Mock
-    private OrderRepository orderRepository;
+    private OrderService orderService;
 
     @Mock
     private InvoiceRepository invoiceRepository;
@@ -85,20 +86,21 @@ class AdminStatisticsControllerTest {
         @Test
         @DisplayName("Should return order statistics")
         void shouldReturnOrderStatistics() throws Exception {
-            when(orderRepository.count()).thenReturn(100L);
-            when(orderRepository.countOrdersByStatus()).thenReturn(List.of(
-                    new Object[]{OrderStatus.PENDING, 10L},
-                    new Object[]{OrderStatus.PROCESSING, 20L},
-                    new Object[]{OrderStatus.COMPLETED, 70L}
+            when(orderService.countAll()).thenReturn(100L);
+            when(orderService.countAllByStatus()).thenReturn(Map.of(
+                    OrderStatus.PENDING, 10L,
+                    OrderStatus.PROCESSING, 20L,
+                    OrderStatus.COMPLETED, 70L
             ));
-            when(orderRepository.getTotalRevenue()).thenReturn(new BigDecimal("5000.00"));
-            when(orderRepository.getTotalCost()).thenReturn(new BigDecimal("2000.00"));
-            when(orderRepository.getTotalProfit()).thenReturn(new BigDecimal("3000.00"));
+            when(orderService.getTotalRevenue()).thenReturn(new BigDecimal("5000.00"));
+            when(orderService.getTotalCost()).thenReturn(new BigDecimal("2000.00"));
+            when(orderService.getTotalProfit()).thenReturn(new BigDecimal("3000.00"));
 
             mockMvc.perform(get("/api/v1/admin/statistics/orders")
                             .contentType(MediaType.APPLICATION_JSON))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.totalOrders").value(100))
+                    .andExpect(jsonPath("$.ordersByStatus.COMPLETED").value(70))
                     .andExpect(jsonPath("$.totalRevenue").value(5000.00))
                     .andExpect(jsonPath("$.totalCost").value(2000.00))
                     .andExpect(jsonPath("$.totalProfit").value(3000.00));
@@ -112,11 +114,11 @@ class AdminStatisticsControllerTest {
         @Test
         @DisplayName("Should return order statistics for date range")
         void shouldReturnOrderStatisticsForDateRange() throws Exception {
-            when(orderRepository.findOrdersBetweenDates(any(LocalDateTime.class), any(LocalDateTime.class)))
-                    .thenReturn(Collections.emptyList());
-            when(orderRepository.getRevenueBetweenDates(any(LocalDateTime.class), any(LocalDateTime.class)))
+            when(orderService.countBetweenDates(any(LocalDateTime.class), any(LocalDateTime.class)))
+                    .thenReturn(0L);
+            when(orderService.getRevenueBetweenDates(any(LocalDateTime.class), any(LocalDateTime.class)))
                     .thenReturn(new BigDecimal("1000.00"));
-            when(orderRepository.getProfitBetweenDates(any(LocalDateTime.class), any(LocalDateTime.class)))
+            when(orderService.getProfitBetweenDates(any(LocalDateTime.class), any(LocalDateTime.class)))
                     .thenReturn(new BigDecimal("500.00"));
 
             mockMvc.perform(get("/api/v1/admin/statistics/orders/range")
@@ -179,15 +181,15 @@ class AdminStatisticsControllerTest {
         void shouldReturnDashboardSummary() throws Exception {
             when(userRepository.count()).thenReturn(1000L);
             when(userRepository.findByIsBannedTrue()).thenReturn(Collections.emptyList());
-            when(orderRepository.count()).thenReturn(500L);
-            when(orderRepository.countByStatus(OrderStatus.PENDING)).thenReturn(20L);
-            when(orderRepository.getTotalRevenue()).thenReturn(new BigDecimal("10000.00"));
-            when(orderRepository.getTotalProfit()).thenReturn(new BigDecimal("5000.00"));
+            when(orderService.countAll()).thenReturn(500L);
+            when(orderService.countByStatus(OrderStatus.PENDING)).thenReturn(20L);
+            when(orderService.getTotalRevenue()).thenReturn(new BigDecimal("10000.00"));
+            when(orderService.getTotalProfit()).thenReturn(new BigDecimal("5000.00"));
             when(invoiceRepository.getTotalRevenue()).thenReturn(new BigDecimal("15000.00"));
             when(invoiceRepository.countByStatus(InvoiceStatus.PENDING)).thenReturn(5L);
-            when(orderRepository.findOrdersBetweenDates(any(LocalDateTime.class), any(LocalDateTime.class)))
-                    .thenReturn(Collections.emptyList());
-            when(orderRepository.getRevenueBetweenDates(any(LocalDateTime.class), any(LocalDateTime.class)))
+            when(orderService.countBetweenDates(any(LocalDateTime.class), any(LocalDateTime.class)))
+                    .thenReturn(0L);
+            when(orderService.getRevenueBetweenDates(any(LocalDateTime.class), any(LocalDateTime.class)))
                     .thenReturn(new BigDecimal("100.00"));
 
             mockMvc.perform(get("/api/v1/admin/statistics/dashboard")
@@ -0,0 +1,216 @@
+package com.antipanel.backend.datasource;
+
+import com.antipanel.backend.cache.InvalidationMessage;
+import com.antipanel.backend.cache.ReferenceCache;
+import com.antipanel.backend.cache.ReferenceCacheInvalidator;
+import com.antipanel.backend.config.PrincipalCacheProperties;
+import com.antipanel.backend.entity.Category;
+import com.antipanel.backend.entity.User;
+import com.antipanel.backend.entity.enums.UserRole;
+import com.antipanel.backend.security.CustomUserDetails;
+import com.antipanel.backend.security.CustomUserDetailsService;
+import com.antipanel.backend.security.PrincipalCache;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Read/write routing against two real PostgreSQL instances (Testcontainers) standing in for a
+ * primary and a read replica. Each instance names itself in a node table. A user is banned on the
+ * primary only, standing in for a ban the replica has not replayed yet.
+ * Note: Requires Docker to be running for Testcontainers to work.
+ */
+@Testcontainers
+@DisplayName("Read Replica Routing Tests")
+class ReplicaRoutingTest {
+
+    @Container
+    static PostgreSQLContainer<?> primaryDb = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    @Container
+    static PostgreSQLContainer<?> replicaDb = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    private static final String BANNED_EMAIL = "banned@example.com";
+
+    private final AtomicBoolean pinned = new AtomicBoolean();
+
+    private HikariDataSource primaryPool;
+    private HikariDataSource replicaPool;
+    private ReplicaPools replicaPools;
+    private DataSourceTransactionManager transactionManager;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readTransaction;
+
+    @BeforeAll
+    static void nameNodes() {
+        for (PostgreSQLContainer<?> db : List.of(primaryDb, replicaDb)) {
+            try (HikariDataSource dataSource = dataSource(db)) {
+                JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+                jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+                jdbc.update("INSERT INTO node VALUES (?)", db == primaryDb ? "primary" : "replica");
+                jdbc.execute("CREATE TABLE users (email VARCHAR(50), is_banned BOOLEAN)");
+                jdbc.update("INSERT INTO users VALUES (?, ?)", BANNED_EMAIL, db == primaryDb);
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        primaryPool = dataSource(primaryDb);
+        replicaPool = dataSource(replicaDb);
+        replicaPools = new ReplicaPools(List.of(replicaPool), Duration.ofSeconds(5));
+        replicaPools.refreshLag();
+
+        ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(primaryPool, replicaPools, pinned::get);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void closePools() {
+        replicaPools.close();
+        primaryPool.close();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and the rest to the primary")
+    void shouldRouteByReadOnlyFlag() {
+        assertThat(readTransaction.execute(status -> node())).isEqualTo("replica");
+        assertThat(writeTransaction.execute(status -> node())).isEqualTo("primary");
+        assertThat(replicaPools.usableCount()).isEqualTo(1);
+        assertThat(replicaPools.lagMillis(replicaPool)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep pinned callers and background work on the primary")
+    void shouldReadFromPrimaryWhenPinnedOrInBackground() {
+        assertThat(BackgroundPool.call(() -> readTransaction.execute(status -> node()))).isEqualTo("primary");
+
+        pinned.set(true);
+        assertThat(readTransaction.execute(status -> node())).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica is unavailable")
+    void shouldFallBackToPrimary() {
+        replicaPool.close();
+
+        assertThat(readTransaction.execute(status -> node())).isEqualTo("primary");
+        assertThat(replicaPools.usableCount()).isZero();
+
+        replicaPools.refreshLag();
+        assertThat(replicaPools.lagMillis(replicaPool)).isEqualTo(-1);
+        assertThat(readTransaction.execute(status -> node())).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should pin a user to the primary only within the window")
+    void shouldPinWithinWindow() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofMinutes(1));
+        ReadYourWrites expired = new ReadYourWrites(Duration.ZERO);
+
+        readYourWrites.recordWrite(1L);
+        expired.recordWrite(1L);
+
+        assertThat(readYourWrites.isPinned(1L)).isTrue();
+        assertThat(readYourWrites.isPinned(2L)).isFalse();
+        assertThat(readYourWrites.purgeExpired()).isZero();
+        assertThat(expired.isPinned(1L)).isFalse();
+        assertThat(expired.purgeExpired()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should load principals from the primary while the replica has not seen a ban")
+    void shouldLoadPrincipalsFromPrimary() throws NoSuchMethodException {
+        TransactionAttribute principalLoad = new AnnotationTransactionAttributeSource().getTransactionAttribute(
+                CustomUserDetailsService.class.getMethod("loadUserByUsername", String.class),
+                CustomUserDetailsService.class);
+        TransactionTemplate loadTransaction = new TransactionTemplate(transactionManager, principalLoad);
+        PrincipalCache principalCache = new PrincipalCache(
+                new PrincipalCacheProperties(true, Duration.ofMinutes(5), 100));
+
+        UserDetails principal = principalCache.get(BANNED_EMAIL,
+                email -> loadTransaction.execute(status -> loadPrincipal(email)));
+
+        assertThat(readTransaction.execute(status -> loadPrincipal(BANNED_EMAIL).isEnabled())).isTrue();
+        assertThat(principal.isEnabled()).isFalse();
+        assertThat(principalCache.get(BANNED_EMAIL, email -> loadPrincipal(email)).isEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should send every read to the primary within the window after reference data changed")
+    void shouldPinAllReadsAfterReferenceChange() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofMinutes(1));
+        ReadYourWrites expired = new ReadYourWrites(Duration.ZERO);
+        ReadWriteRoutingDataSource dataSource =
+                new ReadWriteRoutingDataSource(primaryPool, replicaPools, readYourWrites::isAllPinned);
+        JdbcTemplate routedJdbc = new JdbcTemplate(dataSource);
+        TransactionTemplate routedRead = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        routedRead.setReadOnly(true);
+
+        assertThat(readYourWrites.isAllPinned()).isFalse();
+        assertThat(routedRead.execute(status -> routedJdbc.queryForObject("SELECT name FROM node", String.class)))
+                .isEqualTo("replica");
+
+        new ReferenceCacheInvalidator(mock(ReferenceCache.class), readYourWrites)
+                .invalidate(new InvalidationMessage.Reference(Category.class.getName(), 3));
+        expired.recordSharedWrite();
+
+        assertThat(readYourWrites.isAllPinned()).isTrue();
+        assertThat(readYourWrites.isPinned(1L)).isFalse();
+        assertThat(routedRead.execute(status -> routedJdbc.queryForObject("SELECT name FROM node", String.class)))
+                .isEqualTo("primary");
+        assertThat(expired.isAllPinned()).isFalse();
+    }
+
+    // ============ HELPER METHODS ============
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private CustomUserDetails loadPrincipal(String email) {
+        return jdbcTemplate.queryForObject("SELECT email, is_banned FROM users WHERE email = ?", (rs, rowNum) -> {
+            User user = new User();
+            user.setEmail(rs.getString("email"));
+            user.setIsBanned(rs.getBoolean("is_banned"));
+            user.setRole(UserRole.USER);
+            return new CustomUserDetails(user);
+        }, email);
+    }
+
+    private static HikariDataSource dataSource(PostgreSQLContainer<?> db) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(db.getJdbcUrl());
+        config.setUsername(db.getUsername());
+        config.setPassword(db.getPassword());
+        config.setMaximumPoolSize(2);
+        config.setConnectionTimeout(250);
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+}
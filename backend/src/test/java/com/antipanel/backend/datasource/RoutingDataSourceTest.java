@@ -0,0 +1,107 @@
+package com.antipanel.backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoutingDataSource Tests")
+class RoutingDataSourceTest {
+
+    @Mock
+    private HikariDataSource webPool;
+
+    @Mock
+    private HikariDataSource backgroundPool;
+
+    private final Connection webConnection = mock(Connection.class);
+    private final Connection backgroundConnection = mock(Connection.class);
+
+    private RoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new RoutingDataSource(webPool, backgroundPool);
+    }
+
+    @Test
+    @DisplayName("Should use the web pool by default")
+    void shouldUseWebPoolByDefault() throws Exception {
+        when(webPool.getConnection()).thenReturn(webConnection);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(webConnection);
+        assertThat(BackgroundPool.isActive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should use the background pool for background work")
+    void shouldUseBackgroundPoolForBackgroundWork() throws Exception {
+        when(backgroundPool.getConnection()).thenReturn(backgroundConnection);
+        when(webPool.getConnection()).thenReturn(webConnection);
+
+        Connection connection = BackgroundPool.call(this::connection);
+
+        assertThat(connection).isSameAs(backgroundConnection);
+        assertThat(routingDataSource.getConnection()).isSameAs(webConnection);
+    }
+
+    @Test
+    @DisplayName("Should route threads started by background work to the background pool")
+    void shouldRouteInheritedThreads() throws Exception {
+        when(backgroundPool.getConnection()).thenReturn(backgroundConnection);
+        AtomicReference<Connection> connection = new AtomicReference<>();
+
+        BackgroundPool.run(() -> {
+            Thread worker = Thread.ofVirtual().start(() -> connection.set(connection()));
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThat(connection.get()).isSameAs(backgroundConnection);
+    }
+
+    @Test
+    @DisplayName("Should run the methods of @BackgroundWork beans as background work")
+    void shouldRunAnnotatedBeansAsBackgroundWork() {
+        BackgroundWorkPostProcessor postProcessor = new BackgroundWorkPostProcessor();
+
+        Sync sync = (Sync) postProcessor.postProcessAfterInitialization(new Sync(), "sync");
+        Object plain = postProcessor.postProcessAfterInitialization(new Object(), "plain");
+
+        assertThat(sync.backgroundActive()).isTrue();
+        assertThat(BackgroundPool.isActive()).isFalse();
+        assertThat(plain.getClass()).isEqualTo(Object.class);
+    }
+
+    // ============ HELPER METHODS ============
+
+    private Connection connection() {
+        try {
+            return routingDataSource.getConnection();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @BackgroundWork
+    static class Sync {
+
+        public boolean backgroundActive() {
+            return BackgroundPool.isActive();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.antipanel.backend.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Money Tests")
+class MoneyTest {
+
+    /**
+     * Random cases per property; the seed is fixed so failures are reproducible.
+     */
+    private static final int CASES = 200_000;
+    private static final long SEED = 20_261_019L;
+
+    /**
+     * Largest NUMERIC(12, 4) amount in units.
+     */
+    private static final long MAX_AMOUNT_UNITS = 999_999_999_999_999L;
+
+    @Nested
+    @DisplayName("Equivalence with BigDecimal")
+    class Equivalence {
+
+        @Test
+        @DisplayName("perThousand should match BigDecimal multiply and half-up divide")
+        void perThousandShouldMatchBigDecimal() {
+            Random random = new Random(SEED);
+            for (int i = 0; i < CASES; i++) {
+                BigDecimal perK = randomAmount(random, 9_999_999_999L);
+                int quantity = randomQuantity(random);
+
+                BigDecimal expected = perK.multiply(BigDecimal.valueOf(quantity))
+                        .divide(BigDecimal.valueOf(1000), 4, RoundingMode.HALF_UP);
+
+                assertThat(Money.of(perK).perThousand(quantity).toBigDecimal())
+                        .as("%s per K x %d", perK, quantity)
+                        .isEqualTo(expected);
+            }
+        }
+
+        @Test
+        @DisplayName("perThousand should round negative ties away from zero like HALF_UP")
+        void perThousandShouldMatchBigDecimalForNegatives() {
+            Random random = new Random(SEED);
+            for (int i = 0; i < CASES; i++) {
+                BigDecimal perK = randomAmount(random, 9_999_999_999L).negate();
+                int quantity = randomQuantity(random);
+
+                BigDecimal expected = perK.multiply(BigDecimal.valueOf(quantity))
+                        .divide(BigDecimal.valueOf(1000), 4, RoundingMode.HALF_UP);
+
+                assertThat(Money.of(perK).perThousand(quantity).toBigDecimal())
+                        .as("%s per K x %d", perK, quantity)
+                        .isEqualTo(expected);
+            }
+        }
+
+        @Test
+        @DisplayName("perThousand should stay exact when the long product overflows")
+        void perThousandShouldHandleOverflow() {
+            BigDecimal perK = new BigDecimal("999999.9999");
+
+            assertThat(Money.of(perK).perThousand(Integer.MAX_VALUE).toBigDecimal())
+                    .isEqualTo(perK.multiply(BigDecimal.valueOf(Integer.MAX_VALUE))
+                            .divide(BigDecimal.valueOf(1000), 4, RoundingMode.HALF_UP));
+        }
+
+        @Test
+        @DisplayName("add and subtract should match BigDecimal")
+        void addAndSubtractShouldMatchBigDecimal() {
+            Random random = new Random(SEED);
+            for (int i = 0; i < CASES; i++) {
+                BigDecimal a = randomSignedAmount(random);
+                BigDecimal b = randomSignedAmount(random);
+
+                assertThat(Money.of(a).add(Money.of(b)).toBigDecimal()).isEqualByComparingTo(a.add(b));
+                assertThat(Money.of(a).subtract(Money.of(b)).toBigDecimal()).isEqualByComparingTo(a.subtract(b));
+                assertThat(Money.of(a).compareTo(Money.of(b))).isEqualTo(a.compareTo(b));
+            }
+        }
+
+        @Test
+        @DisplayName("marginPercent should match the BigDecimal margin formula")
+        void marginPercentShouldMatchBigDecimal() {
+            Random random = new Random(SEED);
+            for (int i = 0; i < CASES; i++) {
+                BigDecimal price = randomAmount(random, 9_999_999_999L);
+                BigDecimal cost = randomAmount(random, 9_999_999_999L);
+                if (price.signum() == 0) {
+                    continue;
+                }
+
+                BigDecimal expected = price.subtract(cost)
+                        .divide(price, 4, RoundingMode.HALF_UP)
+                        .multiply(BigDecimal.valueOf(100));
+
+                assertThat(Money.of(price).marginPercent(Money.of(cost)))
+                        .as("price %s cost %s", price, cost)
+                        .isEqualTo(expected);
+            }
+        }
+
+        @Test
+        @DisplayName("marginPercent should be null for a zero price")
+        void marginPercentShouldBeNullForZeroPrice() {
+            assertThat(Money.ZERO.marginPercent(Money.of(new BigDecimal("1.00")))).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Conversion")
+    class Conversion {
+
+        @Test
+        @DisplayName("Should round-trip through BigDecimal at scale 4")
+        void shouldRoundTripThroughBigDecimal() {
+            Money money = Money.of(new BigDecimal("12.5"));
+
+            assertThat(money.units()).isEqualTo(125_000L);
+            assertThat(money.toBigDecimal()).isEqualTo(new BigDecimal("12.5000"));
+        }
+
+        @Test
+        @DisplayName("Should reject amounts with more than 4 decimals")
+        void shouldRejectExcessScale() {
+            assertThatThrownBy(() -> Money.of(new BigDecimal("0.00001")))
+                    .isInstanceOf(ArithmeticException.class);
+        }
+
+        @Test
+        @DisplayName("Converter should map to and from NUMERIC columns")
+        void converterShouldMapColumns() {
+            MoneyConverter converter = new MoneyConverter();
+
+            assertThat(converter.convertToDatabaseColumn(Money.ofUnits(15))).isEqualTo(new BigDecimal("0.0015"));
+            assertThat(converter.convertToEntityAttribute(new BigDecimal("0.0015"))).isEqualTo(Money.ofUnits(15));
+            assertThat(converter.convertToDatabaseColumn(null)).isNull();
+            assertThat(converter.convertToEntityAttribute(null)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should serialize as a decimal number and read numbers or strings")
+        void shouldRoundTripThroughJson() throws Exception {
+            ObjectMapper objectMapper = new ObjectMapper();
+
+            assertThat(objectMapper.writeValueAsString(Money.of(new BigDecimal("1.5")))).isEqualTo("1.5000");
+            assertThat(objectMapper.readValue("1.25", Money.class)).isEqualTo(Money.ofUnits(12_500));
+            assertThat(objectMapper.readValue("\"1.25\"", Money.class)).isEqualTo(Money.ofUnits(12_500));
+        }
+
+        @Test
+        @DisplayName("Should reject JSON amounts with more than 4 decimals")
+        void shouldRejectExcessScaleInJson() {
+            assertThatThrownBy(() -> new ObjectMapper().readValue("1.00001", Money.class))
+                    .isInstanceOf(InvalidFormatException.class);
+        }
+    }
+
+    // ============ HELPER METHODS ============
+
+    /**
+     * Non-negative amount with 0 to 4 decimals, biased towards values that hit rounding ties.
+     */
+    private static BigDecimal randomAmount(Random random, long maxUnits) {
+        long units = switch (random.nextInt(4)) {
+            case 0 -> random.nextLong(10_000);
+            case 1 -> random.nextLong(1_000) * 5;
+            default -> random.nextLong(maxUnits + 1);
+        };
+        return BigDecimal.valueOf(units, 4).stripTrailingZeros();
+    }
+
+    private static BigDecimal randomSignedAmount(Random random) {
+        BigDecimal amount = randomAmount(random, MAX_AMOUNT_UNITS);
+        return random.nextBoolean() ? amount : amount.negate();
+    }
+
+    private static int randomQuantity(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> random.nextInt(1, 1000);
+            case 1 -> random.nextInt(1, 2_000) * 500;
+            case 2 -> random.nextInt(1, 10_000_000);
+            default -> random.nextInt(1, Integer.MAX_VALUE);
+        };
+    }
+}
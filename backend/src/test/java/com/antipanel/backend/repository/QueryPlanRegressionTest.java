@@ -0,0 +1,161 @@
+package com.antipanel.backend.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plan regression tests for the hot scheduler and refill queries.
+ *
+ * Applies the partial index migration to a seeded Testcontainers PostgreSQL, captures the SQL
+ * Hibernate generates for each repository query and fails if its generic plan
+ * (EXPLAIN (GENERIC_PLAN), parameters unknown as in a prepared statement) contains a sequential scan.
+ *
+ * Note: Requires Docker to be running for Testcontainers to work.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.antipanel.backend.repository.QueryPlanRegressionTest$CapturingStatementInspector")
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = {
+        "classpath:db/migration/V14__add_partial_indexes_for_hot_queries.sql",
+        "classpath:db/query-plan-seed.sql"
+})
+class QueryPlanRegressionTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private BalanceHoldRepository balanceHoldRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void testFindOrdersNeedingUpdate_ShouldNotSeqScan() {
+        orderRepository.findOrdersNeedingUpdate(LocalDateTime.now().minusMinutes(5));
+
+        assertNoSequentialScan("findOrdersNeedingUpdate");
+    }
+
+    @Test
+    void testFindActiveOrdersByUser_ShouldNotSeqScan() {
+        orderRepository.findActiveOrdersByUser(1L);
+
+        assertNoSequentialScan("findActiveOrdersByUser");
+    }
+
+    @Test
+    void testFindRefillableOrdersByUser_ShouldNotSeqScan() {
+        orderRepository.findRefillableOrdersByUser(1L, LocalDateTime.now());
+
+        assertNoSequentialScan("findRefillableOrdersByUser");
+    }
+
+    @Test
+    void testFindOrdersWithExpiredRefill_ShouldNotSeqScan() {
+        orderRepository.findOrdersWithExpiredRefill(LocalDateTime.now());
+
+        assertNoSequentialScan("findOrdersWithExpiredRefill");
+    }
+
+    @Test
+    void testFindOrdersWithRefillExpiringSoon_ShouldNotSeqScan() {
+        orderRepository.findOrdersWithRefillExpiringSoon(LocalDateTime.now(), LocalDateTime.now().plusDays(3));
+
+        assertNoSequentialScan("findOrdersWithRefillExpiringSoon");
+    }
+
+    @Test
+    void testFindInvoicesEligibleForPolling_ShouldNotSeqScan() {
+        invoiceRepository.findInvoicesEligibleForPolling();
+
+        assertNoSequentialScan("findInvoicesEligibleForPolling");
+    }
+
+    @Test
+    void testFindExpiredHolds_ShouldNotSeqScan() {
+        balanceHoldRepository.findExpiredHolds(LocalDateTime.now());
+
+        assertNoSequentialScan("findExpiredHolds");
+    }
+
+    // Helper methods
+
+    /**
+     * Explain the first statement issued by the query under test
+     * (later ones are lazy loads of associations).
+     */
+    private void assertNoSequentialScan(String queryName) {
+        assertThat(CapturingStatementInspector.STATEMENTS).as("SQL captured for %s", queryName).isNotEmpty();
+        String sql = CapturingStatementInspector.STATEMENTS.getFirst();
+
+        String plan = explain(sql);
+
+        assertThat(plan)
+                .as("Plan of %s:%n%s%n%s", queryName, sql, plan)
+                .doesNotContain("Seq Scan");
+    }
+
+    private String explain(String sql) {
+        // JDBC placeholders become $n so PostgreSQL can plan the statement without values
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+
+        List<?> rows = entityManager.getEntityManager()
+                .createNativeQuery("EXPLAIN (GENERIC_PLAN) " + numbered)
+                .getResultList();
+        return rows.stream().map(String::valueOf).collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares.
+     * Instantiated by Hibernate from the statement_inspector property.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.antipanel.backend.scheduler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TimingWheel Tests")
+class TimingWheelTest {
+
+    @Nested
+    @DisplayName("Expiry")
+    class Expiry {
+
+        @Test
+        @DisplayName("Should hand back an item exactly at its deadline tick")
+        void shouldExpireAtDeadline() {
+            TimingWheel<String> wheel = new TimingWheel<>(2, 3, 100);
+            wheel.schedule("hold", 105);
+
+            assertThat(wheel.advanceTo(104)).isEmpty();
+            assertThat(wheel.advanceTo(105)).containsExactly("hold");
+            assertThat(wheel.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should cascade items from higher levels without expiring them early")
+        void shouldCascadeFromHigherLevels() {
+            // 4 slots per level: level 0 covers 4 ticks, level 1 16, level 2 64
+            TimingWheel<String> wheel = new TimingWheel<>(2, 3, 0);
+            wheel.schedule("level-1", 9);
+            wheel.schedule("level-2", 50);
+
+            assertThat(wheel.advanceTo(8)).isEmpty();
+            assertThat(wheel.advanceTo(9)).containsExactly("level-1");
+            assertThat(wheel.advanceTo(49)).isEmpty();
+            assertThat(wheel.advanceTo(50)).containsExactly("level-2");
+        }
+
+        @Test
+        @DisplayName("Should keep items beyond the wheel range until their deadline")
+        void shouldParkItemsBeyondRange() {
+            TimingWheel<String> wheel = new TimingWheel<>(2, 2, 0);
+            wheel.schedule("far", 100);
+
+            assertThat(wheel.advanceTo(99)).isEmpty();
+            assertThat(wheel.size()).isEqualTo(1);
+            assertThat(wheel.advanceTo(100)).containsExactly("far");
+        }
+
+        @Test
+        @DisplayName("Should reject deadlines that already passed")
+        void shouldRejectPastDeadlines() {
+            TimingWheel<String> wheel = new TimingWheel<>(2, 3, 10);
+
+            assertThat(wheel.schedule("late", 10)).isFalse();
+            assertThat(wheel.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should expire every random item at its own deadline")
+        void shouldMatchDeadlinesForRandomItems() {
+            Random random = new Random(20_261_019L);
+            TimingWheel<Integer> wheel = new TimingWheel<>(3, 3, 0);
+            Map<Integer, Long> deadlines = new HashMap<>();
+            long now = 0;
+            int next = 0;
+
+            for (int step = 0; step < 5_000; step++) {
+                for (int i = random.nextInt(4); i > 0; i--) {
+                    long deadline = now + 1 + random.nextInt(1_500);
+                    wheel.schedule(next, deadline);
+                    deadlines.put(next++, deadline);
+                }
+                now += 1 + random.nextInt(3);
+                for (Integer item : wheel.advanceTo(now)) {
+                    assertThat(deadlines.remove(item)).as("item %d", item)
+                            .isLessThanOrEqualTo(now)
+                            .isGreaterThan(now - 3);
+                }
+            }
+
+            List<Long> overdue = new ArrayList<>();
+            for (Long deadline : deadlines.values()) {
+                if (deadline <= now) {
+                    overdue.add(deadline);
+                }
+            }
+            assertThat(overdue).isEmpty();
+            assertThat(wheel.size()).isEqualTo(deadlines.size());
+        }
+    }
+}
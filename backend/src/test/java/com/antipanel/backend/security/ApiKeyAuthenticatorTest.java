@@ -0,0 +1,125 @@
+package com.antipanel.backend.security;
+
+import com.antipanel.backend.config.PrincipalCacheProperties;
+import com.antipanel.backend.entity.User;
+import com.antipanel.backend.entity.enums.UserRole;
+import com.antipanel.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ApiKeyAuthenticator Tests")
+class ApiKeyAuthenticatorTest {
+
+    private static final String API_KEY = "ap_test-key";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private PrincipalCache principalCache;
+    private ApiKeyAuthenticator apiKeyAuthenticator;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(new PrincipalCacheProperties(true, Duration.ofMinutes(1), 100));
+        apiKeyAuthenticator = new ApiKeyAuthenticator(userRepository, principalCache);
+    }
+
+    @Test
+    @DisplayName("Should authenticate a known key and serve repeats from the principal cache")
+    void shouldAuthenticateAndCache() {
+        when(userRepository.findByApiKeyHash(ApiKeyAuthenticator.hash(API_KEY))).thenReturn(Optional.of(user(false)));
+
+        Optional<CustomUserDetails> first = apiKeyAuthenticator.authenticate(API_KEY);
+        Optional<CustomUserDetails> second = apiKeyAuthenticator.authenticate(API_KEY);
+
+        assertThat(first).isPresent();
+        assertThat(first.get().getUserId()).isEqualTo(1L);
+        assertThat(second.get()).isSameAs(first.get());
+        verify(userRepository, times(1)).findByApiKeyHash(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reload the key owner after the user is evicted")
+    void shouldReloadAfterEviction() {
+        when(userRepository.findByApiKeyHash(anyString())).thenReturn(Optional.of(user(false)));
+
+        apiKeyAuthenticator.authenticate(API_KEY);
+        principalCache.evict(1L);
+        apiKeyAuthenticator.authenticate(API_KEY);
+
+        verify(userRepository, times(2)).findByApiKeyHash(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown keys")
+    void shouldRejectUnknownKey() {
+        when(userRepository.findByApiKeyHash(anyString())).thenReturn(Optional.empty());
+
+        assertThat(apiKeyAuthenticator.authenticate(API_KEY)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve repeats of an unknown key without a lookup")
+    void shouldRememberUnknownKey() {
+        when(userRepository.findByApiKeyHash(anyString())).thenReturn(Optional.empty());
+
+        apiKeyAuthenticator.authenticate(API_KEY);
+        apiKeyAuthenticator.authenticate(API_KEY);
+        apiKeyAuthenticator.authenticate("ap_other-key");
+
+        verify(userRepository, times(1)).findByApiKeyHash(ApiKeyAuthenticator.hash(API_KEY));
+        verify(userRepository, times(2)).findByApiKeyHash(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject keys of banned users")
+    void shouldRejectBannedUser() {
+        when(userRepository.findByApiKeyHash(anyString())).thenReturn(Optional.of(user(true)));
+
+        assertThat(apiKeyAuthenticator.authenticate(API_KEY)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject blank keys without a lookup")
+    void shouldRejectBlankKey() {
+        assertThat(apiKeyAuthenticator.authenticate(" ")).isEmpty();
+        assertThat(apiKeyAuthenticator.authenticate(null)).isEmpty();
+        verify(userRepository, never()).findByApiKeyHash(anyString());
+    }
+
+    @Test
+    @DisplayName("Should generate distinct keys and hash them to 64 hex characters")
+    void shouldGenerateAndHashKeys() {
+        String key = ApiKeyAuthenticator.generateKey();
+
+        assertThat(key).startsWith("ap_").isNotEqualTo(ApiKeyAuthenticator.generateKey());
+        assertThat(ApiKeyAuthenticator.hash(key)).hasSize(64).matches("[0-9a-f]+");
+    }
+
+    private static User user(boolean banned) {
+        return User.builder()
+                .id(1L)
+                .email("reseller@example.com")
+                .passwordHash("hash")
+                .role(UserRole.USER)
+                .balance(new BigDecimal("100.00"))
+                .isBanned(banned)
+                .build();
+    }
+}
@@ -0,0 +1,301 @@
+package com.antipanel.backend.security;
+
+import com.antipanel.backend.config.IdempotencyProperties;
+import com.antipanel.backend.entity.User;
+import com.antipanel.backend.entity.enums.UserRole;
+import com.antipanel.backend.service.IdempotencyService;
+import com.antipanel.backend.service.IdempotencyService.Claim;
+import com.antipanel.backend.service.IdempotencyService.ClaimStatus;
+import com.antipanel.backend.service.IdempotencyService.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyFilter Tests")
+class IdempotencyFilterTest {
+
+    private static final String ORDER_JSON = "{\"serviceId\":1,\"target\":\"https://x.com/a\",\"quantity\":1000}";
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private IdempotencyFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(idempotencyService, new IdempotencyProperties(null, null, null, 0, 0));
+
+        User user = User.builder()
+                .id(7L)
+                .email("user@example.com")
+                .passwordHash("hash")
+                .role(UserRole.USER)
+                .balance(BigDecimal.ZERO)
+                .isBanned(false)
+                .build();
+        CustomUserDetails details = new CustomUserDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+
+        request = new MockHttpServletRequest("POST", "/api/v1/orders");
+        request.setServletPath("/api/v1/orders");
+        request.setContentType("application/json");
+        request.setContent(ORDER_JSON.getBytes(StandardCharsets.UTF_8));
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        response = new MockHttpServletResponse();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Nested
+    @DisplayName("Applicability")
+    class Applicability {
+
+        @Test
+        @DisplayName("Should skip requests without the header")
+        void shouldSkipWithoutHeader() {
+            MockHttpServletRequest plain = new MockHttpServletRequest("POST", "/api/v1/orders");
+            plain.setServletPath("/api/v1/orders");
+
+            assertThat(filter.shouldNotFilter(plain)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should skip other endpoints and methods")
+        void shouldSkipOtherEndpoints() {
+            request.setServletPath("/api/v1/users");
+            assertThat(filter.shouldNotFilter(request)).isTrue();
+
+            request.setServletPath("/api/v1/orders");
+            request.setMethod("GET");
+            assertThat(filter.shouldNotFilter(request)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should filter order and invoice creation")
+        void shouldFilterOrderAndInvoiceCreation() {
+            assertThat(filter.shouldNotFilter(request)).isFalse();
+
+            request.setServletPath("/api/v1/invoices");
+            assertThat(filter.shouldNotFilter(request)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should reject overlong keys")
+        void shouldRejectOverlongKeys() throws ServletException, IOException {
+            MockHttpServletRequest longKey = new MockHttpServletRequest("POST", "/api/v1/orders");
+            longKey.setServletPath("/api/v1/orders");
+            longKey.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "k".repeat(256));
+
+            filter.doFilterInternal(longKey, response, filterChain);
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+            verifyNoInteractions(idempotencyService, filterChain);
+        }
+    }
+
+    @Nested
+    @DisplayName("First Request")
+    class FirstRequest {
+
+        @Test
+        @DisplayName("Should run the request and store a successful response")
+        void shouldStoreSuccessfulResponse() throws ServletException, IOException {
+            when(idempotencyService.claim(eq(7L), eq("/api/v1/orders"), eq("key-1"), anyString()))
+                    .thenReturn(Claim.of(ClaimStatus.ACQUIRED));
+            doAnswer(invocation -> {
+                ServletRequest forwarded = invocation.getArgument(0);
+                assertThat(new String(forwarded.getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                        .isEqualTo(ORDER_JSON);
+                HttpServletResponse out = invocation.getArgument(1);
+                out.setStatus(HttpStatus.CREATED.value());
+                out.setContentType("application/json");
+                out.getWriter().write("{\"id\":42}");
+                return null;
+            }).when(filterChain).doFilter(any(), any());
+
+            filter.doFilterInternal(request, response, filterChain);
+
+            ArgumentCaptor<StoredResponse> stored = ArgumentCaptor.forClass(StoredResponse.class);
+            verify(idempotencyService).complete(eq(7L), eq("/api/v1/orders"), eq("key-1"), stored.capture());
+            assertThat(stored.getValue().status()).isEqualTo(201);
+            assertThat(new String(stored.getValue().body(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":42}");
+            assertThat(response.getStatus()).isEqualTo(201);
+            assertThat(response.getContentAsString()).isEqualTo("{\"id\":42}");
+            verify(idempotencyService, never()).release(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should release the key when the request fails with a server error")
+        void shouldReleaseOnServerError() throws ServletException, IOException {
+            when(idempotencyService.claim(any(), any(), any(), anyString()))
+                    .thenReturn(Claim.of(ClaimStatus.ACQUIRED));
+            doAnswer(invocation -> {
+                ((HttpServletResponse) invocation.getArgument(1)).setStatus(503);
+                return null;
+            }).when(filterChain).doFilter(any(), any());
+
+            filter.doFilterInternal(request, response, filterChain);
+
+            verify(idempotencyService).release(7L, "/api/v1/orders", "key-1");
+            verify(idempotencyService, never()).complete(any(), any(), any(), any());
+            assertThat(response.getStatus()).isEqualTo(503);
+        }
+
+        @Test
+        @DisplayName("Should run without deduplication when the store is unavailable")
+        void shouldRunWhenStoreUnavailable() throws ServletException, IOException {
+            when(idempotencyService.claim(any(), any(), any(), anyString()))
+                    .thenThrow(new DataAccessResourceFailureException("down"));
+
+            filter.doFilterInternal(request, response, filterChain);
+
+            verify(filterChain).doFilter(any(), eq(response));
+            verify(idempotencyService, never()).complete(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should hand the cached body to an async ReadListener")
+        void shouldSupportReadListener() throws ServletException, IOException {
+            when(idempotencyService.claim(any(), any(), any(), anyString()))
+                    .thenReturn(Claim.of(ClaimStatus.ACQUIRED));
+            ByteArrayOutputStream received = new ByteArrayOutputStream();
+            AtomicBoolean allDataRead = new AtomicBoolean();
+            doAnswer(invocation -> {
+                ServletInputStream in = ((ServletRequest) invocation.getArgument(0)).getInputStream();
+                in.setReadListener(new ReadListener() {
+                    @Override
+                    public void onDataAvailable() throws IOException {
+                        byte[] buffer = new byte[16];
+                        int read;
+                        while (in.isReady() && (read = in.read(buffer)) != -1) {
+                            received.write(buffer, 0, read);
+                        }
+                    }
+
+                    @Override
+                    public void onAllDataRead() {
+                        allDataRead.set(true);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        throw new AssertionError(t);
+                    }
+                });
+                assertThat(in.isFinished()).isTrue();
+                assertThatThrownBy(() -> in.setReadListener(mock(ReadListener.class)))
+                        .isInstanceOf(IllegalStateException.class);
+                return null;
+            }).when(filterChain).doFilter(any(), any());
+
+            filter.doFilterInternal(request, response, filterChain);
+
+            assertThat(received.toString(StandardCharsets.UTF_8)).isEqualTo(ORDER_JSON);
+            assertThat(allDataRead).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Retries")
+    class Retries {
+
+        @Test
+        @DisplayName("Should replay a completed response without running the request")
+        void shouldReplayCompletedResponse() throws ServletException, IOException {
+            StoredResponse stored = new StoredResponse(201, "application/json",
+                    "{\"id\":42}".getBytes(StandardCharsets.UTF_8));
+            when(idempotencyService.claim(any(), any(), any(), anyString()))
+                    .thenReturn(new Claim(ClaimStatus.COMPLETED, stored));
+
+            filter.doFilterInternal(request, response, filterChain);
+
+            verifyNoInteractions(filterChain);
+            assertThat(response.getStatus()).isEqualTo(201);
+            assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+            assertThat(response.getContentAsString()).isEqualTo("{\"id\":42}");
+        }
+
+        @Test
+        @DisplayName("Should return 409 while the first request is still running")
+        void shouldRejectConcurrentDuplicate() throws ServletException, IOException {
+            when(idempotencyService.claim(any(), any(), any(), anyString()))
+                    .thenReturn(Claim.of(ClaimStatus.IN_PROGRESS));
+
+            filter.doFilterInternal(request, response, filterChain);
+
+            verifyNoInteractions(filterChain);
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+        }
+
+        @Test
+        @DisplayName("Should return 422 when a key is reused for a different body")
+        void shouldRejectReusedKey() throws ServletException, IOException {
+            when(idempotencyService.claim(any(), any(), any(), anyString()))
+                    .thenReturn(Claim.of(ClaimStatus.KEY_REUSED));
+
+            filter.doFilterInternal(request, response, filterChain);
+
+            verifyNoInteractions(filterChain);
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY.value());
+        }
+
+        @Test
+        @DisplayName("Should fingerprint identical requests identically")
+        void shouldFingerprintIdentically() throws ServletException, IOException {
+            when(idempotencyService.claim(any(), any(), any(), anyString()))
+                    .thenReturn(Claim.of(ClaimStatus.IN_PROGRESS));
+
+            filter.doFilterInternal(request, response, filterChain);
+            MockHttpServletRequest retry = new MockHttpServletRequest("POST", "/api/v1/orders");
+            retry.setServletPath("/api/v1/orders");
+            retry.setContent(ORDER_JSON.getBytes(StandardCharsets.UTF_8));
+            retry.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+            filter.doFilterInternal(retry, new MockHttpServletResponse(), filterChain);
+
+            ArgumentCaptor<String> hashes = ArgumentCaptor.forClass(String.class);
+            verify(idempotencyService, times(2)).claim(any(), any(), any(), hashes.capture());
+            assertThat(hashes.getAllValues().get(0)).isEqualTo(hashes.getAllValues().get(1));
+        }
+    }
+}
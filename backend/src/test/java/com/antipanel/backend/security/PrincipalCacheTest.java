@@ -0,0 +1,124 @@
+package com.antipanel.backend.security;
+
+import com.antipanel.backend.config.PrincipalCacheProperties;
+import com.antipanel.backend.entity.User;
+import com.antipanel.backend.entity.enums.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PrincipalCache Tests")
+class PrincipalCacheTest {
+
+    private PrincipalCache principalCache;
+    private AtomicInteger loads;
+    private Function<String, UserDetails> loader;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(new PrincipalCacheProperties(true, Duration.ofMinutes(1), 100));
+        loads = new AtomicInteger();
+        loader = email -> {
+            loads.incrementAndGet();
+            return userDetails(1L, email);
+        };
+    }
+
+    @Test
+    @DisplayName("Should load principal once and serve repeats from cache")
+    void shouldServeRepeatsFromCache() {
+        UserDetails first = principalCache.get("test@example.com", loader);
+        UserDetails second = principalCache.get("test@example.com", loader);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reload principal after eviction by user ID")
+    void shouldReloadAfterEviction() {
+        principalCache.get("test@example.com", loader);
+
+        principalCache.evict(1L);
+        principalCache.get("test@example.com", loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should only evict the changed user")
+    void shouldOnlyEvictChangedUser() {
+        principalCache.get("test@example.com", loader);
+        principalCache.get("other@example.com", email -> userDetails(2L, email));
+
+        principalCache.evict(2L);
+
+        assertThat(principalCache.size()).isEqualTo(1);
+        principalCache.get("test@example.com", loader);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache a principal loaded while an eviction happened")
+    void shouldNotCachePrincipalRacingWithEviction() {
+        principalCache.get("test@example.com", email -> {
+            principalCache.evict(1L);
+            return userDetails(1L, email);
+        });
+
+        assertThat(principalCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reload principal after TTL expires")
+    void shouldReloadAfterTtl() throws InterruptedException {
+        principalCache = new PrincipalCache(new PrincipalCacheProperties(true, Duration.ofMillis(1), 100));
+
+        principalCache.get("test@example.com", loader);
+        Thread.sleep(5);
+        principalCache.get("test@example.com", loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should always load when disabled")
+    void shouldAlwaysLoadWhenDisabled() {
+        principalCache = new PrincipalCache(new PrincipalCacheProperties(false, null, 0));
+
+        principalCache.get("test@example.com", loader);
+        principalCache.get("test@example.com", loader);
+
+        assertThat(loads).hasValue(2);
+        assertThat(principalCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stay bounded")
+    void shouldStayBounded() {
+        for (int i = 0; i < 1000; i++) {
+            principalCache.get("user" + i + "@example.com", loader);
+        }
+
+        assertThat(principalCache.size()).isLessThanOrEqualTo(100);
+    }
+
+    private static UserDetails userDetails(Long id, String email) {
+        return new CustomUserDetails(User.builder()
+                .id(id)
+                .email(email)
+                .passwordHash("hash")
+                .role(UserRole.USER)
+                .balance(BigDecimal.ZERO)
+                .isBanned(false)
+                .build());
+    }
+}
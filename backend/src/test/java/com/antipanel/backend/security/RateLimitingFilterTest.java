@@ -1,5 +1,11 @@
 package com.antipanel.backend.security;
 
+import com.antipanel.backend.config.JwtProperties;
+import com.antipanel.backend.config.RateLimitProperties;
+import com.antipanel.backend.entity.User;
+import com.antipanel.backend.entity.enums.UserRole;
+import com.antipanel.backend.security.jwt.JwtTokenProvider;
+import com.antipanel.backend.security.ratelimit.RateLimitTier;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +20,12 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -30,9 +42,20 @@ class RateLimitingFilterTest {
     private MockHttpServletRequest request;
     private MockHttpServletResponse response;
 
+    // Base64-encoded 256-bit key for testing
+    private static final String TEST_SECRET = Base64.getEncoder().encodeToString(
+            "this_is_a_very_long_test_secret_key_for_jwt_authentication_256_bits".getBytes()
+    );
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private ApiKeyAuthenticator apiKeyAuthenticator;
+
     @BeforeEach
     void setUp() {
-        rateLimitingFilter = new RateLimitingFilter();
+        jwtTokenProvider = new JwtTokenProvider(new JwtProperties(TEST_SECRET, 900000L, 604800000L, "test-issuer"));
+        rateLimitingFilter = new RateLimitingFilter(defaultProperties(), jwtTokenProvider, apiKeyAuthenticator);
         request = new MockHttpServletRequest();
         response = new MockHttpServletResponse();
         request.setRemoteAddr("192.168.1.100");
@@ -116,6 +139,217 @@ class RateLimitingFilterTest {
         }
     }
 
+    @Nested
+    @DisplayName("Client Identification")
+    class ClientIdentification {
+
+        @Test
+        @DisplayName("Should ignore X-Forwarded-For from untrusted addresses")
+        void shouldIgnoreForwardedForFromUntrustedAddress() throws ServletException, IOException {
+            request.setRemoteAddr("203.0.113.10");
+            exhaust(request, 100);
+
+            // A spoofed header does not give the same client a fresh bucket
+            request.addHeader("X-Forwarded-For", "198.51.100.77");
+            MockHttpServletResponse blocked = new MockHttpServletResponse();
+            rateLimitingFilter.doFilterInternal(request, blocked, filterChain);
+
+            assertThat(blocked.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        }
+
+        @Test
+        @DisplayName("Should ignore client-supplied hops to the left of the real client")
+        void shouldIgnoreSpoofedLeftmostHops() throws ServletException, IOException {
+            request.setRemoteAddr("172.18.0.2");
+            request.addHeader("X-Forwarded-For", "1.1.1.1, 203.0.113.10");
+            exhaust(request, 100);
+
+            MockHttpServletRequest spoofed = new MockHttpServletRequest();
+            spoofed.setServletPath("/api/v1/users");
+            spoofed.setRemoteAddr("172.18.0.2");
+            spoofed.addHeader("X-Forwarded-For", "9.9.9.9, 203.0.113.10");
+            MockHttpServletResponse blocked = new MockHttpServletResponse();
+            rateLimitingFilter.doFilterInternal(spoofed, blocked, filterChain);
+
+            assertThat(blocked.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        }
+
+        @Test
+        @DisplayName("Should never resolve host names from X-Forwarded-For")
+        void shouldNotResolveHostNames() throws ServletException, IOException {
+            request.setRemoteAddr("127.0.0.1");
+            request.addHeader("X-Forwarded-For", "localhost");
+
+            rateLimitingFilter.doFilterInternal(request, response, filterChain);
+
+            verify(filterChain).doFilter(request, response);
+        }
+
+        @Test
+        @DisplayName("Should limit authenticated users per user rather than per address")
+        void shouldLimitPerUser() throws ServletException, IOException {
+            String token = jwtTokenProvider.generateAccessToken("test@example.com", "ROLE_USER");
+            request.addHeader("Authorization", "Bearer " + token);
+            exhaust(request, 100);
+
+            // Same user from another address shares the bucket
+            MockHttpServletRequest otherAddress = new MockHttpServletRequest();
+            otherAddress.setServletPath("/api/v1/users");
+            otherAddress.setRemoteAddr("203.0.113.99");
+            otherAddress.addHeader("Authorization", "Bearer " + token);
+            MockHttpServletResponse blocked = new MockHttpServletResponse();
+            rateLimitingFilter.doFilterInternal(otherAddress, blocked, filterChain);
+            assertThat(blocked.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+
+            // Another client on the original address is unaffected
+            MockHttpServletRequest anonymous = new MockHttpServletRequest();
+            anonymous.setServletPath("/api/v1/users");
+            anonymous.setRemoteAddr("192.168.1.100");
+            MockHttpServletResponse allowed = new MockHttpServletResponse();
+            rateLimitingFilter.doFilterInternal(anonymous, allowed, filterChain);
+            assertThat(allowed.getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tiers")
+    class Tiers {
+
+        @Test
+        @DisplayName("Should classify requests into tiers")
+        void shouldClassifyRequests() {
+            assertThat(RateLimitTier.of(request("POST", "/api/v1/auth/login"))).isEqualTo(RateLimitTier.AUTH);
+            assertThat(RateLimitTier.of(request("GET", "/api/v1/public/catalog"))).isEqualTo(RateLimitTier.CATALOG);
+            assertThat(RateLimitTier.of(request("POST", "/api/v1/orders"))).isEqualTo(RateLimitTier.ORDER_CREATION);
+            assertThat(RateLimitTier.of(request("GET", "/api/v1/orders"))).isEqualTo(RateLimitTier.STANDARD);
+            assertThat(RateLimitTier.of(request("GET", "/api/v1/users"))).isEqualTo(RateLimitTier.STANDARD);
+        }
+
+        @Test
+        @DisplayName("Should apply the login limit without consuming the standard limit")
+        void shouldApplyTierLimitsIndependently() throws ServletException, IOException {
+            MockHttpServletRequest login = request("POST", "/api/v1/auth/login");
+            login.setRemoteAddr("192.168.1.100");
+            exhaust(login, 10);
+
+            MockHttpServletResponse blockedLogin = new MockHttpServletResponse();
+            rateLimitingFilter.doFilterInternal(login, blockedLogin, filterChain);
+            assertThat(blockedLogin.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+            assertThat(blockedLogin.getHeader("Retry-After")).isNotNull();
+
+            rateLimitingFilter.doFilterInternal(request, response, filterChain);
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+    }
+
+    @Nested
+    @DisplayName("Reseller API")
+    class ResellerApi {
+
+        @Test
+        @DisplayName("Should limit a valid API key per key owner")
+        void shouldLimitValidKeyPerOwner() throws ServletException, IOException {
+            when(apiKeyAuthenticator.authenticate("ap_valid")).thenReturn(Optional.of(reseller(7L)));
+            MockHttpServletRequest first = resellerRequest("198.51.100.1", "ap_valid");
+            exhaust(first, 120);
+
+            // Same key from another address shares the bucket
+            MockHttpServletResponse blocked = new MockHttpServletResponse();
+            rateLimitingFilter.doFilterInternal(resellerRequest("198.51.100.2", "ap_valid"), blocked, filterChain);
+            assertThat(blocked.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+
+            // Another key owner on that address is unaffected
+            when(apiKeyAuthenticator.authenticate("ap_other")).thenReturn(Optional.of(reseller(8L)));
+            MockHttpServletResponse allowed = new MockHttpServletResponse();
+            rateLimitingFilter.doFilterInternal(resellerRequest("198.51.100.2", "ap_other"), allowed, filterChain);
+            assertThat(allowed.getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+
+        @Test
+        @DisplayName("Should also limit a valid API key per client address")
+        void shouldLimitValidKeyPerAddress() throws ServletException, IOException {
+            exhaust(resellerRequest("198.51.100.1", null), 120);
+
+            MockHttpServletResponse blocked = new MockHttpServletResponse();
+            rateLimitingFilter.doFilterInternal(resellerRequest("198.51.100.1", "ap_valid"), blocked, filterChain);
+
+            assertThat(blocked.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        }
+
+        @Test
+        @DisplayName("Should limit unknown API keys per client address")
+        void shouldLimitUnknownKeysPerAddress() throws ServletException, IOException {
+            when(apiKeyAuthenticator.authenticate(anyString())).thenReturn(Optional.empty());
+            for (int i = 0; i < 120; i++) {
+                rateLimitingFilter.doFilterInternal(resellerRequest("198.51.100.1", "ap_guess-" + i),
+                        new MockHttpServletResponse(), filterChain);
+            }
+
+            // A fresh made-up key does not get a fresh bucket
+            MockHttpServletResponse blocked = new MockHttpServletResponse();
+            rateLimitingFilter.doFilterInternal(resellerRequest("198.51.100.1", "ap_guess-new"), blocked, filterChain);
+            assertThat(blocked.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+            // Keys sent once the address is over its limit are never looked up
+            verify(apiKeyAuthenticator, never()).authenticate("ap_guess-new");
+            verify(apiKeyAuthenticator, times(120)).authenticate(anyString());
+        }
+
+        private MockHttpServletRequest resellerRequest(String address, String apiKey) {
+            MockHttpServletRequest reseller = request("POST", "/api/v2");
+            reseller.setRemoteAddr(address);
+            if (apiKey != null) {
+                reseller.setParameter("key", apiKey);
+            }
+            return reseller;
+        }
+
+        private CustomUserDetails reseller(Long id) {
+            return new CustomUserDetails(User.builder()
+                    .id(id)
+                    .email("reseller-" + id + "@example.com")
+                    .passwordHash("hash")
+                    .role(UserRole.USER)
+                    .balance(BigDecimal.ZERO)
+                    .isBanned(false)
+                    .build());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bounded Store")
+    class BoundedStore {
+
+        @Test
+        @DisplayName("Should not track more clients than configured")
+        void shouldNotTrackMoreClientsThanConfigured() throws ServletException, IOException {
+            rateLimitingFilter = new RateLimitingFilter(
+                    new RateLimitProperties(List.of(), 1000, Duration.ofMinutes(10), Map.of(), null),
+                    jwtTokenProvider, apiKeyAuthenticator);
+
+            for (int i = 0; i < 100_000; i++) {
+                request.setRemoteAddr("10." + (i >> 16 & 0xFF) + "." + (i >> 8 & 0xFF) + "." + (i & 0xFF));
+                rateLimitingFilter.doFilterInternal(request, new MockHttpServletResponse(), filterChain);
+            }
+
+            assertThat(rateLimitingFilter.trackedClients()).isLessThanOrEqualTo(1000);
+        }
+
+        @Test
+        @DisplayName("Should evict idle clients")
+        void shouldEvictIdleClients() throws ServletException, IOException, InterruptedException {
+            rateLimitingFilter = new RateLimitingFilter(
+                    new RateLimitProperties(List.of(), 1000, Duration.ofMillis(1), Map.of(), null),
+                    jwtTokenProvider, apiKeyAuthenticator);
+            rateLimitingFilter.doFilterInternal(request, response, filterChain);
+            assertThat(rateLimitingFilter.trackedClients()).isEqualTo(1);
+
+            Thread.sleep(5);
+
+            assertThat(rateLimitingFilter.evictIdleClients()).isEqualTo(1);
+            assertThat(rateLimitingFilter.trackedClients()).isZero();
+        }
+    }
+
     @Nested
     @DisplayName("Path Exclusion")
     class PathExclusion {
@@ -190,4 +424,20 @@ class RateLimitingFilterTest {
             assertThat(responseBody).contains("429");
         }
     }
+
+    private void exhaust(MockHttpServletRequest target, int requests) throws ServletException, IOException {
+        for (int i = 0; i < requests; i++) {
+            rateLimitingFilter.doFilterInternal(target, new MockHttpServletResponse(), filterChain);
+        }
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+
+    private static RateLimitProperties defaultProperties() {
+        return new RateLimitProperties(null, 0, null, null, null);
+    }
 }
@@ -7,10 +7,13 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
+import java.time.Instant;
 import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -183,6 +186,113 @@ class JwtTokenProviderTest {
         }
     }
 
+    @Nested
+    @DisplayName("Verified Token")
+    class VerifiedTokenTests {
+
+        @Test
+        @DisplayName("Should return all claims from a single verification")
+        void shouldReturnAllClaimsFromSingleVerification() {
+            String token = jwtTokenProvider.generateAccessToken("test@example.com", "ROLE_USER,ROLE_ADMIN");
+
+            Optional<VerifiedToken> verified = jwtTokenProvider.verify(token);
+
+            assertThat(verified).isPresent();
+            assertThat(verified.get().subject()).isEqualTo("test@example.com");
+            assertThat(verified.get().isAccessToken()).isTrue();
+            assertThat(verified.get().authorities())
+                    .extracting(GrantedAuthority::getAuthority)
+                    .containsExactly("ROLE_USER", "ROLE_ADMIN");
+            assertThat(verified.get().expiresAt()).isAfter(Instant.now());
+        }
+
+        @Test
+        @DisplayName("Should return cached claims for repeated token")
+        void shouldReturnCachedClaimsForRepeatedToken() {
+            String token = jwtTokenProvider.generateAccessToken("test@example.com", "ROLE_USER");
+
+            VerifiedToken first = jwtTokenProvider.verify(token).orElseThrow();
+            VerifiedToken second = jwtTokenProvider.verify(token).orElseThrow();
+
+            assertThat(second).isSameAs(first);
+        }
+
+        @Test
+        @DisplayName("Should identify refresh token")
+        void shouldIdentifyRefreshToken() {
+            String token = jwtTokenProvider.generateRefreshToken("test@example.com");
+
+            VerifiedToken verified = jwtTokenProvider.verify(token).orElseThrow();
+
+            assertThat(verified.isRefreshToken()).isTrue();
+            assertThat(verified.authorities()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should reject tampered token even after the original was cached")
+        void shouldRejectTamperedToken() {
+            String token = jwtTokenProvider.generateAccessToken("test@example.com", "ROLE_USER");
+            jwtTokenProvider.verify(token);
+
+            String tampered = token.substring(0, token.length() - 2)
+                    + (token.endsWith("AA") ? "BB" : "AA");
+
+            assertThat(jwtTokenProvider.verify(tampered)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should reject token signed with another key")
+        void shouldRejectTokenSignedWithAnotherKey() {
+            JwtTokenProvider otherProvider = new JwtTokenProvider(new JwtProperties(
+                    Base64.getEncoder().encodeToString(
+                            "another_very_long_test_secret_key_for_jwt_authentication_256_bits".getBytes()),
+                    900000L,
+                    604800000L,
+                    "test-issuer"
+            ));
+            String token = otherProvider.generateAccessToken("test@example.com", "ROLE_ADMIN");
+
+            assertThat(jwtTokenProvider.verify(token)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should reject null, empty and malformed tokens")
+        void shouldRejectMalformedTokens() {
+            assertThat(jwtTokenProvider.verify(null)).isEmpty();
+            assertThat(jwtTokenProvider.verify("")).isEmpty();
+            assertThat(jwtTokenProvider.verify("invalid.token.here")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should reject expired token")
+        void shouldRejectExpiredToken() {
+            JwtTokenProvider shortExpirationProvider = new JwtTokenProvider(new JwtProperties(
+                    TEST_SECRET,
+                    1L,
+                    1L,
+                    "test-issuer"
+            ));
+            String token = shortExpirationProvider.generateAccessToken("test@example.com", "ROLE_USER");
+
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            assertThat(shortExpirationProvider.verify(token)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should keep verifying after the cache fills up")
+        void shouldKeepVerifyingAfterCacheFillsUp() {
+            for (int i = 0; i <= JwtTokenProvider.VERIFIED_CACHE_MAX_ENTRIES; i++) {
+                String token = jwtTokenProvider.generateAccessToken("user" + i + "@example.com", "ROLE_USER");
+                assertThat(jwtTokenProvider.verify(token)).isPresent();
+            }
+        }
+    }
+
     @Nested
     @DisplayName("Configuration Properties")
     class ConfigurationProperties {
@@ -0,0 +1,132 @@
+package com.antipanel.backend.security.ratelimit;
+
+import com.antipanel.backend.config.RateLimitProperties;
+import com.antipanel.backend.config.RateLimitProperties.Distributed;
+import com.antipanel.backend.config.RateLimitProperties.Limit;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Distributed rate limiting against a real PostgreSQL (Testcontainers) standing in for the
+ * shared database of several backend nodes.
+ * Note: Requires Docker to be running for Testcontainers to work.
+ */
+@Testcontainers
+@DisplayName("DistributedBucketStore Tests")
+class DistributedBucketStoreTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    private final List<BucketStore> stores = new ArrayList<>();
+
+    @BeforeAll
+    static void createTable() throws Exception {
+        try (HikariDataSource dataSource = dataSource(postgres.getJdbcUrl());
+             Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection,
+                    new ClassPathResource("db/migration/V16__add_rate_limit_buckets.sql"));
+        }
+    }
+
+    @AfterEach
+    void closeStores() {
+        stores.forEach(BucketStore::close);
+    }
+
+    @Test
+    @DisplayName("Should share one limit between nodes")
+    void shouldShareLimitBetweenNodes() {
+        RateLimitProperties properties = properties(1);
+        BucketStore nodeA = node(properties, postgres.getJdbcUrl());
+        BucketStore nodeB = node(properties, postgres.getJdbcUrl());
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(nodeA.tryConsume(RateLimitTier.STANDARD, "ip:203.0.113.1").isConsumed()).isTrue();
+            assertThat(nodeB.tryConsume(RateLimitTier.STANDARD, "ip:203.0.113.1").isConsumed()).isTrue();
+        }
+
+        assertThat(nodeA.tryConsume(RateLimitTier.STANDARD, "ip:203.0.113.1").isConsumed()).isFalse();
+        assertThat(nodeB.tryConsume(RateLimitTier.STANDARD, "ip:203.0.113.1").isConsumed()).isFalse();
+        // Other clients are unaffected
+        assertThat(nodeB.tryConsume(RateLimitTier.STANDARD, "ip:203.0.113.2").isConsumed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should bound the overshoot by the local sync threshold")
+    void shouldBoundOvershootBySyncThreshold() {
+        int syncThreshold = 3;
+        RateLimitProperties properties = properties(syncThreshold);
+        BucketStore nodeA = node(properties, postgres.getJdbcUrl());
+        BucketStore nodeB = node(properties, postgres.getJdbcUrl());
+
+        int allowed = 0;
+        for (int i = 0; i < 40; i++) {
+            BucketStore node = i % 2 == 0 ? nodeA : nodeB;
+            if (node.tryConsume(RateLimitTier.STANDARD, "user:test@example.com").isConsumed()) {
+                allowed++;
+            }
+        }
+
+        assertThat(allowed).isGreaterThanOrEqualTo(10).isLessThanOrEqualTo(10 + 2 * syncThreshold);
+    }
+
+    @Test
+    @DisplayName("Should fall back to local limiting when the database is unavailable")
+    void shouldFallBackToLocalLimiting() {
+        RateLimitProperties properties = properties(1);
+        DistributedBucketStore store = (DistributedBucketStore)
+                node(properties, "jdbc:postgresql://127.0.0.1:1/unavailable");
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(store.tryConsume(RateLimitTier.STANDARD, "ip:203.0.113.1").isConsumed()).isTrue();
+        }
+
+        assertThat(store.isDegraded()).isTrue();
+        // The local fallback still enforces the limit
+        assertThat(store.tryConsume(RateLimitTier.STANDARD, "ip:203.0.113.1").isConsumed()).isFalse();
+    }
+
+    private BucketStore node(RateLimitProperties properties, String jdbcUrl) {
+        HikariDataSource dataSource = dataSource(jdbcUrl);
+        BucketStore store = new DistributedBucketStore(
+                properties, DistributedBucketStore.postgresProxyManager(dataSource), dataSource);
+        stores.add(store);
+        return store;
+    }
+
+    private static RateLimitProperties properties(int syncThreshold) {
+        return new RateLimitProperties(
+                List.of(), 1000, null,
+                Map.of(RateLimitTier.STANDARD, new Limit(10, Duration.ofMinutes(1))),
+                new Distributed(true, syncThreshold, Duration.ofSeconds(5), Duration.ofMinutes(1), 2, null));
+    }
+
+    private static HikariDataSource dataSource(String jdbcUrl) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(postgres.getUsername());
+        config.setPassword(postgres.getPassword());
+        config.setMaximumPoolSize(2);
+        config.setConnectionTimeout(250);
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+}
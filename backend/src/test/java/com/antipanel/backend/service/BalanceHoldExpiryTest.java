@@ -0,0 +1,211 @@
+package com.antipanel.backend.service;
+
+import com.antipanel.backend.config.HoldExpiryProperties;
+import com.antipanel.backend.entity.User;
+import com.antipanel.backend.entity.enums.UserRole;
+import com.antipanel.backend.repository.UserRepository;
+import com.antipanel.backend.service.impl.BalanceHoldServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the set-based hold expiry of BalanceHoldService against the real balance_holds and
+ * users tables: which holds expire, how users are credited, and how it behaves next to a
+ * concurrent capture.
+ *
+ * Note: Requires Docker to be running for Testcontainers to work.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BalanceHoldServiceImpl.class)
+@EnableConfigurationProperties(HoldExpiryProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Balance Hold Expiry Tests")
+class BalanceHoldExpiryTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    @Autowired
+    private BalanceHoldService balanceHoldService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long firstUserId;
+    private Long secondUserId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM balance_holds");
+        jdbcTemplate.update("DELETE FROM users");
+        firstUserId = seedUser("first@example.com");
+        secondUserId = seedUser("second@example.com");
+    }
+
+    @Nested
+    @DisplayName("Due holds")
+    class DueHolds {
+
+        @Test
+        @DisplayName("Should expire due holds and credit each user once with their sum")
+        void shouldExpireDueHoldsAndCreditOncePerUser() {
+            Long first = seedHold(firstUserId, "10.00", "HELD", -5);
+            Long second = seedHold(firstUserId, "5.00", "HELD", -1);
+            Long third = seedHold(secondUserId, "20.00", "HELD", -1);
+            long firstVersion = userVersion(firstUserId);
+            long secondVersion = userVersion(secondUserId);
+
+            int released = balanceHoldService.releaseExpiredHolds();
+
+            assertThat(released).isEqualTo(3);
+            assertThat(holdStatus(first)).isEqualTo("EXPIRED");
+            assertThat(holdStatus(second)).isEqualTo("EXPIRED");
+            assertThat(holdStatus(third)).isEqualTo("EXPIRED");
+            assertThat(balance(firstUserId)).isEqualByComparingTo("115.00");
+            assertThat(balance(secondUserId)).isEqualByComparingTo("120.00");
+            // One credit per user, not one per hold
+            assertThat(userVersion(firstUserId)).isEqualTo(firstVersion + 1);
+            assertThat(userVersion(secondUserId)).isEqualTo(secondVersion + 1);
+        }
+
+        @Test
+        @DisplayName("Should leave holds that are not due or no longer held untouched")
+        void shouldLeaveOtherHoldsUntouched() {
+            Long notDue = seedHold(firstUserId, "7.00", "HELD", 10);
+            Long captured = seedHold(firstUserId, "3.00", "CAPTURED", -5);
+            Long released = seedHold(secondUserId, "4.00", "RELEASED", -5);
+            long firstVersion = userVersion(firstUserId);
+
+            int expired = balanceHoldService.releaseExpiredHolds();
+
+            assertThat(expired).isZero();
+            assertThat(holdStatus(notDue)).isEqualTo("HELD");
+            assertThat(holdStatus(captured)).isEqualTo("CAPTURED");
+            assertThat(holdStatus(released)).isEqualTo("RELEASED");
+            assertThat(balance(firstUserId)).isEqualByComparingTo("100.00");
+            assertThat(balance(secondUserId)).isEqualByComparingTo("100.00");
+            assertThat(userVersion(firstUserId)).isEqualTo(firstVersion);
+        }
+
+        @Test
+        @DisplayName("Should skip holds locked by a concurrent capture")
+        void shouldSkipHoldsLockedByCapture() {
+            Long capturing = seedHold(firstUserId, "10.00", "HELD", -1);
+            Long due = seedHold(secondUserId, "20.00", "HELD", -1);
+
+            Integer released = new TransactionTemplate(transactionManager).execute(status -> {
+                // Lock and capture the hold as captureHold does, then expire from another connection
+                jdbcTemplate.queryForList("SELECT id FROM balance_holds WHERE id = ? FOR UPDATE", capturing);
+                jdbcTemplate.update("UPDATE balance_holds SET status = 'CAPTURED' WHERE id = ?", capturing);
+                try {
+                    return CompletableFuture.supplyAsync(balanceHoldService::releaseExpiredHolds)
+                            .get(10, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            assertThat(released).isEqualTo(1);
+            assertThat(holdStatus(capturing)).isEqualTo("CAPTURED");
+            assertThat(holdStatus(due)).isEqualTo("EXPIRED");
+            assertThat(balance(firstUserId)).isEqualByComparingTo("100.00");
+            assertThat(balance(secondUserId)).isEqualByComparingTo("120.00");
+        }
+    }
+
+    @Nested
+    @DisplayName("Holds by ID")
+    class HoldsById {
+
+        @Test
+        @DisplayName("Should expire only the given holds that are due and still held")
+        void shouldExpireOnlyGivenDueHolds() {
+            Long given = seedHold(firstUserId, "10.00", "HELD", -1);
+            Long notGiven = seedHold(firstUserId, "5.00", "HELD", -1);
+            Long notDue = seedHold(firstUserId, "7.00", "HELD", 10);
+            Long captured = seedHold(secondUserId, "3.00", "CAPTURED", -1);
+
+            int released = balanceHoldService.releaseExpiredHolds(List.of(given, notDue, captured));
+
+            assertThat(released).isEqualTo(1);
+            assertThat(holdStatus(given)).isEqualTo("EXPIRED");
+            assertThat(holdStatus(notGiven)).isEqualTo("HELD");
+            assertThat(holdStatus(notDue)).isEqualTo("HELD");
+            assertThat(holdStatus(captured)).isEqualTo("CAPTURED");
+            assertThat(balance(firstUserId)).isEqualByComparingTo("110.00");
+            assertThat(balance(secondUserId)).isEqualByComparingTo("100.00");
+        }
+
+        @Test
+        @DisplayName("Should do nothing for no holds")
+        void shouldDoNothingForNoHolds() {
+            assertThat(balanceHoldService.releaseExpiredHolds(List.of())).isZero();
+        }
+    }
+
+    // ============ HELPER METHODS ============
+
+    private Long seedUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPasswordHash("hashed_password");
+        user.setRole(UserRole.USER);
+        user.setBalance(new BigDecimal("100.00"));
+        return userRepository.save(user).getId();
+    }
+
+    /**
+     * Insert a hold that expires the given number of minutes from now.
+     */
+    private Long seedHold(Long userId, String amount, String status, int expiresInMinutes) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO balance_holds (version, user_id, amount, status, expires_at, created_at, updated_at)
+                VALUES (0, ?, ?::numeric, ?, NOW() + make_interval(mins => ?), NOW(), NOW())
+                RETURNING id
+                """, Long.class, userId, amount, status, expiresInMinutes);
+    }
+
+    private String holdStatus(Long holdId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM balance_holds WHERE id = ?", String.class, holdId);
+    }
+
+    private BigDecimal balance(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM users WHERE id = ?", BigDecimal.class, userId);
+    }
+
+    private long userVersion(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT version FROM users WHERE id = ?", Long.class, userId);
+    }
+}
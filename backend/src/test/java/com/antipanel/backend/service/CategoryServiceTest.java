@@ -16,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -41,6 +42,9 @@ class CategoryServiceTest {
     @Mock
     private CategoryMapper categoryMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -206,6 +210,7 @@ class CategoryServiceTest {
         assertThat(result).isNotNull();
         verify(categoryMapper).updateEntityFromDto(eq(updateRequest), any(Category.class));
         verify(categoryRepository).save(any(Category.class));
+        verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent(Category.class, 1));
     }
 
     @Test
@@ -231,6 +236,7 @@ class CategoryServiceTest {
 
         // Then
         verify(categoryRepository).delete(testCategory);
+        verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent(Category.class, 1));
     }
 
     @Test
@@ -0,0 +1,190 @@
+package com.antipanel.backend.service;
+
+import com.antipanel.backend.dto.provider.api.DripfeedOrderResponse;
+import com.antipanel.backend.dto.provider.api.DripfeedStatusResponse;
+import com.antipanel.backend.service.impl.ExternalOrderServiceImpl;
+import com.antipanel.backend.service.provider.ProviderApiClient;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that ExternalOrderService holds no database connection while a provider is called.
+ *
+ * The provider client is a mock that records the number of connections checked out of the pool,
+ * and whether a transaction is active, at the moment it is called.
+ *
+ * Note: Requires Docker to be running for Testcontainers to work.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        // Orders are seeded without their users and services
+        "spring.datasource.hikari.connection-init-sql=SET session_replication_role = replica"
+})
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ExternalOrderServiceImpl.class, ExternalOrderConnectionTest.Mocks.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("ExternalOrderService Connection Tests")
+class ExternalOrderConnectionTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    @Autowired
+    private ExternalOrderService externalOrderService;
+
+    @Autowired
+    private ProviderApiClient providerApiClient;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Integer> activeConnectionsDuringCall = new CopyOnWriteArrayList<>();
+    private final List<Boolean> transactionActiveDuringCall = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        reset(providerApiClient, orderService);
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM provider_services");
+        jdbcTemplate.update("DELETE FROM providers");
+        jdbcTemplate.update("""
+                INSERT INTO providers (id, name, api_url, api_key, is_active, balance, created_at, updated_at)
+                VALUES (1, 'DripfeedPanel', 'https://dripfeedpanel.com/api/v2', 'key', TRUE, 0, NOW(), NOW())
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO provider_services (id, provider_id, provider_service_id, name, min_quantity, max_quantity,
+                                               cost_per_k, refill_days, is_active)
+                VALUES (1, 1, '100', 'Instagram Followers', 10, 100000, 0.5, 0, TRUE)
+                """);
+    }
+
+    @Test
+    @DisplayName("Should hold no connection while submitting an order")
+    void shouldHoldNoConnectionWhileSubmitting() {
+        seedOrder(1L, "PENDING", null);
+        DripfeedOrderResponse response = new DripfeedOrderResponse();
+        response.setOrder(555L);
+        when(providerApiClient.createOrder(any(), any())).thenAnswer(invocation -> {
+            recordConnections();
+            return response;
+        });
+
+        externalOrderService.submitOrder(1L);
+
+        assertNoConnectionDuringCall();
+    }
+
+    @Test
+    @DisplayName("Should hold no connection while fetching an order status")
+    void shouldHoldNoConnectionWhileUpdatingStatus() {
+        seedOrder(1L, "PROCESSING", "777");
+        when(providerApiClient.getOrderStatus(any(), eq("777"))).thenAnswer(invocation -> {
+            recordConnections();
+            return statusResponse();
+        });
+
+        externalOrderService.updateOrderStatus(1L);
+
+        assertNoConnectionDuringCall();
+    }
+
+    @Test
+    @DisplayName("Should hold no connection while fetching statuses in batch")
+    void shouldHoldNoConnectionWhileBatchUpdating() {
+        seedOrder(1L, "PROCESSING", "777");
+        seedOrder(2L, "IN_PROGRESS", "778");
+        when(providerApiClient.getMultipleOrderStatus(any(), anyList())).thenAnswer(invocation -> {
+            recordConnections();
+            return Map.of("777", statusResponse(), "778", statusResponse());
+        });
+
+        int updated = externalOrderService.batchUpdateOrderStatuses(100);
+
+        assertThat(updated).isEqualTo(2);
+        assertNoConnectionDuringCall();
+    }
+
+    // ============ HELPER METHODS ============
+
+    private void seedOrder(Long id, String status, String providerOrderId) {
+        jdbcTemplate.update("""
+                INSERT INTO orders (id, version, user_id, service_id, service_name, provider_service_id,
+                                    provider_order_id, target, quantity, remains, status, price_per_k, cost_per_k,
+                                    total_charge, total_cost, profit, is_refillable, refill_days,
+                                    created_at, updated_at)
+                VALUES (?, 0, 1, 1, 'Instagram Followers', 1, ?, 'https://instagram.com/test', 1000, 1000, ?,
+                        1.0, 0.5, 1.0, 0.5, 0.5, FALSE, 0, NOW() - INTERVAL '1 hour', NOW() - INTERVAL '10 minutes')
+                """, id, providerOrderId, status);
+    }
+
+    private void recordConnections() throws SQLException {
+        activeConnectionsDuringCall.add(
+                dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections());
+        transactionActiveDuringCall.add(TransactionSynchronizationManager.isActualTransactionActive());
+    }
+
+    private void assertNoConnectionDuringCall() {
+        assertThat(activeConnectionsDuringCall).isNotEmpty().containsOnly(0);
+        assertThat(transactionActiveDuringCall).containsOnly(false);
+    }
+
+    private static DripfeedStatusResponse statusResponse() {
+        DripfeedStatusResponse response = new DripfeedStatusResponse();
+        response.setStatus("In progress");
+        response.setStartCount("100");
+        response.setRemains("500");
+        return response;
+    }
+
+    @TestConfiguration
+    static class Mocks {
+
+        @Bean
+        ProviderApiClient providerApiClient() {
+            return mock(ProviderApiClient.class);
+        }
+
+        @Bean
+        OrderService orderService() {
+            return mock(OrderService.class);
+        }
+    }
+}
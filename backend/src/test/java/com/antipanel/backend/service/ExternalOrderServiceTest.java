@@ -9,7 +9,6 @@ import com.antipanel.backend.entity.ProviderService;
 import com.antipanel.backend.entity.enums.OrderStatus;
 import com.antipanel.backend.exception.ProviderApiException;
 import com.antipanel.backend.exception.ResourceNotFoundException;
-import com.antipanel.backend.mapper.OrderMapper;
 import com.antipanel.backend.repository.OrderRepository;
 import com.antipanel.backend.service.impl.ExternalOrderServiceImpl;
 import com.antipanel.backend.service.provider.ProviderApiClient;
@@ -19,9 +18,12 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -53,7 +55,7 @@ class ExternalOrderServiceTest {
     private ProviderApiClient providerApiClient;
 
     @Mock
-    private OrderMapper orderMapper;
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private ExternalOrderServiceImpl externalOrderService;
@@ -159,7 +161,7 @@ class ExternalOrderServiceTest {
         }
 
         @Test
-        @DisplayName("Should submit order entity directly")
+        @DisplayName("Should re-read a submitted order entity with its provider")
         void shouldSubmitOrderEntityDirectly() {
             DripfeedOrderResponse apiResponse = new DripfeedOrderResponse();
             apiResponse.setOrder(12345L);
@@ -172,11 +174,13 @@ class ExternalOrderServiceTest {
 
             when(providerApiClient.createOrder(eq(testProvider), any(DripfeedOrderRequest.class)))
                     .thenReturn(apiResponse);
+            when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
             when(orderService.markAsProcessing(1L, "12345")).thenReturn(processingResponse);
 
             OrderResponse result = externalOrderService.submitOrder(testOrder);
 
             assertThat(result.getStatus()).isEqualTo(OrderStatus.PROCESSING);
+            verify(orderRepository).findById(1L);
         }
 
         @Test
@@ -236,6 +240,29 @@ class ExternalOrderServiceTest {
             verify(orderService).updateProgress(1L, 500, 250);
         }
 
+        @Test
+        @DisplayName("Should apply the status in a transaction opened after the provider call")
+        void shouldApplyStatusAfterProviderCall() {
+            testOrder.setProviderOrderId("12345");
+            testOrder.setStatus(OrderStatus.IN_PROGRESS);
+
+            DripfeedStatusResponse statusResponse = createStatusResponse("In progress", "500", "250");
+
+            when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+            when(providerApiClient.getOrderStatus(testProvider, "12345")).thenReturn(statusResponse);
+            when(orderService.updateProgress(1L, 500, 250)).thenReturn(testOrderResponse);
+
+            OrderResponse result = externalOrderService.updateOrderStatus(1L);
+
+            assertThat(result).isSameAs(testOrderResponse);
+            InOrder inOrder = inOrder(providerApiClient, transactionManager, orderService);
+            inOrder.verify(providerApiClient).getOrderStatus(testProvider, "12345");
+            inOrder.verify(transactionManager).getTransaction(any());
+            inOrder.verify(orderService).updateProgress(1L, 500, 250);
+            inOrder.verify(transactionManager).commit(any());
+            verify(orderService, never()).updateStatus(anyLong(), any());
+        }
+
         @Test
         @DisplayName("Should complete order when status is completed")
         void shouldCompleteOrderWhenStatusCompleted() {
@@ -433,7 +460,7 @@ class ExternalOrderServiceTest {
                     "12346", status2
             );
 
-            when(orderRepository.findOrdersNeedingUpdate(any(LocalDateTime.class)))
+            when(orderRepository.findPageNeedingUpdateWithProvider(any(LocalDateTime.class), any(Pageable.class)))
                     .thenReturn(List.of(order1, order2));
             when(providerApiClient.getMultipleOrderStatus(eq(testProvider), anyList()))
                     .thenReturn(statusMap);
@@ -450,7 +477,7 @@ class ExternalOrderServiceTest {
         @Test
         @DisplayName("Should return zero when no orders need update")
         void shouldReturnZeroWhenNoOrdersNeedUpdate() {
-            when(orderRepository.findOrdersNeedingUpdate(any(LocalDateTime.class)))
+            when(orderRepository.findPageNeedingUpdateWithProvider(any(LocalDateTime.class), any(Pageable.class)))
                     .thenReturn(List.of());
 
             int result = externalOrderService.batchUpdateOrderStatuses(100);
@@ -474,7 +501,7 @@ class ExternalOrderServiceTest {
             DripfeedStatusResponse status = createStatusResponse("Completed", "500", "0");
             Map<String, DripfeedStatusResponse> statusMap = Map.of("12345", status);
 
-            when(orderRepository.findOrdersNeedingUpdate(any(LocalDateTime.class)))
+            when(orderRepository.findPageNeedingUpdateWithProvider(any(LocalDateTime.class), any(Pageable.class)))
                     .thenReturn(List.of(orderWithoutProviderId, orderWithProviderId));
             when(providerApiClient.getMultipleOrderStatus(eq(testProvider), eq(List.of("12345"))))
                     .thenReturn(statusMap);
@@ -491,7 +518,7 @@ class ExternalOrderServiceTest {
         void shouldHandleProviderApiErrorsGracefullyInBatch() {
             Order order1 = createOrderWithProvider("12345", OrderStatus.PROCESSING);
 
-            when(orderRepository.findOrdersNeedingUpdate(any(LocalDateTime.class)))
+            when(orderRepository.findPageNeedingUpdateWithProvider(any(LocalDateTime.class), any(Pageable.class)))
                     .thenReturn(List.of(order1));
             when(providerApiClient.getMultipleOrderStatus(eq(testProvider), anyList()))
                     .thenThrow(new ProviderApiException("DripfeedPanel", "status", "API Error"));
@@ -0,0 +1,104 @@
+package com.antipanel.backend.service;
+
+import com.antipanel.backend.config.MaintenanceProperties;
+import com.antipanel.backend.config.PaymentPollingProperties;
+import com.antipanel.backend.service.MaintenanceService.SweepResult;
+import com.antipanel.backend.service.impl.MaintenanceServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MaintenanceService Tests")
+class MaintenanceServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MaintenanceServiceImpl maintenanceService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        PaymentPollingProperties pollingProperties = new PaymentPollingProperties(
+                200, 4, Duration.ofSeconds(30), Duration.ofMinutes(30), Duration.ofHours(48));
+        maintenanceService = new MaintenanceServiceImpl(jdbcTemplate,
+                new MaintenanceProperties(100, 3, Duration.ofDays(30)), pollingProperties, meterRegistry);
+    }
+
+    @Nested
+    @DisplayName("Chunking")
+    class Chunking {
+
+        @Test
+        @DisplayName("Should repeat the chunk until it touches less than a full batch")
+        void shouldLoopUntilPartialBatch() {
+            when(jdbcTemplate.update(contains("'EXPIRED'"), eq(Duration.ofHours(48).toSeconds()), eq(100)))
+                    .thenReturn(100, 100, 7);
+
+            SweepResult result = maintenanceService.expireStaleInvoices();
+
+            assertThat(result.rows()).isEqualTo(207);
+            assertThat(result.batches()).isEqualTo(3);
+            assertThat(result.sweep()).isEqualTo("expire-invoices");
+        }
+
+        @Test
+        @DisplayName("Should stop at the maximum batches per run")
+        void shouldStopAtMaximumBatches() {
+            when(jdbcTemplate.update(contains("is_refillable = FALSE"), eq(100))).thenReturn(100);
+
+            SweepResult result = maintenanceService.closeExpiredRefillWindows();
+
+            assertThat(result.rows()).isEqualTo(300);
+            verify(jdbcTemplate, times(3)).update(contains("is_refillable = FALSE"), eq(100));
+        }
+
+        @Test
+        @DisplayName("Should run a single statement when nothing is left")
+        void shouldRunOnceWhenNothingToDo() {
+            when(jdbcTemplate.update(contains("DELETE FROM balance_holds"), eq(Duration.ofDays(30).toSeconds()), eq(100)))
+                    .thenReturn(0);
+
+            SweepResult result = maintenanceService.purgeSettledHolds();
+
+            assertThat(result.rows()).isZero();
+            assertThat(result.batches()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Metrics")
+    class Metrics {
+
+        @Test
+        @DisplayName("Should record rows and duration per sweep")
+        void shouldRecordMetricsPerSweep() {
+            when(jdbcTemplate.update(contains("DELETE FROM balance_holds"), eq(Duration.ofDays(30).toSeconds()), eq(100)))
+                    .thenReturn(42);
+
+            maintenanceService.purgeSettledHolds();
+
+            assertThat(meterRegistry.get("maintenance.sweep.rows").tag("sweep", "purge-holds").counter().count())
+                    .isEqualTo(42.0);
+            assertThat(meterRegistry.get("maintenance.sweep.duration").tag("sweep", "purge-holds").timer().count())
+                    .isEqualTo(1);
+        }
+    }
+}
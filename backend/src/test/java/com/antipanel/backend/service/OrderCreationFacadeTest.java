@@ -0,0 +1,346 @@
+package com.antipanel.backend.service;
+
+import com.antipanel.backend.config.BulkOrderProperties;
+import com.antipanel.backend.datasource.ReadYourWrites;
+import com.antipanel.backend.dto.order.BulkOrderLine;
+import com.antipanel.backend.dto.order.BulkOrderRequest;
+import com.antipanel.backend.dto.order.BulkOrderResponse;
+import com.antipanel.backend.dto.order.OrderCreateRequest;
+import com.antipanel.backend.dto.order.OrderResponse;
+import com.antipanel.backend.entity.BalanceHold;
+import com.antipanel.backend.entity.Order;
+import com.antipanel.backend.entity.enums.OrderStatus;
+import com.antipanel.backend.exception.BadRequestException;
+import com.antipanel.backend.exception.ProviderApiException;
+import com.antipanel.backend.mapper.OrderMapper;
+import com.antipanel.backend.repository.OrderRepository;
+import com.antipanel.backend.repository.ServiceRepository;
+import com.antipanel.backend.repository.UserRepository;
+import com.antipanel.backend.service.OrderReservationService.PendingOrder;
+import com.antipanel.backend.service.OrderReservationService.Reservation;
+import com.antipanel.backend.service.PricingService.ServicePrice;
+import com.antipanel.backend.service.impl.OrderCreationFacadeImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderCreationFacade Tests")
+class OrderCreationFacadeTest {
+
+    @Mock
+    private BalanceHoldService balanceHoldService;
+
+    @Mock
+    private OrderReservationService orderReservationService;
+
+    @Mock
+    private PricingService pricingService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ServiceRepository serviceRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ExternalOrderService externalOrderService;
+
+    @Mock
+    private OrderMapper orderMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ReadYourWrites readYourWrites;
+
+    @InjectMocks
+    private OrderCreationFacadeImpl orderCreationFacade;
+
+    private OrderCreateRequest request;
+    private OrderResponse orderResponse;
+
+    @BeforeEach
+    void setUp() {
+        ServicePrice price = new ServicePrice(1, "Instagram Followers", true, 100, 10000,
+                new BigDecimal("1.00"), new BigDecimal("0.50"), 30, 3);
+        lenient().when(pricingService.find(1)).thenReturn(Optional.of(price));
+
+        request = OrderCreateRequest.builder()
+                .serviceId(1)
+                .target("https://instagram.com/test")
+                .quantity(1000)
+                .idempotencyKey("key-1")
+                .build();
+        orderResponse = OrderResponse.builder().id(20L).build();
+    }
+
+    @Nested
+    @DisplayName("Single Statement Path")
+    class SingleStatementPath {
+
+        @Test
+        @DisplayName("Should reserve, submit and capture without the multi-step hold path")
+        void shouldReserveSubmitAndCapture() {
+            when(orderReservationService.reserve(any(), eq(Duration.ofMinutes(15))))
+                    .thenReturn(Optional.of(new Reservation(10L, 20L)));
+            when(externalOrderService.submitOrder(20L)).thenReturn(orderResponse);
+            when(orderReservationService.capture(10L, 20L)).thenReturn(true);
+
+            OrderResponse result = orderCreationFacade.createOrder(5L, request);
+
+            assertThat(result).isSameAs(orderResponse);
+            verify(readYourWrites).recordWrite(5L);
+            verifyNoInteractions(balanceHoldService, orderRepository, serviceRepository, transactionManager);
+        }
+
+        @Test
+        @DisplayName("Should price the pending order from the pricing table")
+        void shouldPricePendingOrder() {
+            when(orderReservationService.reserve(any(), any()))
+                    .thenReturn(Optional.of(new Reservation(10L, 20L)));
+            when(externalOrderService.submitOrder(20L)).thenReturn(orderResponse);
+            when(orderReservationService.capture(10L, 20L)).thenReturn(true);
+
+            orderCreationFacade.createOrder(5L, request);
+
+            ArgumentCaptor<PendingOrder> captor = ArgumentCaptor.forClass(PendingOrder.class);
+            verify(orderReservationService).reserve(captor.capture(), any());
+            PendingOrder pending = captor.getValue();
+            assertThat(pending.userId()).isEqualTo(5L);
+            assertThat(pending.providerServiceId()).isEqualTo(3);
+            assertThat(pending.totalCharge()).isEqualByComparingTo("1.00");
+            assertThat(pending.totalCost()).isEqualByComparingTo("0.50");
+            assertThat(pending.refillDays()).isEqualTo(30);
+        }
+
+        @Test
+        @DisplayName("Should reject inactive services without touching the balance")
+        void shouldRejectInactiveService() {
+            when(pricingService.find(2)).thenReturn(Optional.of(new ServicePrice(2, "Old", false, 100, 10000,
+                    new BigDecimal("1.00"), new BigDecimal("0.50"), 0, 3)));
+            request.setServiceId(2);
+
+            assertThatThrownBy(() -> orderCreationFacade.createOrder(5L, request))
+                    .isInstanceOf(BadRequestException.class);
+
+            verifyNoInteractions(orderReservationService, balanceHoldService);
+        }
+
+        @Test
+        @DisplayName("Should fall back to captureHold when the hold is no longer HELD")
+        void shouldFallBackToCaptureHold() {
+            when(orderReservationService.reserve(any(), any()))
+                    .thenReturn(Optional.of(new Reservation(10L, 20L)));
+            when(externalOrderService.submitOrder(20L)).thenReturn(orderResponse);
+            when(orderReservationService.capture(10L, 20L)).thenReturn(false);
+
+            orderCreationFacade.createOrder(5L, request);
+
+            verify(balanceHoldService).captureHold(10L, 20L);
+        }
+
+        @Test
+        @DisplayName("Should release the hold when the provider fails")
+        void shouldReleaseHoldOnProviderFailure() {
+            when(orderReservationService.reserve(any(), any()))
+                    .thenReturn(Optional.of(new Reservation(10L, 20L)));
+            when(externalOrderService.submitOrder(20L)).thenThrow(new ProviderApiException("down"));
+            when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+            assertThatThrownBy(() -> orderCreationFacade.createOrder(5L, request))
+                    .isInstanceOf(ProviderApiException.class);
+
+            verify(balanceHoldService).releaseHold(10L, "down");
+            verify(orderReservationService, never()).capture(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Existing Idempotency Key")
+    class ExistingIdempotencyKey {
+
+        @Test
+        @DisplayName("Should return the order already created for the key")
+        void shouldReturnExistingOrder() {
+            BalanceHold hold = BalanceHold.builder().id(10L).build();
+            Order order = Order.builder().id(20L).build();
+            when(orderReservationService.reserve(any(), any())).thenReturn(Optional.empty());
+            when(balanceHoldService.createHold(eq(5L), any(), eq("key-1"), any())).thenReturn(hold);
+            when(orderRepository.findByBalanceHoldId(10L)).thenReturn(Optional.of(order));
+            when(orderMapper.toResponse(order)).thenReturn(orderResponse);
+
+            OrderResponse result = orderCreationFacade.createOrder(5L, request);
+
+            assertThat(result).isSameAs(orderResponse);
+            verifyNoInteractions(externalOrderService);
+            verify(orderReservationService, never()).capture(any(), any());
+            verify(balanceHoldService, never()).releaseHold(any(), anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Orders")
+    class BulkOrders {
+
+        private OrderCreationFacadeImpl bulkFacade;
+
+        @BeforeEach
+        void setUp() {
+            bulkFacade = new OrderCreationFacadeImpl(balanceHoldService, orderReservationService, pricingService,
+                    orderRepository, serviceRepository, userRepository, externalOrderService, orderMapper,
+                    transactionManager, new BulkOrderProperties(3, 2, Duration.ofSeconds(30)), readYourWrites);
+            lenient().when(orderReservationService.extend(any(), eq(Duration.ofMinutes(15)))).thenReturn(true);
+        }
+
+        @Test
+        @DisplayName("Should reserve valid lines with one debit and submit each of them")
+        void shouldReserveOnceAndSubmitEachLine() {
+            BulkOrderRequest bulk = bulkRequest(line(1, 1000), line(9, 1000), line(1, 2000));
+            // Two lines, two at a time: one wave of submissions on top of the single-order hold
+            when(orderReservationService.reserveAll(eq(5L), any(), eq(Duration.ofMinutes(15).plusSeconds(30))))
+                    .thenReturn(List.of(new Reservation(10L, 20L), new Reservation(11L, 21L)));
+            when(externalOrderService.submitOrder(20L)).thenReturn(orderResponse);
+            when(externalOrderService.submitOrder(21L)).thenReturn(OrderResponse.builder().id(21L).build());
+            when(orderReservationService.capture(any(), any())).thenReturn(true);
+
+            BulkOrderResponse response = bulkFacade.createBulkOrder(5L, bulk);
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<PendingOrder>> captor = ArgumentCaptor.forClass(List.class);
+            verify(orderReservationService).reserveAll(eq(5L), captor.capture(), any());
+            assertThat(captor.getValue()).extracting(PendingOrder::quantity).containsExactly(1000, 2000);
+            assertThat(captor.getValue()).extracting(PendingOrder::idempotencyKey).containsOnlyNulls();
+
+            assertThat(response.getPlaced()).isEqualTo(2);
+            assertThat(response.getFailed()).isEqualTo(1);
+            assertThat(response.getTotalCharge()).isEqualByComparingTo("3.00");
+            assertThat(response.getResults().get(0).getOrder().getId()).isEqualTo(20L);
+            assertThat(response.getResults().get(1).isPlaced()).isFalse();
+            assertThat(response.getResults().get(1).getError()).isEqualTo("Service not found");
+            assertThat(response.getResults().get(2).getOrder().getId()).isEqualTo(21L);
+            verify(orderReservationService).capture(10L, 20L);
+            verify(orderReservationService).capture(11L, 21L);
+            verify(orderReservationService).extend(10L, Duration.ofMinutes(15));
+            verify(orderReservationService).extend(11L, Duration.ofMinutes(15));
+            verify(orderReservationService, never()).reserve(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should not submit lines whose hold expired behind a slow provider")
+        void shouldSkipLinesWhoseHoldExpired() {
+            OrderCreationFacadeImpl serialFacade = new OrderCreationFacadeImpl(balanceHoldService,
+                    orderReservationService, pricingService, orderRepository, serviceRepository, userRepository,
+                    externalOrderService, orderMapper, transactionManager,
+                    new BulkOrderProperties(3, 1, Duration.ofSeconds(30)), readYourWrites);
+            BulkOrderRequest bulk = bulkRequest(line(1, 1000), line(1, 1000), line(1, 1000));
+            // One line at a time: three waves of submissions
+            when(orderReservationService.reserveAll(eq(5L), any(), eq(Duration.ofMinutes(15).plusSeconds(90))))
+                    .thenReturn(List.of(new Reservation(10L, 20L), new Reservation(11L, 21L),
+                            new Reservation(12L, 22L)));
+            // The first submission is slow; the second line's hold expires meanwhile
+            when(externalOrderService.submitOrder(20L)).thenAnswer(invocation -> {
+                Thread.sleep(50);
+                return orderResponse;
+            });
+            when(orderReservationService.extend(11L, Duration.ofMinutes(15))).thenReturn(false);
+            when(externalOrderService.submitOrder(22L)).thenReturn(OrderResponse.builder().id(22L).build());
+            when(orderReservationService.capture(any(), any())).thenReturn(true);
+            when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+            Order expired = Order.builder().id(21L).status(OrderStatus.PENDING).build();
+            when(orderRepository.findById(21L)).thenReturn(Optional.of(expired));
+
+            BulkOrderResponse response = serialFacade.createBulkOrder(5L, bulk);
+
+            assertThat(response.getPlaced()).isEqualTo(2);
+            assertThat(response.getTotalCharge()).isEqualByComparingTo("2.00");
+            assertThat(response.getResults().get(1).isPlaced()).isFalse();
+            assertThat(response.getResults().get(1).getError()).isEqualTo("Balance hold expired before submission");
+            assertThat(expired.getStatus()).isEqualTo(OrderStatus.FAILED);
+            verify(externalOrderService, never()).submitOrder(21L);
+            verify(orderReservationService, never()).capture(11L, 21L);
+            verify(orderReservationService).capture(12L, 22L);
+        }
+
+        @Test
+        @DisplayName("Should release only the lines the provider rejects")
+        void shouldReleaseFailedLinesOnly() {
+            BulkOrderRequest bulk = bulkRequest(line(1, 1000), line(1, 1000));
+            when(orderReservationService.reserveAll(eq(5L), any(), any()))
+                    .thenReturn(List.of(new Reservation(10L, 20L), new Reservation(11L, 21L)));
+            when(externalOrderService.submitOrder(20L)).thenReturn(orderResponse);
+            when(externalOrderService.submitOrder(21L)).thenThrow(new ProviderApiException("down"));
+            when(orderReservationService.capture(10L, 20L)).thenReturn(true);
+            when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+            BulkOrderResponse response = bulkFacade.createBulkOrder(5L, bulk);
+
+            assertThat(response.getPlaced()).isEqualTo(1);
+            assertThat(response.getTotalCharge()).isEqualByComparingTo("1.00");
+            assertThat(response.getResults().get(1).getError()).isEqualTo("down");
+            verify(balanceHoldService).releaseHold(11L, "down");
+            verify(balanceHoldService, never()).releaseHold(eq(10L), anyString());
+            verify(orderReservationService, never()).capture(11L, 21L);
+        }
+
+        @Test
+        @DisplayName("Should not touch the balance when no line can be ordered")
+        void shouldNotReserveWithoutValidLines() {
+            BulkOrderRequest bulk = bulkRequest(line(1, 1), line(9, 1000));
+
+            BulkOrderResponse response = bulkFacade.createBulkOrder(5L, bulk);
+
+            assertThat(response.getPlaced()).isZero();
+            assertThat(response.getResults().get(0).getError()).isEqualTo("Quantity must be between 100 and 10000");
+            verifyNoInteractions(orderReservationService, externalOrderService);
+        }
+
+        @Test
+        @DisplayName("Should reject requests over the line limit")
+        void shouldRejectTooManyLines() {
+            BulkOrderRequest bulk = bulkRequest(line(1, 1000), line(1, 1000), line(1, 1000), line(1, 1000));
+
+            assertThatThrownBy(() -> bulkFacade.createBulkOrder(5L, bulk))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessageContaining("3 lines");
+
+            verifyNoInteractions(pricingService, orderReservationService);
+        }
+
+        private BulkOrderLine line(int serviceId, int quantity) {
+            return BulkOrderLine.builder()
+                    .serviceId(serviceId)
+                    .target("https://instagram.com/test")
+                    .quantity(quantity)
+                    .build();
+        }
+
+        private BulkOrderRequest bulkRequest(BulkOrderLine... lines) {
+            return BulkOrderRequest.builder().lines(List.of(lines)).build();
+        }
+    }
+}
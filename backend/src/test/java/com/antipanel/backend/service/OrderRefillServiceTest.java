@@ -28,6 +28,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -55,6 +56,9 @@ class OrderRefillServiceTest {
     @Mock
     private PageMapper pageMapper;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private OrderRefillServiceImpl orderRefillService;
 
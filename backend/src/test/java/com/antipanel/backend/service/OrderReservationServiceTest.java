@@ -0,0 +1,332 @@
+package com.antipanel.backend.service;
+
+import com.antipanel.backend.entity.User;
+import com.antipanel.backend.entity.enums.UserRole;
+import com.antipanel.backend.exception.BadRequestException;
+import com.antipanel.backend.exception.InsufficientBalanceException;
+import com.antipanel.backend.exception.ResourceNotFoundException;
+import com.antipanel.backend.repository.UserRepository;
+import com.antipanel.backend.service.OrderReservationService.PendingOrder;
+import com.antipanel.backend.service.OrderReservationService.Reservation;
+import com.antipanel.backend.service.impl.OrderReservationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the single-statement order write path of OrderReservationService against the real
+ * users, balance_holds, orders and transactions tables.
+ *
+ * Note: Requires Docker to be running for Testcontainers to work.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        // Orders are seeded without their services
+        "spring.datasource.hikari.connection-init-sql=SET session_replication_role = replica"
+})
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(OrderReservationServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Order Reservation Service Tests")
+class OrderReservationServiceTest {
+
+    private static final Duration HOLD_DURATION = Duration.ofMinutes(15);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    @Autowired
+    private OrderReservationService orderReservationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM balance_holds");
+        jdbcTemplate.update("DELETE FROM users");
+        userId = seedUser("buyer@example.com", "100.00");
+    }
+
+    @Nested
+    @DisplayName("Reserve")
+    class Reserve {
+
+        @Test
+        @DisplayName("Should debit the balance and create the hold and the pending order")
+        void shouldReserve() {
+            Reservation reservation = orderReservationService.reserve(
+                    pendingOrder(userId, "key-1", "12.50"), HOLD_DURATION).orElseThrow();
+
+            assertThat(balance(userId)).isEqualByComparingTo("87.50");
+            Map<String, Object> hold = jdbcTemplate.queryForMap(
+                    "SELECT user_id, amount, status, idempotency_key, expires_at FROM balance_holds WHERE id = ?",
+                    reservation.holdId());
+            assertThat(hold.get("user_id")).isEqualTo(userId);
+            assertThat((BigDecimal) hold.get("amount")).isEqualByComparingTo("12.50");
+            assertThat(hold.get("status")).isEqualTo("HELD");
+            assertThat(hold.get("idempotency_key")).isEqualTo("key-1");
+            assertThat(((Timestamp) hold.get("expires_at")).toLocalDateTime())
+                    .isAfter(LocalDateTime.now().plusMinutes(14));
+            Map<String, Object> order = jdbcTemplate.queryForMap(
+                    "SELECT user_id, balance_hold_id, status::text AS status, remains, total_charge, profit "
+                            + "FROM orders WHERE id = ?", reservation.orderId());
+            assertThat(order.get("user_id")).isEqualTo(userId);
+            assertThat(order.get("balance_hold_id")).isEqualTo(reservation.holdId());
+            assertThat(order.get("status")).isEqualTo("PENDING");
+            assertThat(order.get("remains")).isEqualTo(1000);
+            assertThat((BigDecimal) order.get("total_charge")).isEqualByComparingTo("12.50");
+            assertThat((BigDecimal) order.get("profit")).isEqualByComparingTo("6.25");
+        }
+
+        @Test
+        @DisplayName("Should return empty without a debit for a duplicate idempotency key")
+        void shouldReturnEmptyForDuplicateKey() {
+            orderReservationService.reserve(pendingOrder(userId, "key-1", "10.00"), HOLD_DURATION);
+
+            Optional<Reservation> duplicate = orderReservationService.reserve(
+                    pendingOrder(userId, "key-1", "10.00"), HOLD_DURATION);
+
+            assertThat(duplicate).isEmpty();
+            assertThat(balance(userId)).isEqualByComparingTo("90.00");
+            assertThat(count("balance_holds")).isEqualTo(1L);
+            assertThat(count("orders")).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("Should throw InsufficientBalanceException when the balance does not cover the charge")
+        void shouldRejectInsufficientBalance() {
+            assertThatThrownBy(() -> orderReservationService.reserve(
+                    pendingOrder(userId, "key-1", "100.01"), HOLD_DURATION))
+                    .isInstanceOf(InsufficientBalanceException.class);
+
+            assertNothingReserved();
+        }
+
+        @Test
+        @DisplayName("Should throw BadRequestException for a banned user")
+        void shouldRejectBannedUser() {
+            jdbcTemplate.update("UPDATE users SET is_banned = TRUE WHERE id = ?", userId);
+
+            assertThatThrownBy(() -> orderReservationService.reserve(
+                    pendingOrder(userId, "key-1", "10.00"), HOLD_DURATION))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessageContaining("banned");
+
+            assertNothingReserved();
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException for a missing user")
+        void shouldRejectMissingUser() {
+            assertThatThrownBy(() -> orderReservationService.reserve(
+                    pendingOrder(userId + 1000, "key-1", "10.00"), HOLD_DURATION))
+                    .isInstanceOf(ResourceNotFoundException.class);
+
+            assertNothingReserved();
+        }
+    }
+
+    @Nested
+    @DisplayName("Capture")
+    class Capture {
+
+        @Test
+        @DisplayName("Should capture the hold and write one ledger entry")
+        void shouldCaptureWithLedgerEntry() {
+            Reservation reservation = orderReservationService.reserve(
+                    pendingOrder(userId, "key-1", "12.50"), HOLD_DURATION).orElseThrow();
+
+            boolean captured = orderReservationService.capture(reservation.holdId(), reservation.orderId());
+
+            assertThat(captured).isTrue();
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT status FROM balance_holds WHERE id = ?", String.class, reservation.holdId()))
+                    .isEqualTo("CAPTURED");
+            List<Map<String, Object>> ledger = jdbcTemplate.queryForList(
+                    "SELECT user_id, type::text AS type, amount, balance_before, balance_after, reference_id "
+                            + "FROM transactions");
+            assertThat(ledger).hasSize(1);
+            Map<String, Object> entry = ledger.getFirst();
+            assertThat(entry.get("user_id")).isEqualTo(userId);
+            assertThat(entry.get("type")).isEqualTo("ORDER");
+            assertThat((BigDecimal) entry.get("amount")).isEqualByComparingTo("-12.50");
+            assertThat((BigDecimal) entry.get("balance_before")).isEqualByComparingTo("100.00");
+            assertThat((BigDecimal) entry.get("balance_after")).isEqualByComparingTo("87.50");
+            assertThat(entry.get("reference_id")).isEqualTo(reservation.orderId());
+            // The balance was debited by reserve, not again by capture
+            assertThat(balance(userId)).isEqualByComparingTo("87.50");
+        }
+
+        @Test
+        @DisplayName("Should not capture a hold twice")
+        void shouldNotCaptureTwice() {
+            Reservation reservation = orderReservationService.reserve(
+                    pendingOrder(userId, "key-1", "12.50"), HOLD_DURATION).orElseThrow();
+            orderReservationService.capture(reservation.holdId(), reservation.orderId());
+
+            boolean captured = orderReservationService.capture(reservation.holdId(), reservation.orderId());
+
+            assertThat(captured).isFalse();
+            assertThat(count("transactions")).isEqualTo(1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Reserve all")
+    class ReserveAll {
+
+        @Test
+        @DisplayName("Should debit once and create a hold and an order per order")
+        void shouldReserveAll() {
+            long version = userVersion(userId);
+
+            List<Reservation> reservations = orderReservationService.reserveAll(userId, List.of(
+                    pendingOrder(userId, null, "10.00"),
+                    pendingOrder(userId, null, "20.00"),
+                    pendingOrder(userId, null, "30.00")), HOLD_DURATION);
+
+            assertThat(reservations).hasSize(3);
+            assertThat(balance(userId)).isEqualByComparingTo("40.00");
+            assertThat(userVersion(userId)).isEqualTo(version + 1);
+            assertThat(count("balance_holds")).isEqualTo(3L);
+            assertThat(count("orders")).isEqualTo(3L);
+            for (Reservation reservation : reservations) {
+                assertThat(jdbcTemplate.queryForObject("SELECT balance_hold_id FROM orders WHERE id = ?",
+                        Long.class, reservation.orderId())).isEqualTo(reservation.holdId());
+            }
+            assertThat(jdbcTemplate.queryForObject("SELECT amount FROM balance_holds WHERE id = ?",
+                    BigDecimal.class, reservations.get(1).holdId())).isEqualByComparingTo("20.00");
+        }
+
+        @Test
+        @DisplayName("Should reserve nothing when the balance does not cover the total")
+        void shouldRejectShortBalance() {
+            assertThatThrownBy(() -> orderReservationService.reserveAll(userId, List.of(
+                    pendingOrder(userId, null, "60.00"),
+                    pendingOrder(userId, null, "50.00")), HOLD_DURATION))
+                    .isInstanceOf(InsufficientBalanceException.class);
+
+            assertNothingReserved();
+        }
+
+        @Test
+        @DisplayName("Should roll back the debit when an insert fails")
+        void shouldRollBackDebitOnFailedInsert() {
+            PendingOrder invalid = new PendingOrder(userId, 1, "Instagram Followers", 1, null, null, 1000,
+                    new BigDecimal("1.0"), new BigDecimal("0.5"), new BigDecimal("20.00"), new BigDecimal("10.00"), 0);
+
+            assertThatThrownBy(() -> orderReservationService.reserveAll(userId, List.of(
+                    pendingOrder(userId, null, "10.00"), invalid), HOLD_DURATION))
+                    .isInstanceOf(DataIntegrityViolationException.class);
+
+            assertNothingReserved();
+        }
+    }
+
+    @Nested
+    @DisplayName("Extend")
+    class Extend {
+
+        @Test
+        @DisplayName("Should push back the expiry of a held hold but never bring it forward")
+        void shouldExtendHeldHold() {
+            Reservation reservation = orderReservationService.reserve(
+                    pendingOrder(userId, "key-1", "10.00"), HOLD_DURATION).orElseThrow();
+            Timestamp before = expiresAt(reservation.holdId());
+
+            assertThat(orderReservationService.extend(reservation.holdId(), Duration.ofHours(1))).isTrue();
+            Timestamp extended = expiresAt(reservation.holdId());
+            assertThat(orderReservationService.extend(reservation.holdId(), Duration.ofMinutes(1))).isTrue();
+
+            assertThat(extended).isAfter(before);
+            assertThat(expiresAt(reservation.holdId())).isEqualTo(extended);
+        }
+
+        @Test
+        @DisplayName("Should not extend a hold that is no longer held")
+        void shouldNotExtendCapturedHold() {
+            Reservation reservation = orderReservationService.reserve(
+                    pendingOrder(userId, "key-1", "10.00"), HOLD_DURATION).orElseThrow();
+            orderReservationService.capture(reservation.holdId(), reservation.orderId());
+
+            assertThat(orderReservationService.extend(reservation.holdId(), Duration.ofHours(1))).isFalse();
+        }
+    }
+
+    // ============ HELPER METHODS ============
+
+    private Long seedUser(String email, String balance) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPasswordHash("hashed_password");
+        user.setRole(UserRole.USER);
+        user.setBalance(new BigDecimal(balance));
+        return userRepository.save(user).getId();
+    }
+
+    /**
+     * Order of 1000 at half the charge in cost.
+     */
+    private PendingOrder pendingOrder(Long userId, String idempotencyKey, String charge) {
+        BigDecimal totalCharge = new BigDecimal(charge);
+        return new PendingOrder(userId, 1, "Instagram Followers", 1, idempotencyKey, "https://instagram.com/test",
+                1000, new BigDecimal("1.0"), new BigDecimal("0.5"), totalCharge,
+                totalCharge.divide(BigDecimal.TWO), 0);
+    }
+
+    private void assertNothingReserved() {
+        assertThat(balance(userId)).isEqualByComparingTo("100.00");
+        assertThat(count("balance_holds")).isZero();
+        assertThat(count("orders")).isZero();
+    }
+
+    private BigDecimal balance(Long id) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM users WHERE id = ?", BigDecimal.class, id);
+    }
+
+    private long userVersion(Long id) {
+        return jdbcTemplate.queryForObject("SELECT version FROM users WHERE id = ?", Long.class, id);
+    }
+
+    private Timestamp expiresAt(Long holdId) {
+        return jdbcTemplate.queryForObject("SELECT expires_at FROM balance_holds WHERE id = ?", Timestamp.class, holdId);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
@@ -1,12 +1,14 @@
 package com.antipanel.backend.service;
 
 import com.antipanel.backend.dto.common.PageResponse;
+import com.antipanel.backend.dto.common.PageTotal;
 import com.antipanel.backend.dto.order.OrderCreateRequest;
 import com.antipanel.backend.dto.order.OrderDetailResponse;
 import com.antipanel.backend.dto.order.OrderResponse;
 import com.antipanel.backend.dto.order.OrderSummary;
 import com.antipanel.backend.dto.user.UserSummary;
 import com.antipanel.backend.entity.Order;
+import com.antipanel.backend.entity.OrderArchive;
 import com.antipanel.backend.entity.ProviderService;
 import com.antipanel.backend.entity.Service;
 import com.antipanel.backend.entity.Transaction;
@@ -19,6 +21,7 @@ import com.antipanel.backend.exception.ProviderApiException;
 import com.antipanel.backend.exception.ResourceNotFoundException;
 import com.antipanel.backend.mapper.OrderMapper;
 import com.antipanel.backend.mapper.PageMapper;
+import com.antipanel.backend.repository.OrderArchiveRepository;
 import com.antipanel.backend.repository.OrderRepository;
 import com.antipanel.backend.repository.ServiceRepository;
 import com.antipanel.backend.repository.TransactionRepository;
@@ -34,21 +37,28 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 
 import java.math.BigDecimal;
+import java.sql.ResultSet;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -76,6 +86,15 @@ class OrderServiceTest {
     @Mock
     private ExternalOrderService externalOrderService;
 
+    @Mock
+    private PageCountService pageCountService;
+
+    @Mock
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -471,6 +490,26 @@ class OrderServiceTest {
             assertThat(result.getId()).isEqualTo(1L);
         }
 
+        @Test
+        @DisplayName("Should fall back to archive when order is not in orders")
+        void shouldFallBackToArchiveWhenOrderNotFound() {
+            OrderArchive archived = OrderArchive.builder()
+                    .id(1L)
+                    .user(testUser)
+                    .service(testService)
+                    .status(OrderStatus.COMPLETED)
+                    .quantity(1000)
+                    .remains(0)
+                    .build();
+            when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+            when(orderArchiveRepository.findById(1L)).thenReturn(Optional.of(archived));
+            when(orderMapper.toDetailResponse(archived)).thenReturn(testOrderDetailResponse);
+
+            OrderDetailResponse result = orderService.getDetailById(1L);
+
+            assertThat(result.getId()).isEqualTo(1L);
+        }
+
         @Test
         @DisplayName("Should get order by provider order ID")
         void shouldGetOrderByProviderOrderId() {
@@ -482,6 +521,29 @@ class OrderServiceTest {
 
             assertThat(result).isNotNull();
         }
+
+        @Test
+        @DisplayName("Should fall back to archive when provider order ID is not in orders")
+        void shouldFallBackToArchiveByProviderOrderId() {
+            OrderArchive archived = OrderArchive.builder().id(1L).providerOrderId("PROV-123").build();
+            when(orderRepository.findByProviderOrderId("PROV-123")).thenReturn(Optional.empty());
+            when(orderArchiveRepository.findByProviderOrderId("PROV-123")).thenReturn(Optional.of(archived));
+            when(orderMapper.toResponse(archived)).thenReturn(testOrderResponse);
+
+            OrderResponse result = orderService.getByProviderOrderId("PROV-123");
+
+            assertThat(result.getId()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("Should throw exception when provider order ID is in neither table")
+        void shouldThrowExceptionWhenProviderOrderIdNotFound() {
+            when(orderRepository.findByProviderOrderId("PROV-404")).thenReturn(Optional.empty());
+            when(orderArchiveRepository.findByProviderOrderId("PROV-404")).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> orderService.getByProviderOrderId("PROV-404"))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
     }
 
     @Nested
@@ -503,7 +565,6 @@ class OrderServiceTest {
         @DisplayName("Should get orders by user paginated")
         void shouldGetOrdersByUserPaginated() {
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Order> page = new PageImpl<>(List.of(testOrder), pageable, 1);
             PageResponse<OrderResponse> expectedPageResponse = PageResponse.<OrderResponse>builder()
                     .content(List.of(testOrderResponse))
                     .pageNumber(0)
@@ -512,14 +573,72 @@ class OrderServiceTest {
                     .totalPages(1)
                     .build();
 
-            when(orderRepository.findByUserId(1L, pageable)).thenReturn(page);
-            when(orderMapper.toResponseList(anyList())).thenReturn(List.of(testOrderResponse));
-            doReturn(expectedPageResponse).when(pageMapper).toPageResponse(any(Page.class), anyList());
+            stubHistoryPage(new Object[]{1L, false});
+            when(orderRepository.findAllById(List.of(1L))).thenReturn(List.of(testOrder));
+            when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
+            when(pageCountService.countFiltered(eq("orders_history:user:1"), anyString(), any(Object[].class),
+                    any(Slice.class), any()))
+                    .thenReturn(PageTotal.exact(1L));
+            doReturn(expectedPageResponse).when(pageMapper)
+                    .toPageResponse(any(Slice.class), anyList(), any(PageTotal.class));
 
             PageResponse<OrderResponse> result = orderService.getByUserPaginated(1L, pageable);
 
             assertThat(result).isNotNull();
             assertThat(result.getContent()).hasSize(1);
+            verify(orderArchiveRepository, never()).findAllById(any());
+        }
+
+        @Test
+        @DisplayName("Should page live and archived orders merged by the database in the requested sort order")
+        void shouldPageMergedHistoryInSortOrder() {
+            Pageable pageable = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "createdAt"));
+            Order liveOrder = Order.builder().id(1L).build();
+            OrderArchive archivedOrder = OrderArchive.builder().id(3L).build();
+            OrderResponse liveResponse = OrderResponse.builder().id(1L).build();
+            OrderResponse archivedResponse = OrderResponse.builder().id(3L).build();
+
+            // One row beyond the page: there is a next page
+            stubHistoryPage(new Object[]{3L, true}, new Object[]{1L, false}, new Object[]{2L, true});
+            when(orderRepository.findAllById(List.of(1L))).thenReturn(List.of(liveOrder));
+            when(orderArchiveRepository.findAllById(List.of(3L))).thenReturn(List.of(archivedOrder));
+            when(orderMapper.toResponse(liveOrder)).thenReturn(liveResponse);
+            when(orderMapper.toResponse(archivedOrder)).thenReturn(archivedResponse);
+            when(pageCountService.countFiltered(eq("orders_history:user:1"), anyString(), any(Object[].class),
+                    any(Slice.class), any()))
+                    .thenReturn(PageTotal.exact(5L));
+
+            orderService.getByUserPaginated(1L, pageable);
+
+            // Both tables filtered by user, page size + 1 rows after the offset
+            verify(jdbcTemplate).query(
+                    argThat((String sql) -> sql.contains("UNION ALL") && sql.contains("ORDER BY created_at DESC, id DESC")),
+                    any(RowMapper.class), eq(1L), eq(1L), eq(3), eq(2L));
+            ArgumentCaptor<Slice<OrderResponse>> slice = ArgumentCaptor.forClass(Slice.class);
+            verify(pageMapper).toPageResponse(slice.capture(), eq(List.of(archivedResponse, liveResponse)),
+                    eq(PageTotal.exact(5L)));
+            assertThat(slice.getValue().hasNext()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should reject sorts the merge with the archive cannot honour")
+        void shouldRejectUnsupportedHistorySort() {
+            Pageable pageable = PageRequest.of(0, 10, Sort.by("target"));
+
+            assertThatThrownBy(() -> orderService.getByUserPaginated(1L, pageable))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessageContaining("target");
+            verifyNoInteractions(jdbcTemplate);
+        }
+
+        @Test
+        @DisplayName("Should reject history pages starting too deep")
+        void shouldRejectDeepHistoryPages() {
+            assertThatThrownBy(() -> orderService.getByUserPaginated(1L, PageRequest.of(501, 20)))
+                    .isInstanceOf(BadRequestException.class);
+            assertThatThrownBy(() -> orderService.getByUserPaginated(1L, PageRequest.of(Integer.MAX_VALUE - 1, 100)))
+                    .isInstanceOf(BadRequestException.class);
+            verifyNoInteractions(jdbcTemplate);
         }
 
         @Test
@@ -532,6 +651,26 @@ class OrderServiceTest {
             List<OrderResponse> result = orderService.getByUserAndStatus(1L, OrderStatus.PENDING);
 
             assertThat(result).hasSize(1);
+            verify(orderArchiveRepository, never()).findByUserIdAndStatusOrderByCreatedAtDesc(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should include archived orders of a final status, newest first")
+        void shouldIncludeArchivedOrdersOfFinalStatus() {
+            LocalDateTime now = LocalDateTime.now();
+            OrderArchive archived = OrderArchive.builder().id(2L).status(OrderStatus.COMPLETED).build();
+            OrderResponse liveResponse = OrderResponse.builder().id(1L).createdAt(now.minusDays(40)).build();
+            OrderResponse archivedResponse = OrderResponse.builder().id(2L).createdAt(now.minusDays(35)).build();
+            when(orderRepository.findByUserIdAndStatusOrderByCreatedAtDesc(1L, OrderStatus.COMPLETED))
+                    .thenReturn(List.of(testOrder));
+            when(orderArchiveRepository.findByUserIdAndStatusOrderByCreatedAtDesc(1L, OrderStatus.COMPLETED))
+                    .thenReturn(List.of(archived));
+            when(orderMapper.toResponseList(List.of(testOrder))).thenReturn(List.of(liveResponse));
+            when(orderMapper.toArchivedResponseList(List.of(archived))).thenReturn(List.of(archivedResponse));
+
+            List<OrderResponse> result = orderService.getByUserAndStatus(1L, OrderStatus.COMPLETED);
+
+            assertThat(result).containsExactly(archivedResponse, liveResponse);
         }
 
         @Test
@@ -578,22 +717,28 @@ class OrderServiceTest {
         @DisplayName("Should get orders by status paginated")
         void shouldGetOrdersByStatusPaginated() {
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Order> page = new PageImpl<>(List.of(testOrder), pageable, 1);
+            Slice<Order> slice = new SliceImpl<>(List.of(testOrder), pageable, true);
             PageResponse<OrderResponse> expectedPageResponse = PageResponse.<OrderResponse>builder()
                     .content(List.of(testOrderResponse))
                     .pageNumber(0)
                     .pageSize(10)
-                    .totalElements(1L)
-                    .totalPages(1)
+                    .totalElements(250_000L)
+                    .totalExact(false)
+                    .totalPages(25_000)
                     .build();
 
-            when(orderRepository.findByStatus(OrderStatus.PENDING, pageable)).thenReturn(page);
+            when(orderRepository.findSliceByStatus(OrderStatus.PENDING, pageable)).thenReturn(slice);
             when(orderMapper.toResponseList(anyList())).thenReturn(List.of(testOrderResponse));
-            doReturn(expectedPageResponse).when(pageMapper).toPageResponse(any(Page.class), anyList());
+            when(pageCountService.countFiltered(eq("orders:status:PENDING"), anyString(), any(Object[].class), eq(slice), any()))
+                    .thenReturn(PageTotal.approximate(250_000L));
+            doReturn(expectedPageResponse).when(pageMapper)
+                    .toPageResponse(any(Slice.class), anyList(), eq(PageTotal.approximate(250_000L)));
 
             PageResponse<OrderResponse> result = orderService.getByStatusPaginated(OrderStatus.PENDING, pageable);
 
             assertThat(result).isNotNull();
+            assertThat(result.isTotalExact()).isFalse();
+            verify(orderRepository, never()).countByStatus(any());
         }
 
         @Test
@@ -771,20 +916,52 @@ class OrderServiceTest {
         @DisplayName("Should count orders by user")
         void shouldCountOrdersByUser() {
             when(orderRepository.countByUserId(1L)).thenReturn(10L);
+            when(orderArchiveRepository.countByUserId(1L)).thenReturn(4L);
 
             long result = orderService.countByUser(1L);
 
-            assertThat(result).isEqualTo(10L);
+            assertThat(result).isEqualTo(14L);
+        }
+
+        @Test
+        @DisplayName("Should add archived orders to final status counts only")
+        void shouldAddArchivedOrdersToFinalStatusCounts() {
+            when(orderRepository.countByStatus(OrderStatus.COMPLETED)).thenReturn(5L);
+            when(orderArchiveRepository.countByStatus(OrderStatus.COMPLETED)).thenReturn(7L);
+            when(orderRepository.countByStatus(OrderStatus.PROCESSING)).thenReturn(3L);
+
+            assertThat(orderService.countByStatus(OrderStatus.COMPLETED)).isEqualTo(12L);
+            assertThat(orderService.countByStatus(OrderStatus.PROCESSING)).isEqualTo(3L);
+            verify(orderArchiveRepository, never()).countByStatus(OrderStatus.PROCESSING);
+        }
+
+        @Test
+        @DisplayName("Should merge live and archived counts by status")
+        void shouldMergeCountsByStatus() {
+            when(orderRepository.countOrdersByStatus()).thenReturn(List.of(
+                    new Object[]{OrderStatus.PENDING, 2L},
+                    new Object[]{OrderStatus.COMPLETED, 3L}));
+            when(orderArchiveRepository.countOrdersByStatus()).thenReturn(List.of(
+                    new Object[]{OrderStatus.COMPLETED, 10L},
+                    new Object[]{OrderStatus.FAILED, 1L}));
+
+            Map<OrderStatus, Long> result = orderService.countAllByStatus();
+
+            assertThat(result).containsExactlyInAnyOrderEntriesOf(Map.of(
+                    OrderStatus.PENDING, 2L,
+                    OrderStatus.COMPLETED, 13L,
+                    OrderStatus.FAILED, 1L));
         }
 
         @Test
         @DisplayName("Should get total revenue")
         void shouldGetTotalRevenue() {
             when(orderRepository.getTotalRevenue()).thenReturn(new BigDecimal("1000.00"));
+            when(orderArchiveRepository.getTotalRevenue()).thenReturn(new BigDecimal("250.00"));
 
             BigDecimal result = orderService.getTotalRevenue();
 
-            assertThat(result).isEqualByComparingTo(new BigDecimal("1000.00"));
+            assertThat(result).isEqualByComparingTo(new BigDecimal("1250.00"));
         }
 
         @Test
@@ -832,12 +1009,23 @@ class OrderServiceTest {
         @Test
         @DisplayName("Should get average order value")
         void shouldGetAverageOrderValue() {
-            when(orderRepository.getAverageOrderValue()).thenReturn(new BigDecimal("25.00"));
+            when(orderRepository.getTotalRevenue()).thenReturn(new BigDecimal("60.00"));
+            when(orderArchiveRepository.getTotalRevenue()).thenReturn(new BigDecimal("40.00"));
+            when(orderRepository.countByStatus(OrderStatus.COMPLETED)).thenReturn(1L);
+            when(orderArchiveRepository.countByStatus(OrderStatus.COMPLETED)).thenReturn(3L);
 
             BigDecimal result = orderService.getAverageOrderValue();
 
             assertThat(result).isEqualByComparingTo(new BigDecimal("25.00"));
         }
+
+        @Test
+        @DisplayName("Should return zero average order value without completed orders")
+        void shouldReturnZeroAverageWithoutCompletedOrders() {
+            BigDecimal result = orderService.getAverageOrderValue();
+
+            assertThat(result).isEqualByComparingTo(BigDecimal.ZERO);
+        }
     }
 
     @Nested
@@ -862,4 +1050,24 @@ class OrderServiceTest {
             assertThat(result.get(0).getServiceName()).isEqualTo("Instagram Followers");
         }
     }
+
+    // ============ HELPER METHODS ============
+
+    /**
+     * Stub the merged history query to return the given rows of {id, archived}.
+     */
+    @SuppressWarnings("unchecked")
+    private void stubHistoryPage(Object[]... rows) {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+            RowMapper<Object> mapper = invocation.getArgument(1);
+            List<Object> mapped = new ArrayList<>();
+            for (int i = 0; i < rows.length; i++) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong("id")).thenReturn((Long) rows[i][0]);
+                when(rs.getBoolean("archived")).thenReturn((Boolean) rows[i][1]);
+                mapped.add(mapper.mapRow(rs, i));
+            }
+            return mapped;
+        });
+    }
 }
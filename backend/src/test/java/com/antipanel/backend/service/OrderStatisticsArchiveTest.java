@@ -0,0 +1,215 @@
+package com.antipanel.backend.service;
+
+import com.antipanel.backend.config.ArchiveProperties;
+import com.antipanel.backend.dto.order.OrderResponse;
+import com.antipanel.backend.entity.Order;
+import com.antipanel.backend.entity.OrderArchive;
+import com.antipanel.backend.entity.enums.OrderStatus;
+import com.antipanel.backend.mapper.OrderMapper;
+import com.antipanel.backend.mapper.PageMapper;
+import com.antipanel.backend.service.impl.OrderArchiveServiceImpl;
+import com.antipanel.backend.service.impl.OrderServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that archiving orders never changes the order statistics of OrderService, and that
+ * order history pages run through live and archived orders in one sort order.
+ *
+ * Orders are seeded in the hot table, the statistics are read, the finished orders are moved
+ * to orders_archive by OrderArchiveService, and the statistics are read again.
+ *
+ * Note: Requires Docker to be running for Testcontainers to work.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        // Orders are seeded without their users and services
+        "spring.datasource.hikari.connection-init-sql=SET session_replication_role = replica"
+})
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OrderServiceImpl.class, OrderStatisticsArchiveTest.Mocks.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Order Statistics Archive Tests")
+class OrderStatisticsArchiveTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private PageMapper pageMapper;
+
+    private OrderArchiveService orderArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        reset(orderMapper, pageMapper);
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM orders_archive");
+        orderArchiveService = new OrderArchiveServiceImpl(jdbcTemplate,
+                new ArchiveProperties(true, 1000, 50, Duration.ofDays(30)));
+    }
+
+    @Test
+    @DisplayName("Should report the same statistics after orders are archived")
+    void shouldKeepStatisticsAfterArchiving() {
+        // Finished long ago: archived
+        seedOrder(1L, 1L, "COMPLETED", "10.00", "4.00", 100);
+        seedOrder(2L, 1L, "COMPLETED", "20.00", "8.00", 90);
+        seedOrder(3L, 2L, "FAILED", "5.00", "2.00", 95);
+        // Finished recently or still running: stay in orders
+        seedOrder(4L, 1L, "COMPLETED", "30.00", "12.00", 1);
+        seedOrder(5L, 2L, "PROCESSING", "7.00", "3.00", 1);
+
+        LocalDateTime start = LocalDateTime.now().minusDays(120);
+        LocalDateTime end = LocalDateTime.now();
+        Statistics before = statistics(start, end);
+
+        int archived = orderArchiveService.archiveBatch();
+
+        assertThat(archived).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Long.class)).isEqualTo(2L);
+        assertThat(statistics(start, end)).isEqualTo(before);
+        assertThat(before.total()).isEqualTo(5L);
+        assertThat(before.byStatus()).containsEntry(OrderStatus.COMPLETED, 3L);
+        assertThat(before.revenue()).isEqualByComparingTo("60.00");
+        assertThat(before.userCompleted()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Should page through live and archived orders in one sort order")
+    @SuppressWarnings("unchecked")
+    void shouldPageHistoryAcrossArchive() {
+        seedOrder(1L, 1L, "COMPLETED", "10.00", "4.00", 100);
+        seedOrder(2L, 1L, "COMPLETED", "20.00", "8.00", 90);
+        seedOrder(3L, 1L, "FAILED", "5.00", "2.00", 95);
+        seedOrder(4L, 1L, "COMPLETED", "30.00", "12.00", 1);
+        seedOrder(5L, 1L, "PROCESSING", "7.00", "3.00", 1);
+        seedOrder(6L, 2L, "COMPLETED", "9.00", "3.00", 100);
+        assertThat(orderArchiveService.archiveBatch()).isEqualTo(4);
+        when(orderMapper.toResponse(any(Order.class)))
+                .thenAnswer(invocation -> OrderResponse.builder().id(invocation.<Order>getArgument(0).getId()).build());
+        when(orderMapper.toResponse(any(OrderArchive.class)))
+                .thenAnswer(invocation -> OrderResponse.builder().id(invocation.<OrderArchive>getArgument(0).getId()).build());
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "createdAt");
+
+        for (int page = 0; page < 3; page++) {
+            orderService.getByUserPaginated(1L, PageRequest.of(page, 2, newestFirst));
+        }
+
+        ArgumentCaptor<Slice<OrderResponse>> slices = ArgumentCaptor.forClass(Slice.class);
+        ArgumentCaptor<List<OrderResponse>> contents = ArgumentCaptor.forClass(List.class);
+        verify(pageMapper, times(3)).toPageResponse(slices.capture(), contents.capture(), any());
+        assertThat(contents.getAllValues().stream().flatMap(List::stream).map(OrderResponse::getId))
+                .containsExactly(5L, 4L, 2L, 3L, 1L);
+        assertThat(slices.getAllValues()).extracting(Slice::hasNext).containsExactly(true, true, false);
+    }
+
+    // ============ HELPER METHODS ============
+
+    private Statistics statistics(LocalDateTime start, LocalDateTime end) {
+        return new Statistics(
+                orderService.countAll(),
+                orderService.countAllByStatus(),
+                orderService.countBetweenDates(start, end),
+                orderService.countByStatus(OrderStatus.COMPLETED),
+                orderService.countByUser(1L),
+                orderService.countByUserAndStatus(1L, OrderStatus.COMPLETED),
+                orderService.countByUserSince(2L, start),
+                orderService.getTotalRevenue().stripTrailingZeros(),
+                orderService.getTotalCost().stripTrailingZeros(),
+                orderService.getTotalProfit().stripTrailingZeros(),
+                orderService.getRevenueBetweenDates(start, end).stripTrailingZeros(),
+                orderService.getProfitBetweenDates(start, end).stripTrailingZeros());
+    }
+
+    private void seedOrder(Long id, Long userId, String status, String charge, String cost, int daysAgo) {
+        jdbcTemplate.update("""
+                INSERT INTO orders (id, version, user_id, service_id, service_name, provider_service_id,
+                                    target, quantity, remains, status, price_per_k, cost_per_k,
+                                    total_charge, total_cost, profit, is_refillable, refill_days,
+                                    created_at, updated_at, completed_at)
+                VALUES (?, 0, ?, 1, 'Instagram Followers', 1, 'https://instagram.com/test', 1000, 0, ?,
+                        1.0, 0.5, ?::numeric, ?::numeric, ?::numeric - ?::numeric, FALSE, 0,
+                        NOW() - make_interval(days => ? + 1), NOW() - make_interval(days => ?),
+                        CASE WHEN ? = 'COMPLETED' THEN NOW() - make_interval(days => ?) END)
+                """, id, userId, status, charge, cost, charge, cost, daysAgo, daysAgo, status, daysAgo);
+    }
+
+    private record Statistics(long total, Map<OrderStatus, Long> byStatus, long createdInRange, long completed,
+                              long userTotal, long userCompleted, long userSince, BigDecimal revenue,
+                              BigDecimal cost, BigDecimal profit, BigDecimal revenueInRange,
+                              BigDecimal profitInRange) {
+    }
+
+    @TestConfiguration
+    static class Mocks {
+
+        @Bean
+        OrderMapper orderMapper() {
+            return mock(OrderMapper.class);
+        }
+
+        @Bean
+        PageMapper pageMapper() {
+            return mock(PageMapper.class);
+        }
+
+        @Bean
+        ExternalOrderService externalOrderService() {
+            return mock(ExternalOrderService.class);
+        }
+
+        @Bean
+        OrderCompensationService orderCompensationService() {
+            return mock(OrderCompensationService.class);
+        }
+
+        @Bean
+        PageCountService pageCountService() {
+            return mock(PageCountService.class);
+        }
+    }
+}
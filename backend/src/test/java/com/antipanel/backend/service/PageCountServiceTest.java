@@ -0,0 +1,141 @@
+package com.antipanel.backend.service;
+
+import com.antipanel.backend.config.PaginationProperties;
+import com.antipanel.backend.dto.common.PageTotal;
+import com.antipanel.backend.service.impl.PageCountServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PageCountService Tests")
+class PageCountServiceTest {
+
+    private static final String ESTIMATE_SQL = "SELECT 1 FROM orders WHERE status = CAST(? AS order_status_enum)";
+    private static final Object[] ARGS = {"PENDING"};
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PageCountServiceImpl pageCountService;
+
+    @BeforeEach
+    void setUp() {
+        PaginationProperties properties = new PaginationProperties(true, 10_000L, Duration.ofMinutes(1), 100);
+        pageCountService = new PageCountServiceImpl(jdbcTemplate, properties);
+    }
+
+    @Test
+    @DisplayName("Should return exact total on last page without querying")
+    void shouldReturnExactTotalOnLastPage() {
+        Slice<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(3, 10), false);
+
+        PageTotal total = pageCountService.countFiltered("key", ESTIMATE_SQL, ARGS, slice, () -> {
+            throw new AssertionError("exact count should not run");
+        });
+
+        assertThat(total).isEqualTo(PageTotal.exact(32));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should run exact count when estimate is below threshold")
+    void shouldRunExactCountForSmallResults() {
+        Slice<String> slice = fullFirstPage();
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of("Index Scan using idx_orders_status on orders  (cost=0.29..8.31 rows=120 width=4)"));
+
+        PageTotal total = pageCountService.countFiltered("key", ESTIMATE_SQL, ARGS, slice, () -> 118L);
+
+        assertThat(total).isEqualTo(PageTotal.exact(118));
+    }
+
+    @Test
+    @DisplayName("Should use planner estimate and cache it for large results")
+    void shouldUsePlannerEstimateForLargeResults() {
+        Slice<String> slice = fullFirstPage();
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of("Seq Scan on orders  (cost=0.00..48250.00 rows=2500000 width=4)"));
+        AtomicInteger exactCounts = new AtomicInteger();
+
+        PageTotal first = pageCountService.countFiltered("key", ESTIMATE_SQL, ARGS, slice, () -> exactCounts.incrementAndGet());
+        PageTotal second = pageCountService.countFiltered("key", ESTIMATE_SQL, ARGS, slice, () -> exactCounts.incrementAndGet());
+
+        assertThat(first).isEqualTo(PageTotal.approximate(2_500_000));
+        assertThat(second).isEqualTo(first);
+        assertThat(exactCounts).hasValue(0);
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(String.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should never report fewer elements than the slice proves exist")
+    void shouldClampEstimateToSliceLowerBound() {
+        PaginationProperties properties = new PaginationProperties(true, 10L, Duration.ofMinutes(1), 100);
+        pageCountService = new PageCountServiceImpl(jdbcTemplate, properties);
+        Slice<String> slice = new SliceImpl<>(Collections.nCopies(10, "x"), PageRequest.of(5, 10), true);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(Object[].class))).thenReturn(20L);
+
+        PageTotal total = pageCountService.countTable("orders", slice, () -> 0L);
+
+        assertThat(total).isEqualTo(PageTotal.approximate(61));
+    }
+
+    @Test
+    @DisplayName("Should fall back to exact count when estimate fails")
+    void shouldFallBackToExactCountWhenEstimateFails() {
+        Slice<String> slice = fullFirstPage();
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        PageTotal total = pageCountService.countTable("users", slice, () -> 42L);
+
+        assertThat(total).isEqualTo(PageTotal.exact(42));
+    }
+
+    @Test
+    @DisplayName("Should always count exactly when approximate counts are disabled")
+    void shouldCountExactlyWhenDisabled() {
+        pageCountService = new PageCountServiceImpl(jdbcTemplate,
+                new PaginationProperties(false, 10L, Duration.ofMinutes(1), 100));
+
+        PageTotal total = pageCountService.countTable("users", fullFirstPage(), () -> 5_000_000L);
+
+        assertThat(total).isEqualTo(PageTotal.exact(5_000_000));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should estimate totals that are not tied to a page")
+    void shouldEstimateTotalWithoutSlice() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of("Seq Scan on orders_archive  (cost=0.00..48250.00 rows=900000 width=4)"));
+
+        PageTotal total = pageCountService.countFiltered("archive", ESTIMATE_SQL, ARGS, () -> {
+            throw new AssertionError("exact count should not run");
+        });
+
+        assertThat(total).isEqualTo(PageTotal.approximate(900_000));
+    }
+
+    private Slice<String> fullFirstPage() {
+        return new SliceImpl<>(Collections.nCopies(10, "x"), PageRequest.of(0, 10), true);
+    }
+}
@@ -0,0 +1,96 @@
+package com.antipanel.backend.service;
+
+import com.antipanel.backend.config.PaymentPollingProperties;
+import com.antipanel.backend.service.impl.PaymentPollingServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentPollingService Tests")
+class PaymentPollingServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private InvoiceService invoiceService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentPollingServiceImpl paymentPollingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        PaymentPollingProperties properties = new PaymentPollingProperties(
+                50, 2, Duration.ofSeconds(30), Duration.ofMinutes(30), Duration.ofHours(48));
+        paymentPollingService = new PaymentPollingServiceImpl(jdbcTemplate, invoiceService, properties, meterRegistry);
+    }
+
+    @Nested
+    @DisplayName("Verify due invoices")
+    class VerifyDueInvoices {
+
+        @Test
+        @DisplayName("Should claim due invoices with backoff and verify each one")
+        void shouldVerifyClaimedInvoices() {
+            when(jdbcTemplate.queryForObject(contains("COUNT(*)"), eq(Long.class))).thenReturn(3L);
+            when(jdbcTemplate.queryForList(contains("RETURNING id"), eq(Long.class), eq(30.0), eq(1800.0), eq(50)))
+                    .thenReturn(List.of(1L, 2L, 3L));
+
+            int verified = paymentPollingService.verifyDueInvoices();
+
+            assertThat(verified).isEqualTo(3);
+            verify(invoiceService).checkPaymentStatus(1L);
+            verify(invoiceService).checkPaymentStatus(2L);
+            verify(invoiceService).checkPaymentStatus(3L);
+            assertThat(meterRegistry.get("payments.polling.backlog").gauge().value()).isEqualTo(3.0);
+            assertThat(meterRegistry.get("payments.polling.verification").timer().count()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should keep verifying when one invoice fails")
+        void shouldIsolateFailures() {
+            when(jdbcTemplate.queryForObject(contains("COUNT(*)"), eq(Long.class))).thenReturn(2L);
+            when(jdbcTemplate.queryForList(contains("RETURNING id"), eq(Long.class), eq(30.0), eq(1800.0), eq(50)))
+                    .thenReturn(List.of(1L, 2L));
+            doThrow(new RuntimeException("Paymento unavailable")).when(invoiceService).checkPaymentStatus(1L);
+
+            int verified = paymentPollingService.verifyDueInvoices();
+
+            assertThat(verified).isEqualTo(1);
+            verify(invoiceService).checkPaymentStatus(2L);
+            assertThat(meterRegistry.get("payments.polling.verification").timer().count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should not claim anything when no invoice is due")
+        void shouldSkipClaimWhenNothingDue() {
+            when(jdbcTemplate.queryForObject(contains("COUNT(*)"), eq(Long.class))).thenReturn(0L);
+
+            int verified = paymentPollingService.verifyDueInvoices();
+
+            assertThat(verified).isZero();
+            verify(invoiceService, never()).checkPaymentStatus(anyLong());
+            assertThat(meterRegistry.get("payments.polling.backlog").gauge().value()).isZero();
+        }
+    }
+}
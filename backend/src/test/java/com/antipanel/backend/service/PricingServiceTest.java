@@ -0,0 +1,144 @@
+package com.antipanel.backend.service;
+
+import com.antipanel.backend.dto.order.OrderQuoteItem;
+import com.antipanel.backend.dto.order.OrderQuoteRequest;
+import com.antipanel.backend.dto.order.OrderQuoteResponse;
+import com.antipanel.backend.entity.ProviderService;
+import com.antipanel.backend.entity.Service;
+import com.antipanel.backend.repository.ServiceRepository;
+import com.antipanel.backend.service.PricingService.ServicePrice;
+import com.antipanel.backend.service.impl.PricingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PricingService Tests")
+class PricingServiceTest {
+
+    @Mock
+    private ServiceRepository serviceRepository;
+
+    @InjectMocks
+    private PricingServiceImpl pricingService;
+
+    private Service activeService;
+    private Service inactiveService;
+
+    @BeforeEach
+    void setUp() {
+        ProviderService providerService = ProviderService.builder()
+                .id(3)
+                .costPerK(new BigDecimal("0.5000"))
+                .build();
+
+        activeService = Service.builder()
+                .id(1)
+                .name("Instagram Followers")
+                .pricePerK(new BigDecimal("1.2345"))
+                .minQuantity(100)
+                .maxQuantity(10000)
+                .isActive(true)
+                .refillDays(30)
+                .providerService(providerService)
+                .build();
+
+        inactiveService = Service.builder()
+                .id(2)
+                .name("Old Service")
+                .pricePerK(new BigDecimal("2.00"))
+                .minQuantity(10)
+                .maxQuantity(100)
+                .isActive(false)
+                .refillDays(0)
+                .providerService(providerService)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Pricing Table")
+    class PricingTable {
+
+        @Test
+        @DisplayName("Should load the table once and serve lookups from memory")
+        void shouldLoadOnce() {
+            when(serviceRepository.findAllWithProviderService()).thenReturn(List.of(activeService));
+
+            assertThat(pricingService.find(1)).isPresent();
+            assertThat(pricingService.find(1)).isPresent();
+            assertThat(pricingService.find(99)).isEmpty();
+
+            verify(serviceRepository, times(1)).findAllWithProviderService();
+        }
+
+        @Test
+        @DisplayName("Should pick up catalog changes on refresh")
+        void shouldRefresh() {
+            when(serviceRepository.findAllWithProviderService())
+                    .thenReturn(List.of(activeService))
+                    .thenReturn(List.of(activeService, inactiveService));
+
+            assertThat(pricingService.find(2)).isEmpty();
+            pricingService.onCatalogChanged(new CatalogChangedEvent());
+
+            assertThat(pricingService.find(2)).hasValueSatisfying(price -> assertThat(price.active()).isFalse());
+        }
+
+        @Test
+        @DisplayName("Should compute charges like BigDecimal half-up division")
+        void shouldMatchBigDecimalArithmetic() {
+            ServicePrice price = new ServicePrice(1, "s", true, 1, Integer.MAX_VALUE,
+                    new BigDecimal("1.2345"), new BigDecimal("0.0001"), 0, 3);
+
+            for (int quantity : new int[]{1, 7, 333, 1000, 12_345, 999_999, Integer.MAX_VALUE}) {
+                assertThat(price.chargeFor(quantity)).isEqualTo(new BigDecimal("1.2345")
+                        .multiply(BigDecimal.valueOf(quantity))
+                        .divide(BigDecimal.valueOf(1000), 4, RoundingMode.HALF_UP));
+                assertThat(price.costFor(quantity)).isEqualTo(new BigDecimal("0.0001")
+                        .multiply(BigDecimal.valueOf(quantity))
+                        .divide(BigDecimal.valueOf(1000), 4, RoundingMode.HALF_UP));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Quote")
+    class Quote {
+
+        @Test
+        @DisplayName("Should total orderable items and report the others")
+        void shouldQuoteCart() {
+            when(serviceRepository.findAllWithProviderService()).thenReturn(List.of(activeService, inactiveService));
+            OrderQuoteRequest request = OrderQuoteRequest.builder()
+                    .items(List.of(
+                            OrderQuoteItem.builder().serviceId(1).quantity(1000).build(),
+                            OrderQuoteItem.builder().serviceId(1).quantity(2000).build(),
+                            OrderQuoteItem.builder().serviceId(1).quantity(50).build(),
+                            OrderQuoteItem.builder().serviceId(2).quantity(50).build(),
+                            OrderQuoteItem.builder().serviceId(99).quantity(50).build()))
+                    .build();
+
+            OrderQuoteResponse quote = pricingService.quote(request);
+
+            assertThat(quote.isOrderable()).isFalse();
+            assertThat(quote.getTotal()).isEqualByComparingTo("3.7035");
+            assertThat(quote.getLines()).hasSize(5);
+            assertThat(quote.getLines().get(0).getCharge()).isEqualByComparingTo("1.2345");
+            assertThat(quote.getLines().get(2).getError()).isEqualTo("Quantity must be between 100 and 10000");
+            assertThat(quote.getLines().get(3).getError()).isEqualTo("Service is not active");
+            assertThat(quote.getLines().get(4).getError()).isEqualTo("Service not found");
+        }
+    }
+}
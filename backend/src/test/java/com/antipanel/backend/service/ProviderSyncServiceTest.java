@@ -3,6 +3,7 @@ package com.antipanel.backend.service;
 import com.antipanel.backend.dto.provider.ProviderResponse;
 import com.antipanel.backend.dto.provider.api.DripfeedBalanceResponse;
 import com.antipanel.backend.dto.provider.api.DripfeedServiceDto;
+import com.antipanel.backend.dto.providerservice.ProviderServiceCreateRequest;
 import com.antipanel.backend.dto.providerservice.ProviderServiceResponse;
 import com.antipanel.backend.entity.Provider;
 import com.antipanel.backend.exception.ProviderApiException;
@@ -16,9 +17,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.Collections;
@@ -54,6 +57,9 @@ class ProviderSyncServiceTest {
     @Mock
     private ProviderCatalogService providerCatalogService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProviderSyncServiceImpl syncService;
 
@@ -110,6 +116,33 @@ class ProviderSyncServiceTest {
             assertThat(result).hasSize(3);
             verify(providerApiClient).getServices(testProvider);
             verify(providerCatalogService, times(3)).create(any());
+            verify(eventPublisher).publishEvent(
+                    ReferenceDataChangedEvent.all(com.antipanel.backend.entity.ProviderService.class));
+        }
+
+        @Test
+        @DisplayName("Should create a service listed twice by the provider only once")
+        void shouldCreateRepeatedServiceOnce() {
+            List<DripfeedServiceDto> externalServices = List.of(
+                    createExternalService(13311, "Instagram Followers", "1.00", 10, 300000, true),
+                    createExternalService(15856, "Instagram Likes", "0.31", 10, 300000, false),
+                    createExternalService(13311, "Instagram Followers (copy)", "1.20", 10, 300000, true)
+            );
+
+            when(providerRepository.findById(1)).thenReturn(Optional.of(testProvider));
+            when(providerApiClient.getServices(testProvider)).thenReturn(externalServices);
+            when(providerServiceRepository.findByProviderIdOrderByNameAsc(1)).thenReturn(Collections.emptyList());
+            when(providerCatalogService.create(any())).thenReturn(ProviderServiceResponse.builder().id(1).build());
+
+            List<ProviderServiceResponse> result = syncService.syncServices(1);
+
+            assertThat(result).hasSize(2);
+            ArgumentCaptor<ProviderServiceCreateRequest> captor =
+                    ArgumentCaptor.forClass(ProviderServiceCreateRequest.class);
+            verify(providerCatalogService, times(2)).create(captor.capture());
+            assertThat(captor.getAllValues())
+                    .extracting(ProviderServiceCreateRequest::getName)
+                    .containsExactly("Instagram Followers", "Instagram Likes");
         }
 
         @Test
@@ -0,0 +1,214 @@
+package com.antipanel.backend.service;
+
+import com.antipanel.backend.cache.ReferenceCache;
+import com.antipanel.backend.dto.provider.api.DripfeedOrderResponse;
+import com.antipanel.backend.entity.ProviderService;
+import com.antipanel.backend.repository.PaymentProcessorRepository;
+import com.antipanel.backend.service.impl.ExternalOrderServiceImpl;
+import com.antipanel.backend.service.provider.ProviderApiClient;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that the order creation path reads no reference tables once the second-level cache is warm.
+ *
+ * Prices come from the in-memory pricing table and the reservation only writes orders and holds;
+ * the catalog reads left are the provider service and provider of the order when it is submitted.
+ * Every SQL statement Hibernate sends is recorded through a StatementInspector.
+ *
+ * Note: Requires Docker to be running for Testcontainers to work.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        // Orders are seeded without their users and services
+        "spring.datasource.hikari.connection-init-sql=SET session_replication_role = replica"
+})
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ExternalOrderServiceImpl.class, ReferenceCache.class, ReferenceCacheTest.Mocks.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Reference Cache Tests")
+class ReferenceCacheTest {
+
+    private static final Pattern REFERENCE_TABLES = Pattern.compile(
+            "\\b(categories|service_types|payment_processors|providers|provider_services)\\b");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    @Autowired
+    private ExternalOrderService externalOrderService;
+
+    @Autowired
+    private ProviderApiClient providerApiClient;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentProcessorRepository paymentProcessorRepository;
+
+    @Autowired
+    private ReferenceCache referenceCache;
+
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        reset(providerApiClient, orderService);
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM provider_services");
+        jdbcTemplate.update("DELETE FROM providers");
+        jdbcTemplate.update("DELETE FROM payment_processors");
+        jdbcTemplate.update("""
+                INSERT INTO providers (id, name, api_url, api_key, is_active, balance, created_at, updated_at)
+                VALUES (1, 'DripfeedPanel', 'https://dripfeedpanel.com/api/v2', 'key', TRUE, 0, NOW(), NOW())
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO provider_services (id, provider_id, provider_service_id, name, min_quantity, max_quantity,
+                                               cost_per_k, refill_days, is_active)
+                VALUES (1, 1, '100', 'Instagram Followers', 10, 100000, 0.5, 0, TRUE)
+                """);
+        referenceCache.evictAll();
+
+        DripfeedOrderResponse response = new DripfeedOrderResponse();
+        response.setOrder(555L);
+        when(providerApiClient.createOrder(any(), any())).thenReturn(response);
+    }
+
+    @Test
+    @DisplayName("Should submit an order without reading reference tables on a warm cache")
+    void shouldSubmitFromWarmCache() {
+        seedPendingOrder(1L);
+        seedPendingOrder(2L);
+
+        sqlRecorder.clear();
+        externalOrderService.submitOrder(1L);
+        assertThat(sqlRecorder.referenceQueries()).isNotEmpty();
+
+        sqlRecorder.clear();
+        externalOrderService.submitOrder(2L);
+
+        assertThat(sqlRecorder.statements).isNotEmpty();
+        assertThat(sqlRecorder.referenceQueries()).isEmpty();
+        assertThat(referenceCache.contains(ProviderService.class, 1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should read the provider service again once evicted")
+    void shouldReloadAfterEviction() {
+        seedPendingOrder(1L);
+        seedPendingOrder(2L);
+        externalOrderService.submitOrder(1L);
+
+        referenceCache.evict(ProviderService.class, 1);
+        sqlRecorder.clear();
+        externalOrderService.submitOrder(2L);
+
+        assertThat(sqlRecorder.referenceQueries()).anyMatch(sql -> sql.contains("provider_services"));
+    }
+
+    @Test
+    @DisplayName("Should answer cacheable queries from the query cache")
+    void shouldAnswerFromQueryCache() {
+        jdbcTemplate.update("""
+                INSERT INTO payment_processors (id, name, code, min_amount, fee_percentage, fee_fixed, is_active,
+                                                sort_order)
+                VALUES (1, 'Paymento', 'paymento', 1.00, 0, 0, TRUE, 0)
+                """);
+
+        assertThat(paymentProcessorRepository.findByCode("paymento")).isPresent();
+        sqlRecorder.clear();
+
+        assertThat(paymentProcessorRepository.findByCode("paymento")).isPresent();
+        assertThat(sqlRecorder.referenceQueries()).isEmpty();
+    }
+
+    // ============ HELPER METHODS ============
+
+    private void seedPendingOrder(Long id) {
+        jdbcTemplate.update("""
+                INSERT INTO orders (id, version, user_id, service_id, service_name, provider_service_id,
+                                    target, quantity, remains, status, price_per_k, cost_per_k,
+                                    total_charge, total_cost, profit, is_refillable, refill_days,
+                                    created_at, updated_at)
+                VALUES (?, 0, 1, 1, 'Instagram Followers', 1, 'https://instagram.com/test', 1000, 1000, 'PENDING',
+                        1.0, 0.5, 1.0, 0.5, 0.5, FALSE, 0, NOW(), NOW())
+                """, id);
+    }
+
+    static class SqlRecorder implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        void clear() {
+            statements.clear();
+        }
+
+        List<String> referenceQueries() {
+            return statements.stream().filter(sql -> REFERENCE_TABLES.matcher(sql).find()).toList();
+        }
+    }
+
+    @TestConfiguration
+    static class Mocks {
+
+        @Bean
+        ProviderApiClient providerApiClient() {
+            return mock(ProviderApiClient.class);
+        }
+
+        @Bean
+        OrderService orderService() {
+            return mock(OrderService.class);
+        }
+
+        @Bean
+        SqlRecorder sqlRecorder() {
+            return new SqlRecorder();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer sqlRecorderCustomizer(SqlRecorder sqlRecorder) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlRecorder);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.antipanel.backend.service;
+
+import com.antipanel.backend.config.RefillPollingProperties;
+import com.antipanel.backend.dto.provider.api.DripfeedRefillStatusResponse;
+import com.antipanel.backend.entity.Order;
+import com.antipanel.backend.entity.OrderRefill;
+import com.antipanel.backend.entity.Provider;
+import com.antipanel.backend.entity.ProviderService;
+import com.antipanel.backend.entity.enums.RefillStatus;
+import com.antipanel.backend.exception.ProviderApiException;
+import com.antipanel.backend.repository.OrderRefillRepository;
+import com.antipanel.backend.service.impl.RefillStatusPollingServiceImpl;
+import com.antipanel.backend.service.provider.ProviderApiClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefillStatusPollingService Tests")
+class RefillStatusPollingServiceTest {
+
+    @Mock
+    private OrderRefillRepository orderRefillRepository;
+
+    @Mock
+    private ProviderApiClient providerApiClient;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private RefillStatusPollingServiceImpl refillStatusPollingService;
+    private Provider provider;
+
+    @BeforeEach
+    void setUp() {
+        refillStatusPollingService = new RefillStatusPollingServiceImpl(orderRefillRepository, providerApiClient,
+                jdbcTemplate, new RefillPollingProperties(2, 10, 2));
+        provider = Provider.builder().id(1).name("DripfeedPanel").apiUrl("https://dripfeedpanel.com").build();
+    }
+
+    @Nested
+    @DisplayName("Multi-refill status")
+    class MultiRefillStatus {
+
+        @Test
+        @DisplayName("Should walk every page and apply finished refills in one update per status")
+        void shouldDrainAllPages() {
+            OrderRefill first = refill(1L, "r1");
+            OrderRefill second = refill(2L, "r2");
+            OrderRefill third = refill(3L, "r3");
+            when(orderRefillRepository.findPageWithProviderByStatus(eq(RefillStatus.PROCESSING), eq(0L), any(Pageable.class)))
+                    .thenReturn(List.of(first, second));
+            when(orderRefillRepository.findPageWithProviderByStatus(eq(RefillStatus.PROCESSING), eq(2L), any(Pageable.class)))
+                    .thenReturn(List.of(third));
+            when(providerApiClient.getMultipleRefillStatus(provider, List.of("r1", "r2")))
+                    .thenReturn(Map.of("r1", status("Completed"), "r2", status("In progress")));
+            when(providerApiClient.getMultipleRefillStatus(provider, List.of("r3")))
+                    .thenReturn(Map.of("r3", status("Rejected")));
+            when(jdbcTemplate.update(contains("'COMPLETED'"), any(PreparedStatementSetter.class))).thenReturn(1);
+            when(jdbcTemplate.update(contains("'REJECTED'"), any(PreparedStatementSetter.class))).thenReturn(1);
+
+            int updated = refillStatusPollingService.updateProcessingRefills();
+
+            assertThat(updated).isEqualTo(2);
+            verify(providerApiClient, never()).getRefillStatus(any(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should not update refills that are still in progress")
+        void shouldSkipUnfinishedRefills() {
+            when(orderRefillRepository.findPageWithProviderByStatus(eq(RefillStatus.PROCESSING), anyLong(), any(Pageable.class)))
+                    .thenReturn(List.of(refill(1L, "r1")));
+            when(providerApiClient.getMultipleRefillStatus(provider, List.of("r1")))
+                    .thenReturn(Map.of("r1", status("Pending")));
+
+            assertThat(refillStatusPollingService.updateProcessingRefills()).isZero();
+            verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+        }
+
+        @Test
+        @DisplayName("Should stop at the maximum refills per run")
+        void shouldStopAtMaximumPerRun() {
+            refillStatusPollingService = new RefillStatusPollingServiceImpl(orderRefillRepository, providerApiClient,
+                    jdbcTemplate, new RefillPollingProperties(2, 4, 2));
+            when(orderRefillRepository.findPageWithProviderByStatus(eq(RefillStatus.PROCESSING), anyLong(), any(Pageable.class)))
+                    .thenAnswer(invocation -> {
+                        long afterId = invocation.getArgument(1);
+                        return List.of(refill(afterId + 1, "r" + (afterId + 1)), refill(afterId + 2, "r" + (afterId + 2)));
+                    });
+            when(providerApiClient.getMultipleRefillStatus(any(), anyList())).thenReturn(Map.of());
+
+            refillStatusPollingService.updateProcessingRefills();
+
+            verify(orderRefillRepository, times(2))
+                    .findPageWithProviderByStatus(eq(RefillStatus.PROCESSING), anyLong(), any(Pageable.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Single-refill fallback")
+    class SingleRefillFallback {
+
+        @Test
+        @DisplayName("Should fall back to single calls and remember providers without multi-refill support")
+        void shouldFallBackAndRemember() {
+            List<OrderRefill> refills = new ArrayList<>(List.of(refill(1L, "r1"), refill(2L, "r2")));
+            when(orderRefillRepository.findPageWithProviderByStatus(eq(RefillStatus.PROCESSING), anyLong(), any(Pageable.class)))
+                    .thenReturn(refills, List.of(), refills, List.of());
+            when(providerApiClient.getMultipleRefillStatus(any(), anyList()))
+                    .thenThrow(new ProviderApiException("DripfeedPanel", "refill_status", "Incorrect request"));
+            when(providerApiClient.getRefillStatus(provider, "r1")).thenReturn(status("Completed"));
+            when(providerApiClient.getRefillStatus(provider, "r2")).thenThrow(new ProviderApiException("timeout"));
+            when(jdbcTemplate.update(contains("'COMPLETED'"), any(PreparedStatementSetter.class))).thenReturn(1);
+
+            assertThat(refillStatusPollingService.updateProcessingRefills()).isEqualTo(1);
+            refillStatusPollingService.updateProcessingRefills();
+
+            verify(providerApiClient, times(1)).getMultipleRefillStatus(any(), anyList());
+            verify(providerApiClient, times(2)).getRefillStatus(provider, "r1");
+        }
+    }
+
+    // ============ HELPER METHODS ============
+
+    private OrderRefill refill(Long id, String providerRefillId) {
+        ProviderService providerService = ProviderService.builder().id(1).provider(provider).build();
+        return OrderRefill.builder()
+                .id(id)
+                .order(Order.builder().id(id).providerService(providerService).build())
+                .providerRefillId(providerRefillId)
+                .quantity(1000)
+                .status(RefillStatus.PROCESSING)
+                .build();
+    }
+
+    private static DripfeedRefillStatusResponse status(String status) {
+        return DripfeedRefillStatusResponse.builder().status(status).build();
+    }
+}
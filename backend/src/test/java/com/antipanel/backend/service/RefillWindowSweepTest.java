@@ -0,0 +1,132 @@
+package com.antipanel.backend.service;
+
+import com.antipanel.backend.config.MaintenanceProperties;
+import com.antipanel.backend.config.PaymentPollingProperties;
+import com.antipanel.backend.service.MaintenanceService.SweepResult;
+import com.antipanel.backend.service.impl.MaintenanceServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the refill window sweep of MaintenanceService against the real orders table and its
+ * updated_at trigger: closing an expired window must not postpone the archival of the order.
+ *
+ * Unlike the other database tests, triggers stay enabled; only the seeding transaction turns
+ * them off, to insert orders without their users and services.
+ *
+ * Note: Requires Docker to be running for Testcontainers to work.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Refill Window Sweep Tests")
+class RefillWindowSweepTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MaintenanceService maintenanceService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM orders");
+        PaymentPollingProperties pollingProperties = new PaymentPollingProperties(
+                200, 4, Duration.ofSeconds(30), Duration.ofMinutes(30), Duration.ofHours(48));
+        maintenanceService = new MaintenanceServiceImpl(jdbcTemplate,
+                new MaintenanceProperties(100, 3, Duration.ofDays(30)), pollingProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should close expired refill windows without touching updated_at")
+    void shouldCloseExpiredWindowsWithoutTouchingUpdatedAt() {
+        seedCompletedOrder(1L, -1);
+        seedCompletedOrder(2L, 5);
+        Map<String, Object> before = order(1L);
+
+        SweepResult result = maintenanceService.closeExpiredRefillWindows();
+
+        assertThat(result.rows()).isEqualTo(1);
+        Map<String, Object> after = order(1L);
+        assertThat(after.get("is_refillable")).isEqualTo(false);
+        assertThat(after.get("version")).isEqualTo(1L);
+        assertThat(after.get("updated_at")).isEqualTo(before.get("updated_at"));
+        // Window still open: untouched
+        assertThat(order(2L).get("is_refillable")).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("Should still stamp updated_at on any other update")
+    void shouldStampUpdatedAtOnOtherUpdates() {
+        seedCompletedOrder(1L, -1);
+        LocalDateTime before = (LocalDateTime) order(1L).get("updated_at");
+
+        jdbcTemplate.update("UPDATE orders SET remains = 10 WHERE id = 1");
+        LocalDateTime afterRemains = (LocalDateTime) order(1L).get("updated_at");
+        // Closing a window that is still open is a real change
+        jdbcTemplate.update("UPDATE orders SET refill_deadline = NOW() + INTERVAL '1 day' WHERE id = 1");
+        jdbcTemplate.update("UPDATE orders SET is_refillable = FALSE WHERE id = 1");
+        LocalDateTime afterClose = (LocalDateTime) order(1L).get("updated_at");
+
+        assertThat(afterRemains).isAfter(before);
+        assertThat(afterClose).isAfterOrEqualTo(afterRemains);
+        assertThat(afterClose).isAfter(LocalDateTime.now().minusMinutes(1));
+    }
+
+    // ============ HELPER METHODS ============
+
+    /**
+     * Insert a refillable completed order last updated ten days ago, whose refill deadline is
+     * the given number of days from now.
+     */
+    private void seedCompletedOrder(Long id, int deadlineInDays) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Orders are seeded without their users and services
+            jdbcTemplate.execute("SET LOCAL session_replication_role = replica");
+            jdbcTemplate.update("""
+                    INSERT INTO orders (id, version, user_id, service_id, service_name, provider_service_id,
+                                        target, quantity, remains, status, price_per_k, cost_per_k,
+                                        total_charge, total_cost, profit, is_refillable, refill_days, refill_deadline,
+                                        created_at, updated_at, completed_at)
+                    VALUES (?, 0, 1, 1, 'Instagram Followers', 1, 'https://instagram.com/test', 1000, 0, 'COMPLETED',
+                            1.0, 0.5, 1.0, 0.5, 0.5, TRUE, 30, NOW() + make_interval(days => ?),
+                            NOW() - INTERVAL '40 days', NOW() - INTERVAL '10 days', NOW() - INTERVAL '10 days')
+                    """, id, deadlineInDays);
+        });
+    }
+
+    private Map<String, Object> order(Long id) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT is_refillable, version, updated_at FROM orders WHERE id = ?", id);
+        row.put("updated_at", ((Timestamp) row.get("updated_at")).toLocalDateTime());
+        return row;
+    }
+}
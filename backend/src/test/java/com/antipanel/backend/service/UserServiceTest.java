@@ -1,6 +1,7 @@
 package com.antipanel.backend.service;
 
 import com.antipanel.backend.dto.common.PageResponse;
+import com.antipanel.backend.dto.common.PageTotal;
 import com.antipanel.backend.dto.user.UserCreateRequest;
 import com.antipanel.backend.dto.user.UserResponse;
 import com.antipanel.backend.dto.user.UserSummary;
@@ -12,6 +13,7 @@ import com.antipanel.backend.exception.ResourceNotFoundException;
 import com.antipanel.backend.mapper.PageMapper;
 import com.antipanel.backend.mapper.UserMapper;
 import com.antipanel.backend.repository.UserRepository;
+import com.antipanel.backend.security.PrincipalChangedEvent;
 import com.antipanel.backend.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,10 +21,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.math.BigDecimal;
@@ -55,6 +58,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PageCountService pageCountService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -245,6 +254,7 @@ class UserServiceTest {
 
         // Then
         verify(userRepository).delete(testUser);
+        verify(eventPublisher).publishEvent(new PrincipalChangedEvent(1L));
     }
 
     @Test
@@ -263,7 +273,7 @@ class UserServiceTest {
     void getAll_Success() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<User> page = new PageImpl<>(List.of(testUser));
+        Slice<User> slice = new SliceImpl<>(List.of(testUser), pageable, false);
         PageResponse<UserResponse> pageResponse = PageResponse.<UserResponse>builder()
                 .content(List.of(testUserResponse))
                 .pageNumber(0)
@@ -272,8 +282,10 @@ class UserServiceTest {
                 .totalPages(1)
                 .build();
 
-        when(userRepository.findAll(pageable)).thenReturn(page);
-        when(pageMapper.toPageResponse(any(Page.class), any(Function.class))).thenReturn(pageResponse);
+        when(userRepository.findAllSlice(pageable)).thenReturn(slice);
+        when(pageCountService.countTable(eq("users"), eq(slice), any())).thenReturn(PageTotal.exact(1));
+        when(pageMapper.toPageResponse(any(Slice.class), any(Function.class), any(PageTotal.class)))
+                .thenReturn(pageResponse);
 
         // When
         PageResponse<UserResponse> result = userService.getAll(pageable);
@@ -287,13 +299,16 @@ class UserServiceTest {
     void getByRole_Success() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<User> page = new PageImpl<>(List.of(testUser));
+        Slice<User> slice = new SliceImpl<>(List.of(testUser), pageable, false);
         PageResponse<UserResponse> pageResponse = PageResponse.<UserResponse>builder()
                 .content(List.of(testUserResponse))
                 .build();
 
-        when(userRepository.findByRole(UserRole.USER, pageable)).thenReturn(page);
-        when(pageMapper.toPageResponse(any(Page.class), any(Function.class))).thenReturn(pageResponse);
+        when(userRepository.findSliceByRole(UserRole.USER, pageable)).thenReturn(slice);
+        when(pageCountService.countFiltered(eq("users:role:USER"), anyString(), any(Object[].class), eq(slice), any()))
+                .thenReturn(PageTotal.exact(1));
+        when(pageMapper.toPageResponse(any(Slice.class), any(Function.class), any(PageTotal.class)))
+                .thenReturn(pageResponse);
 
         // When
         PageResponse<UserResponse> result = userService.getByRole(UserRole.USER, pageable);
@@ -323,6 +338,7 @@ class UserServiceTest {
         assertThat(result.getIsBanned()).isTrue();
         verify(userRepository).save(argThat(user ->
                 user.getIsBanned() && "Violation".equals(user.getBannedReason())));
+        verify(eventPublisher).publishEvent(new PrincipalChangedEvent(1L));
     }
 
     @Test
@@ -343,6 +359,7 @@ class UserServiceTest {
         assertThat(result.getIsBanned()).isFalse();
         verify(userRepository).save(argThat(user ->
                 !user.getIsBanned() && user.getBannedReason() == null));
+        verify(eventPublisher).publishEvent(new PrincipalChangedEvent(1L));
     }
 
     // ============ BALANCE OPERATIONS TESTS ============
@@ -0,0 +1,192 @@
+package com.antipanel.backend.service.payment;
+
+import com.antipanel.backend.config.WebhookInboxProperties;
+import com.antipanel.backend.dto.paymento.PaymentoWebhookPayload;
+import com.antipanel.backend.exception.BadRequestException;
+import com.antipanel.backend.service.payment.impl.WebhookInboxServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for WebhookInboxService.
+ * Tests deduplication on enqueue, per-invoice coalescing and retry classification.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WebhookInboxService Tests")
+class WebhookInboxServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PaymentoWebhookService webhookService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private WebhookInboxServiceImpl webhookInboxService;
+
+    @BeforeEach
+    void setUp() {
+        WebhookInboxProperties properties = new WebhookInboxProperties(
+                10, 2, 3, Duration.ofSeconds(5), Duration.ofMinutes(10), Duration.ofMinutes(2), Duration.ofDays(7));
+        webhookInboxService = new WebhookInboxServiceImpl(jdbcTemplate, webhookService, objectMapper, properties);
+    }
+
+    @Nested
+    @DisplayName("Enqueue")
+    class EnqueueTests {
+
+        @Test
+        @DisplayName("Should store the raw payload keyed by token and status")
+        void shouldStoreWebhook() {
+            PaymentoWebhookPayload payload = payload("abc123token", "123", 7);
+            when(jdbcTemplate.update(contains("INSERT INTO webhook_inbox"),
+                    eq("paymento"), eq("abc123token:7"), eq(123L), eq("{raw}"))).thenReturn(1);
+
+            assertThat(webhookInboxService.enqueue(payload, "{raw}")).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should report a redelivered webhook as duplicate")
+        void shouldIgnoreDuplicate() {
+            PaymentoWebhookPayload payload = payload("abc123token", "123", 7);
+            when(jdbcTemplate.update(contains("INSERT INTO webhook_inbox"),
+                    eq("paymento"), eq("abc123token:7"), eq(123L), eq("{raw}"))).thenReturn(0);
+
+            assertThat(webhookInboxService.enqueue(payload, "{raw}")).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Drain")
+    class DrainTests {
+
+        @Test
+        @DisplayName("Should apply only the most decisive webhook per invoice and settle all of them")
+        void shouldCoalesceWebhooksPerInvoice() throws Exception {
+            claim(List.of(
+                    entry(1L, 123L, payload("abc123token", "123", 1), 1),
+                    entry(2L, 123L, payload("abc123token", "123", 7), 1),
+                    entry(3L, 123L, payload("abc123token", "123", 3), 1)));
+
+            int settled = webhookInboxService.drain();
+
+            assertThat(settled).isEqualTo(3);
+            ArgumentCaptor<PaymentoWebhookPayload> applied = ArgumentCaptor.forClass(PaymentoWebhookPayload.class);
+            verify(webhookService).processWebhook(applied.capture());
+            assertThat(applied.getValue().getOrderStatus()).isEqualTo(7);
+            verify(jdbcTemplate).update(contains("'DONE'"), any(PreparedStatementSetter.class));
+        }
+
+        @Test
+        @DisplayName("Should apply webhooks of different invoices separately")
+        void shouldApplyEachInvoice() throws Exception {
+            claim(List.of(
+                    entry(1L, 123L, payload("token-a", "123", 7), 1),
+                    entry(2L, 456L, payload("token-b", "456", 4), 1)));
+
+            int settled = webhookInboxService.drain();
+
+            assertThat(settled).isEqualTo(2);
+            verify(webhookService, times(2)).processWebhook(any());
+            verify(jdbcTemplate, times(2)).update(contains("'DONE'"), any(PreparedStatementSetter.class));
+        }
+
+        @Test
+        @DisplayName("Should schedule a retry when applying fails transiently")
+        void shouldRetryTransientFailure() throws Exception {
+            claim(List.of(entry(1L, 123L, payload("abc123token", "123", 7), 1)));
+            doThrow(new QueryTimeoutException("statement timeout")).when(webhookService).processWebhook(any());
+
+            int settled = webhookInboxService.drain();
+
+            assertThat(settled).isZero();
+            verify(jdbcTemplate).update(contains("CASE WHEN attempts"), any(PreparedStatementSetter.class));
+            verify(jdbcTemplate, never()).update(contains("'DONE'"), any(PreparedStatementSetter.class));
+        }
+
+        @Test
+        @DisplayName("Should mark the entry failed when the webhook can never apply")
+        void shouldFailPermanentError() throws Exception {
+            claim(List.of(entry(1L, 123L, payload("abc123token", "123", 9), 1)));
+            doThrow(new BadRequestException("Cannot update status of invoice in final state"))
+                    .when(webhookService).processWebhook(any());
+
+            int settled = webhookInboxService.drain();
+
+            assertThat(settled).isEqualTo(1);
+            verify(jdbcTemplate).update(contains("SET status = 'FAILED'"), any(PreparedStatementSetter.class));
+            verify(jdbcTemplate, never()).update(contains("CASE WHEN attempts"), any(PreparedStatementSetter.class));
+        }
+
+        @Test
+        @DisplayName("Should do nothing when the inbox is empty")
+        void shouldHandleEmptyInbox() {
+            claim(List.of());
+
+            assertThat(webhookInboxService.drain()).isZero();
+            verify(webhookService, never()).processWebhook(any());
+            verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+        }
+    }
+
+    // ============ HELPER METHODS ============
+
+    @SuppressWarnings("unchecked")
+    private void claim(List<Object[]> rows) {
+        when(jdbcTemplate.query(contains("RETURNING id, invoice_id"), any(RowMapper.class), eq(120.0), eq(10)))
+                .thenAnswer(invocation -> {
+                    RowMapper<Object> mapper = invocation.getArgument(1);
+                    ResultSet rs = mock(ResultSet.class);
+                    List<Object> mapped = new ArrayList<>();
+                    for (Object[] row : rows) {
+                        when(rs.getLong("id")).thenReturn((Long) row[0]);
+                        when(rs.getObject("invoice_id", Long.class)).thenReturn((Long) row[1]);
+                        when(rs.getString("payload")).thenReturn((String) row[2]);
+                        when(rs.getInt("attempts")).thenReturn((Integer) row[3]);
+                        mapped.add(mapper.mapRow(rs, mapped.size()));
+                    }
+                    return mapped;
+                });
+    }
+
+    private Object[] entry(long id, Long invoiceId, PaymentoWebhookPayload payload, int attempts) throws Exception {
+        return new Object[]{id, invoiceId, objectMapper.writeValueAsString(payload), attempts};
+    }
+
+    private static PaymentoWebhookPayload payload(String token, String orderId, int status) {
+        return PaymentoWebhookPayload.builder()
+                .token(token)
+                .orderId(orderId)
+                .orderStatus(status)
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+-- Seed data for QueryPlanRegressionTest.
+-- Mirrors production proportions: most rows are finished, the hot predicates match a small subset.
+-- Foreign keys are not checked (replica role) so no catalog data is needed.
+SET LOCAL session_replication_role = replica;
+
+-- Finished orders, 1 in 20 refillable with a deadline spread over the past and next 45 days
+INSERT INTO orders (id, version, user_id, service_id, service_name, provider_service_id, target, quantity, remains,
+                    status, price_per_k, cost_per_k, total_charge, total_cost, profit, is_refillable, refill_days,
+                    refill_deadline, created_at, completed_at, updated_at)
+SELECT g, 0, g % 1000 + 1, 1, 'Seed service', 1, 'https://example.com/' || g, 1000, 0,
+       'COMPLETED', 1.0, 0.5, 1.0, 0.5, 0.5, g % 20 = 0, 30,
+       CASE WHEN g % 20 = 0 THEN NOW() - INTERVAL '45 days' + (g % 90) * INTERVAL '1 day' END,
+       NOW() - INTERVAL '90 days', NOW() - INTERVAL '60 days', NOW() - INTERVAL '60 days'
+FROM generate_series(1, 50000) g;
+
+-- Active orders
+INSERT INTO orders (id, version, user_id, service_id, service_name, provider_service_id, target, quantity, remains,
+                    status, price_per_k, cost_per_k, total_charge, total_cost, profit, is_refillable, refill_days,
+                    created_at, updated_at)
+SELECT g, 0, g % 1000 + 1, 1, 'Seed service', 1, 'https://example.com/' || g, 1000, 1000,
+       'PROCESSING', 1.0, 0.5, 1.0, 0.5, 0.5, FALSE, 0,
+       NOW() - INTERVAL '1 hour', NOW() - INTERVAL '10 minutes'
+FROM generate_series(50001, 50500) g;
+
+-- Paid invoices plus a few awaiting payment confirmation
+INSERT INTO invoices (id, version, user_id, processor_id, processor_invoice_id, amount, fee, net_amount, currency,
+                      status, paid_at, created_at, updated_at)
+SELECT g, 0, g % 1000 + 1, 1, 'seed-' || g, 10.00, 0.00, 10.00, 'USD',
+       'COMPLETED', NOW() - INTERVAL '30 days', NOW() - INTERVAL '30 days', NOW() - INTERVAL '30 days'
+FROM generate_series(1, 20000) g;
+
+INSERT INTO invoices (id, version, user_id, processor_id, processor_invoice_id, amount, fee, net_amount, currency,
+                      status, created_at, updated_at)
+SELECT g, 0, g % 1000 + 1, 1, 'seed-' || g, 10.00, 0.00, 10.00, 'USD',
+       'PENDING', NOW() - INTERVAL '5 minutes', NOW() - INTERVAL '5 minutes'
+FROM generate_series(20001, 20200) g;
+
+-- Captured balance holds plus a few still held
+INSERT INTO balance_holds (id, version, user_id, amount, status, expires_at, created_at, updated_at)
+SELECT g, 0, g % 1000 + 1, 1.0, 'CAPTURED', NOW() - INTERVAL '30 days', NOW() - INTERVAL '30 days', NOW() - INTERVAL '30 days'
+FROM generate_series(1, 20000) g;
+
+INSERT INTO balance_holds (id, version, user_id, amount, status, expires_at, created_at, updated_at)
+SELECT g, 0, g % 1000 + 1, 1.0, 'HELD', NOW() + INTERVAL '10 minutes', NOW(), NOW()
+FROM generate_series(20001, 20200) g;
+
+ANALYZE orders;
+ANALYZE invoices;
+ANALYZE balance_holds;
@@ -76,6 +76,8 @@ export interface PageResponse<T> {
   pageNumber: number;
   pageSize: number;
   totalElements: number;
+  /** False when totalElements is an estimate (large admin listings) */
+  totalExact?: boolean;
   totalPages: number;
   first: boolean;
   last: boolean;